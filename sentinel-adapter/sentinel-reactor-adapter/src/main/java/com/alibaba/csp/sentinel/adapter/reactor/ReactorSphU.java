@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel.adapter.reactor;
 
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.alibaba.csp.sentinel.AsyncEntry;
@@ -42,9 +43,12 @@ public final class ReactorSphU {
         final AtomicReference<AsyncEntry> entryWrapper = new AtomicReference<>(null);
         return Mono.defer(() -> {
             try {
-                AsyncEntry entry = SphU.asyncEntry(resourceName, entryType);
+                AsyncEntry entry = SphU.asyncEntryNonBlocking(resourceName, entryType);
                 entryWrapper.set(entry);
-                return actual.subscriberContext(context -> {
+                // Delay the subscription if the request is queued by traffic shaping rules.
+                Mono<R> source = entry.getWaitNanos() > 0
+                    ? actual.delaySubscription(Duration.ofNanos(entry.getWaitNanos())) : actual;
+                return source.subscriberContext(context -> {
                     if (entry == null) {
                         return context;
                     }
@@ -16,7 +16,9 @@
 package com.alibaba.csp.sentinel.adapter.reactor;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.alibaba.csp.sentinel.AsyncEntry;
 import com.alibaba.csp.sentinel.SphU;
@@ -28,6 +30,8 @@ import com.alibaba.csp.sentinel.util.function.Supplier;
 
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.context.Context;
 
 /**
@@ -36,6 +40,17 @@ import reactor.util.context.Context;
  */
 public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
 
+    /**
+     * The downstream has not been subscribed yet (the subscription may be delayed by a timer).
+     * Upstream may still terminate without any request in this state, so the terminal signal is deferred.
+     */
+    private static final int DOWNSTREAM_WAITING = 0;
+    private static final int DOWNSTREAM_SUBSCRIBED = 1;
+    /**
+     * Upstream has terminated before the downstream is subscribed.
+     */
+    private static final int DOWNSTREAM_TERMINATED = 2;
+
     private final EntryConfig entryConfig;
 
     private final CoreSubscriber<? super T> actual;
@@ -44,6 +59,20 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
     private volatile AsyncEntry currentEntry;
     private final AtomicBoolean entryExited = new AtomicBoolean(false);
 
+    /**
+     * The timer task that delays the downstream subscription of a queued request, null if not delayed.
+     */
+    private volatile Disposable delayedSubscribe;
+    /**
+     * State of the downstream subscription, see {@link #DOWNSTREAM_WAITING}.
+     */
+    private final AtomicInteger downstreamState = new AtomicInteger(DOWNSTREAM_WAITING);
+    /**
+     * The terminal signal from upstream before the downstream is subscribed, which is published
+     * by the transition to {@link #DOWNSTREAM_TERMINATED}.
+     */
+    private Runnable pendingTerminal;
+
     public SentinelReactorSubscriber(EntryConfig entryConfig,
                                      CoreSubscriber<? super T> actual,
                                      boolean unary) {
@@ -82,35 +111,77 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
         }
     }
 
-    private void entryWhenSubscribed() {
+    /**
+     * Resolve the Sentinel context to enter the resource on. The context is passed to the entry explicitly,
+     * so that the context carrier of current thread (which may be an event loop) is not touched.
+     */
+    private com.alibaba.csp.sentinel.context.Context resolveSentinelContext() {
+        Optional<com.alibaba.csp.sentinel.context.Context> upstreamContext = currentContext()
+            .getOrEmpty(SentinelReactorConstants.SENTINEL_CONTEXT_KEY);
+        if (upstreamContext.isPresent()) {
+            return upstreamContext.get();
+        }
+        com.alibaba.csp.sentinel.context.Context current = ContextUtil.getContext();
         ContextConfig sentinelContextConfig = entryConfig.getContextConfig();
-        if (sentinelContextConfig != null) {
-            // If current we're already in a context, the context config won't work.
-            ContextUtil.enter(sentinelContextConfig.getContextName(), sentinelContextConfig.getOrigin());
+        // If current we're already in a context, the context config won't work.
+        if (current == null && sentinelContextConfig != null) {
+            return ContextUtil.newContext(sentinelContextConfig.getContextName(), sentinelContextConfig.getOrigin());
         }
+        return current;
+    }
+
+    private void entryWhenSubscribed() {
         try {
-            AsyncEntry entry = SphU.asyncEntry(entryConfig.getResourceName(), entryConfig.getResourceType(),
-                entryConfig.getEntryType(), entryConfig.getAcquireCount(), entryConfig.getArgs());
+            AsyncEntry entry = SphU.asyncEntryNonBlocking(resolveSentinelContext(), entryConfig.getResourceName(),
+                entryConfig.getResourceType(), entryConfig.getEntryType(), entryConfig.getAcquireCount(),
+                entryConfig.getArgs());
             this.currentEntry = entry;
-            actual.onSubscribe(this);
+            long waitNanos = entry.getWaitNanos();
+            if (waitNanos > 0) {
+                // The request is queued by traffic shaping rules, so delay the downstream subscription
+                // on a timer rather than blocking current thread (which may be an event loop).
+                this.delayedSubscribe = Schedulers.parallel().schedule(this::subscribeDownstream,
+                    waitNanos, TimeUnit.NANOSECONDS);
+            } else {
+                downstreamState.set(DOWNSTREAM_SUBSCRIBED);
+                actual.onSubscribe(this);
+            }
         } catch (BlockException ex) {
             // Mark as completed (exited) explicitly.
             entryExited.set(true);
             // Signal cancel and propagate the {@code BlockException}.
             cancel();
+            downstreamState.set(DOWNSTREAM_SUBSCRIBED);
             actual.onSubscribe(this);
             actual.onError(ex);
-        } finally {
-            if (sentinelContextConfig != null) {
-                ContextUtil.exit();
+        }
+    }
+
+    private void subscribeDownstream() {
+        actual.onSubscribe(this);
+        if (!downstreamState.compareAndSet(DOWNSTREAM_WAITING, DOWNSTREAM_SUBSCRIBED)) {
+            // Upstream has terminated while waiting, so the terminal signal is replayed after onSubscribe.
+            pendingTerminal.run();
+        }
+    }
+
+    /**
+     * Signal the terminal event to downstream, or defer it until the downstream is subscribed,
+     * so that no signal is sent to downstream before {@code onSubscribe}.
+     */
+    private void signalTerminal(Runnable terminal) {
+        if (downstreamState.get() != DOWNSTREAM_SUBSCRIBED) {
+            this.pendingTerminal = terminal;
+            if (downstreamState.compareAndSet(DOWNSTREAM_WAITING, DOWNSTREAM_TERMINATED)) {
+                return;
             }
         }
+        terminal.run();
     }
 
     @Override
     protected void hookOnSubscribe(Subscription subscription) {
-        doWithContextOrCurrent(() -> currentContext().getOrEmpty(SentinelReactorConstants.SENTINEL_CONTEXT_KEY),
-            this::entryWhenSubscribed);
+        entryWhenSubscribed();
     }
 
     @Override
@@ -133,7 +204,7 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
     @Override
     protected void hookOnComplete() {
         tryCompleteEntry();
-        actual.onComplete();
+        signalTerminal(actual::onComplete);
     }
 
     @Override
@@ -150,11 +221,15 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
             Tracer.traceContext(t, 1, currentEntry.getAsyncContext());
         }
         tryCompleteEntry();
-        actual.onError(t);
+        signalTerminal(() -> actual.onError(t));
     }
 
     @Override
     protected void hookOnCancel() {
+        Disposable task = this.delayedSubscribe;
+        if (task != null) {
+            task.dispose();
+        }
         tryCompleteEntry();
     }
 
@@ -3,17 +3,23 @@ package com.alibaba.csp.sentinel.adapter.reactor;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
 
 import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -55,6 +61,29 @@ public class MonoSentinelOperatorIntegrationTest {
         FlowRuleManager.loadRules(new ArrayList<>());
     }
 
+    @Test
+    public void testSentinelContextPassedExplicitly() {
+        String resourceName = createResourceName("testSentinelContextPassedExplicitly");
+        String contextName = "test_reactive_context_explicit";
+        StepVerifier.create(Mono.just(2)
+            .transform(new SentinelReactorTransformer<>(
+                new EntryConfig(resourceName, EntryType.OUT, new ContextConfig(contextName, "originA"))))
+        )
+            .expectNext(2)
+            .verifyComplete();
+
+        // The context is not entered on the subscribing thread.
+        assertNull(ContextUtil.getContext());
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(1, cn.passQps(), 0.01);
+        assertTrue(Constants.ROOT.getChildList()
+            .stream()
+            .filter(node -> node instanceof EntranceNode)
+            .anyMatch(e -> ((EntranceNode)e).getId().getName().equals(contextName))
+        );
+    }
+
     @Test
     public void testFluxToMonoNextThenCancelSuccess() {
         String resourceName = createResourceName("testFluxToMonoNextThenCancelSuccess");
@@ -184,6 +213,81 @@ public class MonoSentinelOperatorIntegrationTest {
         FlowRuleManager.loadRules(new ArrayList<>());
     }
 
+    @Test
+    public void testMonoQueuedByRateLimiterWithoutBlocking() throws Exception {
+        String resourceName = createResourceName("testMonoQueuedByRateLimiterWithoutBlocking");
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(2)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER).setMaxQueueingTimeMs(2000)));
+        Mono<Integer> mono = Mono.just(1)
+            .transform(new SentinelReactorTransformer<>(resourceName));
+        StepVerifier.create(mono)
+            .expectNext(1)
+            .verifyComplete();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        mono.subscribe(e -> latch.countDown());
+        // The subscribing thread should not be blocked by the rate limiter.
+        assertTrue(System.currentTimeMillis() - start < 300);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 300);
+
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(0, cn.blockRequest());
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
+    @Test
+    public void testQueuedEmptyMonoSignalsSubscribeBeforeComplete() {
+        String resourceName = createResourceName("testQueuedEmptyMonoSignalsSubscribeBeforeComplete");
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(2)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER).setMaxQueueingTimeMs(2000)));
+        Mono<Integer> mono = Mono.<Integer>empty()
+            .transform(new SentinelReactorTransformer<>(resourceName));
+        StepVerifier.create(mono)
+            .verifyComplete();
+        // The second request is queued, while the upstream completes at once without any request.
+        StepVerifier.create(mono)
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(200))
+            .verifyComplete();
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
+    @Test
+    public void testCancelQueuedMono() throws Exception {
+        String resourceName = createResourceName("testCancelQueuedMono");
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(2)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER).setMaxQueueingTimeMs(2000)));
+        Mono<Integer> mono = Mono.just(1)
+            .transform(new SentinelReactorTransformer<>(resourceName));
+        StepVerifier.create(mono)
+            .expectNext(1)
+            .verifyComplete();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        SentinelReactorSubscriber<Integer> subscriber = new SentinelReactorSubscriber<>(
+            new EntryConfig(resourceName), new BaseSubscriber<Integer>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                    latch.countDown();
+                    subscription.request(1);
+                }
+            }, true);
+        Mono.just(1).subscribe(subscriber);
+        subscriber.dispose();
+        // The delayed downstream subscription should be cancelled with the entry completed.
+        assertFalse(latch.await(800, TimeUnit.MILLISECONDS));
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(0, cn.curThreadNum());
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
     private String createResourceName(String resourceName) {
         return "reactor_test_mono_" + resourceName;
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Benchmark for the overhead of the adaptive concurrency flow grade compared with the static
+ * thread count grade:</p>
+ * <pre>
+ * java -jar sentinel-benchmark.jar AdaptiveConcurrencyBenchmark
+ * </pre>
+ * <p>Blocked requests are counted as well, so the result of {@code testEntryWithWork8Threads} also
+ * reflects how many requests the limit lets through.</p>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AdaptiveConcurrencyBenchmark {
+
+    private static final String RESOURCE = "adaptiveConcurrencyBenchmark";
+
+    /**
+     * {@code FLOW_GRADE_THREAD} or {@code FLOW_GRADE_ADAPTIVE_CONCURRENCY}.
+     */
+    @Param({"0", "2"})
+    private int grade;
+
+    @Setup
+    public void prepare() {
+        FlowRule rule = new FlowRule(RESOURCE)
+            .setGrade(grade)
+            .setCount(64)
+            .setMinConcurrency(1)
+            .setMaxConcurrency(1024);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+    }
+
+    @TearDown
+    public void tearDown() {
+        FlowRuleManager.loadRules(Collections.<FlowRule>emptyList());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryExit(Blackhole blackhole) {
+        doEntry(blackhole, 0);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void testEntryWithWork8Threads(Blackhole blackhole) {
+        doEntry(blackhole, 500);
+    }
+
+    private void doEntry(Blackhole blackhole, long tokens) {
+        Entry entry = null;
+        try {
+            entry = SphU.entry(RESOURCE);
+            Blackhole.consumeCPU(tokens);
+            blackhole.consume(entry);
+        } catch (BlockException ex) {
+            blackhole.consume(ex);
+        } finally {
+            if (entry != null) {
+                entry.exit();
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.ErrorEntryFreeException;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.util.function.BiConsumer;
+
+/**
+ * A detached entry which is set as the current entry of a context, so that single slots or circuit breakers
+ * could be benchmarked without the whole slot chain.
+ *
+ * @since 1.8.8
+ */
+class BenchmarkEntry extends Entry {
+
+    BenchmarkEntry(ResourceWrapper resourceWrapper) {
+        super(resourceWrapper, 1, new Object[0]);
+    }
+
+    @Override
+    public void exit(int count, Object... args) throws ErrorEntryFreeException {
+        // Nothing to release.
+    }
+
+    @Override
+    protected Entry trueExit(int count, Object... args) throws ErrorEntryFreeException {
+        return null;
+    }
+
+    @Override
+    public Node getLastNode() {
+        return null;
+    }
+
+    @Override
+    public void whenTerminate(BiConsumer<Context, Entry> handler) {
+        // Not supported.
+    }
+}
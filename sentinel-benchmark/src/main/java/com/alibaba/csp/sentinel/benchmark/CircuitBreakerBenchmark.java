@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ExceptionCircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimeCircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.RtPercentileCircuitBreaker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for the completion of requests on each kind of {@link CircuitBreaker}, which records
+ * the statistics of the breaker on every exit. The thresholds are never exceeded, so breakers stay closed.</p>
+ *
+ * <pre>
+ * java -jar sentinel-benchmark.jar CircuitBreakerBenchmark -t 4 -prof gc
+ * </pre>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CircuitBreakerBenchmark {
+
+    private static final String RESOURCE = "circuitBreakerBenchmark";
+
+    @Param({"slowRatio", "exceptionRatio", "exceptionCount", "rtPercentile"})
+    private String breakerType;
+
+    private CircuitBreaker breaker;
+
+    @Setup
+    public void prepare() {
+        DegradeRule rule = new DegradeRule(RESOURCE).setTimeWindow(10).setMinRequestAmount(5)
+            .setStatIntervalMs(1000);
+        if ("exceptionRatio".equals(breakerType)) {
+            breaker = new ExceptionCircuitBreaker(rule.setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO)
+                .setCount(1.0));
+        } else if ("exceptionCount".equals(breakerType)) {
+            breaker = new ExceptionCircuitBreaker(rule.setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT)
+                .setCount(1e8));
+        } else if ("rtPercentile".equals(breakerType)) {
+            breaker = new RtPercentileCircuitBreaker(rule.setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+                .setCount(1000).setRtPercentile(99));
+        } else {
+            breaker = new ResponseTimeCircuitBreaker(rule.setGrade(RuleConstant.DEGRADE_GRADE_RT)
+                .setCount(1000).setSlowRatioThreshold(1.0));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadContext {
+
+        private Context context;
+
+        @Setup
+        public void prepare() {
+            context = ContextUtil.enter(RESOURCE);
+            context.setCurEntry(new BenchmarkEntry(new StringResourceWrapper(RESOURCE, EntryType.OUT)));
+        }
+    }
+
+    private boolean passAndComplete(Context context) {
+        boolean pass = breaker.tryPass(context);
+        breaker.onRequestComplete(context);
+        return pass;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testPassAndComplete(ThreadContext threadContext) {
+        return passAndComplete(threadContext.context);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean testPassAndComplete4Threads(ThreadContext threadContext) {
+        return passAndComplete(threadContext.context);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.clock.Clock;
+import com.alibaba.csp.sentinel.util.clock.NanoTimeClock;
+import com.alibaba.csp.sentinel.util.clock.SystemClock;
+import com.alibaba.csp.sentinel.util.clock.TickingClock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the clock sources of {@link TimeUtil}.
+ *
+ * @since 1.8.8
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ClockBenchmark {
+
+    @Param({"adaptive", "system", "nano", "tick-1", "tick-5"})
+    private String clockType;
+
+    private Clock clock;
+
+    @Setup
+    public void prepare() {
+        if ("adaptive".equals(clockType)) {
+            final TimeUtil adaptive = TimeUtil.instance();
+            clock = new Clock() {
+                @Override
+                public long currentTimeMillis() {
+                    return adaptive.getTime();
+                }
+            };
+        } else if ("system".equals(clockType)) {
+            clock = new SystemClock();
+        } else if ("nano".equals(clockType)) {
+            clock = new NanoTimeClock();
+        } else {
+            clock = new TickingClock(Long.parseLong(clockType.substring("tick-".length())));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long testSingleThread() {
+        return clock.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long test4Threads() {
+        return clock.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long test16Threads() {
+        return clock.currentTimeMillis();
+    }
+}
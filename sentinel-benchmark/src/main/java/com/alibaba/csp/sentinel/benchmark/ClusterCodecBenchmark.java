@@ -0,0 +1,132 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.client.codec.DefaultRequestEntityWriter;
+import com.alibaba.csp.sentinel.cluster.client.codec.DefaultResponseEntityDecoder;
+import com.alibaba.csp.sentinel.cluster.client.codec.data.FlowRequestDataWriter;
+import com.alibaba.csp.sentinel.cluster.client.codec.data.FlowResponseDataDecoder;
+import com.alibaba.csp.sentinel.cluster.client.codec.data.ParamFlowRequestDataWriter;
+import com.alibaba.csp.sentinel.cluster.client.codec.registry.RequestDataWriterRegistry;
+import com.alibaba.csp.sentinel.cluster.client.codec.registry.ResponseDataDecodeRegistry;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.FlowRequestData;
+import com.alibaba.csp.sentinel.cluster.request.data.ParamFlowRequestData;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowTokenResponseData;
+import com.alibaba.csp.sentinel.cluster.server.codec.DefaultRequestEntityDecoder;
+import com.alibaba.csp.sentinel.cluster.server.codec.DefaultResponseEntityWriter;
+import com.alibaba.csp.sentinel.cluster.server.codec.data.FlowRequestDataDecoder;
+import com.alibaba.csp.sentinel.cluster.server.codec.data.FlowResponseDataWriter;
+import com.alibaba.csp.sentinel.cluster.server.codec.data.ParamFlowRequestDataDecoder;
+import com.alibaba.csp.sentinel.cluster.server.codec.registry.RequestDataDecodeRegistry;
+import com.alibaba.csp.sentinel.cluster.server.codec.registry.ResponseDataWriterRegistry;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for encoding and decoding of the cluster flow control messages (without the network),
+ * including the request from the token client and the response from the token server.</p>
+ *
+ * <pre>
+ * java -jar sentinel-benchmark.jar ClusterCodecBenchmark -prof gc
+ * </pre>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ClusterCodecBenchmark {
+
+    private final DefaultRequestEntityWriter requestWriter = new DefaultRequestEntityWriter();
+    private final DefaultRequestEntityDecoder requestDecoder = new DefaultRequestEntityDecoder();
+    private final DefaultResponseEntityWriter responseWriter = new DefaultResponseEntityWriter();
+    private final DefaultResponseEntityDecoder responseDecoder = new DefaultResponseEntityDecoder();
+
+    private ClusterRequest<FlowRequestData> flowRequest;
+    private ClusterRequest<ParamFlowRequestData> paramFlowRequest;
+    private ClusterResponse<FlowTokenResponseData> flowResponse;
+    private ByteBuf buf;
+
+    @Setup
+    public void prepare() {
+        RequestDataWriterRegistry.addWriter(ClusterConstants.MSG_TYPE_FLOW, new FlowRequestDataWriter());
+        RequestDataWriterRegistry.addWriter(ClusterConstants.MSG_TYPE_PARAM_FLOW, new ParamFlowRequestDataWriter());
+        RequestDataDecodeRegistry.addDecoder(ClusterConstants.MSG_TYPE_FLOW, new FlowRequestDataDecoder());
+        RequestDataDecodeRegistry.addDecoder(ClusterConstants.MSG_TYPE_PARAM_FLOW, new ParamFlowRequestDataDecoder());
+        ResponseDataWriterRegistry.addWriter(ClusterConstants.MSG_TYPE_FLOW, new FlowResponseDataWriter());
+        ResponseDataDecodeRegistry.addDecoder(ClusterConstants.MSG_TYPE_FLOW, new FlowResponseDataDecoder());
+
+        flowRequest = new ClusterRequest<>(1, ClusterConstants.MSG_TYPE_FLOW,
+            new FlowRequestData().setFlowId(111L).setCount(1).setPriority(false));
+        List<Object> params = new ArrayList<>();
+        params.add("user-12345");
+        params.add(42L);
+        params.add(true);
+        paramFlowRequest = new ClusterRequest<>(2, ClusterConstants.MSG_TYPE_PARAM_FLOW,
+            new ParamFlowRequestData().setFlowId(112L).setCount(1).setParams(params));
+        flowResponse = new ClusterResponse<>(1, ClusterConstants.MSG_TYPE_FLOW, ClusterConstants.RESPONSE_STATUS_OK,
+            new FlowTokenResponseData().setRemainingCount(100).setWaitInMs(0));
+        buf = Unpooled.buffer(256);
+    }
+
+    @TearDown
+    public void tearDown() {
+        buf.release();
+    }
+
+    @Benchmark
+    public Object testFlowRequest() {
+        buf.clear();
+        requestWriter.writeTo(flowRequest, buf);
+        return requestDecoder.decode(buf);
+    }
+
+    @Benchmark
+    public Object testParamFlowRequest() {
+        buf.clear();
+        requestWriter.writeTo(paramFlowRequest, buf);
+        return requestDecoder.decode(buf);
+    }
+
+    @Benchmark
+    public Object testFlowResponse() {
+        buf.clear();
+        responseWriter.writeTo(flowResponse, buf);
+        return responseDecoder.decode(buf);
+    }
+}
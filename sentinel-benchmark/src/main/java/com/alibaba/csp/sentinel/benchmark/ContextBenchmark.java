@@ -0,0 +1,95 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for {@link ContextUtil#enter(String, String)} and {@link ContextUtil#exit()} with many
+ * context names (the entrance nodes are created in advance).</p>
+ *
+ * <pre>
+ * java -jar sentinel-benchmark.jar ContextBenchmark -t 4 -prof gc
+ * </pre>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ContextBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int contextCount;
+
+    private String[] names;
+
+    @Setup
+    public void prepare() {
+        names = new String[contextCount];
+        for (int i = 0; i < contextCount; i++) {
+            names[i] = "contextBenchmark-" + i;
+            ContextUtil.enter(names[i]);
+            ContextUtil.exit();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadIndex {
+        private int index = 0;
+    }
+
+    private Context enterAndExit(ThreadIndex threadIndex) {
+        String name = names[threadIndex.index];
+        if (++threadIndex.index == names.length) {
+            threadIndex.index = 0;
+        }
+        Context context = ContextUtil.enter(name, "");
+        ContextUtil.exit();
+        return context;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Context testEnterExit(ThreadIndex threadIndex) {
+        return enterAndExit(threadIndex);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Context testEnterExit4Threads(ThreadIndex threadIndex) {
+        return enterAndExit(threadIndex);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for short-lived threads that each do a few entries, on platform threads versus virtual threads,
+ * with the context kept by the context carrier of current thread ({@code implicit}) or passed explicitly
+ * ({@code explicit}):</p>
+ * <pre>
+ * java -jar sentinel-benchmark.jar ContextCarrierBenchmark -prof gc
+ * java -Dcsp.sentinel.context.carrier=explicit -jar sentinel-benchmark.jar ContextCarrierBenchmark -prof gc
+ * </pre>
+ * <p>Virtual threads require JDK 21+, the {@code virtual} cases fail on setup with older JDKs.</p>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ContextCarrierBenchmark {
+
+    private static final String CONTEXT_NAME = "contextCarrierBenchmark";
+    private static final String RESOURCE = "contextCarrierBenchmark";
+    private static final String NESTED_RESOURCE = "contextCarrierBenchmark-nested";
+    private static final int THREADS_PER_OP = 100;
+
+    @Param({"platform", "virtual"})
+    private String threadType;
+
+    @Param({"implicit", "explicit"})
+    private String contextMode;
+
+    private ThreadFactory threadFactory;
+    private boolean explicit;
+
+    @Setup
+    public void prepare() throws Exception {
+        this.explicit = "explicit".equals(contextMode);
+        if ("virtual".equals(threadType)) {
+            // Thread.ofVirtual().factory(), resolved reflectively to compile with JDK 8.
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            this.threadFactory = (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                .getMethod("factory").invoke(builder);
+        } else {
+            this.threadFactory = Executors.defaultThreadFactory();
+        }
+    }
+
+    @Benchmark
+    public void testShortLivedThreads() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(THREADS_PER_OP);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (explicit) {
+                        doEntriesExplicitly();
+                    } else {
+                        doEntries();
+                    }
+                } catch (BlockException ex) {
+                    // Should not happen without rules.
+                } finally {
+                    latch.countDown();
+                }
+            }
+        };
+        for (int i = 0; i < THREADS_PER_OP; i++) {
+            threadFactory.newThread(task).start();
+        }
+        latch.await();
+    }
+
+    private void doEntries() throws BlockException {
+        ContextUtil.enter(CONTEXT_NAME);
+        try {
+            Entry entry = SphU.entry(RESOURCE);
+            Entry nested = SphU.entry(NESTED_RESOURCE);
+            nested.exit();
+            entry.exit();
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
+    private void doEntriesExplicitly() throws BlockException {
+        Context context = ContextUtil.newContext(CONTEXT_NAME, "");
+        Entry entry = SphU.entry(context, RESOURCE, EntryType.OUT, 1);
+        Entry nested = SphU.entry(context, NESTED_RESOURCE, EntryType.OUT, 1);
+        nested.exit();
+        entry.exit();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for allocation of the entry/exit path, which should be run with the GC profiler:</p>
+ * <pre>
+ * java -jar sentinel-benchmark.jar EntryAllocationBenchmark -prof gc
+ * </pre>
+ * <p>With the entry pool enabled, {@code gc.alloc.rate.norm} of the steady state should be 0 B/op.</p>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class EntryAllocationBenchmark {
+
+    private static final String RESOURCE = "entryAllocationBenchmark";
+    private static final String NESTED_RESOURCE = "entryAllocationBenchmark-nested";
+
+    @Param({"false", "true"})
+    private boolean pooled;
+
+    @Setup
+    public void prepare() {
+        // Each forked JVM is configured before Sentinel is initialized.
+        SentinelConfig.setConfig(SentinelConfig.ENTRY_POOL_ENABLED, String.valueOf(pooled));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryExit() throws BlockException {
+        Entry entry = SphU.entry(RESOURCE);
+        entry.exit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testNestedEntryExit() throws BlockException {
+        Entry entry = SphU.entry(RESOURCE);
+        Entry nested = SphU.entry(NESTED_RESOURCE);
+        nested.exit();
+        entry.exit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void testEntryExit4Threads() throws BlockException {
+        Entry entry = SphU.entry(RESOURCE);
+        entry.exit();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.metric.BucketLeapArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for contended {@link LeapArray#currentWindow()}. With the 2 ms interval, the window rolls over
+ * on almost every millisecond, so the benchmark shows the cost of racing threads resetting the buckets.</p>
+ *
+ * <pre>
+ * java -jar sentinel-benchmark.jar LeapArrayBenchmark -t 8 -prof gc
+ * </pre>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LeapArrayBenchmark {
+
+    @Param({"2", "1000"})
+    private int intervalInMs;
+
+    private LeapArray<MetricBucket> array;
+
+    @Setup
+    public void prepare() {
+        array = new BucketLeapArray(2, intervalInMs);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MetricBucket testCurrentWindow() {
+        return array.currentWindow().value();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void testAddPass() {
+        array.currentWindow().value().addPass(1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long testSumPass() {
+        long pass = 0;
+        for (MetricBucket bucket : array.values()) {
+            pass += bucket.pass();
+        }
+        return pass;
+    }
+}
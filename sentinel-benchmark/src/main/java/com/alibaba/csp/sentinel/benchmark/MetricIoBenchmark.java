@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.log.LogBase;
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.node.metric.MetricSearcher;
+import com.alibaba.csp.sentinel.node.metric.MetricWriter;
+import com.alibaba.csp.sentinel.util.PidUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for the I/O of metric logs: {@link MetricWriter} writing the metrics of one second, and
+ * {@link MetricSearcher} reading the metrics of a random minute from the prepared logs, in both text and binary
+ * format. The logs are written to a temporary directory.</p>
+ *
+ * <pre>
+ * java -jar sentinel-benchmark.jar MetricIoBenchmark -prof gc
+ * </pre>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MetricIoBenchmark {
+
+    private static final int PREPARED_SECONDS = 3600;
+    private static final long SEARCH_RANGE_MS = 60 * 1000;
+
+    @Param({"10", "100"})
+    private int resourceCount;
+
+    @Param({SentinelConfig.METRIC_FILE_FORMAT_TEXT, SentinelConfig.METRIC_FILE_FORMAT_BINARY})
+    private String format;
+
+    private File baseDir;
+    private MetricWriter writer;
+    private MetricSearcher searcher;
+    private List<MetricNode> nodes;
+    private long beginTime;
+    private long time;
+
+    @Setup
+    public void prepare() throws Exception {
+        // The log directory should be set before Sentinel is initialized.
+        baseDir = Files.createTempDirectory("sentinel-metric-benchmark").toFile();
+        System.setProperty(LogBase.LOG_DIR, baseDir.getAbsolutePath());
+        SentinelConfig.setConfig(SentinelConfig.METRIC_FILE_FORMAT, format);
+
+        nodes = new ArrayList<>(resourceCount);
+        for (int i = 0; i < resourceCount; i++) {
+            MetricNode node = new MetricNode();
+            node.setResource("metricIoBenchmark-" + i);
+            node.setPassQps(100);
+            node.setSuccessQps(100);
+            node.setBlockQps(10);
+            node.setRt(5);
+            nodes.add(node);
+        }
+
+        writer = new MetricWriter(1024 * 1024 * 1024L, 6);
+        // The writer ignores metrics earlier than its creation, so the prepared logs start from the next second.
+        beginTime = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        for (time = beginTime; time < beginTime + PREPARED_SECONDS * 1000L; time += 1000) {
+            writer.write(time, nodes);
+        }
+        String appName = SentinelConfig.getAppName();
+        searcher = new MetricSearcher(MetricWriter.METRIC_BASE_DIR,
+            MetricWriter.formMetricFileName(appName == null ? "" : appName, PidUtil.getPid()));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        writer.close();
+        File[] files = baseDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        baseDir.delete();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testWrite() throws Exception {
+        time += 1000;
+        writer.write(time, nodes);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<MetricNode> testFindByTime() throws Exception {
+        long begin = beginTime + ThreadLocalRandom.current().nextInt(PREPARED_SECONDS - 60) * 1000L;
+        return searcher.findByTimeAndResource(begin, begin + SEARCH_RANGE_MS, null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<MetricNode> testFindByTimeAndResource() throws Exception {
+        long begin = beginTime + ThreadLocalRandom.current().nextInt(PREPARED_SECONDS - 60) * 1000L;
+        return searcher.findByTimeAndResource(begin, begin + SEARCH_RANGE_MS, "metricIoBenchmark-0");
+    }
+}
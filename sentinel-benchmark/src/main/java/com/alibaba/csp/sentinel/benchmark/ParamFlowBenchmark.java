@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowChecker;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetricStorage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for {@link ParamFlowChecker} with random parameter values of different cardinality. When the
+ * cardinality exceeds the capacity of the parameter metrics, the cache keeps evicting the values.</p>
+ *
+ * <pre>
+ * java -jar sentinel-benchmark.jar ParamFlowBenchmark -t 4 -prof gc
+ * </pre>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ParamFlowBenchmark {
+
+    private static final String RESOURCE = "paramFlowBenchmark";
+
+    @Param({"100", "10000", "1000000"})
+    private int cardinality;
+
+    private final ResourceWrapper resource = new StringResourceWrapper(RESOURCE, EntryType.IN);
+    private ParamFlowRule rule;
+    private Object[][] args;
+
+    @Setup
+    public void prepare() {
+        ParamFlowRuleManager.loadRules(Collections.singletonList(new ParamFlowRule(RESOURCE)
+            .setParamIdx(0).setCount(1e8)));
+        rule = ParamFlowRuleManager.getRulesOfResource(RESOURCE).get(0);
+        ParameterMetricStorage.initParamMetricsFor(resource, rule);
+
+        args = new Object[cardinality][];
+        for (int i = 0; i < cardinality; i++) {
+            args[i] = new Object[] {"user-" + i};
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ParamFlowRuleManager.loadRules(null);
+    }
+
+    private boolean check() {
+        Object[] arg = args[ThreadLocalRandom.current().nextInt(cardinality)];
+        return ParamFlowChecker.passCheck(resource, rule, 1, arg);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testPassCheck() {
+        return check();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean testPassCheck4Threads() {
+        return check();
+    }
+}
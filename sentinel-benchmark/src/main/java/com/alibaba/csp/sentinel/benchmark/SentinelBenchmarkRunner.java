@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Runs the benchmarks with the thread count of 1, 2, 4, ... up to the given max thread count, with the
+ * GC (allocation) profiler. The results of each thread count are written as JSON files, so that the results
+ * of releases could be compared by tools (e.g. JMH Visualizer):</p>
+ *
+ * <pre>
+ * java -cp sentinel-benchmark.jar com.alibaba.csp.sentinel.benchmark.SentinelBenchmarkRunner \
+ *     [includeRegex] [maxThreads] [resultDir]
+ * </pre>
+ *
+ * <p>By default, all benchmarks are run with up to the number of available processors, and the results are
+ * written to {@code jmh-results/jmh-result-threads-N.json}.</p>
+ *
+ * @since 1.8.8
+ */
+public final class SentinelBenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = SentinelBenchmarkRunner.class.getPackage().getName() + ".*";
+    private static final String DEFAULT_RESULT_DIR = "jmh-results";
+
+    public static void main(String[] args) throws Exception {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        File resultDir = new File(args.length > 2 ? args[2] : DEFAULT_RESULT_DIR);
+        if (!resultDir.exists() && !resultDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create result directory: " + resultDir);
+        }
+
+        for (int threads : threadCounts(maxThreads)) {
+            Options options = new OptionsBuilder()
+                .include(include)
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(resultDir, "jmh-result-threads-" + threads + ".json").getPath())
+                .build();
+            new Runner(options).run();
+        }
+    }
+
+    static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads <<= 1) {
+            counts.add(threads);
+        }
+        counts.add(Math.max(1, maxThreads));
+        return counts;
+    }
+
+    private SentinelBenchmarkRunner() {}
+}
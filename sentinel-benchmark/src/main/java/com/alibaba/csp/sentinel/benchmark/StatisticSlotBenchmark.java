@@ -0,0 +1,97 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.statistic.StatisticSlot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for {@link StatisticSlot} only (without other slots of the chain), which records the pass,
+ * thread and RT statistics of a shared node.</p>
+ *
+ * <pre>
+ * java -jar sentinel-benchmark.jar StatisticSlotBenchmark -t 4 -prof gc
+ * </pre>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class StatisticSlotBenchmark {
+
+    private static final String RESOURCE = "statisticSlotBenchmark";
+
+    private final StatisticSlot slot = new StatisticSlot();
+    private final ResourceWrapper resource = new StringResourceWrapper(RESOURCE, EntryType.IN);
+    private DefaultNode node;
+
+    @Setup
+    public void prepare() {
+        node = new DefaultNode(resource, new ClusterNode(RESOURCE));
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadContext {
+
+        private Context context;
+
+        @Setup
+        public void prepare(StatisticSlotBenchmark benchmark) {
+            context = ContextUtil.enter(RESOURCE);
+            BenchmarkEntry entry = new BenchmarkEntry(benchmark.resource);
+            entry.setCurNode(benchmark.node);
+            context.setCurEntry(entry);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryExit(ThreadContext threadContext) throws Throwable {
+        slot.entry(threadContext.context, resource, node, 1, false);
+        slot.exit(threadContext.context, resource, 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void testEntryExit4Threads(ThreadContext threadContext) throws Throwable {
+        slot.entry(threadContext.context, resource, node, 1, false);
+        slot.exit(threadContext.context, resource, 1);
+    }
+}
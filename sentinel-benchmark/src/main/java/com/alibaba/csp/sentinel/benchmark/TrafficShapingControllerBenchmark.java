@@ -0,0 +1,108 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AdaptiveConcurrencyController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.DefaultController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.ThrottlingController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.TokenBucketController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpRateLimiterController;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for each {@link TrafficShapingController} checking a shared node. The threshold is high enough
+ * that requests pass without waiting, so the benchmark shows the cost (and contention) of the check itself.</p>
+ *
+ * <pre>
+ * java -jar sentinel-benchmark.jar TrafficShapingControllerBenchmark -t 4 -prof gc
+ * </pre>
+ *
+ * @since 1.8.8
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TrafficShapingControllerBenchmark {
+
+    private static final double COUNT = 1e8;
+    private static final int WARM_UP_PERIOD_SEC = 10;
+    private static final int MAX_QUEUEING_TIME_MS = 500;
+
+    @Param({"default", "warmUp", "rateLimiter", "warmUpRateLimiter", "tokenBucket", "adaptiveConcurrency"})
+    private String controllerType;
+
+    private TrafficShapingController controller;
+    private StatisticNode node;
+
+    @Setup
+    public void prepare() {
+        node = new StatisticNode();
+        if ("warmUp".equals(controllerType)) {
+            controller = new WarmUpController(COUNT, WARM_UP_PERIOD_SEC);
+        } else if ("rateLimiter".equals(controllerType)) {
+            controller = new ThrottlingController(MAX_QUEUEING_TIME_MS, COUNT);
+        } else if ("warmUpRateLimiter".equals(controllerType)) {
+            controller = new WarmUpRateLimiterController(COUNT, WARM_UP_PERIOD_SEC, MAX_QUEUEING_TIME_MS, 3);
+        } else if ("tokenBucket".equals(controllerType)) {
+            controller = new TokenBucketController(COUNT, 0, 1000);
+        } else if ("adaptiveConcurrency".equals(controllerType)) {
+            controller = new AdaptiveConcurrencyController(1000, 1, 100000, 1.5);
+        } else {
+            controller = new DefaultController(COUNT, RuleConstant.FLOW_GRADE_QPS);
+        }
+    }
+
+    private boolean checkAndRecord() {
+        boolean pass = controller.canPass(node, 1);
+        if (pass) {
+            node.addPassRequest(1);
+        }
+        return pass;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testCanPass() {
+        return checkAndRecord();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean testCanPass4Threads() {
+        return checkAndRecord();
+    }
+}
@@ -31,6 +31,12 @@ public class AsyncEntry extends CtEntry {
 
     private Context asyncContext;
 
+    /**
+     * Time (in nanoseconds) that the invocation should wait before proceeding, which is only
+     * recorded by non-blocking entries.
+     */
+    private long waitNanos = 0;
+
     AsyncEntry(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context) {
         super(resourceWrapper, chain, context);
     }
@@ -69,6 +75,22 @@ public class AsyncEntry extends CtEntry {
         return asyncContext;
     }
 
+    /**
+     * Get the time that the invocation should wait before proceeding. Traffic shaping rules (e.g. rate limiting)
+     * make the request wait (queue) before passing. A non-blocking entry does not sleep, but passes immediately
+     * and carries the wait time, so that the caller could schedule the continuation of the invocation later.
+     *
+     * @return time to wait in nanoseconds, 0 if the invocation could proceed immediately
+     * @since 1.8.8
+     */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    void setWaitNanos(long waitNanos) {
+        this.waitNanos = waitNanos;
+    }
+
     /**
      * The async context should not be initialized until the node for current resource has been set to current entry.
      */
@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+
+/**
+ * <p>The entry for a batch of items (e.g. messages pulled by a stream or message consumer), which checks
+ * the rules once for the whole batch.</p>
+ *
+ * <p>Flow rules may grant only part of the batch: {@link #getGrantedCount()} is the amount of items that
+ * could be processed, and the rest should be handled as blocked (e.g. re-delivered later). Only the granted
+ * items are recorded as passed, and the rest are recorded as blocked. Other rules still pass or block
+ * the batch as a whole.</p>
+ *
+ * <p>The outcome of the processed items could be recorded via {@link #recordErrors(int)} and
+ * {@link #recordRt(long)}, which will be added to the statistics in bulk when the entry exits.
+ * A batch entry should be exited exactly once, and the count of the exit is always the granted count.</p>
+ *
+ * @since 1.8.8
+ */
+public class BatchEntry extends CtEntry {
+
+    private int grantedCount;
+    private int errorCount = 0;
+    /**
+     * Sum of the response time of the processed items, -1 if not recorded.
+     */
+    private long totalRt = -1;
+
+    BatchEntry(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context, int count,
+               Object[] args) {
+        super(resourceWrapper, chain, context, count, args);
+        this.grantedCount = count;
+    }
+
+    /**
+     * Get the amount of items requested by the batch.
+     *
+     * @return requested count
+     */
+    public int getRequestedCount() {
+        return count;
+    }
+
+    /**
+     * Get the amount of items which are allowed to be processed.
+     *
+     * @return granted count, which is positive and no more than the requested count
+     */
+    public int getGrantedCount() {
+        return grantedCount;
+    }
+
+    /**
+     * Set the granted count of the batch. This should only be called by rule checking slots
+     * during the entry.
+     *
+     * @param grantedCount granted count, which should be positive and no more than current granted count
+     */
+    public void setGrantedCount(int grantedCount) {
+        if (grantedCount > 0 && grantedCount < this.grantedCount) {
+            this.grantedCount = grantedCount;
+        }
+    }
+
+    /**
+     * Record the amount of items that failed to be processed. The rest of granted items will be recorded
+     * as success.
+     *
+     * @param errorCount amount of failed items
+     * @return current entry
+     */
+    public BatchEntry recordErrors(int errorCount) {
+        if (errorCount > 0) {
+            this.errorCount = Math.min(grantedCount, this.errorCount + errorCount);
+        }
+        return this;
+    }
+
+    /**
+     * Record the response time of processed items, which could be called for each item or once with the sum.
+     * If not recorded, the time elapsed between entry and exit is shared by the granted items
+     * as their response time.
+     *
+     * @param rt response time (in milliseconds) of processed items
+     * @return current entry
+     */
+    public BatchEntry recordRt(long rt) {
+        if (rt >= 0) {
+            this.totalRt = totalRt < 0 ? rt : totalRt + rt;
+        }
+        return this;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Get the recorded sum of the response time of processed items.
+     *
+     * @return sum of the response time, or -1 if not recorded
+     */
+    public long getTotalRt() {
+        return totalRt;
+    }
+
+    @Override
+    public void exit(int count, Object... args) throws ErrorEntryFreeException {
+        // The statistics of the batch are recorded on the granted items.
+        super.exit(grantedCount, args);
+    }
+}
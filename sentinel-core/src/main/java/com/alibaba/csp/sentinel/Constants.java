@@ -35,6 +35,10 @@ public final class Constants {
 
     public final static int MAX_CONTEXT_NAME_SIZE = 2000;
     public final static int MAX_SLOT_CHAIN_SIZE = 6000;
+    /**
+     * Max amount of resources that could be assigned an id (since 1.8.8).
+     */
+    public final static int MAX_RESOURCE_SIZE = 65536;
 
     public final static String ROOT_ID = "machine-root";
     public final static String CONTEXT_DEFAULT_NAME = "sentinel_default_context";
@@ -54,6 +58,12 @@ public final class Constants {
      */
     public final static String SYSTEM_LOAD_RESOURCE_NAME = "__system_load__";
 
+    /**
+     * A virtual resource identifier for metrics dropped by the asynchronous metric writer (since 1.8.8),
+     * whose block QPS is the count of dropped metric nodes.
+     */
+    public final static String METRIC_DROPPED_RESOURCE_NAME = "__metric_dropped__";
+
     /**
      * Global ROOT statistic node that represents the universal parent node.
      */
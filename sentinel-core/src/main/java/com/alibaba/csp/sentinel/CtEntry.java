@@ -41,6 +41,11 @@ class CtEntry extends Entry {
     protected Context context;
     protected LinkedList<BiConsumer<Context, Entry>> exitHandlers;
 
+    /**
+     * Whether this entry is owned by {@link CtEntryPool}, which will be released to the pool once exited.
+     */
+    boolean pooled = false;
+
     CtEntry(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context) {
         this(resourceWrapper, chain, context, 1, OBJECTS0);
     }
@@ -53,6 +58,21 @@ class CtEntry extends Entry {
         setUpEntryFor(context);
     }
 
+    /**
+     * Reset this (exited) entry for another invocation. Only for {@link CtEntryPool}.
+     */
+    void reuse(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context, int count,
+               Object[] args) {
+        reset(resourceWrapper, count, args);
+        this.parent = null;
+        this.child = null;
+        this.exitHandlers = null;
+        this.chain = chain;
+        this.context = context;
+
+        setUpEntryFor(context);
+    }
+
     private void setUpEntryFor(Context context) {
         // The entry should not be associated to NullContext.
         if (context instanceof NullContext) {
@@ -128,6 +148,9 @@ class CtEntry extends Entry {
                 }
                 // Clean the reference of context in current entry to avoid duplicate exit.
                 clearEntryContext();
+                if (pooled) {
+                    CtEntryPool.release(this);
+                }
             }
         }
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+
+/**
+ * <p>Thread-local pool of {@link CtEntry}, so that synchronous entries could be reused once exited.</p>
+ * <p>
+ * Each thread holds at most {@link #MAX_POOLED_ENTRIES} free entries. An exited entry is released to the pool
+ * of the exiting thread, and the pool is only accessed by its owner thread, so no synchronization is needed.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+final class CtEntryPool {
+
+    /**
+     * Max amount of free entries held by each thread, which covers common depths of nested entries.
+     */
+    static final int MAX_POOLED_ENTRIES = 16;
+
+    private static final ThreadLocal<CtEntryPool> POOL_HOLDER = new ThreadLocal<CtEntryPool>() {
+        @Override
+        protected CtEntryPool initialValue() {
+            return new CtEntryPool();
+        }
+    };
+
+    private final CtEntry[] entries = new CtEntry[MAX_POOLED_ENTRIES];
+    private int size = 0;
+
+    /**
+     * Get a free entry of current thread (or create a new one) and set it up for the invocation.
+     */
+    static CtEntry acquire(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context,
+                           int count, Object[] args) {
+        CtEntryPool pool = POOL_HOLDER.get();
+        if (pool.size > 0) {
+            CtEntry entry = pool.entries[--pool.size];
+            pool.entries[pool.size] = null;
+            entry.reuse(resourceWrapper, chain, context, count, args);
+            return entry;
+        }
+        CtEntry entry = new CtEntry(resourceWrapper, chain, context, count, args);
+        entry.pooled = true;
+        return entry;
+    }
+
+    /**
+     * Release an exited entry to the pool of current thread. The entry is dropped if the pool is full.
+     */
+    static void release(CtEntry entry) {
+        CtEntryPool pool = POOL_HOLDER.get();
+        if (pool.size < MAX_POOLED_ENTRIES) {
+            pool.entries[pool.size++] = entry;
+        }
+    }
+
+    /**
+     * Get amount of free entries of current thread. Only for internal test.
+     */
+    static int freeSize() {
+        return POOL_HOLDER.get().size;
+    }
+
+    private CtEntryPool() {}
+}
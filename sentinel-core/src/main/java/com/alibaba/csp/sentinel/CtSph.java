@@ -16,9 +16,8 @@
 package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
@@ -26,11 +25,15 @@ import com.alibaba.csp.sentinel.context.NullContext;
 import com.alibaba.csp.sentinel.slotchain.MethodResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.ResourceRegistry;
+import com.alibaba.csp.sentinel.slotchain.ResourceTable;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.SlotChainProvider;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.WaitUtil;
 
 /**
  * {@inheritDoc}
@@ -46,13 +49,26 @@ public class CtSph implements Sph {
 
     /**
      * Same resource({@link ResourceWrapper#equals(Object)}) will share the same
-     * {@link ProcessorSlotChain}, no matter in which {@link Context}.
+     * {@link ProcessorSlotChain}, no matter in which {@link Context}. Slot chains are indexed
+     * by the resource id (see {@link ResourceRegistry}).
      */
-    private static volatile Map<ResourceWrapper, ProcessorSlotChain> chainMap
-        = new HashMap<ResourceWrapper, ProcessorSlotChain>();
+    private static final ResourceTable<ProcessorSlotChain> chainTable = new ResourceTable<ProcessorSlotChain>();
+
+    private static volatile int chainSize = 0;
 
     private static final Object LOCK = new Object();
 
+    /**
+     * Whether to reuse entries and string resource wrappers, see {@link SentinelConfig#ENTRY_POOL_ENABLED}.
+     */
+    private static volatile boolean entryPoolEnabled = SentinelConfig.entryPoolEnabled();
+
+    /**
+     * Pre-built string resource wrappers (of common resource type) indexed by resource id and entry type ordinal.
+     */
+    private static final ResourceTable<StringResourceWrapper[]> resourceTable
+        = new ResourceTable<StringResourceWrapper[]>();
+
     private AsyncEntry asyncEntryWithNoChain(ResourceWrapper resourceWrapper, Context context) {
         AsyncEntry entry = new AsyncEntry(resourceWrapper, null, context);
         entry.initAsyncContext();
@@ -63,7 +79,11 @@ public class CtSph implements Sph {
 
     private AsyncEntry asyncEntryWithPriorityInternal(ResourceWrapper resourceWrapper, int count, boolean prioritized,
                                                       Object... args) throws BlockException {
-        Context context = ContextUtil.getContext();
+        return asyncEntryWithContextInternal(ContextUtil.getContext(), resourceWrapper, count, prioritized, args);
+    }
+
+    private AsyncEntry asyncEntryWithContextInternal(Context context, ResourceWrapper resourceWrapper, int count,
+                                                     boolean prioritized, Object[] args) throws BlockException {
         if (context instanceof NullContext) {
             // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
             // so here init the entry only. No rule checking will be done.
@@ -116,7 +136,11 @@ public class CtSph implements Sph {
 
     private Entry entryWithPriority(ResourceWrapper resourceWrapper, int count, boolean prioritized, Object... args)
         throws BlockException {
-        Context context = ContextUtil.getContext();
+        return entryWithContextInternal(ContextUtil.getContext(), resourceWrapper, count, prioritized, args);
+    }
+
+    private Entry entryWithContextInternal(Context context, ResourceWrapper resourceWrapper, int count,
+                                           boolean prioritized, Object[] args) throws BlockException {
         if (context instanceof NullContext) {
             // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
             // so here init the entry only. No rule checking will be done.
@@ -143,7 +167,8 @@ public class CtSph implements Sph {
             return new CtEntry(resourceWrapper, null, context);
         }
 
-        Entry e = new CtEntry(resourceWrapper, chain, context, count, args);
+        Entry e = entryPoolEnabled ? CtEntryPool.acquire(resourceWrapper, chain, context, count, args)
+            : new CtEntry(resourceWrapper, chain, context, count, args);
         try {
             chain.entry(context, resourceWrapper, null, count, prioritized, args);
         } catch (BlockException e1) {
@@ -156,6 +181,38 @@ public class CtSph implements Sph {
         return e;
     }
 
+    private BatchEntry batchEntryWithContextInternal(Context context, ResourceWrapper resourceWrapper, int count,
+                                                     Object[] args) throws BlockException {
+        if (context instanceof NullContext) {
+            // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
+            // so here init the entry only. No rule checking will be done.
+            return new BatchEntry(resourceWrapper, null, context, count, args);
+        }
+
+        if (context == null) {
+            // Using default context.
+            context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
+        }
+
+        ProcessorSlot<Object> chain = Constants.ON ? lookProcessChain(resourceWrapper) : null;
+        // No rule checking will be done when the global switch is off or the slot chain is absent,
+        // so the whole batch is granted.
+        BatchEntry e = new BatchEntry(resourceWrapper, chain, context, count, args);
+        if (chain == null) {
+            return e;
+        }
+        try {
+            chain.entry(context, resourceWrapper, null, count, false, args);
+        } catch (BlockException e1) {
+            e.exit(count, args);
+            throw e1;
+        } catch (Throwable e1) {
+            // This should not happen, unless there are errors existing in Sentinel internal.
+            RecordLog.info("Sentinel unexpected exception", e1);
+        }
+        return e;
+    }
+
     /**
      * Do all {@link Rule}s checking about the resource.
      *
@@ -192,22 +249,24 @@ public class CtSph implements Sph {
      * @return {@link ProcessorSlotChain} of the resource
      */
     ProcessorSlot<Object> lookProcessChain(ResourceWrapper resourceWrapper) {
-        ProcessorSlotChain chain = chainMap.get(resourceWrapper);
+        int id = resourceWrapper.getResourceId();
+        if (id == ResourceRegistry.UNREGISTERED) {
+            // Resource amount exceeds the registry limit.
+            return null;
+        }
+        ProcessorSlotChain chain = chainTable.get(id);
         if (chain == null) {
             synchronized (LOCK) {
-                chain = chainMap.get(resourceWrapper);
+                chain = chainTable.get(id);
                 if (chain == null) {
                     // Entry size limit.
-                    if (chainMap.size() >= Constants.MAX_SLOT_CHAIN_SIZE) {
+                    if (chainSize >= Constants.MAX_SLOT_CHAIN_SIZE) {
                         return null;
                     }
 
                     chain = SlotChainProvider.newSlotChain();
-                    Map<ResourceWrapper, ProcessorSlotChain> newMap = new HashMap<ResourceWrapper, ProcessorSlotChain>(
-                        chainMap.size() + 1);
-                    newMap.putAll(chainMap);
-                    newMap.put(resourceWrapper, chain);
-                    chainMap = newMap;
+                    chainTable.set(id, chain);
+                    chainSize++;
                 }
             }
         }
@@ -221,7 +280,7 @@ public class CtSph implements Sph {
      * @since 0.2.0
      */
     public static int entrySize() {
-        return chainMap.size();
+        return chainSize;
     }
 
     /**
@@ -230,16 +289,75 @@ public class CtSph implements Sph {
      * @since 0.2.0
      */
     static void resetChainMap() {
-        chainMap.clear();
+        synchronized (LOCK) {
+            chainTable.clear();
+            chainSize = 0;
+        }
     }
 
     /**
-     * Only for internal test.
+     * Get the slot chain of given resource without creating. Only for internal test.
      *
-     * @since 0.2.0
+     * @since 1.8.8
+     */
+    static ProcessorSlotChain getChain(ResourceWrapper resourceWrapper) {
+        return chainTable.get(resourceWrapper.getResourceId());
+    }
+
+    /**
+     * Set the slot chain of given resource. Only for internal test.
+     *
+     * @since 1.8.8
+     */
+    static void putChain(ResourceWrapper resourceWrapper, ProcessorSlotChain chain) {
+        synchronized (LOCK) {
+            if (chainTable.get(resourceWrapper.getResourceId()) == null) {
+                chainSize++;
+            }
+            chainTable.set(resourceWrapper.getResourceId(), chain);
+        }
+    }
+
+    /**
+     * Enable or disable the entry pool. Only for internal test.
+     *
+     * @since 1.8.8
+     */
+    static void setEntryPoolEnabled(boolean enabled) {
+        entryPoolEnabled = enabled;
+    }
+
+    /**
+     * Get the string resource wrapper of common resource type. The wrapper is pre-built and shared
+     * when the entry pool is enabled.
      */
-    static Map<ResourceWrapper, ProcessorSlotChain> getChainMap() {
-        return chainMap;
+    private static StringResourceWrapper stringResource(String name, EntryType type) {
+        if (!entryPoolEnabled || StringUtil.isEmpty(name)) {
+            return new StringResourceWrapper(name, type);
+        }
+        int id = ResourceRegistry.register(name);
+        if (id == ResourceRegistry.UNREGISTERED) {
+            return new StringResourceWrapper(name, type);
+        }
+        StringResourceWrapper[] wrappers = resourceTable.get(id);
+        if (wrappers == null) {
+            wrappers = new StringResourceWrapper[EntryType.values().length];
+            StringResourceWrapper[] existing = resourceTable.putIfAbsent(id, wrappers);
+            if (existing != null) {
+                wrappers = existing;
+            }
+        }
+        StringResourceWrapper resource = wrappers[type.ordinal()];
+        if (resource == null) {
+            // Racing threads may build duplicate wrappers, which are equal to each other.
+            resource = new StringResourceWrapper(name, type);
+            wrappers[type.ordinal()] = resource;
+        }
+        return resource;
+    }
+
+    private static Context contextOrCurrent(Context context) {
+        return context != null ? context : ContextUtil.getContext();
     }
 
     /**
@@ -257,7 +375,7 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, EntryType.OUT);
+        StringResourceWrapper resource = stringResource(name, EntryType.OUT);
         return entry(resource, 1, OBJECTS0);
     }
 
@@ -275,7 +393,7 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name, EntryType type) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = stringResource(name, type);
         return entry(resource, 1, OBJECTS0);
     }
 
@@ -287,7 +405,7 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name, EntryType type, int count) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = stringResource(name, type);
         return entry(resource, count, OBJECTS0);
     }
 
@@ -299,7 +417,7 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name, int count) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, EntryType.OUT);
+        StringResourceWrapper resource = stringResource(name, EntryType.OUT);
         return entry(resource, count, OBJECTS0);
     }
 
@@ -311,26 +429,26 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name, EntryType type, int count, Object... args) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = stringResource(name, type);
         return entry(resource, count, args);
     }
 
     @Override
     public AsyncEntry asyncEntry(String name, EntryType type, int count, Object... args) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = stringResource(name, type);
         return asyncEntryInternal(resource, count, args);
     }
 
     @Override
     public Entry entryWithPriority(String name, EntryType type, int count, boolean prioritized) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = stringResource(name, type);
         return entryWithPriority(resource, count, prioritized);
     }
 
     @Override
     public Entry entryWithPriority(String name, EntryType type, int count, boolean prioritized, Object... args)
         throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = stringResource(name, type);
         return entryWithPriority(resource, count, prioritized, args);
     }
 
@@ -343,7 +461,8 @@ public class CtSph implements Sph {
     @Override
     public Entry entryWithType(String name, int resourceType, EntryType entryType, int count, boolean prioritized,
                                Object[] args) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, entryType, resourceType);
+        StringResourceWrapper resource = resourceType == ResourceTypeConstants.COMMON
+            ? stringResource(name, entryType) : new StringResourceWrapper(name, entryType, resourceType);
         return entryWithPriority(resource, count, prioritized, args);
     }
 
@@ -353,4 +472,42 @@ public class CtSph implements Sph {
         StringResourceWrapper resource = new StringResourceWrapper(name, entryType, resourceType);
         return asyncEntryWithPriorityInternal(resource, count, prioritized, args);
     }
+
+    @Override
+    public BatchEntry batchEntry(Context context, String name, EntryType type, int batchCount, Object... args)
+        throws BlockException {
+        StringResourceWrapper resource = stringResource(name, type);
+        return batchEntryWithContextInternal(contextOrCurrent(context), resource, batchCount, args);
+    }
+
+    @Override
+    public Entry entryWithContext(Context context, String name, EntryType type, int count, Object... args)
+        throws BlockException {
+        StringResourceWrapper resource = stringResource(name, type);
+        return entryWithContextInternal(contextOrCurrent(context), resource, count, false, args);
+    }
+
+    @Override
+    public AsyncEntry asyncEntryWithContext(Context context, String name, EntryType type, int count, Object... args)
+        throws BlockException {
+        StringResourceWrapper resource = stringResource(name, type);
+        return asyncEntryWithContextInternal(contextOrCurrent(context), resource, count, false, args);
+    }
+
+    @Override
+    public AsyncEntry asyncEntryNonBlocking(Context context, String name, int resourceType, EntryType entryType,
+                                            int count, boolean prioritized, Object[] args) throws BlockException {
+        StringResourceWrapper resource = new StringResourceWrapper(name, entryType, resourceType);
+        // Record the wait time of traffic shaping controllers instead of sleeping.
+        WaitUtil.beginDeferring();
+        AsyncEntry entry;
+        long waitNanos;
+        try {
+            entry = asyncEntryWithContextInternal(contextOrCurrent(context), resource, count, prioritized, args);
+        } finally {
+            waitNanos = WaitUtil.endDeferring();
+        }
+        entry.setWaitNanos(waitNanos);
+        return entry;
+    }
 }
@@ -21,6 +21,7 @@ import com.alibaba.csp.sentinel.util.function.BiConsumer;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
 import com.alibaba.csp.sentinel.context.Context;
 
 /**
@@ -55,7 +56,7 @@ public abstract class Entry implements AutoCloseable {
 
     protected static final Object[] OBJECTS0 = new Object[0];
 
-    private final long createTimestamp;
+    private long createTimestamp;
     private long completeTimestamp;
 
     private Node curNode;
@@ -67,11 +68,16 @@ public abstract class Entry implements AutoCloseable {
     private Throwable error;
     private BlockException blockError;
 
-    protected final ResourceWrapper resourceWrapper;
+    protected ResourceWrapper resourceWrapper;
 
-    protected final int count;
+    /**
+     * Route of the rule-aware slot chain pinned on entry, so that the exit goes through the same slots.
+     */
+    private RuleAwareProcessorSlotChain.Route slotChainRoute;
+
+    protected int count;
 
-    protected final Object[] args;
+    protected Object[] args;
 
     public Entry(ResourceWrapper resourceWrapper) {
         this(resourceWrapper, 1, OBJECTS0);
@@ -84,6 +90,24 @@ public abstract class Entry implements AutoCloseable {
         this.args = args;
     }
 
+    /**
+     * Reset the state of this entry, so that it could be reused for another invocation.
+     *
+     * @since 1.8.8
+     */
+    void reset(ResourceWrapper resourceWrapper, int count, Object[] args) {
+        this.resourceWrapper = resourceWrapper;
+        this.createTimestamp = TimeUtil.currentTimeMillis();
+        this.completeTimestamp = 0;
+        this.count = count;
+        this.args = args;
+        this.curNode = null;
+        this.originNode = null;
+        this.error = null;
+        this.blockError = null;
+        this.slotChainRoute = null;
+    }
+
     public ResourceWrapper getResourceWrapper() {
         return resourceWrapper;
     }
@@ -189,6 +213,20 @@ public abstract class Entry implements AutoCloseable {
         this.originNode = originNode;
     }
 
+    /**
+     * Get the route of the rule-aware slot chain pinned on entry.
+     *
+     * @return the route, or null if the resource is not guarded by a {@link RuleAwareProcessorSlotChain}
+     * @since 1.8.8
+     */
+    public RuleAwareProcessorSlotChain.Route getSlotChainRoute() {
+        return slotChainRoute;
+    }
+
+    public void setSlotChainRoute(RuleAwareProcessorSlotChain.Route slotChainRoute) {
+        this.slotChainRoute = slotChainRoute;
+    }
+
     /**
      * Like {@code CompletableFuture} since JDK 8, it guarantees specified handler
      * is invoked when this entry terminated (exited), no matter it's blocked or permitted.
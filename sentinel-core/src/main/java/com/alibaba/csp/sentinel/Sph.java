@@ -17,6 +17,7 @@ package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
 
+import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.system.SystemRule;
 
@@ -193,4 +194,59 @@ public interface Sph extends SphResourceTypeSupport {
      */
     Entry entryWithPriority(String name, EntryType trafficType, int batchCount, boolean prioritized, Object... args)
         throws BlockException;
+
+    /**
+     * Create a protected resource on the provided context rather than the context of current thread.
+     *
+     * @param context     the context (e.g. created by {@code ContextUtil.newContext(String, String)}),
+     *                    context of current thread will be used if null
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args        args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.8
+     */
+    Entry entryWithContext(Context context, String name, EntryType trafficType, int batchCount, Object... args)
+        throws BlockException;
+
+    /**
+     * Create a protected asynchronous resource on the provided context rather than the context of current thread.
+     *
+     * @param context     the context (e.g. created by {@code ContextUtil.newContext(String, String)}),
+     *                    context of current thread will be used if null
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args        args for parameter flow control or customized slots
+     * @return created asynchronous entry
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.8
+     */
+    AsyncEntry asyncEntryWithContext(Context context, String name, EntryType trafficType, int batchCount,
+                                     Object... args) throws BlockException;
+
+    /**
+     * Create a protected resource for a batch of items, which checks the rules once for the whole batch.
+     * Flow rules may grant only part of the batch (see {@link BatchEntry#getGrantedCount()}).
+     *
+     * @param context     the context (e.g. created by {@code ContextUtil.newContext(String, String)}),
+     *                    context of current thread will be used if null
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of items within the batch
+     * @param args        args for parameter flow control or customized slots
+     * @return the {@link BatchEntry} of this batch
+     * @throws BlockException if the block criteria is met, or none of the items is granted
+     * @since 1.8.8
+     */
+    BatchEntry batchEntry(Context context, String name, EntryType trafficType, int batchCount, Object... args)
+        throws BlockException;
 }
@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel;
 
+import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.system.SystemRule;
 
@@ -74,4 +75,45 @@ public interface SphResourceTypeSupport {
     AsyncEntry asyncEntryWithType(String name, int resourceType, EntryType trafficType, int batchCount,
                                   boolean prioritized,
                                   Object[] args) throws BlockException;
+
+    /**
+     * Record statistics and perform rule checking for the given resource that indicates an async invocation,
+     * without blocking the current thread. If any rule requires the request to wait before passing,
+     * the wait time is carried by {@link AsyncEntry#getWaitNanos()} instead of sleeping, and the caller
+     * should delay the invocation accordingly (e.g. with a timer).
+     *
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param prioritized  whether the entry is prioritized
+     * @param args         args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.8
+     */
+    default AsyncEntry asyncEntryNonBlocking(String name, int resourceType, EntryType trafficType, int batchCount,
+                                             boolean prioritized, Object[] args) throws BlockException {
+        return asyncEntryNonBlocking(null, name, resourceType, trafficType, batchCount, prioritized, args);
+    }
+
+    /**
+     * Same as {@link #asyncEntryNonBlocking(String, int, EntryType, int, boolean, Object[])}, but done on the
+     * provided context rather than the context of current thread.
+     *
+     * @param context      the context, context of current thread will be used if null
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal)
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param prioritized  whether the entry is prioritized
+     * @param args         args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.8
+     */
+    AsyncEntry asyncEntryNonBlocking(Context context, String name, int resourceType, EntryType trafficType,
+                                     int batchCount, boolean prioritized, Object[] args) throws BlockException;
 }
@@ -17,6 +17,8 @@ package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
 
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
 import com.alibaba.csp.sentinel.slots.system.SystemRule;
@@ -365,4 +367,177 @@ public class SphU {
                                         Object[] args) throws BlockException {
         return Env.sph.asyncEntryWithType(name, resourceType, trafficType, batchCount, false, args);
     }
+
+    /**
+     * Record statistics and perform rule checking for the given resource that indicates an async invocation,
+     * without blocking the current thread (e.g. an event loop). When rules like rate limiting require the
+     * request to wait, the entry passes immediately and {@link AsyncEntry#getWaitNanos()} tells how long the
+     * caller should delay the invocation.
+     *
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.8
+     */
+    public static AsyncEntry asyncEntryNonBlocking(String name, EntryType trafficType) throws BlockException {
+        return Env.sph.asyncEntryNonBlocking(name, ResourceTypeConstants.COMMON, trafficType, 1, false, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given resource that indicates an async invocation,
+     * without blocking the current thread (e.g. an event loop). When rules like rate limiting require the
+     * request to wait, the entry passes immediately and {@link AsyncEntry#getWaitNanos()} tells how long the
+     * caller should delay the invocation.
+     *
+     * @param name         the unique name for the protected resource
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args         args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.8
+     */
+    public static AsyncEntry asyncEntryNonBlocking(String name, int resourceType, EntryType trafficType,
+                                                   int batchCount, Object[] args) throws BlockException {
+        return Env.sph.asyncEntryNonBlocking(name, resourceType, trafficType, batchCount, false, args);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given resource on the provided context, rather than
+     * the context of current thread. This works without any per-thread state when contexts are passed explicitly
+     * (e.g. on short-lived virtual threads).
+     *
+     * @param context the context created by {@link ContextUtil#newContext(String, String)}, or null to use
+     *                the context of current thread
+     * @param name    the unique name of the protected resource
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.8
+     */
+    public static Entry entry(Context context, String name) throws BlockException {
+        return Env.sph.entryWithContext(context, name, EntryType.OUT, 1, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given resource on the provided context, rather than
+     * the context of current thread.
+     *
+     * @param context     the context created by {@link ContextUtil#newContext(String, String)}, or null to use
+     *                    the context of current thread
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args        args for parameter flow control
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.8
+     */
+    public static Entry entry(Context context, String name, EntryType trafficType, int batchCount, Object... args)
+        throws BlockException {
+        return Env.sph.entryWithContext(context, name, trafficType, batchCount, args);
+    }
+
+    /**
+     * Record statistics and check all rules of the resource that indicates an async invocation,
+     * on the provided context rather than the context of current thread.
+     *
+     * @param context     the context created by {@link ContextUtil#newContext(String, String)} (or the async
+     *                    context of an outer async entry), or null to use the context of current thread
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args        args for parameter flow control
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.8
+     */
+    public static AsyncEntry asyncEntry(Context context, String name, EntryType trafficType, int batchCount,
+                                        Object... args) throws BlockException {
+        return Env.sph.asyncEntryWithContext(context, name, trafficType, batchCount, args);
+    }
+
+    /**
+     * Same as {@link #asyncEntryNonBlocking(String, int, EntryType, int, Object[])}, but done on the provided
+     * context rather than the context of current thread.
+     *
+     * @param context      the context created by {@link ContextUtil#newContext(String, String)} (or the async
+     *                     context of an outer async entry), or null to use the context of current thread
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args         args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.8
+     */
+    public static AsyncEntry asyncEntryNonBlocking(Context context, String name, int resourceType,
+                                                   EntryType trafficType, int batchCount, Object[] args)
+        throws BlockException {
+        return Env.sph.asyncEntryNonBlocking(context, name, resourceType, trafficType, batchCount, false, args);
+    }
+
+    /**
+     * <p>Record statistics and perform rule checking once for a batch of items (e.g. messages pulled by
+     * a message consumer). Flow rules may grant only part of the batch, so only
+     * {@link BatchEntry#getGrantedCount()} items should be processed, and the rest should be handled
+     * as blocked.</p>
+     *
+     * <pre>
+     * BatchEntry entry = null;
+     * try {
+     *     entry = SphU.batchEntry("consume", messages.size());
+     *     int granted = entry.getGrantedCount();
+     *     // Process the first `granted` messages and record the failed ones via entry.recordErrors(n).
+     * } catch (BlockException ex) {
+     *     // None of the messages is granted.
+     * } finally {
+     *     if (entry != null) {
+     *         entry.exit();
+     *     }
+     * }
+     * </pre>
+     *
+     * @param name       the unique name of the protected resource
+     * @param batchCount the amount of items within the batch
+     * @return the {@link BatchEntry} of this batch
+     * @throws BlockException if the block criteria is met, or none of the items is granted
+     * @since 1.8.8
+     */
+    public static BatchEntry batchEntry(String name, int batchCount) throws BlockException {
+        return Env.sph.batchEntry(null, name, EntryType.OUT, batchCount, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking once for a batch of items, on the provided context
+     * (or the context of current thread if null).
+     *
+     * @param context     the context created by {@link ContextUtil#newContext(String, String)}, or null to use
+     *                    the context of current thread
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of items within the batch
+     * @param args        args for parameter flow control
+     * @return the {@link BatchEntry} of this batch
+     * @throws BlockException if the block criteria is met, or none of the items is granted
+     * @since 1.8.8
+     */
+    public static BatchEntry batchEntry(Context context, String name, EntryType trafficType, int batchCount,
+                                        Object... args) throws BlockException {
+        return Env.sph.batchEntry(context, name, trafficType, batchCount, args);
+    }
 }
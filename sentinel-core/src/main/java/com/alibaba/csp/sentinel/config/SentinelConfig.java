@@ -61,6 +61,22 @@ public final class SentinelConfig {
     public static final String STATISTIC_MAX_RT = "csp.sentinel.statistic.max.rt";
     public static final String SPI_CLASSLOADER = "csp.sentinel.spi.classloader";
     public static final String METRIC_FLUSH_INTERVAL = "csp.sentinel.metric.flush.interval";
+    public static final String METRIC_FILE_FORMAT = "csp.sentinel.metric.file.format";
+    public static final String METRIC_FILE_FSYNC = "csp.sentinel.metric.file.fsync";
+    public static final String METRIC_WRITER_ASYNC = "csp.sentinel.metric.writer.async.enabled";
+    public static final String METRIC_WRITER_QUEUE_SIZE = "csp.sentinel.metric.writer.queue.size";
+    public static final String FLOW_PRIORITY_QUEUE_CAPACITY = "csp.sentinel.flow.priority.queue.capacity";
+    public static final String STATISTIC_BUCKET_PREALLOCATED = "csp.sentinel.statistic.bucket.preallocated";
+    public static final String STATISTIC_COMPACT_METRIC = "csp.sentinel.statistic.metric.compact";
+    public static final String STATISTIC_COMPACT_METRIC_STRIPES = "csp.sentinel.statistic.metric.compact.stripes";
+    public static final String STATISTIC_MINUTE_COUNTER_LAZY = "csp.sentinel.statistic.minute.counter.lazy";
+    public static final String STATISTIC_MAX_ORIGIN_COUNT = "csp.sentinel.statistic.max.origin.count";
+    public static final String STATISTIC_RT_HISTOGRAM = "csp.sentinel.statistic.rt.histogram.enabled";
+    public static final String SLOT_CHAIN_SPECIALIZE = "csp.sentinel.slot.chain.specialize.enabled";
+    public static final String ENTRY_POOL_ENABLED = "csp.sentinel.entry.pool.enabled";
+    public static final String TIME_CLOCK = "csp.sentinel.time.clock";
+    public static final String TIME_TICK_INTERVAL = "csp.sentinel.time.tick.interval.ms";
+    public static final String CONTEXT_CARRIER = "csp.sentinel.context.carrier";
 
     public static final String DEFAULT_CHARSET = "UTF-8";
     public static final long DEFAULT_SINGLE_METRIC_FILE_SIZE = 1024 * 1024 * 50;
@@ -68,6 +84,21 @@ public final class SentinelConfig {
     public static final int DEFAULT_COLD_FACTOR = 3;
     public static final int DEFAULT_STATISTIC_MAX_RT = 5000;
     public static final long DEFAULT_METRIC_FLUSH_INTERVAL = 1L;
+    public static final int DEFAULT_FLOW_PRIORITY_QUEUE_CAPACITY = 0;
+    public static final int DEFAULT_STATISTIC_COMPACT_METRIC_STRIPES = 1;
+    public static final int DEFAULT_STATISTIC_MAX_ORIGIN_COUNT = 0;
+    public static final String TIME_CLOCK_ADAPTIVE = "adaptive";
+    public static final String TIME_CLOCK_SYSTEM = "system";
+    public static final String TIME_CLOCK_NANO = "nano";
+    public static final String TIME_CLOCK_TICK = "tick";
+    public static final long DEFAULT_TIME_TICK_INTERVAL = 1L;
+    public static final String CONTEXT_CARRIER_THREAD_LOCAL = "threadlocal";
+    public static final String METRIC_FILE_FORMAT_TEXT = "text";
+    public static final String METRIC_FILE_FORMAT_BINARY = "binary";
+    public static final String METRIC_FILE_FSYNC_NONE = "none";
+    public static final String METRIC_FILE_FSYNC_BATCH = "batch";
+    public static final int DEFAULT_METRIC_WRITER_QUEUE_SIZE = 60;
+    public static final String CONTEXT_CARRIER_EXPLICIT = "explicit";
 
     static {
         try {
@@ -259,6 +290,297 @@ public final class SentinelConfig {
         }
     }
 
+    /**
+     * <p>Get the format of metric log files, which could be:</p>
+     * <ul>
+     * <li>{@code text} (default): each metric is written as a text line;</li>
+     * <li>{@code binary}: metrics are written as fixed-width binary records with a resource name dictionary.</li>
+     * </ul>
+     * <p>Metric searchers read files of both formats.</p>
+     *
+     * @return the format of metric log files
+     * @since 1.8.8
+     */
+    public static String metricFileFormat() {
+        String v = props.get(METRIC_FILE_FORMAT);
+        return StringUtil.isBlank(v) ? METRIC_FILE_FORMAT_TEXT : v.trim();
+    }
+
+    /**
+     * <p>Get the fsync policy of metric log files, which could be:</p>
+     * <ul>
+     * <li>{@code none} (default): written metrics are left to the operating system to be flushed to disk;</li>
+     * <li>{@code batch}: metric files are forced to disk after each batch (a group of seconds when the
+     * asynchronous writer falls behind) is written.</li>
+     * </ul>
+     *
+     * @return the fsync policy of metric log files
+     * @since 1.8.8
+     */
+    public static String metricFileFsync() {
+        String v = props.get(METRIC_FILE_FSYNC);
+        return StringUtil.isBlank(v) ? METRIC_FILE_FSYNC_NONE : v.trim();
+    }
+
+    /**
+     * Whether metric logs are written by a background writer, so that a slow disk doesn't delay the
+     * aggregation of metrics. Disabled by default.
+     *
+     * @return true if the asynchronous metric writer is enabled
+     * @since 1.8.8
+     */
+    public static boolean metricWriterAsyncEnabled() {
+        return Boolean.parseBoolean(props.get(METRIC_WRITER_ASYNC));
+    }
+
+    /**
+     * Get the max count of pending seconds of metrics of the asynchronous metric writer. When the queue is full,
+     * metrics of new seconds are dropped and counted as {@code Constants.METRIC_DROPPED_RESOURCE_NAME}.
+     *
+     * @return the queue size of the asynchronous metric writer
+     * @since 1.8.8
+     */
+    public static int metricWriterQueueSize() {
+        String v = props.get(METRIC_WRITER_QUEUE_SIZE);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return DEFAULT_METRIC_WRITER_QUEUE_SIZE;
+            }
+            int size = Integer.parseInt(v);
+            if (size <= 0) {
+                RecordLog.warn("[SentinelConfig] Invalid metric writer queue size: {}, "
+                    + "using the default value instead: " + DEFAULT_METRIC_WRITER_QUEUE_SIZE, v);
+                return DEFAULT_METRIC_WRITER_QUEUE_SIZE;
+            }
+            return size;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid metric writer queue size: {}, using the default value instead: "
+                + DEFAULT_METRIC_WRITER_QUEUE_SIZE, v, throwable);
+            return DEFAULT_METRIC_WRITER_QUEUE_SIZE;
+        }
+    }
+
+    /**
+     * Get the max count of waiting prioritized requests of each flow rule. Each waiting request still waits until
+     * its occupied window arrives, and prioritized requests are rejected when the wait is full.
+     * 0 (by default) means unbounded, and waiting requests sleep independently.
+     *
+     * @return the max count of waiting prioritized requests of each flow rule
+     * @since 1.8.8
+     */
+    public static int flowPriorityQueueCapacity() {
+        String v = props.get(FLOW_PRIORITY_QUEUE_CAPACITY);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return DEFAULT_FLOW_PRIORITY_QUEUE_CAPACITY;
+            }
+            int capacity = Integer.parseInt(v);
+            if (capacity < 0) {
+                RecordLog.warn("[SentinelConfig] Invalid priority queue capacity: {}, using the default value instead: "
+                    + DEFAULT_FLOW_PRIORITY_QUEUE_CAPACITY, v);
+                return DEFAULT_FLOW_PRIORITY_QUEUE_CAPACITY;
+            }
+            return capacity;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid priority queue capacity: {}, using the default value instead: "
+                + DEFAULT_FLOW_PRIORITY_QUEUE_CAPACITY, v, throwable);
+            return DEFAULT_FLOW_PRIORITY_QUEUE_CAPACITY;
+        }
+    }
+
+    /**
+     * Whether the sliding window buckets of statistic metrics are pre-allocated and rotated without lock.
+     * Disabled by default.
+     *
+     * @return true if the pre-allocated bucket mode is enabled
+     * @since 1.8.8
+     */
+    public static boolean statisticBucketPreallocated() {
+        return Boolean.parseBoolean(props.get(STATISTIC_BUCKET_PREALLOCATED));
+    }
+
+    /**
+     * Whether statistic nodes use the compact primitive-array metric storage. Disabled by default.
+     * The compact storage doesn't record RT histograms, so RT percentiles are not available.
+     *
+     * @return true if the compact metric storage is enabled
+     * @since 1.8.8
+     */
+    public static boolean statisticCompactMetricEnabled() {
+        return Boolean.parseBoolean(props.get(STATISTIC_COMPACT_METRIC));
+    }
+
+    /**
+     * Get the counter stripes of each bucket in compact metric storage, which should be a power of two.
+     *
+     * @return the counter stripes
+     * @since 1.8.8
+     */
+    public static int statisticCompactMetricStripes() {
+        String v = props.get(STATISTIC_COMPACT_METRIC_STRIPES);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return DEFAULT_STATISTIC_COMPACT_METRIC_STRIPES;
+            }
+            int stripes = Integer.parseInt(v);
+            if (stripes <= 0 || (stripes & (stripes - 1)) != 0) {
+                RecordLog.warn("[SentinelConfig] Invalid compact metric stripes: {}, should be a power of two,"
+                    + " using the default value instead: " + DEFAULT_STATISTIC_COMPACT_METRIC_STRIPES, v);
+                return DEFAULT_STATISTIC_COMPACT_METRIC_STRIPES;
+            }
+            return stripes;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid compact metric stripes: {}, using the default value instead: "
+                + DEFAULT_STATISTIC_COMPACT_METRIC_STRIPES, v, throwable);
+            return DEFAULT_STATISTIC_COMPACT_METRIC_STRIPES;
+        }
+    }
+
+    /**
+     * Whether the minute-level counter of context nodes ({@code DefaultNode}) and origin nodes
+     * is allocated on demand. Cluster nodes always hold the minute-level counter, as it's needed
+     * by the metric log. Disabled by default.
+     * <p>
+     * The counter is allocated on the first minute-level read, and writes before that are not recorded.
+     * So the previous-second QPS of a node (which is read by the warm-up controllers for rules with
+     * {@code CHAIN} strategy or specific {@code limitApp}) is 0 in the first second after the first check,
+     * which is the same as the cold state of a new node.
+     * </p>
+     *
+     * @return true if the minute-level counter of context and origin nodes is allocated on demand
+     * @since 1.8.8
+     */
+    public static boolean statisticMinuteCounterLazy() {
+        return Boolean.parseBoolean(props.get(STATISTIC_MINUTE_COUNTER_LAZY));
+    }
+
+    /**
+     * Get the max count of origin nodes of each resource. When reached, the least recently used idle origin nodes
+     * (except those referenced by flow rules) are evicted, or new origins share an overflow node if none is idle.
+     * Origin nodes of a bounded resource use compact counters and allocate the minute-level counter on demand.
+     * 0 (by default) means unbounded.
+     *
+     * @return the max count of origin nodes of each resource
+     * @since 1.8.8
+     */
+    public static int statisticMaxOriginCount() {
+        String v = props.get(STATISTIC_MAX_ORIGIN_COUNT);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return DEFAULT_STATISTIC_MAX_ORIGIN_COUNT;
+            }
+            int count = Integer.parseInt(v);
+            if (count < 0) {
+                RecordLog.warn("[SentinelConfig] Invalid max origin count: {}, using the default value instead: "
+                    + DEFAULT_STATISTIC_MAX_ORIGIN_COUNT, v);
+                return DEFAULT_STATISTIC_MAX_ORIGIN_COUNT;
+            }
+            return count;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid max origin count: {}, using the default value instead: "
+                + DEFAULT_STATISTIC_MAX_ORIGIN_COUNT, v, throwable);
+            return DEFAULT_STATISTIC_MAX_ORIGIN_COUNT;
+        }
+    }
+
+    /**
+     * Whether statistic nodes record RT histograms for percentiles. Each bucket holds a histogram of
+     * {@code RtHistogram.BUCKET_COUNT} counters once RT is recorded. Disabled by default.
+     * RT histogram is not supported by the compact metric storage (see {@link #statisticCompactMetricEnabled()}),
+     * so no percentiles are available if both are enabled.
+     *
+     * @return true if RT histogram is enabled
+     * @since 1.8.8
+     */
+    public static boolean statisticRtHistogramEnabled() {
+        return Boolean.parseBoolean(props.get(STATISTIC_RT_HISTOGRAM));
+    }
+
+    /**
+     * Whether the default slot chain builder builds rule-aware slot chains, which leave out rule checking slots
+     * that have no rules for the resource. Disabled by default.
+     *
+     * @return true if rule-aware slot chain is enabled
+     * @since 1.8.8
+     */
+    public static boolean slotChainSpecializeEnabled() {
+        return Boolean.parseBoolean(props.get(SLOT_CHAIN_SPECIALIZE));
+    }
+
+    /**
+     * <p>Whether to reuse entry objects, string resource wrappers and the auto-created default context of each
+     * thread, so that the steady-state entry path allocates nothing. Disabled by default.</p>
+     * <p>Note that a pooled entry may be reused by a later invocation as soon as it has exited, so entries
+     * (and the default context) must not be retained or exited twice when the pool is enabled.</p>
+     *
+     * @return true if entry pool is enabled
+     * @since 1.8.8
+     */
+    public static boolean entryPoolEnabled() {
+        return Boolean.parseBoolean(props.get(ENTRY_POOL_ENABLED));
+    }
+
+    /**
+     * <p>Get the clock source of {@code TimeUtil}, which could be:</p>
+     * <ul>
+     * <li>{@code adaptive} (default): read the system time, and switch to a 1 ms ticking thread under heavy load;</li>
+     * <li>{@code system}: always read {@code System.currentTimeMillis()};</li>
+     * <li>{@code nano}: derive the time from {@code System.nanoTime()} without background thread;</li>
+     * <li>{@code tick}: cache the time in a thread ticking every {@code csp.sentinel.time.tick.interval.ms};</li>
+     * <li>fully-qualified class name of a {@code Clock} implementation with a no-arg constructor.</li>
+     * </ul>
+     *
+     * @return the clock source
+     * @since 1.8.8
+     */
+    public static String timeClock() {
+        String v = props.get(TIME_CLOCK);
+        return StringUtil.isBlank(v) ? TIME_CLOCK_ADAPTIVE : v.trim();
+    }
+
+    /**
+     * <p>Get the carrier of the current invocation context, which could be:</p>
+     * <ul>
+     * <li>{@code threadlocal} (default): keep the context of each thread in a {@code ThreadLocal};</li>
+     * <li>{@code explicit}: keep nothing per thread, contexts are only passed explicitly through the API
+     * (e.g. {@code SphU.entry(Context, String)}), and entries without a context use a new default context;</li>
+     * <li>fully-qualified class name of a {@code ContextCarrier} implementation with a no-arg constructor.</li>
+     * </ul>
+     *
+     * @return the context carrier
+     * @since 1.8.8
+     */
+    public static String contextCarrier() {
+        String v = props.get(CONTEXT_CARRIER);
+        return StringUtil.isBlank(v) ? CONTEXT_CARRIER_THREAD_LOCAL : v.trim();
+    }
+
+    /**
+     * Get the tick interval (in milliseconds) of the {@code tick} clock source.
+     *
+     * @return the tick interval in milliseconds
+     * @since 1.8.8
+     */
+    public static long timeTickIntervalMs() {
+        String v = props.get(TIME_TICK_INTERVAL);
+        try {
+            if (StringUtil.isEmpty(v)) {
+                return DEFAULT_TIME_TICK_INTERVAL;
+            }
+            long interval = Long.parseLong(v);
+            if (interval <= 0) {
+                RecordLog.warn("[SentinelConfig] Invalid time tick interval: {}, using the default value instead: "
+                    + DEFAULT_TIME_TICK_INTERVAL, v);
+                return DEFAULT_TIME_TICK_INTERVAL;
+            }
+            return interval;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid time tick interval: {}, using the default value instead: "
+                + DEFAULT_TIME_TICK_INTERVAL, v, throwable);
+            return DEFAULT_TIME_TICK_INTERVAL;
+        }
+    }
+
     /**
      * Function for resolving project name. The order is elaborated below:
      *
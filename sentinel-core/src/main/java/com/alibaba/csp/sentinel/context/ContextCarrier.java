@@ -0,0 +1,53 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.context;
+
+/**
+ * <p>Where the {@link Context} of the current invocation is kept, e.g. in a {@code ThreadLocal}
+ * (see {@link com.alibaba.csp.sentinel.config.SentinelConfig#contextCarrier()}).</p>
+ *
+ * <p>Carriers that could not be mutated in place (e.g. backed by scoped values of later JDKs) may support
+ * {@link #runOnContext(Context, Runnable)} only, and throw {@link UnsupportedOperationException}
+ * from {@link #set(Context)}. In that case the context entered via {@link ContextUtil#enter(String, String)}
+ * is not kept (a warning is logged), so contexts should be created by
+ * {@link ContextUtil#newContext(String, String)} and passed explicitly.</p>
+ *
+ * @since 1.8.8
+ */
+public interface ContextCarrier {
+
+    /**
+     * Get the context of current invocation.
+     *
+     * @return current context, or null if absent
+     */
+    Context get();
+
+    /**
+     * Set the context of current invocation.
+     *
+     * @param context new context, null to remove current context
+     */
+    void set(Context context);
+
+    /**
+     * Run the code with the provided context as current context, and restore the original one afterwards.
+     *
+     * @param context the context, could be null
+     * @param f       code to run within the context
+     */
+    void runOnContext(Context context, Runnable f);
+}
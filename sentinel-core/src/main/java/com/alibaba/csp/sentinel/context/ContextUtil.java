@@ -23,6 +23,7 @@ import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.SphO;
 import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
@@ -45,15 +46,24 @@ import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
 public class ContextUtil {
 
     /**
-     * Store the context in ThreadLocal for easy access.
+     * Keeps the context of current invocation (in ThreadLocal by default) for easy access,
+     * see {@link SentinelConfig#contextCarrier()}.
      */
-    private static ThreadLocal<Context> contextHolder = new ThreadLocal<>();
+    private static final ContextCarrier CARRIER = resolveCarrier(SentinelConfig.contextCarrier());
 
     /**
      * Holds all {@link EntranceNode}. Each {@link EntranceNode} is associated with a distinct context name.
      */
     private static volatile Map<String, DefaultNode> contextNameNodeMap = new HashMap<>();
 
+    /**
+     * Holds the exited default context of each thread for reuse, see {@link SentinelConfig#ENTRY_POOL_ENABLED}.
+     */
+    private static final ThreadLocal<Context> recycledContextHolder = new ThreadLocal<>();
+
+    private static volatile boolean defaultContextReuse = SentinelConfig.entryPoolEnabled()
+        && CARRIER instanceof ThreadLocalContextCarrier;
+
     private static final ReentrantLock LOCK = new ReentrantLock();
     private static final Context NULL_CONTEXT = new NullContext();
 
@@ -62,6 +72,23 @@ public class ContextUtil {
         initDefaultContext();
     }
 
+    private static ContextCarrier resolveCarrier(String type) {
+        if (SentinelConfig.CONTEXT_CARRIER_EXPLICIT.equals(type)) {
+            return new ExplicitContextCarrier();
+        }
+        if (!SentinelConfig.CONTEXT_CARRIER_THREAD_LOCAL.equals(type)) {
+            try {
+                ContextCarrier carrier = (ContextCarrier) Class.forName(type).getDeclaredConstructor().newInstance();
+                RecordLog.info("[ContextUtil] Using customized context carrier: {}", type);
+                return carrier;
+            } catch (Throwable ex) {
+                RecordLog.warn("[ContextUtil] Failed to create context carrier: {}, using ThreadLocal instead",
+                    type, ex);
+            }
+        }
+        return new ThreadLocalContextCarrier();
+    }
+
     private static void initDefaultContext() {
         String defaultContextName = Constants.CONTEXT_DEFAULT_NAME;
         EntranceNode node = new EntranceNode(new StringResourceWrapper(defaultContextName, EntryType.IN), null);
@@ -114,54 +141,104 @@ public class ContextUtil {
             throw new ContextNameDefineException(
                 "The " + Constants.CONTEXT_DEFAULT_NAME + " can't be permit to defined!");
         }
+        if (CARRIER instanceof ExplicitContextCarrier) {
+            ExplicitContextCarrier.warnOnce();
+        }
         return trueEnter(name, origin);
     }
 
     protected static Context trueEnter(String name, String origin) {
-        Context context = contextHolder.get();
+        Context context = CARRIER.get();
         if (context == null) {
-            Map<String, DefaultNode> localCacheNameMap = contextNameNodeMap;
-            DefaultNode node = localCacheNameMap.get(name);
+            DefaultNode node = getOrCreateEntranceNode(name);
             if (node == null) {
-                if (localCacheNameMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
-                    setNullContext();
-                    return NULL_CONTEXT;
-                } else {
-                    LOCK.lock();
-                    try {
-                        node = contextNameNodeMap.get(name);
-                        if (node == null) {
-                            if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
-                                setNullContext();
-                                return NULL_CONTEXT;
-                            } else {
-                                node = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
-                                // Add entrance node.
-                                Constants.ROOT.addChild(node);
-
-                                Map<String, DefaultNode> newMap = new HashMap<>(contextNameNodeMap.size() + 1);
-                                newMap.putAll(contextNameNodeMap);
-                                newMap.put(name, node);
-                                contextNameNodeMap = newMap;
-                            }
-                        }
-                    } finally {
-                        LOCK.unlock();
-                    }
-                }
+                setNullContext();
+                return NULL_CONTEXT;
+            }
+            context = defaultContextReuse ? reuseDefaultContext(node) : null;
+            if (context == null) {
+                context = new Context(node, name);
             }
-            context = new Context(node, name);
             context.setOrigin(origin);
-            contextHolder.set(context);
+            setToCarrier(CARRIER, context);
         }
 
         return context;
     }
 
+    /**
+     * Get the entrance node of given context name, or create one if absent.
+     *
+     * @return the entrance node, or null if the amount of context exceeds the threshold
+     */
+    private static DefaultNode getOrCreateEntranceNode(String name) {
+        Map<String, DefaultNode> localCacheNameMap = contextNameNodeMap;
+        DefaultNode node = localCacheNameMap.get(name);
+        if (node != null) {
+            return node;
+        }
+        if (localCacheNameMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
+            return null;
+        }
+        LOCK.lock();
+        try {
+            node = contextNameNodeMap.get(name);
+            if (node == null) {
+                if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
+                    return null;
+                }
+                node = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
+                // Add entrance node.
+                Constants.ROOT.addChild(node);
+
+                Map<String, DefaultNode> newMap = new HashMap<>(contextNameNodeMap.size() + 1);
+                newMap.putAll(contextNameNodeMap);
+                newMap.put(name, node);
+                contextNameNodeMap = newMap;
+            }
+            return node;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * <p>Create a new context which is not bound to current thread (or the configured carrier),
+     * so that it could be passed explicitly, e.g. via {@code SphU.entry(Context, String)}.
+     * Entries done on the context are chained in the context, and the context should not be used
+     * by concurrent invocations.</p>
+     * <p>Same context name will share same {@link EntranceNode} globally, like {@link #enter(String, String)}.</p>
+     *
+     * @param name   the context name
+     * @param origin the origin of this invocation
+     * @return the new context, or a context with no rule checking if the amount of context exceeds the threshold
+     * @since 1.8.8
+     */
+    public static Context newContext(String name, String origin) {
+        if (Constants.CONTEXT_DEFAULT_NAME.equals(name)) {
+            throw new ContextNameDefineException(
+                "The " + Constants.CONTEXT_DEFAULT_NAME + " can't be permit to defined!");
+        }
+        DefaultNode node = getOrCreateEntranceNode(name);
+        if (node == null) {
+            return NULL_CONTEXT;
+        }
+        return new Context(node, name).setOrigin(origin);
+    }
+
+    private static Context reuseDefaultContext(DefaultNode node) {
+        Context recycled = recycledContextHolder.get();
+        // The entrance node may have been replaced if the context map is reset.
+        if (recycled != null && recycled.getEntranceNode() == node) {
+            return recycled;
+        }
+        return null;
+    }
+
     private static boolean shouldWarn = true;
 
     private static void setNullContext() {
-        contextHolder.set(NULL_CONTEXT);
+        setToCarrier(CARRIER, NULL_CONTEXT);
         // Don't need to be thread-safe.
         if (shouldWarn) {
             RecordLog.warn("[SentinelStatusChecker] WARN: Amount of context exceeds the threshold "
@@ -198,12 +275,23 @@ public class ContextUtil {
      * ThreadLocal.
      */
     public static void exit() {
-        Context context = contextHolder.get();
+        Context context = CARRIER.get();
         if (context != null && context.getCurEntry() == null) {
-            contextHolder.set(null);
+            setToCarrier(CARRIER, null);
+            if (defaultContextReuse && !context.isAsync() && isDefaultContext(context)) {
+                recycledContextHolder.set(context);
+            }
         }
     }
 
+    /**
+     * Enable or disable reusing the default context. Only for internal test.
+     */
+    static void setDefaultContextReuse(boolean enabled) {
+        defaultContextReuse = enabled;
+        recycledContextHolder.remove();
+    }
+
     /**
      * Get current size of context entrance node map.
      *
@@ -235,7 +323,7 @@ public class ContextUtil {
      * thread does't have context.
      */
     public static Context getContext() {
-        return contextHolder.get();
+        return CARRIER.get();
     }
 
     /**
@@ -253,15 +341,34 @@ public class ContextUtil {
      * @since 0.2.0
      */
     static Context replaceContext(Context newContext) {
-        Context backupContext = contextHolder.get();
-        if (newContext == null) {
-            contextHolder.remove();
-        } else {
-            contextHolder.set(newContext);
-        }
+        Context backupContext = CARRIER.get();
+        setToCarrier(CARRIER, newContext);
         return backupContext;
     }
 
+    private static boolean shouldWarnReadOnlyCarrier = true;
+
+    /**
+     * Set the context to the carrier. A read-only carrier (see {@link ContextCarrier}) doesn't keep the context,
+     * so the context entered via {@code ContextUtil} is lost, just like with {@link ExplicitContextCarrier}.
+     *
+     * @return true if the context is kept by the carrier, otherwise false
+     */
+    static boolean setToCarrier(ContextCarrier carrier, Context context) {
+        try {
+            carrier.set(context);
+            return true;
+        } catch (UnsupportedOperationException ex) {
+            // Don't need to be thread-safe.
+            if (shouldWarnReadOnlyCarrier) {
+                RecordLog.warn("[ContextUtil] Context carrier {} is read-only, context entered via ContextUtil"
+                    + " is not kept. Pass the context explicitly instead", carrier.getClass().getName());
+                shouldWarnReadOnlyCarrier = false;
+            }
+            return false;
+        }
+    }
+
     /**
      * Execute the code within provided context.
      * This is mainly designed for context switching (e.g. in asynchronous invocation).
@@ -271,11 +378,6 @@ public class ContextUtil {
      * @since 0.2.0
      */
     public static void runOnContext(Context context, Runnable f) {
-        Context curContext = replaceContext(context);
-        try {
-            f.run();
-        } finally {
-            replaceContext(curContext);
-        }
+        CARRIER.runOnContext(context, f);
     }
 }
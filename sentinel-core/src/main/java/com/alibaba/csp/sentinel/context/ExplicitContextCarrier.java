@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.context;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>Context carrier that keeps nothing per thread, so that no {@code ThreadLocal} entry is created
+ * for short-lived threads (e.g. virtual threads).</p>
+ *
+ * <p>Contexts should be created by {@link ContextUtil#newContext(String, String)} and passed explicitly
+ * through the API (e.g. {@code SphU.entry(Context, String)}). An entry without explicit context is done
+ * on a new default context, so it will not be linked to other entries of the same thread.</p>
+ *
+ * <p>Note that {@link ContextUtil#enter(String, String)} and {@link ContextUtil#runOnContext(Context, Runnable)}
+ * become no-ops with this carrier: the entered context is not kept, so the following entries without
+ * explicit context are done on the default context, and the origin is lost. Thus adapters that enter
+ * the context via {@code ContextUtil} (e.g. the Web Servlet filter and the Dubbo filters) lose the origin,
+ * and rules with a specific {@code limitApp} won't take effect for them. A warning is logged the first time
+ * this happens.</p>
+ *
+ * @since 1.8.8
+ */
+public class ExplicitContextCarrier implements ContextCarrier {
+
+    private static final AtomicBoolean WARNED = new AtomicBoolean(false);
+
+    @Override
+    public Context get() {
+        return null;
+    }
+
+    @Override
+    public void set(Context context) {
+        // Nothing is kept.
+    }
+
+    @Override
+    public void runOnContext(Context context, Runnable f) {
+        if (context != null) {
+            warnOnce();
+        }
+        f.run();
+    }
+
+    /**
+     * Warn (only once) that the context entered via {@link ContextUtil} is not kept.
+     */
+    static void warnOnce() {
+        if (WARNED.compareAndSet(false, true)) {
+            // Log the stack trace to locate the caller.
+            RecordLog.warn("[ExplicitContextCarrier] Context entered via ContextUtil is not kept by the explicit"
+                + " context carrier, entries without explicit context will be done on the default context"
+                + " and lose the origin. Pass the context explicitly instead", new IllegalStateException());
+        }
+    }
+}
@@ -15,14 +15,21 @@
  */
 package com.alibaba.csp.sentinel.node;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.metric.MetricSnapshotBuffer;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
  * <p>
@@ -38,6 +45,11 @@ import com.alibaba.csp.sentinel.util.AssertUtil;
  * origin.<br/>
  * Note that 'origin' usually is Service Consumer's app name.
  * </p>
+ * <p>
+ * The count of origins could be bounded (see {@link SentinelConfig#statisticMaxOriginCount()}), in which case
+ * the least recently used idle origin nodes are evicted when the count reaches the limit. If no origin could
+ * be evicted, new origins share an overflow node until eviction is tried again.
+ * </p>
  *
  * @author qinan.qn
  * @author jialiang.linjl
@@ -46,29 +58,66 @@ public class ClusterNode extends StatisticNode {
 
     private final String name;
     private final int resourceType;
+    /**
+     * Max count of origin nodes, 0 means unbounded.
+     */
+    private final int maxOriginCount;
 
     public ClusterNode(String name) {
         this(name, ResourceTypeConstants.COMMON);
     }
 
     public ClusterNode(String name, int resourceType) {
+        this(name, resourceType, SentinelConfig.statisticMaxOriginCount());
+    }
+
+    /**
+     * @param name           resource name
+     * @param resourceType   classification of the resource
+     * @param maxOriginCount max count of origin nodes, 0 means unbounded
+     * @since 1.8.8
+     */
+    public ClusterNode(String name, int resourceType, int maxOriginCount) {
         AssertUtil.notEmpty(name, "name cannot be empty");
+        AssertUtil.isTrue(maxOriginCount >= 0, "maxOriginCount should not be negative");
         this.name = name;
         this.resourceType = resourceType;
+        this.maxOriginCount = maxOriginCount;
     }
 
     /**
      * <p>The origin map holds the pair: (origin, originNode) for one specific resource.</p>
      * <p>
-     * The longer the application runs, the more stable this mapping will become.
-     * So we didn't use concurrent map here, but a lock, as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
+     * Lookups of concurrent map are lock-free, and adding an origin doesn't copy the existing mappings.
+     * The lock only guarantees that one node is created for each origin, and guards the eviction.
      * </p>
      */
-    private Map<String, StatisticNode> originCountMap = new HashMap<>();
+    private final Map<String, StatisticNode> originCountMap = new ConcurrentHashMap<>();
 
     private final ReentrantLock lock = new ReentrantLock();
 
+    /**
+     * Shared node of the origins that overflow the bounded origin store, guarded by the lock.
+     */
+    private StatisticNode overflowOriginNode;
+
+    /**
+     * Eviction won't be tried again before this time if it failed to make room, guarded by the lock.
+     */
+    private long evictionBackoffUntil = 0;
+
+    /**
+     * Only 1 in {@code sampleInterval} exits are recorded for success and RT statistics (1 means all exits).
+     */
+    private volatile int sampleInterval = 1;
+
+    /**
+     * Whether the node may hold statistics which have not been collected by the metric timer.
+     * It's set by {@link com.alibaba.csp.sentinel.slots.statistic.StatisticSlot} after recording statistics,
+     * so idle resources could be skipped without reading the counters.
+     */
+    private volatile boolean dirty = true;
+
     /**
      * Get resource name of the resource node.
      *
@@ -92,7 +141,8 @@ public class ClusterNode extends StatisticNode {
     /**
      * <p>Get {@link Node} of the specific origin. Usually the origin is the Service Consumer's app name.</p>
      * <p>If the origin node for given origin is absent, then a new {@link StatisticNode}
-     * for the origin will be created and returned.</p>
+     * for the origin will be created and returned. If the origin store is bounded and full, and no idle origin
+     * could be evicted, a node shared by the overflowed origins will be returned.</p>
      *
      * @param origin The caller's name, which is designated in the {@code parameter} parameter
      *               {@link ContextUtil#enter(String name, String origin)}.
@@ -105,22 +155,201 @@ public class ClusterNode extends StatisticNode {
             try {
                 statisticNode = originCountMap.get(origin);
                 if (statisticNode == null) {
-                    // The node is absent, create a new node for the origin.
-                    statisticNode = new StatisticNode();
-                    HashMap<String, StatisticNode> newMap = new HashMap<>(originCountMap.size() + 1);
-                    newMap.putAll(originCountMap);
-                    newMap.put(origin, statisticNode);
-                    originCountMap = newMap;
+                    if (maxOriginCount <= 0) {
+                        // The node is absent, create a new node for the origin.
+                        statisticNode = new StatisticNode(SentinelConfig.statisticMinuteCounterLazy());
+                    } else if (originCountMap.size() < maxOriginCount || makeRoomFor(origin)) {
+                        // Nodes of a bounded origin store are compact and allocate the minute-level counter
+                        // on demand, as most origins are only checked by rules.
+                        statisticNode = new OriginNode();
+                    } else {
+                        return overflowOriginNode();
+                    }
+                    originCountMap.put(origin, statisticNode);
                 }
             } finally {
                 lock.unlock();
             }
         }
+        if (statisticNode instanceof OriginNode) {
+            ((OriginNode)statisticNode).touch();
+        }
         return statisticNode;
     }
 
+    /**
+     * Make room for a new origin when the origin store is full, by evicting the least recently used idle origin
+     * nodes so that the count of origins drops below 7/8 of the limit. The eviction is amortized over the
+     * following insertions. Must be called while holding the lock.
+     * <p>
+     * Evicting an origin drops its statistics, so origins referenced by flow rules (whose limit app is the
+     * origin), with requests in flight or accessed in the recent statistic interval are never evicted, and
+     * origins referenced by flow rules are always given room. If no room is made, eviction backs off
+     * for a statistic interval rather than rescanning on every insertion.
+     * </p>
+     *
+     * @param newOrigin the origin to add
+     * @return true if the new origin could be added
+     */
+    private boolean makeRoomFor(String newOrigin) {
+        if (isReferencedByRules(newOrigin)) {
+            return true;
+        }
+        long now = TimeUtil.currentTimeMillis();
+        if (now < evictionBackoffUntil) {
+            return false;
+        }
+        int evictCount = originCountMap.size() + 1 - (maxOriginCount - (maxOriginCount >> 3));
+        long idleBefore = now - IntervalProperty.INTERVAL;
+        // Snapshot the access time, as it may be updated concurrently while sorting.
+        List<EvictionCandidate> candidates = new ArrayList<>(originCountMap.size());
+        for (Map.Entry<String, StatisticNode> e : originCountMap.entrySet()) {
+            StatisticNode node = e.getValue();
+            if (!(node instanceof OriginNode) || node.curThreadNum() > 0) {
+                continue;
+            }
+            long lastAccessTime = ((OriginNode)node).lastAccessTime;
+            if (lastAccessTime <= idleBefore && !isReferencedByRules(e.getKey())) {
+                candidates.add(new EvictionCandidate(e.getKey(), lastAccessTime));
+            }
+        }
+        Collections.sort(candidates);
+        for (int i = 0; i < evictCount && i < candidates.size(); i++) {
+            // An evicted node that is still referenced by an entry just works as a detached node.
+            originCountMap.remove(candidates.get(i).origin);
+        }
+        if (originCountMap.size() < maxOriginCount) {
+            return true;
+        }
+        evictionBackoffUntil = now + IntervalProperty.INTERVAL;
+        return false;
+    }
+
+    private boolean isReferencedByRules(String origin) {
+        return !FlowRuleManager.isOtherOrigin(origin, name);
+    }
+
+    /**
+     * Get the node shared by the origins which overflow the bounded origin store. Must be called while holding
+     * the lock.
+     */
+    private StatisticNode overflowOriginNode() {
+        if (overflowOriginNode == null) {
+            overflowOriginNode = new OriginNode();
+        }
+        return overflowOriginNode;
+    }
+
     public Map<String, StatisticNode> getOriginCountMap() {
         return originCountMap;
     }
 
+    /**
+     * Get the max count of origin nodes of the resource.
+     *
+     * @return max count of origin nodes, 0 if unbounded
+     * @since 1.8.8
+     */
+    public int getMaxOriginCount() {
+        return maxOriginCount;
+    }
+
+    /**
+     * Get the sample interval of completion statistics of the resource.
+     *
+     * @return sample interval, 1 if the statistics are not sampled
+     * @since 1.8.8
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Set the sample interval of completion statistics of the resource, see
+     * {@link com.alibaba.csp.sentinel.slots.statistic.StatisticSampleRegistry}.
+     *
+     * @param sampleInterval sample interval, values less than 2 disable sampling
+     * @since 1.8.8
+     */
+    public void setSampleInterval(int sampleInterval) {
+        this.sampleInterval = Math.max(1, sampleInterval);
+    }
+
+    /**
+     * Mark that statistics have been recorded to the node since the last collection. Statistics recorded
+     * outside the slot chain should call this method, or they may be ignored by
+     * {@link #collectMetrics(MetricSnapshotBuffer)}.
+     *
+     * @since 1.8.8
+     */
+    public void markDirty() {
+        // Avoid writing the shared field on every request.
+        if (!dirty) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * @return true if the node may hold statistics which have not been collected
+     * @since 1.8.8
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Collect metrics of the complete seconds since the last fetch into the given buffer. The node is
+     * skipped if it's not marked dirty since the last collection.
+     *
+     * @param buffer the snapshot buffer
+     * @since 1.8.8
+     */
+    public void collectMetrics(MetricSnapshotBuffer buffer) {
+        if (!dirty) {
+            return;
+        }
+        // Clear the flag before reading, so statistics recorded concurrently will mark the node again.
+        dirty = false;
+        if (collectMetrics(buffer, name, resourceType)) {
+            // Statistics of the current second will be collected in later rounds.
+            dirty = true;
+        }
+    }
+
+    /**
+     * Statistic node of an origin in the bounded origin store, which uses compact counters and keeps
+     * the last access time for eviction.
+     */
+    private static final class OriginNode extends StatisticNode {
+
+        private volatile long lastAccessTime = TimeUtil.currentTimeMillis();
+
+        OriginNode() {
+            super(true, true);
+        }
+
+        void touch() {
+            long now = TimeUtil.currentTimeMillis();
+            // Avoid writing the shared field on every access within the same millisecond.
+            if (lastAccessTime != now) {
+                lastAccessTime = now;
+            }
+        }
+    }
+
+    private static final class EvictionCandidate implements Comparable<EvictionCandidate> {
+
+        private final String origin;
+        private final long lastAccessTime;
+
+        EvictionCandidate(String origin, long lastAccessTime) {
+            this.origin = origin;
+            this.lastAccessTime = lastAccessTime;
+        }
+
+        @Override
+        public int compareTo(EvictionCandidate o) {
+            return Long.compare(lastAccessTime, o.lastAccessTime);
+        }
+    }
 }
@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.node;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.SphO;
 import com.alibaba.csp.sentinel.SphU;
@@ -56,6 +57,7 @@ public class DefaultNode extends StatisticNode {
     private ClusterNode clusterNode;
 
     public DefaultNode(ResourceWrapper id, ClusterNode clusterNode) {
+        super(SentinelConfig.statisticMinuteCounterLazy());
         this.id = id;
         this.clusterNode = clusterNode;
     }
@@ -124,6 +126,12 @@ public class DefaultNode extends StatisticNode {
         this.clusterNode.addRtAndSuccess(rt, successCount);
     }
 
+    @Override
+    public void addRtAndSuccess(long rt, int successCount, int weight) {
+        super.addRtAndSuccess(rt, successCount, weight);
+        this.clusterNode.addRtAndSuccess(rt, successCount, weight);
+    }
+
     @Override
     public void increaseThreadNum() {
         super.increaseThreadNum();
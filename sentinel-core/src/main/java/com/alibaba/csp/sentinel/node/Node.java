@@ -124,6 +124,32 @@ public interface Node extends OccupySupport, DebugSupport {
      */
     double minRt();
 
+    /**
+     * Get the response time at given percentile in the recent second.
+     * RT histogram should be enabled via {@link com.alibaba.csp.sentinel.config.SentinelConfig#STATISTIC_RT_HISTOGRAM}.
+     *
+     * @param percentile percentile in (0, 100], e.g. 99.9
+     * @return response time at given percentile, 0 if there are no records, or -1 if RT histogram is not
+     * available (disabled, or the compact metric storage is used)
+     * @since 1.8.8
+     */
+    default double rtPercentile(double percentile) {
+        return -1;
+    }
+
+    /**
+     * Get the response time at given percentile in the recent minute.
+     * RT histogram should be enabled via {@link com.alibaba.csp.sentinel.config.SentinelConfig#STATISTIC_RT_HISTOGRAM}.
+     *
+     * @param percentile percentile in (0, 100], e.g. 99.9
+     * @return response time at given percentile, 0 if there are no records, or -1 if RT histogram is not
+     * available (disabled, or the compact metric storage is used)
+     * @since 1.8.8
+     */
+    default double rtPercentileInMinute(double percentile) {
+        return -1;
+    }
+
     /**
      * Get current active thread count.
      *
@@ -172,6 +198,24 @@ public interface Node extends OccupySupport, DebugSupport {
      */
     void addRtAndSuccess(long rt, int success);
 
+    /**
+     * Add rt and success count, where the request stands for {@code weight} requests (e.g. a sampled request).
+     * The success count, total RT and RT histogram are scaled by the weight, and a weight of 0
+     * (a request that is not sampled) adds nothing. The min RT is only of the recorded requests,
+     * so it's approximate for sampled statistics. The default implementation records the request
+     * {@code weight} times via {@link #addRtAndSuccess(long, int)}.
+     *
+     * @param rt      response time
+     * @param success success count to add, which is scaled by the weight
+     * @param weight  amount of requests that the request stands for, which could be 0
+     * @since 1.8.8
+     */
+    default void addRtAndSuccess(long rt, int success, int weight) {
+        for (int i = 0; i < weight; i++) {
+            addRtAndSuccess(rt, success);
+        }
+    }
+
     /**
      * Increase the block count.
      *
@@ -20,8 +20,12 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.node.metric.MetricSnapshotBuffer;
 import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
+import com.alibaba.csp.sentinel.slots.statistic.metric.CompactArrayMetric;
 import com.alibaba.csp.sentinel.slots.statistic.metric.Metric;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.util.function.Predicate;
@@ -93,14 +97,21 @@ public class StatisticNode implements Node {
      * Holds statistics of the recent {@code INTERVAL} milliseconds. The {@code INTERVAL} is divided into time spans
      * by given {@code sampleCount}.
      */
-    private transient volatile Metric rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT,
-        IntervalProperty.INTERVAL);
+    private transient volatile Metric rollingCounterInSecond;
 
     /**
      * Holds statistics of the recent 60 seconds. The windowLengthInMs is deliberately set to 1000 milliseconds,
      * meaning each bucket per second, in this way we can get accurate statistics of each second.
+     * The counter could be lazily materialized on the first read, and it's null until then.
      */
-    private transient Metric rollingCounterInMinute = new ArrayMetric(60, 60 * 1000, false);
+    private transient volatile Metric rollingCounterInMinute;
+
+    private static volatile boolean compactHistogramWarned = false;
+
+    /**
+     * Whether the counters of this node always use the compact metric storage.
+     */
+    private final boolean compactMetric;
 
     /**
      * The counter for thread count.
@@ -112,13 +123,68 @@ public class StatisticNode implements Node {
      */
     private long lastFetchTime = -1;
 
+    public StatisticNode() {
+        this(false);
+    }
+
+    /**
+     * @param lazyMinuteCounter whether to allocate the minute-level counter on the first read.
+     *                          Minute-level statistics before materialized will be ignored, so
+     *                          minute-level reads right after materialized (e.g. {@link #previousPassQps()}
+     *                          used by the warm-up controllers) return 0 until the next second
+     * @since 1.8.8
+     */
+    public StatisticNode(boolean lazyMinuteCounter) {
+        this(lazyMinuteCounter, false);
+    }
+
+    /**
+     * @param lazyMinuteCounter whether to allocate the minute-level counter on the first read
+     * @param compactMetric     whether to always use the compact metric storage with a single stripe,
+     *                          which is suitable for numerous nodes of low traffic (e.g. origin nodes)
+     */
+    StatisticNode(boolean lazyMinuteCounter, boolean compactMetric) {
+        this.compactMetric = compactMetric;
+        this.rollingCounterInSecond = newCounter(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL, true);
+        if (!lazyMinuteCounter) {
+            this.rollingCounterInMinute = newCounter(60, 60 * 1000, false);
+        }
+    }
+
+    /**
+     * Get the minute-level counter for reading, which will be materialized if absent.
+     */
+    private Metric minuteCounter() {
+        Metric counter = rollingCounterInMinute;
+        if (counter == null) {
+            synchronized (this) {
+                counter = rollingCounterInMinute;
+                if (counter == null) {
+                    counter = newCounter(60, 60 * 1000, false);
+                    rollingCounterInMinute = counter;
+                }
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Check whether the minute-level counter has been materialized.
+     *
+     * @return true if the minute-level counter is present
+     * @since 1.8.8
+     */
+    public boolean isMinuteCounterPresent() {
+        return rollingCounterInMinute != null;
+    }
+
     @Override
     public Map<Long, MetricNode> metrics() {
         // The fetch operation is thread-safe under a single-thread scheduler pool.
         long currentTime = TimeUtil.currentTimeMillis();
         currentTime = currentTime - currentTime % 1000;
         Map<Long, MetricNode> metrics = new ConcurrentHashMap<>();
-        List<MetricNode> nodesOfEverySecond = rollingCounterInMinute.details();
+        List<MetricNode> nodesOfEverySecond = minuteCounter().details();
         long newLastFetchTime = lastFetchTime;
         // Iterate metrics of all resources, filter valid metrics (not-empty and up-to-date).
         for (MetricNode node : nodesOfEverySecond) {
@@ -132,9 +198,48 @@ public class StatisticNode implements Node {
         return metrics;
     }
 
+    /**
+     * Collect metrics of the complete seconds since the last fetch into the given buffer. Unlike {@link #metrics()},
+     * only metric nodes of the new seconds are created. The fetch operation shares the fetch time with
+     * {@link #metrics()}, so only one of them should be used to fetch metrics of a node.
+     *
+     * @param buffer       the snapshot buffer
+     * @param resource     resource name of the metric nodes
+     * @param resourceType classification of the metric nodes
+     * @return true if the node still holds statistics of the current (or a future) second, which are not collected
+     */
+    boolean collectMetrics(MetricSnapshotBuffer buffer, String resource, int resourceType) {
+        final long fetchedTime = lastFetchTime;
+        List<MetricNode> nodes = minuteCounter().detailsOnCondition(new Predicate<Long>() {
+            @Override
+            public boolean test(Long windowStart) {
+                return windowStart > fetchedTime;
+            }
+        });
+        long currentTime = buffer.getCurrentTime();
+        long newLastFetchTime = fetchedTime;
+        boolean pending = false;
+        for (int i = 0; i < nodes.size(); i++) {
+            MetricNode node = nodes.get(i);
+            if (!isValidMetricNode(node)) {
+                continue;
+            }
+            if (node.getTimestamp() >= currentTime) {
+                pending = true;
+                continue;
+            }
+            node.setResource(resource);
+            node.setClassification(resourceType);
+            buffer.add(node);
+            newLastFetchTime = Math.max(newLastFetchTime, node.getTimestamp());
+        }
+        lastFetchTime = newLastFetchTime;
+        return pending;
+    }
+
     @Override
     public List<MetricNode> rawMetricsInMin(Predicate<Long> timePredicate) {
-        return rollingCounterInMinute.detailsOnCondition(timePredicate);
+        return minuteCounter().detailsOnCondition(timePredicate);
     }
 
     private boolean isNodeInTime(MetricNode node, long currentTime) {
@@ -148,17 +253,45 @@ public class StatisticNode implements Node {
 
     @Override
     public void reset() {
-        rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL);
+        rollingCounterInSecond = newCounter(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL, true);
+    }
+
+    private Metric newCounter(int sampleCount, int intervalInMs, boolean enableOccupy) {
+        if (compactMetric) {
+            return new CompactArrayMetric(sampleCount, intervalInMs, enableOccupy, 1);
+        }
+        return newMetric(sampleCount, intervalInMs, enableOccupy);
+    }
+
+    /**
+     * Create the metric storage of a sliding window. The compact primitive-array storage will be used
+     * if {@link SentinelConfig#STATISTIC_COMPACT_METRIC} is enabled, otherwise RT histograms will be recorded
+     * if {@link SentinelConfig#STATISTIC_RT_HISTOGRAM} is enabled.
+     *
+     * @since 1.8.8
+     */
+    static Metric newMetric(int sampleCount, int intervalInMs, boolean enableOccupy) {
+        if (SentinelConfig.statisticCompactMetricEnabled()) {
+            if (!compactHistogramWarned && SentinelConfig.statisticRtHistogramEnabled()) {
+                compactHistogramWarned = true;
+                RecordLog.warn("[StatisticNode] RT histogram is not supported by the compact metric storage,"
+                    + " RT percentiles won't be available");
+            }
+            return new CompactArrayMetric(sampleCount, intervalInMs, enableOccupy,
+                SentinelConfig.statisticCompactMetricStripes());
+        }
+        return new ArrayMetric(sampleCount, intervalInMs, enableOccupy, SentinelConfig.statisticRtHistogramEnabled());
     }
 
     @Override
     public long totalRequest() {
-        return rollingCounterInMinute.pass() + rollingCounterInMinute.block();
+        Metric counter = minuteCounter();
+        return counter.pass() + counter.block();
     }
 
     @Override
     public long blockRequest() {
-        return rollingCounterInMinute.block();
+        return minuteCounter().block();
     }
 
     @Override
@@ -168,12 +301,12 @@ public class StatisticNode implements Node {
 
     @Override
     public double previousBlockQps() {
-        return this.rollingCounterInMinute.previousWindowBlock();
+        return minuteCounter().previousWindowBlock();
     }
 
     @Override
     public double previousPassQps() {
-        return this.rollingCounterInMinute.previousWindowPass();
+        return minuteCounter().previousWindowPass();
     }
 
     @Override
@@ -183,7 +316,7 @@ public class StatisticNode implements Node {
 
     @Override
     public long totalSuccess() {
-        return rollingCounterInMinute.success();
+        return minuteCounter().success();
     }
 
     @Override
@@ -193,7 +326,7 @@ public class StatisticNode implements Node {
 
     @Override
     public long totalException() {
-        return rollingCounterInMinute.exception();
+        return minuteCounter().exception();
     }
 
     @Override
@@ -203,7 +336,7 @@ public class StatisticNode implements Node {
 
     @Override
     public long totalPass() {
-        return rollingCounterInMinute.pass();
+        return minuteCounter().pass();
     }
 
     @Override
@@ -237,6 +370,16 @@ public class StatisticNode implements Node {
         return rollingCounterInSecond.minRt();
     }
 
+    @Override
+    public double rtPercentile(double percentile) {
+        return rollingCounterInSecond.rtPercentile(percentile);
+    }
+
+    @Override
+    public double rtPercentileInMinute(double percentile) {
+        return minuteCounter().rtPercentile(percentile);
+    }
+
     @Override
     public int curThreadNum() {
         return (int)curThreadNum.sum();
@@ -245,7 +388,10 @@ public class StatisticNode implements Node {
     @Override
     public void addPassRequest(int count) {
         rollingCounterInSecond.addPass(count);
-        rollingCounterInMinute.addPass(count);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addPass(count);
+        }
     }
 
     @Override
@@ -253,20 +399,45 @@ public class StatisticNode implements Node {
         rollingCounterInSecond.addSuccess(successCount);
         rollingCounterInSecond.addRT(rt);
 
-        rollingCounterInMinute.addSuccess(successCount);
-        rollingCounterInMinute.addRT(rt);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addSuccess(successCount);
+            minuteCounter.addRT(rt);
+        }
+    }
+
+    @Override
+    public void addRtAndSuccess(long rt, int successCount, int weight) {
+        if (weight <= 0) {
+            // The request is not sampled.
+            return;
+        }
+        rollingCounterInSecond.addSuccess(successCount * weight);
+        rollingCounterInSecond.addRT(rt, weight);
+
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addSuccess(successCount * weight);
+            minuteCounter.addRT(rt, weight);
+        }
     }
 
     @Override
     public void increaseBlockQps(int count) {
         rollingCounterInSecond.addBlock(count);
-        rollingCounterInMinute.addBlock(count);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addBlock(count);
+        }
     }
 
     @Override
     public void increaseExceptionQps(int count) {
         rollingCounterInSecond.addException(count);
-        rollingCounterInMinute.addException(count);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addException(count);
+        }
     }
 
     @Override
@@ -331,7 +502,10 @@ public class StatisticNode implements Node {
 
     @Override
     public void addOccupiedPass(int acquireCount) {
-        rollingCounterInMinute.addOccupiedPass(acquireCount);
-        rollingCounterInMinute.addPass(acquireCount);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addOccupiedPass(acquireCount);
+            minuteCounter.addPass(acquireCount);
+        }
     }
 }
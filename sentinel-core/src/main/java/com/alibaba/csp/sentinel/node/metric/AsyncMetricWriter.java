@@ -0,0 +1,139 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>Writes metrics through a {@link MetricWriter} in a background thread, so that the aggregation of metrics
+ * is never blocked by a slow disk.</p>
+ * <p>
+ * Metrics of each second are handed over by a bounded queue. When the writer falls behind, all pending
+ * seconds are written as a group, and the files are forced to disk once per group if fsync is enabled.
+ * When the queue is full, metrics of new seconds are dropped, and the count of dropped metric nodes is
+ * written along with the next second as the {@link Constants#METRIC_DROPPED_RESOURCE_NAME} resource.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+final class AsyncMetricWriter {
+
+    private final MetricWriter writer;
+    private final BlockingQueue<Batch> queue;
+    private final boolean fsync;
+
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    /**
+     * Dropped count that has been written to the log, only accessed by the writer thread.
+     */
+    private long writtenDroppedCount = 0;
+
+    AsyncMetricWriter(MetricWriter writer, int queueSize, boolean fsync) {
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<Batch>(queueSize);
+        this.fsync = fsync;
+        new NamedThreadFactory("sentinel-metrics-writer", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }).start();
+    }
+
+    /**
+     * Hand over metrics of a second to the writer thread.
+     *
+     * @param time  the timestamp of the metrics
+     * @param nodes the metrics, which should not be modified later
+     * @return true if the metrics are accepted, false if they are dropped as the queue is full
+     */
+    boolean submit(long time, List<MetricNode> nodes) {
+        if (queue.offer(new Batch(time, nodes))) {
+            return true;
+        }
+        droppedCount.addAndGet(nodes.size());
+        return false;
+    }
+
+    /**
+     * @return total count of dropped metric nodes
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    int getPendingCount() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        List<Batch> group = new ArrayList<Batch>();
+        while (true) {
+            try {
+                group.add(queue.take());
+                queue.drainTo(group);
+                for (Batch batch : group) {
+                    try {
+                        write(batch);
+                    } catch (Exception e) {
+                        RecordLog.warn("[AsyncMetricWriter] Write metric error", e);
+                    }
+                }
+                if (fsync) {
+                    writer.sync();
+                }
+            } catch (InterruptedException e) {
+                // Ignore.
+            } catch (Throwable e) {
+                RecordLog.warn("[AsyncMetricWriter] Sync metric error", e);
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void write(Batch batch) throws Exception {
+        List<MetricNode> nodes = batch.nodes;
+        long dropped = droppedCount.get() - writtenDroppedCount;
+        if (dropped > 0) {
+            MetricNode droppedNode = new MetricNode();
+            droppedNode.setResource(Constants.METRIC_DROPPED_RESOURCE_NAME);
+            droppedNode.setBlockQps(dropped);
+            nodes = new ArrayList<MetricNode>(nodes);
+            nodes.add(droppedNode);
+            writtenDroppedCount += dropped;
+        }
+        writer.write(batch.time, nodes);
+    }
+
+    private static final class Batch {
+        final long time;
+        final List<MetricNode> nodes;
+
+        Batch(long time, List<MetricNode> nodes) {
+            this.time = time;
+            this.nodes = nodes;
+        }
+    }
+}
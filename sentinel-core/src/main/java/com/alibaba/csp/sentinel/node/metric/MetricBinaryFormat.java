@@ -0,0 +1,199 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>The binary metric file format, which consists of:</p>
+ * <ul>
+ * <li>a header of {@link #HEADER_SIZE} bytes: magic number, version, record size and the base timestamp;</li>
+ * <li>fixed-width records of {@link #RECORD_SIZE} bytes, each holds the timestamp as a delta of the base
+ * timestamp, and the resource as an id of the resource name dictionary.</li>
+ * </ul>
+ * <p>The resource name dictionary is kept in a separate file ({@code ${metricFileName}.dict}), in which
+ * each name is written as a UTF-8 string by the order of its id. Names are always written to the dictionary
+ * before the records that refer to them.</p>
+ *
+ * @since 1.8.8
+ */
+final class MetricBinaryFormat {
+
+    static final int MAGIC = 0x534D4231;
+    static final short VERSION = 1;
+    /**
+     * Value of the RT percentiles of a record without percentiles.
+     */
+    static final int NO_RT_PERCENTILE = -1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 80;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    static void writeHeader(ByteBuffer buffer, long baseTimestamp) {
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) RECORD_SIZE);
+        buffer.putLong(baseTimestamp);
+    }
+
+    /**
+     * Read the base timestamp from the header.
+     *
+     * @param buffer buffer positioned at the beginning of the file
+     * @return the base timestamp, or -1 if the header is invalid
+     */
+    static long readBaseTimestamp(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            return -1;
+        }
+        buffer.getShort();
+        if (buffer.getShort() != RECORD_SIZE) {
+            return -1;
+        }
+        return buffer.getLong();
+    }
+
+    static void writeRecord(ByteBuffer buffer, MetricNode node, long baseTimestamp, int resourceId) {
+        buffer.putInt((int) (node.getTimestamp() - baseTimestamp));
+        buffer.putInt(resourceId);
+        buffer.putInt(node.getClassification());
+        buffer.putInt(node.getConcurrency());
+        buffer.putLong(node.getPassQps());
+        buffer.putLong(node.getBlockQps());
+        buffer.putLong(node.getSuccessQps());
+        buffer.putLong(node.getExceptionQps());
+        buffer.putLong(node.getRt());
+        buffer.putLong(node.getOccupiedPassQps());
+        if (node.hasRtPercentiles()) {
+            buffer.putInt((int) node.getP50Rt());
+            buffer.putInt((int) node.getP90Rt());
+            buffer.putInt((int) node.getP99Rt());
+            buffer.putInt((int) node.getP999Rt());
+        } else {
+            for (int i = 0; i < 4; i++) {
+                buffer.putInt(NO_RT_PERCENTILE);
+            }
+        }
+    }
+
+    /**
+     * Read the timestamp of the record at current position, without moving the position.
+     */
+    static long peekTimestamp(ByteBuffer buffer, long baseTimestamp) {
+        return baseTimestamp + buffer.getInt(buffer.position());
+    }
+
+    /**
+     * Read the resource id of the record at current position, without moving the position.
+     */
+    static int peekResourceId(ByteBuffer buffer) {
+        return buffer.getInt(buffer.position() + 4);
+    }
+
+    static MetricNode readRecord(ByteBuffer buffer, long baseTimestamp, String resource) {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(baseTimestamp + buffer.getInt());
+        buffer.getInt();
+        node.setResource(resource);
+        node.setClassification(buffer.getInt());
+        node.setConcurrency(buffer.getInt());
+        node.setPassQps(buffer.getLong());
+        node.setBlockQps(buffer.getLong());
+        node.setSuccessQps(buffer.getLong());
+        node.setExceptionQps(buffer.getLong());
+        node.setRt(buffer.getLong());
+        node.setOccupiedPassQps(buffer.getLong());
+        int p50Rt = buffer.getInt();
+        int p90Rt = buffer.getInt();
+        int p99Rt = buffer.getInt();
+        int p999Rt = buffer.getInt();
+        if (p50Rt != NO_RT_PERCENTILE) {
+            node.setRtPercentiles(p50Rt, p90Rt, p99Rt, p999Rt);
+        }
+        return node;
+    }
+
+    static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        return buffer.array();
+    }
+
+    /**
+     * Read the resource name dictionary.
+     *
+     * @param dictFileName the dictionary file
+     * @return resource names indexed by id, empty if the dictionary is absent
+     */
+    static List<String> readDictionary(String dictFileName) throws IOException {
+        List<String> names = new ArrayList<String>();
+        if (!new File(dictFileName).exists()) {
+            return names;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(dictFileName)));
+        try {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] bytes = new byte[length];
+                try {
+                    in.readFully(bytes);
+                } catch (EOFException e) {
+                    // The name is being written.
+                    break;
+                }
+                names.add(new String(bytes, UTF_8));
+            }
+        } finally {
+            in.close();
+        }
+        return names;
+    }
+
+    /**
+     * Check whether the metric file is in binary format.
+     *
+     * @param fileName the metric file
+     * @return true if the file begins with the magic number of binary format
+     */
+    static boolean isBinaryFile(String fileName) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(fileName, "r");
+        try {
+            return file.length() >= HEADER_SIZE && file.readInt() == MAGIC;
+        } finally {
+            file.close();
+        }
+    }
+
+    private MetricBinaryFormat() {}
+}
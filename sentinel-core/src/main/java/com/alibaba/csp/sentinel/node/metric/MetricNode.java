@@ -19,6 +19,8 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import com.alibaba.csp.sentinel.slots.statistic.data.RtHistogram;
+
 /**
  * Metrics data for a specific resource at given {@code timestamp}.
  *
@@ -50,6 +52,31 @@ public class MetricNode {
      */
     private int concurrency;
 
+    /**
+     * RT percentiles, which are present only if RT histogram is enabled.
+     *
+     * @since 1.8.8
+     */
+    private long p50Rt;
+    private long p90Rt;
+    private long p99Rt;
+    private long p999Rt;
+    private boolean rtPercentilesPresent;
+    /**
+     * Counts of the RT histogram (see {@link RtHistogram}) of the second, which are present only if RT histogram
+     * is enabled. The counts are only available in memory, and won't be written to metric logs.
+     *
+     * @since 1.8.8
+     */
+    private transient long[] rtHistogramCounts;
+    /**
+     * Sum of the response time of the second, which is only available in memory, and won't be written
+     * to metric logs.
+     *
+     * @since 1.8.8
+     */
+    private transient long rtSum;
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -132,6 +159,83 @@ public class MetricNode {
         return this;
     }
 
+    public long getP50Rt() {
+        return p50Rt;
+    }
+
+    public long getP90Rt() {
+        return p90Rt;
+    }
+
+    public long getP99Rt() {
+        return p99Rt;
+    }
+
+    public long getP999Rt() {
+        return p999Rt;
+    }
+
+    public MetricNode setRtPercentiles(long p50Rt, long p90Rt, long p99Rt, long p999Rt) {
+        this.p50Rt = p50Rt;
+        this.p90Rt = p90Rt;
+        this.p99Rt = p99Rt;
+        this.p999Rt = p999Rt;
+        this.rtPercentilesPresent = true;
+        return this;
+    }
+
+    /**
+     * @return counts of the RT histogram indexed by bucket of {@link RtHistogram}, or null if absent
+     * @since 1.8.8
+     */
+    public long[] getRtHistogramCounts() {
+        return rtHistogramCounts;
+    }
+
+    public MetricNode setRtHistogramCounts(long[] rtHistogramCounts) {
+        this.rtHistogramCounts = rtHistogramCounts;
+        return this;
+    }
+
+    /**
+     * Get the sum of the response time of the second, rather than the truncated average of {@link #getRt()}.
+     * It's only present for nodes read from the statistics in memory.
+     *
+     * @return sum of the response time
+     * @since 1.8.8
+     */
+    public long getRtSum() {
+        return rtSum;
+    }
+
+    public MetricNode setRtSum(long rtSum) {
+        this.rtSum = rtSum;
+        return this;
+    }
+
+    /**
+     * @return whether RT percentiles are present
+     * @since 1.8.8
+     */
+    public boolean hasRtPercentiles() {
+        // Percentiles of sub-millisecond RT are all 0, so the presence can't be inferred from the values.
+        return rtPercentilesPresent;
+    }
+
+    private void appendRtPercentiles(StringBuilder sb) {
+        sb.append("|").append(p50Rt);
+        sb.append("|").append(p90Rt);
+        sb.append("|").append(p99Rt);
+        sb.append("|").append(p999Rt);
+    }
+
+    private void parseRtPercentiles(String[] strs, int offset) {
+        if (strs.length >= offset + 4) {
+            setRtPercentiles(Long.parseLong(strs[offset]), Long.parseLong(strs[offset + 1]),
+                Long.parseLong(strs[offset + 2]), Long.parseLong(strs[offset + 3]));
+        }
+    }
+
     @Override
     public String toString() {
         return "MetricNode{" +
@@ -145,6 +249,10 @@ public class MetricNode {
             ", rt=" + rt +
             ", concurrency=" + concurrency +
             ", occupiedPassQps=" + occupiedPassQps +
+            ", p50Rt=" + p50Rt +
+            ", p90Rt=" + p90Rt +
+            ", p99Rt=" + p99Rt +
+            ", p999Rt=" + p999Rt +
             '}';
     }
 
@@ -152,8 +260,9 @@ public class MetricNode {
      * To formatting string. All "|" in {@link #resource} will be replaced with
      * "_", format is: <br/>
      * <code>
-     * timestamp|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps
-     * </code>
+     * timestamp|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps|concurrency|classification
+     * </code><br/>
+     * and RT percentiles {@code |p50Rt|p90Rt|p99Rt|p999Rt} are appended only if present.
      *
      * @return string format of this.
      */
@@ -170,6 +279,9 @@ public class MetricNode {
         sb.append(occupiedPassQps).append("|");
         sb.append(concurrency).append("|");
         sb.append(classification);
+        if (hasRtPercentiles()) {
+            appendRtPercentiles(sb);
+        }
         return sb.toString();
     }
 
@@ -195,9 +307,10 @@ public class MetricNode {
         if (strs.length >= 9) {
             node.setConcurrency(Integer.parseInt(strs[8]));
         }
-        if (strs.length == 10) {
+        if (strs.length >= 10) {
             node.setClassification(Integer.parseInt(strs[9]));
         }
+        node.parseRtPercentiles(strs, 10);
         return node;
     }
 
@@ -205,8 +318,9 @@ public class MetricNode {
      * To formatting string. All "|" in {@link MetricNode#resource} will be
      * replaced with "_", format is: <br/>
      * <code>
-     * timestamp|yyyy-MM-dd HH:mm:ss|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps\n
-     * </code>
+     * timestamp|yyyy-MM-dd HH:mm:ss|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps|concurrency|classification\n
+     * </code><br/>
+     * and RT percentiles {@code |p50Rt|p90Rt|p99Rt|p999Rt} are appended (before the line break) only if present.
      *
      * @return string format of this.
      */
@@ -226,6 +340,9 @@ public class MetricNode {
         sb.append(getOccupiedPassQps()).append("|");
         sb.append(concurrency).append("|");
         sb.append(classification);
+        if (hasRtPercentiles()) {
+            appendRtPercentiles(sb);
+        }
         sb.append('\n');
         return sb.toString();
     }
@@ -253,9 +370,10 @@ public class MetricNode {
         if (strs.length >= 10) {
             node.setConcurrency(Integer.parseInt(strs[9]));
         }
-        if (strs.length == 11) {
+        if (strs.length >= 11) {
             node.setClassification(Integer.parseInt(strs[10]));
         }
+        node.parseRtPercentiles(strs, 11);
         return node;
     }
 
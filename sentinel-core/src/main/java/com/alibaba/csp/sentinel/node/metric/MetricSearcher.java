@@ -15,11 +15,12 @@
  */
 package com.alibaba.csp.sentinel.node.metric;
 
-import java.io.DataInputStream;
-import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.List;
 
 import com.alibaba.csp.sentinel.config.SentinelConfig;
@@ -28,18 +29,34 @@ import com.alibaba.csp.sentinel.config.SentinelConfig;
  * 从指定目录下找出所有的metric文件，并按照指定时间戳进行检索，参考{@link MetricSearcher#find(long, int)}。
  * 会借助索引以提高检索效率，参考{@link MetricWriter}；还会在内部缓存上一次检索的文件指针，以便下一次顺序检索时
  * 减少读盘次数。
+ * <p>
+ * Searching is thread-safe and doesn't block concurrent searches: index files are memory-mapped and binary
+ * searched by second, the list of metric files is cached until the directory is modified, and the cached
+ * position of last search is an immutable snapshot.
+ * </p>
  *
  * @author leyou
  */
 public class MetricSearcher {
 
     private static final Charset defaultCharset = Charset.forName(SentinelConfig.charset());
+    /**
+     * Each index entry holds the second and the offset in the metric file, both are long.
+     */
+    private static final int INDEX_ENTRY_SIZE = 16;
+    /**
+     * The modified time of directory may be coarse-grained (e.g. in seconds), so the file list cached
+     * within this period after the modification is not trusted.
+     */
+    private static final long DIR_MODIFIED_TIME_PRECISION_MS = 1000;
+
     private final MetricsReader metricsReader;
 
     private String baseDir;
     private String baseFileName;
 
-    private Position lastPosition = new Position();
+    private volatile Position lastPosition = null;
+    private volatile FileList cachedFileList = null;
 
     /**
      * @param baseDir      metric文件所在目录
@@ -81,28 +98,13 @@ public class MetricSearcher {
      * @return
      * @throws Exception
      */
-    public synchronized List<MetricNode> find(long beginTimeMs, int recommendLines) throws Exception {
-        List<String> fileNames = MetricWriter.listMetricFiles(baseDir, baseFileName);
-        int i = 0;
-        long offsetInIndex = 0;
-        if (validPosition(beginTimeMs)) {
-            i = fileNames.indexOf(lastPosition.metricFileName);
-            if (i == -1) {
-                i = 0;
-            } else {
-                offsetInIndex = lastPosition.offsetInIndex;
-            }
+    public List<MetricNode> find(long beginTimeMs, int recommendLines) throws Exception {
+        List<String> fileNames = listMetricFiles();
+        Position position = findPosition(fileNames, beginTimeMs);
+        if (position == null) {
+            return null;
         }
-        for (; i < fileNames.size(); i++) {
-            String fileName = fileNames.get(i);
-            long offset = findOffset(beginTimeMs, fileName,
-                MetricWriter.formIndexFileName(fileName), offsetInIndex);
-            offsetInIndex = 0;
-            if (offset != -1) {
-                return metricsReader.readMetrics(fileNames, i, offset, recommendLines);
-            }
-        }
-        return null;
+        return metricsReader.readMetrics(fileNames, position.fileIndex, position.offset, recommendLines);
     }
 
     /**
@@ -110,114 +112,143 @@ public class MetricSearcher {
      * When identity is null, all metric between the time intervalMs will be read, otherwise, only the specific
      * identity will be read.
      */
-    public synchronized List<MetricNode> findByTimeAndResource(long beginTimeMs, long endTimeMs, String identity)
+    public List<MetricNode> findByTimeAndResource(long beginTimeMs, long endTimeMs, String identity)
         throws Exception {
-        List<String> fileNames = MetricWriter.listMetricFiles(baseDir, baseFileName);
-        //RecordLog.info("pid=" + pid + ", findByTimeAndResource([" + beginTimeMs + ", " + endTimeMs
-        //    + "], " + identity + ")");
+        List<String> fileNames = listMetricFiles();
+        Position position = findPosition(fileNames, beginTimeMs);
+        if (position == null) {
+            return null;
+        }
+        return metricsReader.readMetricsByEndTime(fileNames, position.fileIndex, position.offset, beginTimeMs,
+            endTimeMs, identity);
+    }
+
+    /**
+     * Get the metric files, which are listed again only when the directory has been modified.
+     */
+    private List<String> listMetricFiles() throws Exception {
+        long dirModified = new File(baseDir).lastModified();
+        FileList fileList = cachedFileList;
+        if (fileList != null && fileList.dirModified == dirModified
+            && fileList.listedTime - dirModified > DIR_MODIFIED_TIME_PRECISION_MS) {
+            return fileList.fileNames;
+        }
+        long listedTime = System.currentTimeMillis();
+        List<String> fileNames = Collections.unmodifiableList(MetricWriter.listMetricFiles(baseDir, baseFileName));
+        cachedFileList = new FileList(fileNames, dirModified, listedTime);
+        return fileNames;
+    }
+
+    /**
+     * Find the position of the first second that is not earlier than {@code beginTimeMs}.
+     *
+     * @return the position, or null if absent
+     */
+    private Position findPosition(List<String> fileNames, long beginTimeMs) throws Exception {
         int i = 0;
-        long offsetInIndex = 0;
-        if (validPosition(beginTimeMs)) {
-            i = fileNames.indexOf(lastPosition.metricFileName);
-            if (i == -1) {
-                i = 0;
-            } else {
-                offsetInIndex = lastPosition.offsetInIndex;
+        long fromEntry = 0;
+        Position cached = lastPosition;
+        // The cached position is useful only when beginTimeMs is not earlier than it.
+        if (cached != null && beginTimeMs / 1000 >= cached.second) {
+            int index = fileNames.indexOf(cached.metricFileName);
+            if (index != -1) {
+                i = index;
+                fromEntry = cached.entry;
             }
-        } else {
-            //RecordLog.info("lastPosition is invalidate, will re iterate all files, pid = " + pid);
         }
-
         for (; i < fileNames.size(); i++) {
             String fileName = fileNames.get(i);
-            long offset = findOffset(beginTimeMs, fileName,
-                    MetricWriter.formIndexFileName(fileName), offsetInIndex);
-            offsetInIndex = 0;
-            if (offset != -1) {
-                return metricsReader.readMetricsByEndTime(fileNames, i, offset, beginTimeMs, endTimeMs, identity);
+            Position position = findOffset(beginTimeMs, fileName, i, fromEntry);
+            if (position == null && fromEntry > 0) {
+                // The index may have been rewritten, search the whole file again.
+                position = findOffset(beginTimeMs, fileName, i, 0);
+            }
+            fromEntry = 0;
+            if (position != null) {
+                lastPosition = position;
+                return position;
             }
         }
         return null;
     }
 
+    /**
+     * Find the offset of the first second that is not earlier than {@code beginTime}. The index file is
+     * memory-mapped, and the entries (second, offset) are binary searched, as seconds are ascending.
+     */
+    private Position findOffset(long beginTime, String metricFileName, int fileIndex, long fromEntry)
+        throws Exception {
+        String idxFileName = MetricWriter.formIndexFileName(metricFileName);
+        if (!new File(idxFileName).exists()) {
+            return null;
+        }
+        long beginSecond = beginTime / 1000;
+        RandomAccessFile in = new RandomAccessFile(idxFileName, "r");
+        try {
+            FileChannel channel = in.getChannel();
+            // The last entry may be being written.
+            int entryCount = (int) (channel.size() / INDEX_ENTRY_SIZE);
+            int low = (int) fromEntry;
+            if (low >= entryCount) {
+                return null;
+            }
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) entryCount * INDEX_ENTRY_SIZE);
+            int high = entryCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (index.getLong(mid * INDEX_ENTRY_SIZE) < beginSecond) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low >= entryCount) {
+                return null;
+            }
+            return new Position(metricFileName, fileIndex, low, index.getLong(low * INDEX_ENTRY_SIZE),
+                index.getLong(low * INDEX_ENTRY_SIZE + 8));
+        } finally {
+            in.close();
+        }
+    }
+
     /**
      * 记录上一次读取的index文件位置和数值
      */
     private static final class Position {
-        String metricFileName;
-        String indexFileName;
+        final String metricFileName;
+        final int fileIndex;
         /**
-         * 索引文件内的偏移
+         * 索引文件内的条目序号
          */
-        long offsetInIndex;
+        final long entry;
         /**
-         * 索引文件中offsetInIndex位置上的数字，秒数。
+         * 索引文件中该条目上的数字，秒数。
          */
-        long second;
-    }
+        final long second;
+        /**
+         * Offset of the second in the metric file.
+         */
+        final long offset;
 
-    /**
-     * The position we cached is useful only when {@code beginTimeMs} is >= {@code lastPosition.second}
-     * and the index file exists and the second we cached is same as in the index file.
-     */
-    private boolean validPosition(long beginTimeMs) {
-        if (beginTimeMs / 1000 < lastPosition.second) {
-            return false;
-        }
-        if (lastPosition.indexFileName == null) {
-            return false;
-        }
-        // index file dose not exits
-        if (!new File(lastPosition.indexFileName).exists()) {
-            return false;
-        }
-        FileInputStream in = null;
-        try {
-            in = new FileInputStream(lastPosition.indexFileName);
-            in.getChannel().position(lastPosition.offsetInIndex);
-            DataInputStream indexIn = new DataInputStream(in);
-            // timestamp(second) in the specific position == that we cached
-            return indexIn.readLong() == lastPosition.second;
-        } catch (Exception e) {
-            return false;
-        } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (Exception ignore) {
-                }
-            }
+        Position(String metricFileName, int fileIndex, long entry, long second, long offset) {
+            this.metricFileName = metricFileName;
+            this.fileIndex = fileIndex;
+            this.entry = entry;
+            this.second = second;
+            this.offset = offset;
         }
     }
 
-    private long findOffset(long beginTime, String metricFileName,
-                            String idxFileName, long offsetInIndex) throws Exception {
-        lastPosition.metricFileName = null;
-        lastPosition.indexFileName = null;
-        if (!new File(idxFileName).exists()) {
-            return -1;
-        }
-        long beginSecond = beginTime / 1000;
-        FileInputStream in = new FileInputStream(idxFileName);
-        in.getChannel().position(offsetInIndex);
-        DataInputStream indexIn = new DataInputStream(in);
-        long offset;
-        try {
-            long second;
-            lastPosition.offsetInIndex = in.getChannel().position();
-            while ((second = indexIn.readLong()) < beginSecond) {
-                offset = indexIn.readLong();
-                lastPosition.offsetInIndex = in.getChannel().position();
-            }
-            offset = indexIn.readLong();
-            lastPosition.metricFileName = metricFileName;
-            lastPosition.indexFileName = idxFileName;
-            lastPosition.second = second;
-            return offset;
-        } catch (EOFException ignore) {
-            return -1;
-        } finally {
-            indexIn.close();
+    private static final class FileList {
+        final List<String> fileNames;
+        final long dirModified;
+        final long listedTime;
+
+        FileList(List<String> fileNames, long dirModified, long listedTime) {
+            this.fileNames = fileNames;
+            this.dirModified = dirModified;
+            this.listedTime = listedTime;
         }
     }
 }
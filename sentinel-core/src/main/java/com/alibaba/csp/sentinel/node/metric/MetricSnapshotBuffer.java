@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.util.function.BiConsumer;
+
+/**
+ * <p>A reusable buffer which groups the metric nodes of all resources by second.</p>
+ * <p>
+ * The minute-level counter only holds statistics of the recent 60 seconds, so the buffer has a slot for each
+ * second of the minute, and the lists of the slots are reused across snapshots. The buffer is not thread-safe,
+ * it's supposed to be used by the single metric timer thread.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public final class MetricSnapshotBuffer {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private final long[] times = new long[SECONDS_PER_MINUTE];
+    private final List<List<MetricNode>> slots = new ArrayList<>(SECONDS_PER_MINUTE);
+
+    private long currentTime;
+    private int nodeCount;
+
+    public MetricSnapshotBuffer() {
+        this(16);
+    }
+
+    /**
+     * @param expectedResourceCount expected count of active resources in each second, used to pre-size the slots
+     */
+    public MetricSnapshotBuffer(int expectedResourceCount) {
+        for (int i = 0; i < SECONDS_PER_MINUTE; i++) {
+            slots.add(new ArrayList<MetricNode>(expectedResourceCount));
+        }
+        reset(0);
+    }
+
+    /**
+     * Clear the buffer for a new snapshot.
+     *
+     * @param currentTimeMillis current time in milliseconds, metrics of the current (incomplete) second and
+     *                          after won't be collected into the snapshot
+     */
+    public void reset(long currentTimeMillis) {
+        this.currentTime = currentTimeMillis - currentTimeMillis % 1000;
+        for (int i = 0; i < SECONDS_PER_MINUTE; i++) {
+            times[i] = -1;
+            slots.get(i).clear();
+        }
+        this.nodeCount = 0;
+    }
+
+    /**
+     * @return start time of the current second, in milliseconds
+     */
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Add a metric node of a complete second within the recent minute.
+     *
+     * @param node metric node with the timestamp set
+     */
+    public void add(MetricNode node) {
+        long time = node.getTimestamp();
+        int index = (int)((time / 1000) % SECONDS_PER_MINUTE);
+        if (times[index] != time) {
+            // Seconds within a minute never share the same slot, so the slot only holds stale nodes.
+            times[index] = time;
+            nodeCount -= slots.get(index).size();
+            slots.get(index).clear();
+        }
+        slots.get(index).add(node);
+        nodeCount++;
+    }
+
+    public boolean isEmpty() {
+        return nodeCount == 0;
+    }
+
+    /**
+     * @return total count of metric nodes in the buffer
+     */
+    public int size() {
+        return nodeCount;
+    }
+
+    /**
+     * Visit metric nodes of each second in ascending order of time. The list passed to the action is reused
+     * by the buffer, so it should be copied if it's retained after {@link #reset(long)}.
+     *
+     * @param action the action which accepts the timestamp and the metric nodes of each second
+     */
+    public void forEach(BiConsumer<Long, List<MetricNode>> action) {
+        // The oldest second is the one right after the current second (in the previous minute).
+        int begin = (int)((currentTime / 1000 + 1) % SECONDS_PER_MINUTE);
+        for (int i = 0; i < SECONDS_PER_MINUTE; i++) {
+            int index = (begin + i) % SECONDS_PER_MINUTE;
+            List<MetricNode> nodes = slots.get(index);
+            if (!nodes.isEmpty()) {
+                action.accept(times[index], nodes);
+            }
+        }
+    }
+}
@@ -17,16 +17,14 @@ package com.alibaba.csp.sentinel.node.metric;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.node.ClusterNode;
-import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.function.BiConsumer;
 
 /**
  * @author jialiang.linjl
@@ -35,36 +33,58 @@ public class MetricTimerListener implements Runnable {
 
     private static final MetricWriter metricWriter = new MetricWriter(SentinelConfig.singleMetricFileSize(),
         SentinelConfig.totalMetricFileCount());
+    private static final boolean fsync = SentinelConfig.METRIC_FILE_FSYNC_BATCH.equals(
+        SentinelConfig.metricFileFsync());
+    /**
+     * The background writer, or null if metrics are written synchronously.
+     */
+    private static final AsyncMetricWriter asyncMetricWriter = SentinelConfig.metricWriterAsyncEnabled()
+        ? new AsyncMetricWriter(metricWriter, SentinelConfig.metricWriterQueueSize(), fsync) : null;
+
+    /**
+     * The snapshot buffer reused by every run, as the listener runs in a single-thread scheduler.
+     */
+    private final MetricSnapshotBuffer buffer = new MetricSnapshotBuffer();
 
     @Override
     public void run() {
-        Map<Long, List<MetricNode>> maps = new TreeMap<>();
-        for (Entry<ResourceWrapper, ClusterNode> e : ClusterBuilderSlot.getClusterNodeMap().entrySet()) {
-            ClusterNode node = e.getValue();
-            Map<Long, MetricNode> metrics = node.metrics();
-            aggregate(maps, metrics, node);
+        buffer.reset(TimeUtil.currentTimeMillis());
+        for (ClusterNode node : ClusterBuilderSlot.getClusterNodeMap().values()) {
+            node.collectMetrics(buffer);
+        }
+        Constants.ENTRY_NODE.collectMetrics(buffer);
+        if (buffer.isEmpty()) {
+            return;
+        }
+        if (asyncMetricWriter != null) {
+            buffer.forEach(new BiConsumer<Long, List<MetricNode>>() {
+                @Override
+                public void accept(Long time, List<MetricNode> nodes) {
+                    // Lists of the buffer are reused, so hand over a copy.
+                    if (!asyncMetricWriter.submit(time, new ArrayList<MetricNode>(nodes))) {
+                        RecordLog.warn("[MetricTimerListener] Metric writer queue is full, metrics of {} are dropped",
+                            time);
+                    }
+                }
+            });
+            return;
         }
-        aggregate(maps, Constants.ENTRY_NODE.metrics(), Constants.ENTRY_NODE);
-        if (!maps.isEmpty()) {
-            for (Entry<Long, List<MetricNode>> entry : maps.entrySet()) {
+        buffer.forEach(new BiConsumer<Long, List<MetricNode>>() {
+            @Override
+            public void accept(Long time, List<MetricNode> nodes) {
                 try {
-                    metricWriter.write(entry.getKey(), entry.getValue());
+                    metricWriter.write(time, nodes);
                 } catch (Exception e) {
                     RecordLog.warn("[MetricTimerListener] Write metric error", e);
                 }
             }
-        }
-    }
-
-    private void aggregate(Map<Long, List<MetricNode>> maps, Map<Long, MetricNode> metrics, ClusterNode node) {
-        for (Entry<Long, MetricNode> entry : metrics.entrySet()) {
-            long time = entry.getKey();
-            MetricNode metricNode = entry.getValue();
-            metricNode.setResource(node.getName());
-            metricNode.setClassification(node.getResourceType());
-            maps.computeIfAbsent(time, k -> new ArrayList<MetricNode>());
-            List<MetricNode> nodes = maps.get(time);
-            nodes.add(entry.getValue());
+        });
+        if (fsync) {
+            try {
+                metricWriter.sync();
+            } catch (Exception e) {
+                RecordLog.warn("[MetricTimerListener] Sync metric error", e);
+            }
         }
     }
 
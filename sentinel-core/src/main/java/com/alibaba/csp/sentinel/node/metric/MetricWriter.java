@@ -19,13 +19,16 @@ import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.alibaba.csp.sentinel.log.LogBase;
 import com.alibaba.csp.sentinel.util.PidUtil;
@@ -41,6 +44,12 @@ import com.alibaba.csp.sentinel.log.RecordLog;
  * <li>metric of different day should in different file;</li>
  * <li>every metric file is accompanied with an index file, which file name is {@code ${metricFileName}.idx}</li>
  * </ol>
+ * <p>
+ * Metrics are written as text lines ({@link MetricNode#toFatString()}) by default. When the binary format is enabled
+ * (see {@link SentinelConfig#metricFileFormat()}), metrics are written as fixed-width records through the file
+ * channel, and every metric file is also accompanied with a resource name dictionary file, which file name is
+ * {@code ${metricFileName}.dict}. The index file is the same in both formats.
+ * </p>
  *
  * @author Carpenter Lee
  */
@@ -56,6 +65,10 @@ public class MetricWriter {
      */
     public static final String METRIC_FILE = "metrics.log";
     public static final String METRIC_FILE_INDEX_SUFFIX = ".idx";
+    /**
+     * @since 1.8.8
+     */
+    public static final String METRIC_FILE_DICT_SUFFIX = ".dict";
     public static final Comparator<String> METRIC_FILE_NAME_CMP = new MetricFileNameComparator();
 
     private final DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -72,6 +85,7 @@ public class MetricWriter {
     private File curMetricIndexFile;
 
     private FileOutputStream outMetric;
+    private FileOutputStream outIndexFile;
     private DataOutputStream outIndex;
     private BufferedOutputStream outMetricBuf;
     private long singleFileSize;
@@ -79,6 +93,16 @@ public class MetricWriter {
     private boolean append = false;
     private final int pid = PidUtil.getPid();
 
+    private final boolean binaryFormat;
+    /**
+     * Fields below are only used by binary format, and are reset when a new file is created.
+     */
+    private FileOutputStream outDictFile;
+    private DataOutputStream outDict;
+    private final Map<String, Integer> resourceIds = new HashMap<String, Integer>();
+    private long baseTimestamp = -1;
+    private ByteBuffer recordBuffer;
+
     /**
      * 秒级统计，忽略毫秒数。
      */
@@ -89,12 +113,18 @@ public class MetricWriter {
     }
 
     public MetricWriter(long singleFileSize, int totalFileCount) {
+        this(METRIC_BASE_DIR, singleFileSize, totalFileCount,
+            SentinelConfig.METRIC_FILE_FORMAT_BINARY.equals(SentinelConfig.metricFileFormat()));
+    }
+
+    MetricWriter(String baseDir, long singleFileSize, int totalFileCount, boolean binaryFormat) {
         if (singleFileSize <= 0 || totalFileCount <= 0) {
             throw new IllegalArgumentException();
         }
-        RecordLog.info("[MetricWriter] Creating new MetricWriter, singleFileSize={}, totalFileCount={}",
-            singleFileSize, totalFileCount);
-        this.baseDir = METRIC_BASE_DIR;
+        RecordLog.info("[MetricWriter] Creating new MetricWriter, singleFileSize={}, totalFileCount={}, binary={}",
+            singleFileSize, totalFileCount, binaryFormat);
+        this.baseDir = baseDir;
+        this.binaryFormat = binaryFormat;
         File dir = new File(baseDir);
         if (!dir.exists()) {
             dir.mkdirs();
@@ -142,10 +172,7 @@ public class MetricWriter {
         if (second < lastSecond) {
             // 时间靠前的直接忽略，不应该发生。
         } else if (second == lastSecond) {
-            for (MetricNode node : nodes) {
-                outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-            }
-            outMetricBuf.flush();
+            writeNodes(time, nodes);
             if (!validSize()) {
                 closeAndNewFile(nextFileNameOfDay(time));
             }
@@ -153,18 +180,12 @@ public class MetricWriter {
             writeIndex(second, outMetric.getChannel().position());
             if (isNewDay(lastSecond, second)) {
                 closeAndNewFile(nextFileNameOfDay(time));
-                for (MetricNode node : nodes) {
-                    outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-                }
-                outMetricBuf.flush();
+                writeNodes(time, nodes);
                 if (!validSize()) {
                     closeAndNewFile(nextFileNameOfDay(time));
                 }
             } else {
-                for (MetricNode node : nodes) {
-                    outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-                }
-                outMetricBuf.flush();
+                writeNodes(time, nodes);
                 if (!validSize()) {
                     closeAndNewFile(nextFileNameOfDay(time));
                 }
@@ -173,6 +194,64 @@ public class MetricWriter {
         }
     }
 
+    private void writeNodes(long time, List<MetricNode> nodes) throws Exception {
+        if (!binaryFormat) {
+            for (MetricNode node : nodes) {
+                outMetricBuf.write(node.toFatString().getBytes(CHARSET));
+            }
+            outMetricBuf.flush();
+            return;
+        }
+        int size = nodes.size() * MetricBinaryFormat.RECORD_SIZE;
+        if (baseTimestamp < 0) {
+            size += MetricBinaryFormat.HEADER_SIZE;
+        }
+        if (recordBuffer == null || recordBuffer.capacity() < size) {
+            recordBuffer = ByteBuffer.allocate(Math.max(size, 4096));
+        }
+        recordBuffer.clear();
+        if (baseTimestamp < 0) {
+            baseTimestamp = time;
+            MetricBinaryFormat.writeHeader(recordBuffer, baseTimestamp);
+        }
+        boolean dictUpdated = false;
+        for (MetricNode node : nodes) {
+            Integer id = resourceIds.get(node.getResource());
+            if (id == null) {
+                id = resourceIds.size();
+                resourceIds.put(node.getResource(), id);
+                outDict.write(MetricBinaryFormat.encodeName(node.getResource()));
+                dictUpdated = true;
+            }
+            MetricBinaryFormat.writeRecord(recordBuffer, node, baseTimestamp, id);
+        }
+        // Names should be visible before the records referring to them.
+        if (dictUpdated) {
+            outDict.flush();
+        }
+        recordBuffer.flip();
+        while (recordBuffer.hasRemaining()) {
+            outMetric.getChannel().write(recordBuffer);
+        }
+    }
+
+    /**
+     * Force the written metrics, index and dictionary to the storage device (fsync).
+     *
+     * @since 1.8.8
+     */
+    public synchronized void sync() throws Exception {
+        force(outMetric);
+        force(outIndexFile);
+        force(outDictFile);
+    }
+
+    private static void force(FileOutputStream out) throws Exception {
+        if (out != null && out.getChannel().isOpen()) {
+            out.getChannel().force(false);
+        }
+    }
+
     public synchronized void close() throws Exception {
         if (outMetricBuf != null) {
             outMetricBuf.close();
@@ -180,6 +259,9 @@ public class MetricWriter {
         if (outIndex != null) {
             outIndex.close();
         }
+        if (outDict != null) {
+            outDict.close();
+        }
     }
 
     private void writeIndex(long time, long offset) throws Exception {
@@ -198,6 +280,7 @@ public class MetricWriter {
             String fileName = file.getName();
             if (fileName.contains(fileNameModel)
                 && !fileName.endsWith(METRIC_FILE_INDEX_SUFFIX)
+                && !fileName.endsWith(METRIC_FILE_DICT_SUFFIX)
                 && !fileName.endsWith(".lck")) {
                 list.add(file.getAbsolutePath());
             }
@@ -330,6 +413,11 @@ public class MetricWriter {
             RecordLog.info("[MetricWriter] Removing metric file: {}", fileName);
             new File(indexFile).delete();
             RecordLog.info("[MetricWriter] Removing metric index file: {}", indexFile);
+            File dictFile = new File(formDictFileName(fileName));
+            if (dictFile.exists()) {
+                dictFile.delete();
+                RecordLog.info("[MetricWriter] Removing metric dictionary file: {}", dictFile.getPath());
+            }
         }
     }
 
@@ -346,9 +434,19 @@ public class MetricWriter {
         curMetricFile = new File(fileName);
         String idxFile = formIndexFileName(fileName);
         curMetricIndexFile = new File(idxFile);
-        outIndex = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(idxFile, append)));
+        outIndexFile = new FileOutputStream(idxFile, append);
+        outIndex = new DataOutputStream(new BufferedOutputStream(outIndexFile));
         RecordLog.info("[MetricWriter] New metric file created: {}", fileName);
         RecordLog.info("[MetricWriter] New metric index file created: {}", idxFile);
+        if (binaryFormat) {
+            if (outDict != null) {
+                outDict.close();
+            }
+            outDictFile = new FileOutputStream(formDictFileName(fileName), append);
+            outDict = new DataOutputStream(new BufferedOutputStream(outDictFile));
+            resourceIds.clear();
+            baseTimestamp = -1;
+        }
     }
 
     private boolean validSize() throws Exception {
@@ -399,4 +497,16 @@ public class MetricWriter {
     public static String formIndexFileName(String metricFileName) {
         return metricFileName + METRIC_FILE_INDEX_SUFFIX;
     }
+
+    /**
+     * Form resource name dictionary file name of the {@code metricFileName}, which is only present
+     * in binary format.
+     *
+     * @param metricFileName
+     * @return the dictionary file name of the metricFileName
+     * @since 1.8.8
+     */
+    public static String formDictFileName(String metricFileName) {
+        return metricFileName + METRIC_FILE_DICT_SUFFIX;
+    }
 }
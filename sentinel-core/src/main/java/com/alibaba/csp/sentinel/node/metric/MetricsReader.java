@@ -17,13 +17,18 @@ package com.alibaba.csp.sentinel.node.metric;
 
 import java.io.BufferedReader;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Reads metrics data from log file.
+ * Reads metrics data from log file. Files of both text and binary format (see {@link MetricBinaryFormat})
+ * are supported, and binary files are read through memory mapping.
  */
 class MetricsReader {
 
@@ -43,6 +48,9 @@ class MetricsReader {
      */
     boolean readMetricsInOneFileByEndTime(List<MetricNode> list, String fileName, long offset,
                                           long beginTimeMs, long endTimeMs, String identity) throws Exception {
+        if (MetricBinaryFormat.isBinaryFile(fileName)) {
+            return readBinaryMetricsInOneFileByEndTime(list, fileName, offset, beginTimeMs, endTimeMs, identity);
+        }
         FileInputStream in = null;
         long beginSecond = beginTimeMs / 1000;
         long endSecond = endTimeMs / 1000;
@@ -52,18 +60,15 @@ class MetricsReader {
             BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset));
             String line;
             while ((line = reader.readLine()) != null) {
-                MetricNode node = MetricNode.fromFatString(line);
-                long currentSecond = node.getTimestamp() / 1000;
+                long currentSecond = parseTimestamp(line) / 1000;
                 // currentSecond should >= beginSecond, otherwise a wrong metric file must occur
                 if (currentSecond < beginSecond) {
                     return false;
                 }
                 if (currentSecond <= endSecond) {
                     // read all
-                    if (identity == null) {
-                        list.add(node);
-                    } else if (node.getResource().equals(identity)) {
-                        list.add(node);
+                    if (identity == null || resourceMatches(line, identity)) {
+                        list.add(MetricNode.fromFatString(line));
                     }
                 } else {
                     return false;
@@ -85,6 +90,10 @@ class MetricsReader {
         //if(list.size() >= recommendLines){
         //    return;
         //}
+        if (MetricBinaryFormat.isBinaryFile(fileName)) {
+            readBinaryMetricsInOneFile(list, fileName, offset, recommendLines);
+            return;
+        }
         long lastSecond = -1;
         if (list.size() > 0) {
             lastSecond = list.get(list.size() - 1).getTimestamp() / 1000;
@@ -115,6 +124,130 @@ class MetricsReader {
         }
     }
 
+    /**
+     * Parse the timestamp of a fat string line (see {@link MetricNode#toFatString()}) without splitting it.
+     */
+    private static long parseTimestamp(String line) {
+        int end = line.indexOf('|');
+        return Long.parseLong(end < 0 ? line : line.substring(0, end));
+    }
+
+    /**
+     * Check whether the resource of a fat string line (the third field) is the given identity,
+     * so that lines of other resources are not parsed.
+     */
+    private static boolean resourceMatches(String line, String identity) {
+        int start = line.indexOf('|');
+        start = start < 0 ? -1 : line.indexOf('|', start + 1);
+        if (start < 0) {
+            return false;
+        }
+        start++;
+        int end = line.indexOf('|', start);
+        if (end < 0) {
+            end = line.length();
+        }
+        return end - start == identity.length() && line.startsWith(identity, start);
+    }
+
+    private boolean readBinaryMetricsInOneFileByEndTime(List<MetricNode> list, String fileName, long offset,
+                                                        long beginTimeMs, long endTimeMs, String identity)
+        throws Exception {
+        ByteBuffer buffer = mapRecords(fileName, offset);
+        if (buffer == null) {
+            return true;
+        }
+        long baseTimestamp = buffer.getLong(8);
+        long beginSecond = beginTimeMs / 1000;
+        long endSecond = endTimeMs / 1000;
+        ResourceDictionary dictionary = new ResourceDictionary(MetricWriter.formDictFileName(fileName));
+        while (buffer.remaining() >= MetricBinaryFormat.RECORD_SIZE) {
+            long currentSecond = MetricBinaryFormat.peekTimestamp(buffer, baseTimestamp) / 1000;
+            // currentSecond should >= beginSecond, otherwise a wrong metric file must occur
+            if (currentSecond < beginSecond || currentSecond > endSecond) {
+                return false;
+            }
+            String resource = dictionary.nameOf(MetricBinaryFormat.peekResourceId(buffer));
+            if (identity == null || identity.equals(resource)) {
+                list.add(MetricBinaryFormat.readRecord(buffer, baseTimestamp, resource));
+            } else {
+                // Skip the record without decoding.
+                buffer.position(buffer.position() + MetricBinaryFormat.RECORD_SIZE);
+            }
+            if (list.size() >= MAX_LINES_RETURN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void readBinaryMetricsInOneFile(List<MetricNode> list, String fileName,
+                                            long offset, int recommendLines) throws Exception {
+        ByteBuffer buffer = mapRecords(fileName, offset);
+        if (buffer == null) {
+            return;
+        }
+        long lastSecond = -1;
+        if (list.size() > 0) {
+            lastSecond = list.get(list.size() - 1).getTimestamp() / 1000;
+        }
+        long baseTimestamp = buffer.getLong(8);
+        ResourceDictionary dictionary = new ResourceDictionary(MetricWriter.formDictFileName(fileName));
+        while (buffer.remaining() >= MetricBinaryFormat.RECORD_SIZE) {
+            long currentSecond = MetricBinaryFormat.peekTimestamp(buffer, baseTimestamp) / 1000;
+            if (list.size() >= recommendLines && currentSecond != lastSecond) {
+                break;
+            }
+            String resource = dictionary.nameOf(MetricBinaryFormat.peekResourceId(buffer));
+            list.add(MetricBinaryFormat.readRecord(buffer, baseTimestamp, resource));
+            lastSecond = currentSecond;
+        }
+    }
+
+    /**
+     * Map the complete records of the binary metric file from given offset.
+     *
+     * @return the mapped records positioned at the offset, or null if the file has an invalid header
+     */
+    private ByteBuffer mapRecords(String fileName, long offset) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(fileName, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            long size = channel.size();
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (MetricBinaryFormat.readBaseTimestamp(buffer) < 0) {
+                return null;
+            }
+            // The last record may be being written.
+            long recordCount = (size - MetricBinaryFormat.HEADER_SIZE) / MetricBinaryFormat.RECORD_SIZE;
+            buffer.limit((int) (MetricBinaryFormat.HEADER_SIZE + recordCount * MetricBinaryFormat.RECORD_SIZE));
+            buffer.position((int) Math.min(Math.max(offset, MetricBinaryFormat.HEADER_SIZE), buffer.limit()));
+            return buffer;
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Resource name dictionary of a binary metric file, which is loaded on demand.
+     */
+    private static final class ResourceDictionary {
+        private final String fileName;
+        private List<String> names;
+
+        ResourceDictionary(String fileName) {
+            this.fileName = fileName;
+        }
+
+        String nameOf(int id) throws IOException {
+            if (names == null || id >= names.size()) {
+                // Names written after the last loading are read again.
+                names = MetricBinaryFormat.readDictionary(fileName);
+            }
+            return id < names.size() ? names.get(id) : "";
+        }
+    }
+
     /**
      * When identity is null, all metric between the time intervalMs will be read, otherwise, only the specific
      * identity will be read.
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>Registry that interns resource names and assigns each resource a dense int id once.</p>
+ * <p>
+ * As {@link ResourceWrapper} only considers the resource name for equality, so does the registry.
+ * The id is cached in the {@link ResourceWrapper} (see {@link ResourceWrapper#getResourceId()}),
+ * so that per-resource values (e.g. slot chains, cluster nodes and rules) could be looked up from
+ * {@link ResourceTable}s by array reads. Ids are never recycled, and at most
+ * {@link Constants#MAX_RESOURCE_SIZE} resources could be registered.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public final class ResourceRegistry {
+
+    /**
+     * Id of resources that are not registered, as the registry is full.
+     */
+    public static final int UNREGISTERED = -1;
+
+    private static final ConcurrentMap<String, Integer> ID_MAP = new ConcurrentHashMap<String, Integer>();
+    private static final ResourceTable<String> NAME_TABLE = new ResourceTable<String>();
+
+    private static final Object LOCK = new Object();
+    private static volatile int nextId = 0;
+
+    /**
+     * Get the id of given resource, register the resource if absent.
+     *
+     * @param name resource name
+     * @return the id of the resource, or {@link #UNREGISTERED} if the registry is full
+     */
+    public static int register(String name) {
+        Integer id = ID_MAP.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (nextId >= Constants.MAX_RESOURCE_SIZE) {
+            return UNREGISTERED;
+        }
+        synchronized (LOCK) {
+            id = ID_MAP.get(name);
+            if (id != null) {
+                return id;
+            }
+            if (nextId >= Constants.MAX_RESOURCE_SIZE) {
+                return UNREGISTERED;
+            }
+            int newId = nextId;
+            NAME_TABLE.set(newId, name);
+            ID_MAP.put(name, newId);
+            nextId = newId + 1;
+            if (nextId == Constants.MAX_RESOURCE_SIZE) {
+                RecordLog.warn("[ResourceRegistry] Resource amount reaches the threshold: {},"
+                    + " no more resources will be assigned an id", Constants.MAX_RESOURCE_SIZE);
+            }
+            return newId;
+        }
+    }
+
+    /**
+     * Get the id of given resource without registering.
+     *
+     * @param name resource name
+     * @return the id of the resource, or {@link #UNREGISTERED} if absent
+     */
+    public static int idOf(String name) {
+        if (name == null) {
+            return UNREGISTERED;
+        }
+        Integer id = ID_MAP.get(name);
+        return id == null ? UNREGISTERED : id;
+    }
+
+    /**
+     * Get the resource name of given id.
+     *
+     * @param id resource id
+     * @return the resource name, or null if the id is not assigned
+     */
+    public static String nameOf(int id) {
+        return NAME_TABLE.get(id);
+    }
+
+    /**
+     * Get amount of registered resources, which is also the upper bound (exclusive) of ids.
+     *
+     * @return amount of registered resources
+     */
+    public static int size() {
+        return nextId;
+    }
+
+    private ResourceRegistry() {}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>A table of values indexed by resource id (see {@link ResourceRegistry}), so that lookups of
+ * per-resource values are array reads.</p>
+ * <p>
+ * The table is divided into fixed-size segments allocated on demand. Adding a value never copies
+ * existing values, while the segment directory (one reference per {@value #SEGMENT_SIZE} ids)
+ * is copied only when it grows.
+ * </p>
+ *
+ * @param <T> type of the value
+ * @since 1.8.8
+ */
+public final class ResourceTable<T> {
+
+    private static final int SEGMENT_SHIFT = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private static final Object[] EMPTY_SEGMENTS = new Object[0];
+
+    private volatile Object[] segments = EMPTY_SEGMENTS;
+
+    /**
+     * Get the value of given resource id.
+     *
+     * @param id resource id
+     * @return the value, or null if absent or the id is invalid
+     */
+    public T get(int id) {
+        AtomicReferenceArray<T> segment = segmentOf(id);
+        return segment == null ? null : segment.get(id & SEGMENT_MASK);
+    }
+
+    /**
+     * Set the value of given resource id.
+     *
+     * @param id    valid resource id
+     * @param value the value, null for removing
+     */
+    public void set(int id, T value) {
+        segmentOrCreate(id).set(id & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Set the value of given resource id if absent.
+     *
+     * @param id    valid resource id
+     * @param value the value
+     * @return the existing value, or null if the given value is set
+     */
+    public T putIfAbsent(int id, T value) {
+        AtomicReferenceArray<T> segment = segmentOrCreate(id);
+        int index = id & SEGMENT_MASK;
+        while (true) {
+            T current = segment.get(index);
+            if (current != null) {
+                return current;
+            }
+            if (segment.compareAndSet(index, null, value)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Remove all values.
+     */
+    public synchronized void clear() {
+        this.segments = EMPTY_SEGMENTS;
+    }
+
+    @SuppressWarnings("unchecked")
+    private AtomicReferenceArray<T> segmentOf(int id) {
+        if (id < 0) {
+            return null;
+        }
+        Object[] segments = this.segments;
+        int segmentIndex = id >>> SEGMENT_SHIFT;
+        if (segmentIndex >= segments.length) {
+            return null;
+        }
+        return (AtomicReferenceArray<T>) segments[segmentIndex];
+    }
+
+    @SuppressWarnings("unchecked")
+    private AtomicReferenceArray<T> segmentOrCreate(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid resource id: " + id);
+        }
+        AtomicReferenceArray<T> segment = segmentOf(id);
+        if (segment != null) {
+            return segment;
+        }
+        synchronized (this) {
+            Object[] segments = this.segments;
+            int segmentIndex = id >>> SEGMENT_SHIFT;
+            if (segmentIndex >= segments.length) {
+                Object[] newSegments = new Object[Math.max(segmentIndex + 1, segments.length << 1)];
+                System.arraycopy(segments, 0, newSegments, 0, segments.length);
+                segments = newSegments;
+            } else if (segments[segmentIndex] != null) {
+                return (AtomicReferenceArray<T>) segments[segmentIndex];
+            } else {
+                segments = segments.clone();
+            }
+            segment = new AtomicReferenceArray<T>(SEGMENT_SIZE);
+            segments[segmentIndex] = segment;
+            this.segments = segments;
+            return segment;
+        }
+    }
+}
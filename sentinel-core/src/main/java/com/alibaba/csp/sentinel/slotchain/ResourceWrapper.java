@@ -32,6 +32,12 @@ public abstract class ResourceWrapper {
     protected final EntryType entryType;
     protected final int resourceType;
 
+    /**
+     * Id assigned by {@link ResourceRegistry}, resolved on demand. Racy writes are benign as the id is stable,
+     * and the volatile write publishes it safely to other threads.
+     */
+    private volatile int resourceId = ResourceRegistry.UNREGISTERED;
+
     public ResourceWrapper(String name, EntryType entryType, int resourceType) {
         AssertUtil.notEmpty(name, "resource name cannot be empty");
         AssertUtil.notNull(entryType, "entryType cannot be null");
@@ -68,6 +74,21 @@ public abstract class ResourceWrapper {
         return resourceType;
     }
 
+    /**
+     * Get the id of this resource assigned by {@link ResourceRegistry}. The resource will be registered if absent.
+     *
+     * @return the resource id, or {@link ResourceRegistry#UNREGISTERED} if the registry is full
+     * @since 1.8.8
+     */
+    public int getResourceId() {
+        int id = resourceId;
+        if (id == ResourceRegistry.UNREGISTERED) {
+            id = ResourceRegistry.register(getName());
+            resourceId = id;
+        }
+        return id;
+    }
+
     /**
      * Get the beautified resource name to be showed.
      *
@@ -0,0 +1,270 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.List;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A slot chain of one resource, which leaves out {@link RuleCheckingSlot}s that have no rules for the resource.</p>
+ * <p>
+ * The chain consists of the head slots, which are created for each resource (e.g. {@code NodeSelectorSlot}),
+ * and the shared slots of all resources (see {@link Template}), followed by the slots added via
+ * {@link #addLast(AbstractLinkedProcessorSlot)}. The shared slots are the singleton instances loaded via SPI,
+ * and they are linked once to dispatchers which jump over the left-out slots, so the links never change after
+ * the chain is built. Which slots to leave out (the {@link Route}) is resolved by the rules of the resource,
+ * and is recompiled on the next entry once {@link RuleVersion} changes. Resources without any rules will only
+ * go through the statistic slots.
+ * </p>
+ * <p>
+ * The route is pinned on the {@link Entry} (see {@link Entry#getSlotChainRoute()}), so that the exit goes through
+ * the same slots as the entry, even if rules are updated meanwhile.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class RuleAwareProcessorSlotChain extends ProcessorSlotChain {
+
+    private final AbstractLinkedProcessorSlot<?> first = new AbstractLinkedProcessorSlot<Object>() {
+
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object t, int count, boolean prioritized, Object... args)
+            throws Throwable {
+            super.fireEntry(context, resourceWrapper, t, count, prioritized, args);
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            super.fireExit(context, resourceWrapper, count, args);
+        }
+
+    };
+
+    private final Template template;
+    private AbstractLinkedProcessorSlot<?> headEnd = first;
+    private AbstractLinkedProcessorSlot<?> last;
+    private AbstractLinkedProcessorSlot<?> lastEnd;
+
+    private volatile Route route;
+
+    RuleAwareProcessorSlotChain(List<AbstractLinkedProcessorSlot<?>> headSlots, Template template) {
+        this.template = template;
+        first.setNext(template.entrance);
+        for (AbstractLinkedProcessorSlot<?> slot : headSlots) {
+            addHead(slot);
+        }
+    }
+
+    @Override
+    public void entry(Context context, ResourceWrapper resourceWrapper, Object t, int count, boolean prioritized, Object... args)
+        throws Throwable {
+        Route r = route;
+        if (r == null || r.version != RuleVersion.current()) {
+            r = compile(resourceWrapper);
+        }
+        Entry curEntry = context.getCurEntry();
+        if (curEntry != null) {
+            curEntry.setSlotChainRoute(r);
+        }
+        first.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+    }
+
+    @Override
+    public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+        first.exit(context, resourceWrapper, count, args);
+    }
+
+    private synchronized Route compile(ResourceWrapper resourceWrapper) {
+        // Read the version before checking rules, so that rules updated meanwhile lead to another compilation.
+        long version = RuleVersion.current();
+        Route r = route;
+        if (r != null && r.version == version) {
+            return r;
+        }
+        r = new Route(version, template.leftOutOf(resourceWrapper), last);
+        route = r;
+        return r;
+    }
+
+    private void addHead(AbstractLinkedProcessorSlot<?> slot) {
+        slot.setNext(template.entrance);
+        headEnd.setNext(slot);
+        headEnd = slot;
+    }
+
+    /**
+     * Add a slot before the head slots. Slots should be added before the chain is used.
+     *
+     * @param protocolProcessor processor to be added.
+     */
+    @Override
+    public void addFirst(AbstractLinkedProcessorSlot<?> protocolProcessor) {
+        if (headEnd == first) {
+            addHead(protocolProcessor);
+            return;
+        }
+        protocolProcessor.setNext(first.getNext());
+        first.setNext(protocolProcessor);
+    }
+
+    /**
+     * Add a slot after the shared slots. Slots should be added before the chain is used.
+     *
+     * @param protocolProcessor processor to be added.
+     */
+    @Override
+    public synchronized void addLast(AbstractLinkedProcessorSlot<?> protocolProcessor) {
+        if (last == null) {
+            last = protocolProcessor;
+        } else {
+            lastEnd.setNext(protocolProcessor);
+        }
+        lastEnd = protocolProcessor;
+        route = null;
+    }
+
+    /**
+     * Same as {@link #addLast(AbstractLinkedProcessorSlot)}.
+     *
+     * @param next processor to be added.
+     */
+    @Override
+    public void setNext(AbstractLinkedProcessorSlot<?> next) {
+        addLast(next);
+    }
+
+    @Override
+    public AbstractLinkedProcessorSlot<?> getNext() {
+        return first.getNext();
+    }
+
+    /**
+     * Route of an entry through the shared slots, i.e. which of them are left out.
+     */
+    public static final class Route {
+
+        private static final Route FULL = new Route(-1, 0, null);
+
+        private final long version;
+        /**
+         * Bit mask of the left-out shared slots.
+         */
+        private final long leftOut;
+        /**
+         * The slots after the shared slots.
+         */
+        private final AbstractLinkedProcessorSlot<?> last;
+
+        private Route(long version, long leftOut, AbstractLinkedProcessorSlot<?> last) {
+            this.version = version;
+            this.leftOut = leftOut;
+            this.last = last;
+        }
+
+        private boolean isLeftOut(int sharedSlotIndex) {
+            return (leftOut & (1L << sharedSlotIndex)) != 0;
+        }
+    }
+
+    /**
+     * Template of the shared slots of all {@link RuleAwareProcessorSlotChain}s.
+     */
+    public static final class Template {
+
+        private static final int MAX_SLOT_SIZE = Long.SIZE;
+
+        private final AbstractLinkedProcessorSlot<?>[] slots;
+        private final AbstractLinkedProcessorSlot<?> entrance;
+
+        public Template(List<AbstractLinkedProcessorSlot<?>> sharedSlots) {
+            AssertUtil.notNull(sharedSlots, "sharedSlots cannot be null");
+            AssertUtil.isTrue(sharedSlots.size() <= MAX_SLOT_SIZE, "too many shared slots");
+            this.slots = sharedSlots.toArray(new AbstractLinkedProcessorSlot<?>[0]);
+            for (int i = 0; i < slots.length; i++) {
+                slots[i].setNext(new Dispatcher(i + 1));
+            }
+            this.entrance = new Dispatcher(0);
+        }
+
+        /**
+         * Create a new slot chain with given head slots, which should be created for each resource.
+         *
+         * @param headSlots head slots of the chain
+         * @return new slot chain
+         */
+        public RuleAwareProcessorSlotChain newChain(List<AbstractLinkedProcessorSlot<?>> headSlots) {
+            return new RuleAwareProcessorSlotChain(headSlots, this);
+        }
+
+        long leftOutOf(ResourceWrapper resourceWrapper) {
+            long leftOut = 0;
+            for (int i = 0; i < slots.length; i++) {
+                AbstractLinkedProcessorSlot<?> slot = slots[i];
+                if (slot instanceof RuleCheckingSlot && !((RuleCheckingSlot) slot).hasRules(resourceWrapper)) {
+                    leftOut |= 1L << i;
+                }
+            }
+            return leftOut;
+        }
+
+        /**
+         * Link to the first slot from the given index of the shared slots that is not left out by the route
+         * pinned on current entry, or to the slots after the shared slots.
+         */
+        private final class Dispatcher extends AbstractLinkedProcessorSlot<Object> {
+
+            private final int from;
+
+            Dispatcher(int from) {
+                this.from = from;
+            }
+
+            private AbstractLinkedProcessorSlot<?> nextOf(Context context) {
+                Entry curEntry = context.getCurEntry();
+                Route route = curEntry == null ? null : curEntry.getSlotChainRoute();
+                if (route == null) {
+                    route = Route.FULL;
+                }
+                for (int i = from; i < slots.length; i++) {
+                    if (!route.isLeftOut(i)) {
+                        return slots[i];
+                    }
+                }
+                return route.last;
+            }
+
+            @Override
+            public void entry(Context context, ResourceWrapper resourceWrapper, Object t, int count,
+                              boolean prioritized, Object... args) throws Throwable {
+                AbstractLinkedProcessorSlot<?> next = nextOf(context);
+                if (next != null) {
+                    next.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+                }
+            }
+
+            @Override
+            public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+                AbstractLinkedProcessorSlot<?> next = nextOf(context);
+                if (next != null) {
+                    next.exit(context, resourceWrapper, count, args);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+/**
+ * <p>A {@link ProcessorSlot} that only checks rules, so it does nothing for resources without rules.</p>
+ * <p>
+ * Such slots could be left out of the slot chain of resources that have no rules for them
+ * (see {@link RuleAwareProcessorSlotChain}). Rule managers of the slots should call
+ * {@link RuleVersion#increment()} once rules are updated.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public interface RuleCheckingSlot {
+
+    /**
+     * Whether there are rules to check for the resource under current rules.
+     *
+     * @param resourceWrapper the resource
+     * @return true if there are rules to check, otherwise the slot could be skipped
+     */
+    boolean hasRules(ResourceWrapper resourceWrapper);
+}
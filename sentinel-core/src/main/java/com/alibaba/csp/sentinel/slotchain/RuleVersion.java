@@ -0,0 +1,47 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of rules checked by {@link RuleCheckingSlot}s. The version is increased once rules are updated,
+ * so that {@link RuleAwareProcessorSlotChain}s could be recompiled on demand.
+ *
+ * @since 1.8.8
+ */
+public final class RuleVersion {
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    /**
+     * Get current version of rules.
+     *
+     * @return current version
+     */
+    public static long current() {
+        return VERSION.get();
+    }
+
+    /**
+     * Increase the version. It should be called after new rules are visible to {@link RuleCheckingSlot}s.
+     */
+    public static void increment() {
+        VERSION.incrementAndGet();
+    }
+
+    private RuleVersion() {}
+}
@@ -15,15 +15,18 @@
  */
 package com.alibaba.csp.sentinel.slots;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.DefaultProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.SlotChainBuilder;
 import com.alibaba.csp.sentinel.spi.Spi;
 import com.alibaba.csp.sentinel.spi.SpiLoader;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -35,11 +38,23 @@ import java.util.List;
 @Spi(isDefault = true)
 public class DefaultSlotChainBuilder implements SlotChainBuilder {
 
+    /**
+     * Template of the shared slots of rule-aware slot chains, resolved on first build.
+     */
+    private volatile RuleAwareProcessorSlotChain.Template ruleAwareTemplate;
+    private volatile boolean ruleAwareUnsupported = false;
+
     @Override
     public ProcessorSlotChain build() {
-        ProcessorSlotChain chain = new DefaultProcessorSlotChain();
-
         List<ProcessorSlot> sortedSlotList = SpiLoader.of(ProcessorSlot.class).loadInstanceListSorted();
+        if (SentinelConfig.slotChainSpecializeEnabled() && !ruleAwareUnsupported) {
+            ProcessorSlotChain chain = buildRuleAwareChain(sortedSlotList);
+            if (chain != null) {
+                return chain;
+            }
+        }
+
+        ProcessorSlotChain chain = new DefaultProcessorSlotChain();
         for (ProcessorSlot slot : sortedSlotList) {
             if (!(slot instanceof AbstractLinkedProcessorSlot)) {
                 RecordLog.warn("The ProcessorSlot(" + slot.getClass().getCanonicalName() + ") is not an instance of AbstractLinkedProcessorSlot, can't be added into ProcessorSlotChain");
@@ -51,4 +66,42 @@ public class DefaultSlotChainBuilder implements SlotChainBuilder {
 
         return chain;
     }
+
+    /**
+     * Build a {@link RuleAwareProcessorSlotChain}, whose head consists of the leading prototype slots
+     * (created for each chain), while the remaining singleton slots are shared.
+     *
+     * @return the rule-aware slot chain, or null if the slots are not supported
+     */
+    private synchronized ProcessorSlotChain buildRuleAwareChain(List<ProcessorSlot> sortedSlotList) {
+        List<AbstractLinkedProcessorSlot<?>> headSlots = new ArrayList<>();
+        List<AbstractLinkedProcessorSlot<?>> sharedSlots = new ArrayList<>();
+        for (ProcessorSlot slot : sortedSlotList) {
+            if (!(slot instanceof AbstractLinkedProcessorSlot)) {
+                continue;
+            }
+            boolean singleton = isSingleton(slot.getClass());
+            if (!singleton && !sharedSlots.isEmpty()) {
+                RecordLog.warn("[DefaultSlotChainBuilder] Prototype slot " + slot.getClass().getCanonicalName()
+                    + " is after singleton slots, rule-aware slot chain is not supported");
+                ruleAwareUnsupported = true;
+                return null;
+            }
+            if (singleton) {
+                sharedSlots.add((AbstractLinkedProcessorSlot<?>) slot);
+            } else {
+                headSlots.add((AbstractLinkedProcessorSlot<?>) slot);
+            }
+        }
+        if (ruleAwareTemplate == null) {
+            ruleAwareTemplate = new RuleAwareProcessorSlotChain.Template(sharedSlots);
+            RecordLog.info("[DefaultSlotChainBuilder] Rule-aware slot chain enabled, shared slots: {}", sharedSlots);
+        }
+        return ruleAwareTemplate.newChain(headSlots);
+    }
+
+    private static boolean isSingleton(Class<?> clazz) {
+        Spi spi = clazz.getAnnotation(Spi.class);
+        return spi == null || spi.isSingleton();
+    }
 }
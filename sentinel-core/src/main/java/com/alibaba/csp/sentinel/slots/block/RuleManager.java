@@ -15,6 +15,10 @@
  */
 package com.alibaba.csp.sentinel.slots.block;
 
+import com.alibaba.csp.sentinel.slotchain.ResourceRegistry;
+import com.alibaba.csp.sentinel.slotchain.ResourceTable;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleVersion;
 import com.alibaba.csp.sentinel.util.function.Function;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
@@ -33,6 +37,10 @@ public class RuleManager<R> {
     private Map<String, List<R>> regexCacheRules = new HashMap<>();
     private Map<String, List<R>> simpleRules = new HashMap<>();
     private Function<List<R>, List<R>> generator = Function.identity();
+    /**
+     * Matched rules of each resource indexed by resource id, rebuilt on demand after rules are updated.
+     */
+    private volatile ResourceTable<List<R>> resolvedRules = new ResourceTable<>();
 
     private final Predicate<R> predicate;
 
@@ -105,6 +113,42 @@ public class RuleManager<R> {
         }
     }
 
+    /**
+     * Get rules of the resource by the resource id, the matching result is cached until rules are updated.
+     * The returned list is shared and unmodifiable.
+     *
+     * @param resource the resource
+     * @return matching rule list
+     * @since 1.8.8
+     */
+    public List<R> getRules(ResourceWrapper resource) {
+        return getRules(resource.getResourceId(), resource.getName());
+    }
+
+    /**
+     * Get rules of the resource by the resource id, the matching result is cached until rules are updated.
+     * The returned list is shared and unmodifiable.
+     *
+     * @param resourceId id of the resource, see {@link ResourceRegistry}
+     * @param resource   resource name
+     * @return matching rule list
+     * @since 1.8.8
+     */
+    public List<R> getRules(int resourceId, String resource) {
+        if (resourceId == ResourceRegistry.UNREGISTERED) {
+            return Collections.unmodifiableList(getRules(resource));
+        }
+        // Read the table before the rules, so that the result of stale rules never goes to the new table.
+        ResourceTable<List<R>> table = resolvedRules;
+        List<R> rules = table.get(resourceId);
+        if (rules == null) {
+            List<R> matched = getRules(resource);
+            rules = matched.isEmpty() ? Collections.<R>emptyList() : Collections.unmodifiableList(matched);
+            table.set(resourceId, rules);
+        }
+        return rules;
+    }
+
     /**
      * Get rules from regex rules and simple rules
      * @return rule list
@@ -174,6 +218,8 @@ public class RuleManager<R> {
         this.simpleRules = simpleRules;
         if (regexRules.isEmpty()) {
             this.regexCacheRules = Collections.emptyMap();
+            this.resolvedRules = new ResourceTable<>();
+            RuleVersion.increment();
             return;
         }
         // rebuild from regex cache rules
@@ -182,5 +228,7 @@ public class RuleManager<R> {
             rebuildCacheRule.put(resource, matcherFromRegexRules(resource));
         }
         this.regexCacheRules = rebuildCacheRule;
+        this.resolvedRules = new ResourceTable<>();
+        RuleVersion.increment();
     }
 }
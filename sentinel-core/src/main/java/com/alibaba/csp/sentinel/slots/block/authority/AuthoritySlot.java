@@ -23,6 +23,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.spi.Spi;
 
 /**
@@ -32,7 +33,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author Eric Zhao
  */
 @Spi(order = Constants.ORDER_AUTHORITY_SLOT)
-public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count, boolean prioritized, Object... args)
@@ -46,9 +47,14 @@ public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return !AuthorityRuleManager.getRules(resourceWrapper).isEmpty();
+    }
+
     void checkBlackWhiteAuthority(ResourceWrapper resource, Context context) throws AuthorityException {
 
-        List<AuthorityRule> rules = AuthorityRuleManager.getRules(resource.getName());
+        List<AuthorityRule> rules = AuthorityRuleManager.getRules(resource);
         if (rules == null) {
             return;
         }
@@ -54,7 +54,7 @@ public class DegradeRule extends AbstractRule {
     }
 
     /**
-     * Circuit breaking strategy (0: average RT, 1: exception ratio, 2: exception count).
+     * Circuit breaking strategy (0: average RT, 1: exception ratio, 2: exception count, 3: RT percentile).
      */
     private int grade = RuleConstant.DEGRADE_GRADE_RT;
 
@@ -64,6 +64,8 @@ public class DegradeRule extends AbstractRule {
      *     <li>In average RT mode, it means the maximum response time(RT) in milliseconds.</li>
      *     <li>In exception ratio mode, it means exception ratio which between 0.0 and 1.0.</li>
      *     <li>In exception count mode, it means exception count</li>
+     *     <li>In RT percentile mode, it means the maximum response time(RT) in milliseconds at
+     *     the given {@link #rtPercentile}.</li>
      * <ul/>
      */
     private double count;
@@ -95,6 +97,13 @@ public class DegradeRule extends AbstractRule {
      */
     private int statIntervalMs = 1000;
 
+    /**
+     * The percentile of response time in RT percentile mode, in (0, 100], e.g. 99.9.
+     *
+     * @since 1.8.8
+     */
+    private double rtPercentile = RuleConstant.DEGRADE_DEFAULT_RT_PERCENTILE;
+
     public int getGrade() {
         return grade;
     }
@@ -149,6 +158,15 @@ public class DegradeRule extends AbstractRule {
         return this;
     }
 
+    public double getRtPercentile() {
+        return rtPercentile;
+    }
+
+    public DegradeRule setRtPercentile(double rtPercentile) {
+        this.rtPercentile = rtPercentile;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) { return true; }
@@ -160,13 +178,14 @@ public class DegradeRule extends AbstractRule {
             grade == rule.grade &&
             minRequestAmount == rule.minRequestAmount &&
             Double.compare(rule.slowRatioThreshold, slowRatioThreshold) == 0 &&
-            statIntervalMs == rule.statIntervalMs;
+            statIntervalMs == rule.statIntervalMs &&
+            Double.compare(rule.rtPercentile, rtPercentile) == 0;
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(super.hashCode(), count, timeWindow, grade, minRequestAmount,
-            slowRatioThreshold, statIntervalMs);
+            slowRatioThreshold, statIntervalMs, rtPercentile);
     }
 
     @Override
@@ -180,6 +199,7 @@ public class DegradeRule extends AbstractRule {
             ", minRequestAmount=" + minRequestAmount +
             ", slowRatioThreshold=" + slowRatioThreshold +
             ", statIntervalMs=" + statIntervalMs +
+            ", rtPercentile=" + rtPercentile +
             '}';
     }
 }
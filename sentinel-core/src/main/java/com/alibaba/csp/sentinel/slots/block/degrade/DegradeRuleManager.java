@@ -27,11 +27,13 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.RuleManager;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ExceptionCircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimeCircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.RtPercentileCircuitBreaker;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
@@ -75,6 +77,10 @@ public final class DegradeRuleManager {
         return circuitBreakers.getRules(resourceName);
     }
 
+    static List<CircuitBreaker> getCircuitBreakers(ResourceWrapper resource) {
+        return circuitBreakers.getRules(resource);
+    }
+
     public static boolean hasConfig(String resource) {
        return circuitBreakers.hasConfig(resource);
     }
@@ -169,6 +175,8 @@ public final class DegradeRuleManager {
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO:
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return new ExceptionCircuitBreaker(rule);
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return new RtPercentileCircuitBreaker(rule);
             default:
                 return null;
         }
@@ -193,6 +201,8 @@ public final class DegradeRuleManager {
                 return rule.getCount() <= 1;
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return true;
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return rule.getRtPercentile() > 0 && rule.getRtPercentile() <= 100;
             default:
                 return false;
         }
@@ -24,6 +24,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.spi.Spi;
@@ -35,7 +36,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author Eric Zhao
  */
 @Spi(order = Constants.ORDER_DEGRADE_SLOT)
-public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -45,8 +46,13 @@ public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireEntry(context, resourceWrapper, node, count, prioritized, args);
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return !DegradeRuleManager.getCircuitBreakers(resourceWrapper).isEmpty();
+    }
+
     void performChecking(Context context, ResourceWrapper r) throws BlockException {
-        List<CircuitBreaker> circuitBreakers = DegradeRuleManager.getCircuitBreakers(r.getName());
+        List<CircuitBreaker> circuitBreakers = DegradeRuleManager.getCircuitBreakers(r);
         if (circuitBreakers == null || circuitBreakers.isEmpty()) {
             return;
         }
@@ -64,7 +70,7 @@ public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             fireExit(context, r, count, args);
             return;
         }
-        List<CircuitBreaker> circuitBreakers = DegradeRuleManager.getCircuitBreakers(r.getName());
+        List<CircuitBreaker> circuitBreakers = DegradeRuleManager.getCircuitBreakers(r);
         if (circuitBreakers == null || circuitBreakers.isEmpty()) {
             fireExit(context, r, count, args);
             return;
@@ -15,7 +15,6 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
-import java.util.List;
 import java.util.concurrent.atomic.LongAdder;
 
 import com.alibaba.csp.sentinel.Entry;
@@ -38,13 +37,13 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
     private final int minRequestAmount;
     private final double threshold;
 
-    private final LeapArray<SimpleErrorCounter> stat;
+    private final SimpleErrorCounterLeapArray stat;
 
     public ExceptionCircuitBreaker(DegradeRule rule) {
         this(rule, new SimpleErrorCounterLeapArray(1, rule.getStatIntervalMs()));
     }
 
-    ExceptionCircuitBreaker(DegradeRule rule, LeapArray<SimpleErrorCounter> stat) {
+    ExceptionCircuitBreaker(DegradeRule rule, SimpleErrorCounterLeapArray stat) {
         super(rule);
         this.strategy = rule.getGrade();
         boolean modeOk = strategy == DEGRADE_GRADE_EXCEPTION_RATIO || strategy == DEGRADE_GRADE_EXCEPTION_COUNT;
@@ -58,7 +57,7 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
     @Override
     protected void resetStat() {
         // Reset current bucket (bucket count = 1).
-        stat.currentWindow().value().reset();
+        stat.resetCurrentWindow();
     }
 
     @Override
@@ -69,10 +68,7 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
         }
         Throwable error = entry.getError();
         SimpleErrorCounter counter = stat.currentWindow().value();
-        if (error != null) {
-            counter.getErrorCount().add(1);
-        }
-        counter.getTotalCount().add(1);
+        stat.addRequest(counter, error != null);
 
         handleStateChangeWhenThresholdExceeded(error);
     }
@@ -92,16 +88,11 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
             return;
         }
         
-        List<SimpleErrorCounter> counters = stat.values();
-        long errCount = 0;
-        long totalCount = 0;
-        for (SimpleErrorCounter counter : counters) {
-            errCount += counter.errorCount.sum();
-            totalCount += counter.totalCount.sum();
-        }
+        long totalCount = stat.totalCount();
         if (totalCount < minRequestAmount) {
             return;
         }
+        long errCount = stat.errorCount();
         double curCount = errCount;
         if (strategy == DEGRADE_GRADE_EXCEPTION_RATIO) {
             // Use errorRatio
@@ -144,12 +135,55 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
         }
     }
 
+    /**
+     * The sliding window of error counters, which also maintains running totals of all valid buckets.
+     * The totals are updated on every request and decreased when buckets are rotated, so that the totals
+     * could be read in O(1) without iterating the buckets.
+     */
     static class SimpleErrorCounterLeapArray extends LeapArray<SimpleErrorCounter> {
 
+        private final LongAdder errorCountSum = new LongAdder();
+        private final LongAdder totalCountSum = new LongAdder();
+
         public SimpleErrorCounterLeapArray(int sampleCount, int intervalInMs) {
             super(sampleCount, intervalInMs);
         }
 
+        void addRequest(SimpleErrorCounter counter, boolean error) {
+            if (error) {
+                counter.errorCount.add(1);
+                errorCountSum.add(1);
+            }
+            counter.totalCount.add(1);
+            totalCountSum.add(1);
+        }
+
+        long errorCount() {
+            return errorCountSum.sum();
+        }
+
+        long totalCount() {
+            return totalCountSum.sum();
+        }
+
+        void resetCurrentWindow() {
+            drain(currentWindow().value());
+        }
+
+        /**
+         * Remove the counts of given bucket from both the bucket and the running totals.
+         * Subtracting the snapshot (rather than resetting) keeps the totals consistent with
+         * concurrent increments.
+         */
+        private void drain(SimpleErrorCounter counter) {
+            long error = counter.errorCount.sum();
+            counter.errorCount.add(-error);
+            errorCountSum.add(-error);
+            long total = counter.totalCount.sum();
+            counter.totalCount.add(-total);
+            totalCountSum.add(-total);
+        }
+
         @Override
         public SimpleErrorCounter newEmptyBucket(long timeMillis) {
             return new SimpleErrorCounter();
@@ -157,9 +191,16 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
 
         @Override
         protected WindowWrap<SimpleErrorCounter> resetWindowTo(WindowWrap<SimpleErrorCounter> w, long startTime) {
-            // Update the start time and reset value.
+            // Other buckets may also be deprecated if there are no requests for a while.
+            for (int i = 0; i < array.length(); i++) {
+                WindowWrap<SimpleErrorCounter> wrap = array.get(i);
+                if (wrap != null && wrap != w && isWindowDeprecated(startTime, wrap)) {
+                    drain(wrap.value());
+                }
+            }
+            // Update the start time and drain the value.
             w.resetTo(startTime);
-            w.value().reset();
+            drain(w.value());
             return w;
         }
     }
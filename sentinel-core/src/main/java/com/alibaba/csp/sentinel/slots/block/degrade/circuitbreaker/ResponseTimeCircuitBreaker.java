@@ -15,7 +15,6 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
-import java.util.List;
 import java.util.concurrent.atomic.LongAdder;
 
 import com.alibaba.csp.sentinel.Entry;
@@ -39,13 +38,13 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
     private final double maxSlowRequestRatio;
     private final int minRequestAmount;
 
-    private final LeapArray<SlowRequestCounter> slidingCounter;
+    private final SlowRequestLeapArray slidingCounter;
 
     public ResponseTimeCircuitBreaker(DegradeRule rule) {
         this(rule, new SlowRequestLeapArray(1, rule.getStatIntervalMs()));
     }
 
-    ResponseTimeCircuitBreaker(DegradeRule rule, LeapArray<SlowRequestCounter> stat) {
+    ResponseTimeCircuitBreaker(DegradeRule rule, SlowRequestLeapArray stat) {
         super(rule);
         AssertUtil.isTrue(rule.getGrade() == RuleConstant.DEGRADE_GRADE_RT, "rule metric type should be RT");
         AssertUtil.notNull(stat, "stat cannot be null");
@@ -58,7 +57,7 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
     @Override
     public void resetStat() {
         // Reset current bucket (bucket count = 1).
-        slidingCounter.currentWindow().value().reset();
+        slidingCounter.resetCurrentWindow();
     }
 
     @Override
@@ -73,10 +72,7 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
             completeTime = TimeUtil.currentTimeMillis();
         }
         long rt = completeTime - entry.getCreateTimestamp();
-        if (rt > maxAllowedRt) {
-            counter.slowCount.add(1);
-        }
-        counter.totalCount.add(1);
+        slidingCounter.addRequest(counter, rt > maxAllowedRt);
 
         handleStateChangeWhenThresholdExceeded(rt);
     }
@@ -97,17 +93,11 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
             return;
         }
 
-        List<SlowRequestCounter> counters = slidingCounter.values();
-        long slowCount = 0;
-        long totalCount = 0;
-        for (SlowRequestCounter counter : counters) {
-            slowCount += counter.slowCount.sum();
-            totalCount += counter.totalCount.sum();
-        }
+        long totalCount = slidingCounter.totalCount();
         if (totalCount < minRequestAmount) {
             return;
         }
-        double currentRatio = slowCount * 1.0d / totalCount;
+        double currentRatio = slidingCounter.slowCount() * 1.0d / totalCount;
         if (currentRatio > maxSlowRequestRatio) {
             transformToOpen(currentRatio);
         }
@@ -149,12 +139,55 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
         }
     }
 
+    /**
+     * The sliding window of slow request counters, which also maintains running totals of all valid buckets.
+     * The totals are updated on every request and decreased when buckets are rotated, so that the totals
+     * could be read in O(1) without iterating the buckets.
+     */
     static class SlowRequestLeapArray extends LeapArray<SlowRequestCounter> {
 
+        private final LongAdder slowCountSum = new LongAdder();
+        private final LongAdder totalCountSum = new LongAdder();
+
         public SlowRequestLeapArray(int sampleCount, int intervalInMs) {
             super(sampleCount, intervalInMs);
         }
 
+        void addRequest(SlowRequestCounter counter, boolean slow) {
+            if (slow) {
+                counter.slowCount.add(1);
+                slowCountSum.add(1);
+            }
+            counter.totalCount.add(1);
+            totalCountSum.add(1);
+        }
+
+        long slowCount() {
+            return slowCountSum.sum();
+        }
+
+        long totalCount() {
+            return totalCountSum.sum();
+        }
+
+        void resetCurrentWindow() {
+            drain(currentWindow().value());
+        }
+
+        /**
+         * Remove the counts of given bucket from both the bucket and the running totals.
+         * Subtracting the snapshot (rather than resetting) keeps the totals consistent with
+         * concurrent increments.
+         */
+        private void drain(SlowRequestCounter counter) {
+            long slow = counter.slowCount.sum();
+            counter.slowCount.add(-slow);
+            slowCountSum.add(-slow);
+            long total = counter.totalCount.sum();
+            counter.totalCount.add(-total);
+            totalCountSum.add(-total);
+        }
+
         @Override
         public SlowRequestCounter newEmptyBucket(long timeMillis) {
             return new SlowRequestCounter();
@@ -162,8 +195,15 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
 
         @Override
         protected WindowWrap<SlowRequestCounter> resetWindowTo(WindowWrap<SlowRequestCounter> w, long startTime) {
+            // Other buckets may also be deprecated if there are no requests for a while.
+            for (int i = 0; i < array.length(); i++) {
+                WindowWrap<SlowRequestCounter> wrap = array.get(i);
+                if (wrap != null && wrap != w && isWindowDeprecated(startTime, wrap)) {
+                    drain(wrap.value());
+                }
+            }
             w.resetTo(startTime);
-            w.value().reset();
+            drain(w.value());
             return w;
         }
     }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.List;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.slots.statistic.data.RtHistogram;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * Circuit breaker that opens when the response time at the given percentile (e.g. p99)
+ * in the statistic interval exceeds the threshold.
+ *
+ * @since 1.8.8
+ */
+public class RtPercentileCircuitBreaker extends AbstractCircuitBreaker {
+
+    private final long maxAllowedRt;
+    private final double percentile;
+    private final int minRequestAmount;
+
+    private final LeapArray<RtHistogram> slidingHistogram;
+
+    public RtPercentileCircuitBreaker(DegradeRule rule) {
+        this(rule, new RtHistogramLeapArray(1, rule.getStatIntervalMs()));
+    }
+
+    RtPercentileCircuitBreaker(DegradeRule rule, LeapArray<RtHistogram> stat) {
+        super(rule);
+        AssertUtil.isTrue(rule.getGrade() == RuleConstant.DEGRADE_GRADE_RT_PERCENTILE,
+            "rule metric type should be RT percentile");
+        AssertUtil.notNull(stat, "stat cannot be null");
+        this.maxAllowedRt = Math.round(rule.getCount());
+        this.percentile = rule.getRtPercentile();
+        this.minRequestAmount = rule.getMinRequestAmount();
+        this.slidingHistogram = stat;
+    }
+
+    @Override
+    public void resetStat() {
+        // Reset current bucket (bucket count = 1).
+        slidingHistogram.currentWindow().value().reset();
+    }
+
+    @Override
+    public void onRequestComplete(Context context) {
+        RtHistogram histogram = slidingHistogram.currentWindow().value();
+        Entry entry = context.getCurEntry();
+        if (entry == null) {
+            return;
+        }
+        long completeTime = entry.getCompleteTimestamp();
+        if (completeTime <= 0) {
+            completeTime = TimeUtil.currentTimeMillis();
+        }
+        long rt = completeTime - entry.getCreateTimestamp();
+        histogram.record(rt);
+
+        handleStateChangeWhenThresholdExceeded(rt);
+    }
+
+    private void handleStateChangeWhenThresholdExceeded(long rt) {
+        if (currentState.get() == State.OPEN) {
+            return;
+        }
+
+        if (currentState.get() == State.HALF_OPEN) {
+            // In detecting request
+            if (rt > maxAllowedRt) {
+                fromHalfOpenToOpen(rt);
+            } else {
+                fromHalfOpenToClose();
+            }
+            return;
+        }
+
+        List<RtHistogram> histograms = slidingHistogram.values();
+        long totalCount = 0;
+        for (RtHistogram h : histograms) {
+            totalCount += h.count();
+        }
+        if (totalCount < minRequestAmount) {
+            return;
+        }
+        // Once the request amount has reached the minimum, a request within the threshold could never push
+        // the percentile above the threshold, so the histogram is only merged when a slow request completes,
+        // or when current request makes the amount reach the minimum.
+        if (rt <= maxAllowedRt && totalCount - 1 >= minRequestAmount) {
+            return;
+        }
+        long[] counts = new long[RtHistogram.BUCKET_COUNT];
+        for (RtHistogram h : histograms) {
+            h.addTo(counts);
+        }
+        long currentRt = RtHistogram.percentile(counts, percentile);
+        if (currentRt > maxAllowedRt) {
+            transformToOpen(currentRt);
+        }
+    }
+
+    static class RtHistogramLeapArray extends LeapArray<RtHistogram> {
+
+        public RtHistogramLeapArray(int sampleCount, int intervalInMs) {
+            super(sampleCount, intervalInMs);
+        }
+
+        @Override
+        public RtHistogram newEmptyBucket(long timeMillis) {
+            return new RtHistogram();
+        }
+
+        @Override
+        protected WindowWrap<RtHistogram> resetWindowTo(WindowWrap<RtHistogram> w, long startTime) {
+            w.resetTo(startTime);
+            w.value().reset();
+            return w;
+        }
+    }
+}
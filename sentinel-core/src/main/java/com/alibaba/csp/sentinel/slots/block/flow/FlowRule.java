@@ -24,7 +24,8 @@ import com.alibaba.csp.sentinel.slots.block.RuleConstant;
  * <strong>strategy</strong> and <strong>controlBehavior</strong>:
  * </p>
  * <ul>
- *     <li>The {@link #grade} represents the threshold type of flow control (by QPS or thread count).</li>
+ *     <li>The {@link #grade} represents the threshold type of flow control (by QPS, thread count
+ *     or adaptive concurrency limit).</li>
  *     <li>The {@link #strategy} represents the strategy based on invocation relation.</li>
  *     <li>The {@link #controlBehavior} represents the QPS shaping behavior (actions on incoming request when QPS
  *     exceeds the threshold).</li>
@@ -47,7 +48,7 @@ public class FlowRule extends AbstractRule {
     }
 
     /**
-     * The threshold type of flow control (0: thread count, 1: QPS).
+     * The threshold type of flow control (0: thread count, 1: QPS, 2: adaptive concurrency).
      */
     private int grade = RuleConstant.FLOW_GRADE_QPS;
 
@@ -72,7 +73,7 @@ public class FlowRule extends AbstractRule {
 
     /**
      * Rate limiter control behavior.
-     * 0. default(reject directly), 1. warm up, 2. rate limiter, 3. warm up + rate limiter
+     * 0. default(reject directly), 1. warm up, 2. rate limiter, 3. warm up + rate limiter, 4. token bucket
      */
     private int controlBehavior = RuleConstant.CONTROL_BEHAVIOR_DEFAULT;
 
@@ -83,6 +84,43 @@ public class FlowRule extends AbstractRule {
      */
     private int maxQueueingTimeMs = 500;
 
+    /**
+     * Extra tokens that could be stored beyond {@code count} in token bucket behavior,
+     * so the bucket capacity is {@code count + burstCount}.
+     *
+     * @since 1.8.8
+     */
+    private int burstCount = 0;
+
+    /**
+     * Interval (in ms) to refill {@code count} tokens in token bucket behavior.
+     *
+     * @since 1.8.8
+     */
+    private int refillIntervalMs = 1000;
+
+    /**
+     * Lower bound of the concurrency limit in adaptive concurrency grade.
+     *
+     * @since 1.8.8
+     */
+    private int minConcurrency = 1;
+
+    /**
+     * Upper bound of the concurrency limit in adaptive concurrency grade.
+     *
+     * @since 1.8.8
+     */
+    private int maxConcurrency = 1000;
+
+    /**
+     * How many times of the no-load response time is tolerated before the concurrency limit
+     * shrinks in adaptive concurrency grade.
+     *
+     * @since 1.8.8
+     */
+    private double rtTolerance = 1.5;
+
     private boolean clusterMode;
     /**
      * Flow rule config for cluster mode.
@@ -112,6 +150,51 @@ public class FlowRule extends AbstractRule {
         return this;
     }
 
+    public int getBurstCount() {
+        return burstCount;
+    }
+
+    public FlowRule setBurstCount(int burstCount) {
+        this.burstCount = burstCount;
+        return this;
+    }
+
+    public int getRefillIntervalMs() {
+        return refillIntervalMs;
+    }
+
+    public FlowRule setRefillIntervalMs(int refillIntervalMs) {
+        this.refillIntervalMs = refillIntervalMs;
+        return this;
+    }
+
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    public FlowRule setMinConcurrency(int minConcurrency) {
+        this.minConcurrency = minConcurrency;
+        return this;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public FlowRule setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    public double getRtTolerance() {
+        return rtTolerance;
+    }
+
+    public FlowRule setRtTolerance(double rtTolerance) {
+        this.rtTolerance = rtTolerance;
+        return this;
+    }
+
     FlowRule setRater(TrafficShapingController rater) {
         this.controller = rater;
         return this;
@@ -198,6 +281,11 @@ public class FlowRule extends AbstractRule {
         if (controlBehavior != rule.controlBehavior) { return false; }
         if (warmUpPeriodSec != rule.warmUpPeriodSec) { return false; }
         if (maxQueueingTimeMs != rule.maxQueueingTimeMs) { return false; }
+        if (burstCount != rule.burstCount) { return false; }
+        if (refillIntervalMs != rule.refillIntervalMs) { return false; }
+        if (minConcurrency != rule.minConcurrency) { return false; }
+        if (maxConcurrency != rule.maxConcurrency) { return false; }
+        if (Double.compare(rule.rtTolerance, rtTolerance) != 0) { return false; }
         if (clusterMode != rule.clusterMode) { return false; }
         if (refResource != null ? !refResource.equals(rule.refResource) : rule.refResource != null) { return false; }
         return clusterConfig != null ? clusterConfig.equals(rule.clusterConfig) : rule.clusterConfig == null;
@@ -215,6 +303,12 @@ public class FlowRule extends AbstractRule {
         result = 31 * result + controlBehavior;
         result = 31 * result + warmUpPeriodSec;
         result = 31 * result + maxQueueingTimeMs;
+        result = 31 * result + burstCount;
+        result = 31 * result + refillIntervalMs;
+        result = 31 * result + minConcurrency;
+        result = 31 * result + maxConcurrency;
+        temp = Double.doubleToLongBits(rtTolerance);
+        result = 31 * result + (int)(temp ^ (temp >>> 32));
         result = 31 * result + (clusterMode ? 1 : 0);
         result = 31 * result + (clusterConfig != null ? clusterConfig.hashCode() : 0);
         return result;
@@ -232,6 +326,11 @@ public class FlowRule extends AbstractRule {
             ", controlBehavior=" + controlBehavior +
             ", warmUpPeriodSec=" + warmUpPeriodSec +
             ", maxQueueingTimeMs=" + maxQueueingTimeMs +
+            ", burstCount=" + burstCount +
+            ", refillIntervalMs=" + refillIntervalMs +
+            ", minConcurrency=" + minConcurrency +
+            ", maxConcurrency=" + maxConcurrency +
+            ", rtTolerance=" + rtTolerance +
             ", clusterMode=" + clusterMode +
             ", clusterConfig=" + clusterConfig +
             ", controller=" + controller +
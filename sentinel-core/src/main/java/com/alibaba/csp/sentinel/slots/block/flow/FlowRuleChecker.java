@@ -32,6 +32,7 @@ import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
 import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.WaitUtil;
 import com.alibaba.csp.sentinel.util.function.Function;
 
 /**
@@ -46,7 +47,17 @@ public class FlowRuleChecker {
         if (ruleProvider == null || resource == null) {
             return;
         }
-        Collection<FlowRule> rules = ruleProvider.apply(resource.getName());
+        checkFlow(ruleProvider.apply(resource.getName()), context, node, count, prioritized);
+    }
+
+    /**
+     * Check the given flow rules of the resource.
+     *
+     * @param rules flow rules of the resource, e.g. looked up by the resource id
+     * @since 1.8.8
+     */
+    public void checkFlow(Collection<FlowRule> rules, Context context, DefaultNode node, int count,
+                          boolean prioritized) throws BlockException {
         if (rules != null) {
             for (FlowRule rule : rules) {
                 if (!canPassCheck(rule, context, node, count, prioritized)) {
@@ -56,6 +67,88 @@ public class FlowRuleChecker {
         }
     }
 
+    /**
+     * Check the flow rules for a batch of items, and get the largest amount of items that could pass.
+     *
+     * @return granted count, which is positive and no more than {@code count}
+     * @throws BlockException if none of the items could pass
+     * @since 1.8.8
+     */
+    public int checkFlowPartially(Function<String, Collection<FlowRule>> ruleProvider, ResourceWrapper resource,
+                                  Context context, DefaultNode node, int count) throws BlockException {
+        if (ruleProvider == null || resource == null) {
+            return count;
+        }
+        return checkFlowPartially(ruleProvider.apply(resource.getName()), context, node, count);
+    }
+
+    /**
+     * Check the given flow rules of the resource for a batch of items, and get the largest amount of items
+     * that could pass.
+     *
+     * @param rules flow rules of the resource, e.g. looked up by the resource id
+     * @return granted count, which is positive and no more than {@code count}
+     * @throws BlockException if none of the items could pass
+     * @since 1.8.8
+     */
+    public int checkFlowPartially(Collection<FlowRule> rules, Context context, DefaultNode node, int count)
+        throws BlockException {
+        int grantedCount = count;
+        if (rules != null) {
+            for (FlowRule rule : rules) {
+                grantedCount = maxPassCount(rule, context, node, grantedCount);
+                if (grantedCount <= 0) {
+                    throw new FlowException(rule.getLimitApp(), rule);
+                }
+            }
+        }
+        return grantedCount;
+    }
+
+    private int maxPassCount(/*@NonNull*/ FlowRule rule, Context context, DefaultNode node, int count) {
+        if (canPassCheck(rule, context, node, count)) {
+            return count;
+        }
+        if (acquiresOnPass(rule)) {
+            // Each passed check takes tokens from the rule, so only one check could pass.
+            // Try halving counts, which grants at least half of the largest passing count.
+            for (int c = count >> 1; c > 0; c >>= 1) {
+                if (canPassCheck(rule, context, node, c)) {
+                    return c;
+                }
+            }
+            return 0;
+        }
+        // The check has no side effects, so do a binary search for the largest passing count.
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (canPassCheck(rule, context, node, mid)) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Whether a passed check takes tokens (or time slots) from the rule, rather than only reads the statistics.
+     */
+    private static boolean acquiresOnPass(FlowRule rule) {
+        if (rule.isClusterMode()) {
+            return true;
+        }
+        if (rule.getGrade() != RuleConstant.FLOW_GRADE_QPS) {
+            return false;
+        }
+        int behavior = rule.getControlBehavior();
+        return behavior == RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER
+            || behavior == RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER
+            || behavior == RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET;
+    }
+
     public boolean canPassCheck(/*@NonNull*/ FlowRule rule, Context context, DefaultNode node,
                                                     int acquireCount) {
         return canPassCheck(rule, context, node, acquireCount, false);
@@ -191,11 +284,7 @@ public class FlowRuleChecker {
                 return true;
             case TokenResultStatus.SHOULD_WAIT:
                 // Wait for next tick.
-                try {
-                    Thread.sleep(result.getWaitInMs());
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+                WaitUtil.waitMs(result.getWaitInMs());
                 return true;
             case TokenResultStatus.NO_RULE_EXISTS:
             case TokenResultStatus.BAD_REQUEST:
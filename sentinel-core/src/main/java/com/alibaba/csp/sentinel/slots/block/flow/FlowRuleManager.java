@@ -22,6 +22,8 @@ import com.alibaba.csp.sentinel.node.metric.MetricTimerListener;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.ResourceRegistry;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.RuleManager;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -119,6 +121,11 @@ public class FlowRuleManager {
     }
 
     static List<FlowRule> getFlowRules(String resource) {
+        // Lookup only, as querying rules should never register a resource.
+        return flowRules.getRules(ResourceRegistry.idOf(resource), resource);
+    }
+
+    static List<FlowRule> getFlowRules(ResourceWrapper resource) {
         return flowRules.getRules(resource);
     }
 
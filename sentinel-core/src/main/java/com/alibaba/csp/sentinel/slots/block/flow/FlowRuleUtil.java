@@ -19,8 +19,10 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.RuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AdaptiveConcurrencyController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.DefaultController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.ThrottlingController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.TokenBucketController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpRateLimiterController;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -131,6 +133,10 @@ public final class FlowRuleUtil {
     }
 
     private static TrafficShapingController generateRater(/*@Valid*/ FlowRule rule) {
+        if (rule.getGrade() == RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY) {
+            return new AdaptiveConcurrencyController(rule.getCount(), rule.getMinConcurrency(),
+                    rule.getMaxConcurrency(), rule.getRtTolerance());
+        }
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
             switch (rule.getControlBehavior()) {
                 case RuleConstant.CONTROL_BEHAVIOR_WARM_UP:
@@ -141,6 +147,9 @@ public final class FlowRuleUtil {
                 case RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER:
                     return new WarmUpRateLimiterController(rule.getCount(), rule.getWarmUpPeriodSec(),
                             rule.getMaxQueueingTimeMs(), ColdFactorProperty.coldFactor);
+                case RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET:
+                    return new TokenBucketController(rule.getCount(), rule.getBurstCount(),
+                            rule.getRefillIntervalMs());
                 case RuleConstant.CONTROL_BEHAVIOR_DEFAULT:
                 default:
                     // Default mode or unknown mode: default traffic shaping controller (fast-reject).
@@ -179,6 +188,8 @@ public final class FlowRuleUtil {
             return checkClusterField(rule) && checkStrategyField(rule) && checkControlBehaviorField(rule);
         } else if (rule.getGrade() == RuleConstant.FLOW_GRADE_THREAD) {
             return checkClusterConcurrentField(rule);
+        } else if (rule.getGrade() == RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY) {
+            return !rule.isClusterMode() && checkStrategyField(rule) && checkAdaptiveConcurrencyField(rule);
         } else {
             return false;
         }
@@ -254,16 +265,29 @@ public final class FlowRuleUtil {
     private static boolean checkControlBehaviorField(/*@NonNull*/ FlowRule rule) {
         switch (rule.getControlBehavior()) {
             case RuleConstant.CONTROL_BEHAVIOR_WARM_UP:
-                return rule.getWarmUpPeriodSec() > 0;
+                return rule.getWarmUpPeriodSec() > 0 && checkWarmUpTokens(rule);
             case RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER:
                 return rule.getMaxQueueingTimeMs() > 0;
             case RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER:
-                return rule.getWarmUpPeriodSec() > 0 && rule.getMaxQueueingTimeMs() > 0;
+                return rule.getWarmUpPeriodSec() > 0 && rule.getMaxQueueingTimeMs() > 0 && checkWarmUpTokens(rule);
+            case RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET:
+                return rule.getBurstCount() >= 0 && rule.getRefillIntervalMs() > 0;
             default:
                 return true;
         }
     }
 
+    private static boolean checkWarmUpTokens(/*@NonNull*/ FlowRule rule) {
+        // The max token of warm-up is less than 2 * count * warmUpPeriodSec (cold factor is at least 2),
+        // and it should fit into an int.
+        return rule.getCount() * rule.getWarmUpPeriodSec() < Integer.MAX_VALUE / 2;
+    }
+
+    private static boolean checkAdaptiveConcurrencyField(/*@NonNull*/ FlowRule rule) {
+        return rule.getMinConcurrency() > 0 && rule.getMaxConcurrency() >= rule.getMinConcurrency()
+                && rule.getRtTolerance() >= 1;
+    }
+
     private static final Function<FlowRule, String> extractResource = new Function<FlowRule, String>() {
         @Override
         public String apply(FlowRule rule) {
@@ -15,17 +15,17 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow;
 
+import com.alibaba.csp.sentinel.BatchEntry;
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.spi.Spi;
 import com.alibaba.csp.sentinel.util.AssertUtil;
-import com.alibaba.csp.sentinel.util.function.Function;
-
-import java.util.Collection;
 
 /**
  * <p>
@@ -137,7 +137,7 @@ import java.util.Collection;
  * @author Eric Zhao
  */
 @Spi(order = Constants.ORDER_FLOW_SLOT)
-public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     private final FlowRuleChecker checker;
 
@@ -159,25 +159,33 @@ public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
                       boolean prioritized, Object... args) throws Throwable {
+        Entry curEntry = context.getCurEntry();
+        if (curEntry instanceof BatchEntry) {
+            // Flow rules may grant part of the batch, and the following slots only see the granted items.
+            int grantedCount = checker.checkFlowPartially(FlowRuleManager.getFlowRules(resourceWrapper),
+                context, node, count);
+            ((BatchEntry) curEntry).setGrantedCount(grantedCount);
+            fireEntry(context, resourceWrapper, node, grantedCount, prioritized, args);
+            return;
+        }
         checkFlow(resourceWrapper, context, node, count, prioritized);
 
         fireEntry(context, resourceWrapper, node, count, prioritized, args);
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return !FlowRuleManager.getFlowRules(resourceWrapper).isEmpty();
+    }
+
     void checkFlow(ResourceWrapper resource, Context context, DefaultNode node, int count, boolean prioritized)
         throws BlockException {
-        checker.checkFlow(ruleProvider, resource, context, node, count, prioritized);
+        // Rules are looked up by the resource id rather than the name.
+        checker.checkFlow(FlowRuleManager.getFlowRules(resource), context, node, count, prioritized);
     }
 
     @Override
     public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
         fireExit(context, resourceWrapper, count, args);
     }
-
-    private final Function<String, Collection<FlowRule>> ruleProvider = new Function<String, Collection<FlowRule>>() {
-        @Override
-        public Collection<FlowRule> apply(String resource) {
-            return FlowRuleManager.getFlowRules(resource);
-        }
-    };
 }
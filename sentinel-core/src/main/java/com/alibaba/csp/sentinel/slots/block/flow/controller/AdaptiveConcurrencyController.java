@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Concurrency limiter whose limit follows the response time of the resource, in the style of
+ * gradient limiters (similar to TCP Vegas).</p>
+ *
+ * <p>The no-load response time is tracked from the {@code minRt} of the node: it follows a lower
+ * {@code minRt} immediately and a higher one slowly, so the baseline could recover after a deploy or
+ * a downstream change. Every {@link #UPDATE_INTERVAL_MS}, the limit is multiplied by the gradient
+ * {@code min(1, rtTolerance * baselineRt / avgRt)} (at least {@link #MIN_GRADIENT}), and a queue allowance of
+ * {@code sqrt(limit)} is added when at least half of the limit is in use, so the limit keeps probing upwards until
+ * the response time starts to grow, i.e. the knee of the latency curve. The new limit is smoothed and bounded by
+ * {@code [minConcurrency, maxConcurrency]}. A request passes when the current concurrency plus the acquire count
+ * does not exceed the limit.</p>
+ *
+ * @since 1.8.8
+ */
+public class AdaptiveConcurrencyController implements TrafficShapingController {
+
+    static final long UPDATE_INTERVAL_MS = 100;
+
+    static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_RISE_FACTOR = 0.05;
+
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final double rtTolerance;
+
+    private volatile double limit;
+    private volatile double baselineRt = -1;
+
+    private final AtomicLong nextUpdateTime = new AtomicLong(0);
+
+    public AdaptiveConcurrencyController(double initialLimit, int minConcurrency, int maxConcurrency,
+                                         double rtTolerance) {
+        AssertUtil.isTrue(minConcurrency > 0, "minConcurrency should be positive");
+        AssertUtil.isTrue(maxConcurrency >= minConcurrency, "maxConcurrency should be >= minConcurrency");
+        AssertUtil.isTrue(rtTolerance >= 1, "rtTolerance should be >= 1");
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.rtTolerance = rtTolerance;
+        this.limit = bound(initialLimit);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        tryUpdateLimit(node);
+        return node.curThreadNum() + acquireCount <= getLimit();
+    }
+
+    /**
+     * Get current concurrency limit.
+     *
+     * @return current concurrency limit
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    double getBaselineRt() {
+        return baselineRt;
+    }
+
+    private void tryUpdateLimit(Node node) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long next = nextUpdateTime.get();
+        // Only one thread updates the limit in each interval.
+        if (currentTime < next || !nextUpdateTime.compareAndSet(next, currentTime + UPDATE_INTERVAL_MS)) {
+            return;
+        }
+        double avgRt = node.avgRt();
+        if (avgRt <= 0) {
+            // No completed requests in the statistic window.
+            return;
+        }
+        double minRt = Math.min(node.minRt(), avgRt);
+        double baseline = baselineRt;
+        if (baseline <= 0 || minRt < baseline) {
+            baseline = minRt;
+        } else {
+            baseline += (minRt - baseline) * BASELINE_RISE_FACTOR;
+        }
+        baselineRt = baseline;
+
+        double currentLimit = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rtTolerance * baseline / avgRt));
+        // Do not grow the limit when the traffic is too low to make use of it.
+        double queueSize = node.curThreadNum() * 2 >= currentLimit ? Math.sqrt(currentLimit) : 0;
+        double newLimit = currentLimit * gradient + queueSize;
+        limit = bound(currentLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+    }
+
+    private double bound(double value) {
+        return Math.max(minConcurrency, Math.min(maxConcurrency, value));
+    }
+}
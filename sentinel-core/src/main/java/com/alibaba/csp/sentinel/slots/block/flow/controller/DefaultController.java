@@ -15,12 +15,14 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.node.OccupyTimeoutProperty;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.PriorityWaitException;
 import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
 import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.WaitUtil;
 
 /**
  * Default throttling controller (immediately reject strategy).
@@ -35,9 +37,26 @@ public class DefaultController implements TrafficShapingController {
     private double count;
     private int grade;
 
+    /**
+     * Bounded waiting queue of prioritized requests, or null if waiting requests just sleep.
+     */
+    private final PriorityWaitQueue waitQueue;
+
     public DefaultController(double count, int grade) {
+        this(count, grade, SentinelConfig.flowPriorityQueueCapacity());
+    }
+
+    /**
+     * @param count                 threshold of the rule
+     * @param grade                 grade of the rule
+     * @param priorityQueueCapacity max count of waiting prioritized requests, 0 means unbounded
+     *                              and waiting requests sleep independently
+     * @since 1.8.8
+     */
+    public DefaultController(double count, int grade, int priorityQueueCapacity) {
         this.count = count;
         this.grade = grade;
+        this.waitQueue = priorityQueueCapacity > 0 ? new PriorityWaitQueue(priorityQueueCapacity) : null;
     }
 
     @Override
@@ -50,17 +69,15 @@ public class DefaultController implements TrafficShapingController {
         int curCount = avgUsedTokens(node);
         if (curCount + acquireCount > count) {
             if (prioritized && grade == RuleConstant.FLOW_GRADE_QPS) {
-                long currentTime;
-                long waitInMs;
-                currentTime = TimeUtil.currentTimeMillis();
-                waitInMs = node.tryOccupyNext(currentTime, acquireCount, count);
-                if (waitInMs < OccupyTimeoutProperty.getOccupyTimeout()) {
-                    node.addWaitingRequest(currentTime + waitInMs, acquireCount);
-                    node.addOccupiedPass(acquireCount);
-                    sleep(waitInMs);
-
-                    // PriorityWaitException indicates that the request will pass after waiting for {@link @waitInMs}.
-                    throw new PriorityWaitException(waitInMs);
+                // Deferred waits are delayed by the caller, so they don't take a place in the queue.
+                if (waitQueue == null || WaitUtil.isDeferring()) {
+                    occupyAndWait(node, acquireCount, false);
+                } else if (waitQueue.tryEnter()) {
+                    try {
+                        occupyAndWait(node, acquireCount, true);
+                    } finally {
+                        waitQueue.leave();
+                    }
                 }
             }
             return false;
@@ -68,18 +85,27 @@ public class DefaultController implements TrafficShapingController {
         return true;
     }
 
+    private void occupyAndWait(Node node, int acquireCount, boolean queued) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long waitInMs = node.tryOccupyNext(currentTime, acquireCount, count);
+        if (waitInMs < OccupyTimeoutProperty.getOccupyTimeout()) {
+            node.addWaitingRequest(currentTime + waitInMs, acquireCount);
+            node.addOccupiedPass(acquireCount);
+            if (queued) {
+                waitQueue.await(waitInMs);
+            } else {
+                WaitUtil.waitMs(waitInMs);
+            }
+
+            // PriorityWaitException indicates that the request will pass after waiting for {@link @waitInMs}.
+            throw new PriorityWaitException(waitInMs);
+        }
+    }
+
     private int avgUsedTokens(Node node) {
         if (node == null) {
             return DEFAULT_AVG_USED_TOKENS;
         }
         return grade == RuleConstant.FLOW_GRADE_THREAD ? node.curThreadNum() : (int)(node.passQps());
     }
-
-    private void sleep(long timeMillis) {
-        try {
-            Thread.sleep(timeMillis);
-        } catch (InterruptedException e) {
-            // Ignore.
-        }
-    }
 }
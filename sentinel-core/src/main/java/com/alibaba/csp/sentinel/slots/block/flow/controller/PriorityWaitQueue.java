@@ -0,0 +1,193 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>A bounded wait for prioritized requests that have occupied tokens of a future window.</p>
+ * <p>
+ * At most {@code capacity} threads could wait at the same time, so the threads blocked by the controller are
+ * bounded under overload, and prioritized requests beyond that are rejected. Each waiting thread still waits
+ * for its own occupied window: it's parked until a shared timer thread wakes it at that time, or gives up
+ * shortly after if the timer is late. Waiters are neither reordered nor handed tokens by the queue.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+final class PriorityWaitQueue {
+
+    /**
+     * Extra time a waiter parks before giving up on the timer, in case the timer thread is unavailable.
+     */
+    private static final long RELEASE_SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final DelayQueue<Waiter> RELEASE_QUEUE = new DelayQueue<>();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static volatile Thread timer;
+
+    private final int capacity;
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    PriorityWaitQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Try to take a place in the queue.
+     *
+     * @return true if there is a place for current thread, false if the queue is full
+     */
+    boolean tryEnter() {
+        while (true) {
+            int current = waitingCount.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (waitingCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back the place taken by {@link #tryEnter()}.
+     */
+    void leave() {
+        waitingCount.decrementAndGet();
+    }
+
+    /**
+     * Park current thread until the timer releases it after given time. The caller should have taken a place
+     * by {@link #tryEnter()}. Interruption doesn't end the wait, but the interrupted status of current thread
+     * is restored before returning.
+     *
+     * @param waitInMs time to wait in milliseconds
+     */
+    void await(long waitInMs) {
+        if (waitInMs <= 0) {
+            return;
+        }
+        Waiter waiter = new Waiter(Thread.currentThread(), System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitInMs),
+            SEQUENCE.incrementAndGet());
+        ensureTimerStarted();
+        RELEASE_QUEUE.add(waiter);
+        long giveUpTime = waiter.releaseTimeNanos + RELEASE_SLACK_NANOS;
+        boolean interrupted = false;
+        try {
+            while (!waiter.released) {
+                long remaining = giveUpTime - System.nanoTime();
+                if (remaining <= 0) {
+                    RELEASE_QUEUE.remove(waiter);
+                    return;
+                }
+                LockSupport.parkNanos(this, remaining);
+                // Clear the interrupted flag, or parking would return immediately.
+                if (Thread.interrupted()) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    private static void ensureTimerStarted() {
+        if (timer != null) {
+            return;
+        }
+        synchronized (PriorityWaitQueue.class) {
+            if (timer == null) {
+                Thread t = new NamedThreadFactory("sentinel-priority-wait-timer", true).newThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        releaseLoop();
+                    }
+                });
+                t.start();
+                timer = t;
+            }
+        }
+    }
+
+    private static void releaseLoop() {
+        while (true) {
+            try {
+                Waiter waiter = RELEASE_QUEUE.take();
+                waiter.release();
+                // Release all due waiters in a batch.
+                while ((waiter = RELEASE_QUEUE.poll()) != null) {
+                    waiter.release();
+                }
+            } catch (InterruptedException e) {
+                // Ignore.
+            } catch (Throwable e) {
+                RecordLog.warn("[PriorityWaitQueue] Unexpected error when releasing waiting requests", e);
+            }
+        }
+    }
+
+    private static final class Waiter implements Delayed {
+
+        private final Thread thread;
+        private final long releaseTimeNanos;
+        private final long sequence;
+        private volatile boolean released = false;
+
+        Waiter(Thread thread, long releaseTimeNanos, long sequence) {
+            this.thread = thread;
+            this.releaseTimeNanos = releaseTimeNanos;
+            this.sequence = sequence;
+        }
+
+        void release() {
+            released = true;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(releaseTimeNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            Waiter other = (Waiter)o;
+            if (releaseTimeNanos != other.releaseTimeNanos) {
+                return releaseTimeNanos - other.releaseTimeNanos < 0 ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
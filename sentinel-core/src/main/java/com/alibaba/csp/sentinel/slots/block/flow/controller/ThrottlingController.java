@@ -17,12 +17,12 @@ package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.LockSupport;
 
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.WaitUtil;
 
 /**
  * @author Eric Zhao
@@ -96,7 +96,7 @@ public class ThrottlingController implements TrafficShapingController {
             }
             // in race condition waitTime may <= 0
             if (waitTime > 0) {
-                sleepNanos(waitTime);
+                WaitUtil.waitNanos(waitTime);
             }
             return true;
         }
@@ -129,7 +129,7 @@ public class ThrottlingController implements TrafficShapingController {
             }
             // in race condition waitTime may <= 0
             if (waitTime > 0) {
-                sleepMs(waitTime);
+                WaitUtil.waitMs(waitTime);
             }
             return true;
         }
@@ -152,16 +152,4 @@ public class ThrottlingController implements TrafficShapingController {
             return checkPassUsingCachedMs(acquireCount, this.count);
         }
     }
-
-    private void sleepMs(long ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException e) {
-        }
-    }
-
-    private void sleepNanos(long ns) {
-        LockSupport.parkNanos(ns);
-    }
-
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.slots.block.flow.tokenbucket.StrictTokenBucket;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>Token bucket traffic shaping controller.</p>
+ *
+ * <p>{@code count} tokens are refilled every {@code refillIntervalMs}, and the bucket holds at most
+ * {@code count + burstCount} tokens, so a client that has been idle could burst up to the capacity at once,
+ * while the long-term rate never exceeds {@code count} per interval. The bucket starts full.
+ * A fractional {@code count} is refilled a few tokens at a time (one token if {@code count <= refillIntervalMs}),
+ * so that the refill rate stays exact.</p>
+ *
+ * @since 1.8.8
+ */
+public class TokenBucketController implements TrafficShapingController {
+
+    /**
+     * Null if no token could ever be produced (count is 0).
+     */
+    private final StrictTokenBucket tokenBucket;
+
+    public TokenBucketController(double count, int burstCount, int refillIntervalMs) {
+        AssertUtil.isTrue(count >= 0, "count should be >= 0");
+        AssertUtil.isTrue(burstCount >= 0, "burstCount should be >= 0");
+        AssertUtil.isTrue(refillIntervalMs > 0, "refillIntervalMs should be positive");
+        this.tokenBucket = count > 0 ? createTokenBucket(count, burstCount, refillIntervalMs) : null;
+    }
+
+    private static StrictTokenBucket createTokenBucket(double count, int burstCount, int refillIntervalMs) {
+        long maxTokenNum = Math.min(StrictTokenBucket.MAX_TOKEN_NUM, (long) Math.ceil(count) + burstCount);
+        if (count == Math.rint(count)) {
+            return new StrictTokenBucket((long) count, maxTokenNum, true, refillIntervalMs);
+        }
+        // Produce the fewest tokens at a time that keeps the interval no less than 1 ms. The interval is
+        // calculated in nanoseconds (rounded down), so that the rate does not drift from the fractional count.
+        long unitProduceNum = (long) Math.ceil(count / refillIntervalMs);
+        long unitIntervalNanos = (long) (TimeUnit.MILLISECONDS.toNanos(refillIntervalMs) * unitProduceNum / count);
+        return new StrictTokenBucket(unitProduceNum, maxTokenNum, true, unitIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        if (acquireCount <= 0) {
+            return true;
+        }
+        return tokenBucket != null && tokenBucket.tryConsume(acquireCount);
+    }
+}
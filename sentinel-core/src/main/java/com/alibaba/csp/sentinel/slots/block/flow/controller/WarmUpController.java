@@ -17,6 +17,7 @@ package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
@@ -63,14 +64,21 @@ import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
  */
 public class WarmUpController implements TrafficShapingController {
 
+    private static final long TOKEN_MASK = 0xFFFFFFFFL;
+
     protected double count;
     private int coldFactor;
     protected int warningToken = 0;
     private int maxToken;
     protected double slope;
 
-    protected AtomicLong storedTokens = new AtomicLong(0);
-    protected AtomicLong lastFilledTime = new AtomicLong(0);
+    /**
+     * <p>The token state packed into a single word, so that it's always updated atomically:
+     * the high 32 bits hold the second (since epoch) of the last filling, and the low 32 bits hold
+     * the stored tokens.</p>
+     * <p>The state is only updated once per second, by the thread that wins the compare-and-set.</p>
+     */
+    private final AtomicLong tokenState = new AtomicLong(0);
 
     public WarmUpController(double count, int warmUpPeriodInSec, int coldFactor) {
         construct(count, warmUpPeriodInSec, coldFactor);
@@ -92,11 +100,16 @@ public class WarmUpController implements TrafficShapingController {
 
         // thresholdPermits = 0.5 * warmupPeriod / stableInterval.
         // warningToken = 100;
-        warningToken = (int)(warmUpPeriodInSec * count) / (coldFactor - 1);
+        long warning = (long)(warmUpPeriodInSec * count) / (coldFactor - 1);
         // / maxPermits = thresholdPermits + 2 * warmupPeriod /
         // (stableInterval + coldInterval)
         // maxToken = 200
-        maxToken = warningToken + (int)(2 * warmUpPeriodInSec * count / (1.0 + coldFactor));
+        long max = warning + (long)(2 * warmUpPeriodInSec * count / (1.0 + coldFactor));
+        // The stored tokens are packed into the low 32 bits of the token state.
+        AssertUtil.isTrue(max >= 0 && max <= Integer.MAX_VALUE,
+            "count * warmUpPeriodInSec is too large for the warm-up token bucket");
+        warningToken = (int) warning;
+        maxToken = (int) max;
 
         // slope
         // slope = (coldIntervalMicros - stableIntervalMicros) / (maxPermits
@@ -114,12 +127,11 @@ public class WarmUpController implements TrafficShapingController {
     public boolean canPass(Node node, int acquireCount, boolean prioritized) {
         long passQps = (long) node.passQps();
 
-        long previousQps = (long) node.previousPassQps();
-        syncToken(previousQps);
+        syncToken(node);
 
         // 开始计算它的斜率
         // 如果进入了警戒线，开始调整他的qps
-        long restToken = storedTokens.get();
+        long restToken = getStoredTokens();
         if (restToken >= warningToken) {
             long aboveToken = restToken - warningToken;
             // 消耗的速度要比warning快，但是要比慢
@@ -137,41 +149,76 @@ public class WarmUpController implements TrafficShapingController {
         return false;
     }
 
-    protected void syncToken(long passQps) {
-        long currentTime = TimeUtil.currentTimeMillis();
-        currentTime = currentTime - currentTime % 1000;
-        long oldLastFillTime = lastFilledTime.get();
-        if (currentTime <= oldLastFillTime) {
+    /**
+     * Get the stored tokens of the last filling.
+     * <p>Note: the protected {@code storedTokens} and {@code lastFilledTime} fields are removed since 1.8.8,
+     * as the token state is packed into a single word. Subclasses should use this method and
+     * {@link #syncToken(Node)} instead.</p>
+     *
+     * @return the stored tokens
+     * @since 1.8.8
+     */
+    protected long getStoredTokens() {
+        return tokenState.get() & TOKEN_MASK;
+    }
+
+    /**
+     * Fill the tokens when a new second arrives. The pass QPS of previous second is only read
+     * when the filling is due.
+     *
+     * @param node the statistic node of the resource
+     * @since 1.8.8
+     */
+    protected void syncToken(Node node) {
+        long currentSecond = TimeUtil.currentTimeMillis() / 1000;
+        long state = tokenState.get();
+        if (currentSecond <= lastFilledSecondOf(state)) {
             return;
         }
+        fillToken(state, currentSecond, (long) node.previousPassQps());
+    }
 
-        long oldValue = storedTokens.get();
-        long newValue = coolDownTokens(currentTime, passQps);
-
-        if (storedTokens.compareAndSet(oldValue, newValue)) {
-            long currentValue = storedTokens.addAndGet(0 - passQps);
-            if (currentValue < 0) {
-                storedTokens.set(0L);
-            }
-            lastFilledTime.set(currentTime);
+    /**
+     * Fill the tokens when a new second arrives.
+     *
+     * @param passQps pass QPS of previous second
+     */
+    protected void syncToken(long passQps) {
+        long currentSecond = TimeUtil.currentTimeMillis() / 1000;
+        long state = tokenState.get();
+        if (currentSecond <= lastFilledSecondOf(state)) {
+            return;
         }
+        fillToken(state, currentSecond, passQps);
+    }
 
+    private void fillToken(long state, long currentSecond, long passQps) {
+        long newValue = coolDownTokens(state, currentSecond, passQps) - passQps;
+        if (newValue < 0) {
+            newValue = 0;
+        }
+        // Only one thread could fill the tokens of the second, others see the new state or just skip.
+        tokenState.compareAndSet(state, (currentSecond << 32) | newValue);
     }
 
-    private long coolDownTokens(long currentTime, long passQps) {
-        long oldValue = storedTokens.get();
+    private long coolDownTokens(long state, long currentSecond, long passQps) {
+        long oldValue = state & TOKEN_MASK;
         long newValue = oldValue;
+        long elapsedMs = (currentSecond - lastFilledSecondOf(state)) * 1000;
 
         // 添加令牌的判断前提条件:
         // 当令牌的消耗程度远远低于警戒线的时候
         if (oldValue < warningToken) {
-            newValue = (long)(oldValue + (currentTime - lastFilledTime.get()) * count / 1000);
+            newValue = (long)(oldValue + elapsedMs * count / 1000);
         } else if (oldValue > warningToken) {
             if (passQps < (int)count / coldFactor) {
-                newValue = (long)(oldValue + (currentTime - lastFilledTime.get()) * count / 1000);
+                newValue = (long)(oldValue + elapsedMs * count / 1000);
             }
         }
         return Math.min(newValue, maxToken);
     }
 
+    private static long lastFilledSecondOf(long state) {
+        return state >>> 32;
+    }
 }
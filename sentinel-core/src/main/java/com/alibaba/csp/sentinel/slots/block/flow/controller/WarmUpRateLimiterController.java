@@ -19,6 +19,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.WaitUtil;
 
 /**
  * @author jialiang.linjl
@@ -41,12 +42,11 @@ public class WarmUpRateLimiterController extends WarmUpController {
 
     @Override
     public boolean canPass(Node node, int acquireCount, boolean prioritized) {
-        long previousQps = (long) node.previousPassQps();
-        syncToken(previousQps);
+        syncToken(node);
 
         long currentTime = TimeUtil.currentTimeMillis();
 
-        long restToken = storedTokens.get();
+        long restToken = getStoredTokens();
         long costTime = 0;
         long expectedTime = 0;
         if (restToken >= warningToken) {
@@ -69,20 +69,14 @@ public class WarmUpRateLimiterController extends WarmUpController {
                 return false;
             } else {
                 long oldTime = latestPassedTime.addAndGet(costTime);
-                try {
-                    waitTime = oldTime - TimeUtil.currentTimeMillis();
-                    if (waitTime > timeoutInMs) {
-                        latestPassedTime.addAndGet(-costTime);
-                        return false;
-                    }
-                    if (waitTime > 0) {
-                        Thread.sleep(waitTime);
-                    }
-                    return true;
-                } catch (InterruptedException e) {
+                waitTime = oldTime - TimeUtil.currentTimeMillis();
+                if (waitTime > timeoutInMs) {
+                    latestPassedTime.addAndGet(-costTime);
+                    return false;
                 }
+                WaitUtil.waitMs(waitTime);
+                return true;
             }
         }
-        return false;
     }
 }
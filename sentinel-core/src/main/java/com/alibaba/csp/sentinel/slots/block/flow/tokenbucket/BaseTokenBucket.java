@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.tokenbucket;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * Base of token buckets which only holds the configuration of the bucket, so that
+ * implementations could decide how the tokens are stored.
+ *
+ * @since 1.8.8
+ */
+abstract class BaseTokenBucket implements TokenBucket {
+
+    protected static final long MAX_UNIT_PRODUCE_NUM = Long.MAX_VALUE;
+
+    /**
+     * Number of tokens produced per unit of time
+     */
+    protected final long unitProduceNum;
+
+    /**
+     * Maximum number of tokens stored in the bucket
+     */
+    protected final long maxTokenNum;
+
+    protected final long intervalInMs;
+    protected final long startTime;
+
+    BaseTokenBucket(long unitProduceNum, long maxTokenNum, long intervalInMs) {
+        AssertUtil.isTrue(unitProduceNum > 0 && intervalInMs > 0 && unitProduceNum < MAX_UNIT_PRODUCE_NUM,
+                "Illegal unitProduceNum or intervalInSeconds");
+        AssertUtil.isTrue(maxTokenNum > 0, "Illegal maxTokenNum");
+        this.unitProduceNum = unitProduceNum;
+        this.maxTokenNum = maxTokenNum;
+        this.intervalInMs = intervalInMs;
+        this.startTime = TimeUtil.currentTimeMillis();
+    }
+
+    public abstract long refreshTokenAndGetCurrentTokenNum();
+
+    public abstract long getCurrentTokenNum();
+}
@@ -15,55 +15,133 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.tokenbucket;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
+ * <p>A token bucket that never hands out more tokens than it has produced, even under contention.</p>
+ *
+ * <p>The number of tokens left and the number of produced units are packed into a single {@code long}
+ * (units in the high 32 bits, tokens in the low 32 bits), so that refreshing and consuming are done
+ * together by one CAS without any lock. The unit counter wraps around and is compared by difference,
+ * thus {@code maxTokenNum} must not exceed {@link #MAX_TOKEN_NUM}.</p>
+ *
  * @author LearningGp
  */
-public class StrictTokenBucket extends AbstractTokenBucket{
+public class StrictTokenBucket extends BaseTokenBucket {
+
+    /**
+     * Max number of tokens that could be stored in the packed state.
+     */
+    public static final long MAX_TOKEN_NUM = 0xFFFFFFFFL;
+
+    private static final int UNIT_SHIFT = 32;
+    private static final long LOW_MASK = 0xFFFFFFFFL;
+    /**
+     * Unit differences beyond this are regarded as the clock going backwards, then the produced units
+     * are re-based to the current unit.
+     */
+    private static final long MAX_UNIT_DIFF = Integer.MAX_VALUE;
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
 
-    final private Object refreshLock = new Object();
-    final private Object consumeLock = new Object();
+    private final long intervalInNanos;
+    private final AtomicLong state;
 
     public StrictTokenBucket(long unitProduceNum, long maxTokenNum, long intervalInMs) {
-        super(unitProduceNum, maxTokenNum, false, intervalInMs);
+        this(unitProduceNum, maxTokenNum, false, intervalInMs);
     }
 
     public StrictTokenBucket(long unitProduceNum, long maxTokenNum, boolean fullStart, long intervalInMs) {
-        super(unitProduceNum, maxTokenNum, fullStart, intervalInMs);
+        this(unitProduceNum, maxTokenNum, fullStart, intervalInMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create a token bucket whose interval is not a whole number of milliseconds, so that the produce rate
+     * of a fractional amount of tokens per millisecond does not drift.
+     *
+     * @param interval interval of producing {@code unitProduceNum} tokens, at least 1 ms
+     * @param unit     time unit of the interval
+     * @since 1.8.8
+     */
+    public StrictTokenBucket(long unitProduceNum, long maxTokenNum, boolean fullStart, long interval,
+                             TimeUnit unit) {
+        super(unitProduceNum, maxTokenNum, unit.toMillis(interval));
+        AssertUtil.isTrue(maxTokenNum <= MAX_TOKEN_NUM, "maxTokenNum should not exceed " + MAX_TOKEN_NUM);
+        this.intervalInNanos = unit.toNanos(interval);
+        // No unit has been produced yet, so the first refresh produces tokens of the current unit as well.
+        this.state = new AtomicLong(fullStart ? maxTokenNum : 0);
     }
 
     @Override
     public boolean tryConsume(long tokenNum) {
+        if (tokenNum <= 0) {
+            return true;
+        }
         if (tokenNum > maxTokenNum) {
             return false;
         }
         long currentTimestamp = TimeUtil.currentTimeMillis();
-        refreshCurrentTokenNum(currentTimestamp);
-        if (tokenNum <= currentTokenNum) {
-            synchronized (consumeLock) {
-                if (tokenNum <= currentTokenNum) {
-                    currentTokenNum -= tokenNum;
-                    return true;
-                }
+        while (true) {
+            long current = state.get();
+            long refreshed = refresh(current, currentTimestamp);
+            if ((refreshed & LOW_MASK) < tokenNum) {
+                return false;
+            }
+            // Tokens are in the low bits and no less than tokenNum, so the subtraction never borrows.
+            if (state.compareAndSet(current, refreshed - tokenNum)) {
+                return true;
             }
         }
-        return false;
     }
 
     @Override
     public void refreshCurrentTokenNum(long currentTimestamp) {
-        if (nextProduceTime > currentTimestamp) {
-            return;
-        }
-        long producedTokenNum = calProducedTokenNum(currentTimestamp);
-        synchronized (refreshLock) {
-            if (nextProduceTime > currentTimestamp) {
+        while (true) {
+            long current = state.get();
+            long refreshed = refresh(current, currentTimestamp);
+            if (refreshed == current || state.compareAndSet(current, refreshed)) {
                 return;
             }
-            currentTokenNum = Math.min(maxTokenNum, currentTokenNum + producedTokenNum);
-            updateNextProduceTime(currentTimestamp);
         }
     }
 
+    @Override
+    public long refreshTokenAndGetCurrentTokenNum() {
+        refreshCurrentTokenNum(TimeUtil.currentTimeMillis());
+        return getCurrentTokenNum();
+    }
+
+    @Override
+    public long getCurrentTokenNum() {
+        return state.get() & LOW_MASK;
+    }
+
+    private long refresh(long current, long currentTimestamp) {
+        long currentUnitCount = Math.max(0, (currentTimestamp - startTime) * NANOS_PER_MILLI / intervalInNanos);
+        long producedUnits = current >>> UNIT_SHIFT;
+        long targetUnits = (currentUnitCount + 1) & LOW_MASK;
+        long unitDiff = (targetUnits - producedUnits) & LOW_MASK;
+        if (unitDiff == 0) {
+            return current;
+        }
+        long tokens = current & LOW_MASK;
+        if (unitDiff > MAX_UNIT_DIFF) {
+            // Keep the tokens but follow the clock, or no token would be produced until it catches up.
+            return (targetUnits << UNIT_SHIFT) | tokens;
+        }
+        long lack = maxTokenNum - tokens;
+        if (lack <= 0) {
+            tokens = maxTokenNum;
+        } else if (unitDiff > (lack - 1) / unitProduceNum) {
+            // unitDiff * unitProduceNum >= lack, the bucket is filled up.
+            tokens = maxTokenNum;
+        } else {
+            tokens += unitDiff * unitProduceNum;
+        }
+        return (targetUnits << UNIT_SHIFT) | tokens;
+    }
 }
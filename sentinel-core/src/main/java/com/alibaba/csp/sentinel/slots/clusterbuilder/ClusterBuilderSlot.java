@@ -15,8 +15,8 @@
  */
 package com.alibaba.csp.sentinel.slots.clusterbuilder;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
@@ -29,8 +29,11 @@ import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.node.SampleCountProperty;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.ResourceRegistry;
+import com.alibaba.csp.sentinel.slotchain.ResourceTable;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.statistic.StatisticSampleRegistry;
 import com.alibaba.csp.sentinel.spi.Spi;
 
 /**
@@ -62,12 +65,12 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * in this map.
      * </p>
      * <p>
-     * The longer the application runs, the more stable this mapping will
-     * become. so we don't concurrent map but a lock. as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
+     * {@link ClusterNode}s are also indexed by the resource id (see {@link ResourceRegistry}),
+     * so that looking up by resource name doesn't need to create resource wrappers.
      * </p>
      */
-    private static volatile Map<ResourceWrapper, ClusterNode> clusterNodeMap = new HashMap<>();
+    private static final Map<ResourceWrapper, ClusterNode> clusterNodeMap = new ConcurrentHashMap<>();
+    private static final ResourceTable<ClusterNode> clusterNodeTable = new ResourceTable<>();
 
     private static final Object lock = new Object();
 
@@ -82,11 +85,13 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
                 if (clusterNode == null) {
                     // Create the cluster node.
                     clusterNode = new ClusterNode(resourceWrapper.getName(), resourceWrapper.getResourceType());
-                    HashMap<ResourceWrapper, ClusterNode> newMap = new HashMap<>(Math.max(clusterNodeMap.size(), 16));
-                    newMap.putAll(clusterNodeMap);
-                    newMap.put(node.getId(), clusterNode);
-
-                    clusterNodeMap = newMap;
+                    clusterNode.setSampleInterval(
+                        StatisticSampleRegistry.getSampleInterval(resourceWrapper.getName()));
+                    clusterNodeMap.put(node.getId(), clusterNode);
+                    int resourceId = resourceWrapper.getResourceId();
+                    if (resourceId != ResourceRegistry.UNREGISTERED) {
+                        clusterNodeTable.set(resourceId, clusterNode);
+                    }
                 }
             }
         }
@@ -117,7 +122,8 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * @return the {@link ClusterNode}
      */
     public static ClusterNode getClusterNode(String id, EntryType type) {
-        return clusterNodeMap.get(new StringResourceWrapper(id, type));
+        // Only the resource name is considered (see ResourceWrapper#equals).
+        return getClusterNode(id);
     }
 
     /**
@@ -130,15 +136,11 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
         if (id == null) {
             return null;
         }
-        ClusterNode clusterNode = null;
-
-        for (EntryType nodeType : EntryType.values()) {
-            clusterNode = clusterNodeMap.get(new StringResourceWrapper(id, nodeType));
-            if (clusterNode != null) {
-                break;
-            }
+        ClusterNode clusterNode = clusterNodeTable.get(ResourceRegistry.idOf(id));
+        if (clusterNode == null && !clusterNodeMap.isEmpty()) {
+            // Fall back to the map, as the resource may not have been assigned an id.
+            clusterNode = clusterNodeMap.get(new StringResourceWrapper(id, EntryType.IN));
         }
-
         return clusterNode;
     }
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>Registry of the resources whose completion statistics are sampled. For ultra-hot resources,
+ * {@link StatisticSlot} records the success count, total RT and RT histogram of only 1 in N exits (randomly),
+ * and the sampled values are scaled by N, so the overhead of recording the statistics is reduced.</p>
+ *
+ * <p>Pass, block, exception and thread statistics are always exact, so flow control based on QPS or
+ * concurrency is not affected. Success count, average RT and RT percentiles become estimations, which are
+ * accurate enough only when the traffic is heavy (e.g. far more than N requests per second). The min RT is
+ * only of the sampled exits, so it's approximate as well.</p>
+ *
+ * @since 1.8.8
+ */
+public final class StatisticSampleRegistry {
+
+    private static final Map<String, Integer> sampleIntervalMap = new ConcurrentHashMap<>();
+
+    /**
+     * Set the sample interval of completion statistics of the resource.
+     *
+     * @param resourceName   name of the resource
+     * @param sampleInterval 1 in {@code sampleInterval} exits will be recorded, values less than 2
+     *                       disable sampling of the resource
+     */
+    public static synchronized void setSampleInterval(String resourceName, int sampleInterval) {
+        AssertUtil.notEmpty(resourceName, "resourceName cannot be empty");
+        if (sampleInterval > 1) {
+            sampleIntervalMap.put(resourceName, sampleInterval);
+        } else {
+            sampleIntervalMap.remove(resourceName);
+        }
+        // Apply to the existing cluster nodes of the resource.
+        for (Map.Entry<ResourceWrapper, ClusterNode> e : ClusterBuilderSlot.getClusterNodeMap().entrySet()) {
+            if (resourceName.equals(e.getKey().getName())) {
+                e.getValue().setSampleInterval(sampleInterval);
+            }
+        }
+    }
+
+    /**
+     * Get the sample interval of completion statistics of the resource.
+     *
+     * @param resourceName name of the resource
+     * @return sample interval, 1 if the statistics are not sampled
+     */
+    public static int getSampleInterval(String resourceName) {
+        if (resourceName == null) {
+            return 1;
+        }
+        Integer sampleInterval = sampleIntervalMap.get(resourceName);
+        return sampleInterval == null ? 1 : sampleInterval;
+    }
+
+    public static synchronized void clear() {
+        for (String resourceName : sampleIntervalMap.keySet()) {
+            setSampleInterval(resourceName, 1);
+        }
+    }
+
+    private StatisticSampleRegistry() {}
+}
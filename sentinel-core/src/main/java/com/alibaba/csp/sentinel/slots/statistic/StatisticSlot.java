@@ -15,7 +15,8 @@
  */
 package com.alibaba.csp.sentinel.slots.statistic;
 
-import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotEntryCallback;
@@ -23,7 +24,9 @@ import com.alibaba.csp.sentinel.slotchain.ProcessorSlotExitCallback;
 import com.alibaba.csp.sentinel.slots.block.flow.PriorityWaitException;
 import com.alibaba.csp.sentinel.spi.Spi;
 import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.BatchEntry;
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.ClusterNode;
@@ -58,25 +61,44 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             // Do some checking.
             fireEntry(context, resourceWrapper, node, count, prioritized, args);
 
+            // A batch may be partially granted, and the rest of the batch is blocked.
+            int passCount = count;
+            Entry curEntry = context.getCurEntry();
+            if (curEntry instanceof BatchEntry) {
+                passCount = ((BatchEntry) curEntry).getGrantedCount();
+            }
+            int blockCount = count - passCount;
+
             // Request passed, add thread count and pass count.
             node.increaseThreadNum();
-            node.addPassRequest(count);
+            node.addPassRequest(passCount);
+            if (blockCount > 0) {
+                node.increaseBlockQps(blockCount);
+            }
 
-            if (context.getCurEntry().getOriginNode() != null) {
+            if (curEntry.getOriginNode() != null) {
                 // Add count for origin node.
-                context.getCurEntry().getOriginNode().increaseThreadNum();
-                context.getCurEntry().getOriginNode().addPassRequest(count);
+                curEntry.getOriginNode().increaseThreadNum();
+                curEntry.getOriginNode().addPassRequest(passCount);
+                if (blockCount > 0) {
+                    curEntry.getOriginNode().increaseBlockQps(blockCount);
+                }
             }
 
             if (resourceWrapper.getEntryType() == EntryType.IN) {
                 // Add count for global inbound entry node for global statistics.
                 Constants.ENTRY_NODE.increaseThreadNum();
-                Constants.ENTRY_NODE.addPassRequest(count);
+                Constants.ENTRY_NODE.addPassRequest(passCount);
+                if (blockCount > 0) {
+                    Constants.ENTRY_NODE.increaseBlockQps(blockCount);
+                }
             }
 
             // Handle pass event with registered entry callback handlers.
-            for (ProcessorSlotEntryCallback<DefaultNode> handler : StatisticSlotCallbackRegistry.getEntryCallbacks()) {
-                handler.onPass(context, resourceWrapper, node, count, args);
+            List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbacks
+                = StatisticSlotCallbackRegistry.entryCallbackList();
+            for (int i = 0; i < entryCallbacks.size(); i++) {
+                entryCallbacks.get(i).onPass(context, resourceWrapper, node, passCount, args);
             }
         } catch (PriorityWaitException ex) {
             node.increaseThreadNum();
@@ -90,8 +112,10 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
                 Constants.ENTRY_NODE.increaseThreadNum();
             }
             // Handle pass event with registered entry callback handlers.
-            for (ProcessorSlotEntryCallback<DefaultNode> handler : StatisticSlotCallbackRegistry.getEntryCallbacks()) {
-                handler.onPass(context, resourceWrapper, node, count, args);
+            List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbacks
+                = StatisticSlotCallbackRegistry.entryCallbackList();
+            for (int i = 0; i < entryCallbacks.size(); i++) {
+                entryCallbacks.get(i).onPass(context, resourceWrapper, node, count, args);
             }
         } catch (BlockException e) {
             // Blocked, set block exception to current entry.
@@ -109,8 +133,10 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             }
 
             // Handle block event with registered entry callback handlers.
-            for (ProcessorSlotEntryCallback<DefaultNode> handler : StatisticSlotCallbackRegistry.getEntryCallbacks()) {
-                handler.onBlocked(e, context, resourceWrapper, node, count, args);
+            List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbacks
+                = StatisticSlotCallbackRegistry.entryCallbackList();
+            for (int i = 0; i < entryCallbacks.size(); i++) {
+                entryCallbacks.get(i).onBlocked(e, context, resourceWrapper, node, count, args);
             }
 
             throw e;
@@ -119,6 +145,8 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             context.getCurEntry().setError(e);
 
             throw e;
+        } finally {
+            markDirty(resourceWrapper, node);
         }
     }
 
@@ -126,41 +154,99 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
     public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
         Node node = context.getCurNode();
 
-        if (context.getCurEntry().getBlockError() == null) {
+        Entry curEntry = context.getCurEntry();
+        if (curEntry.getBlockError() == null) {
             // Calculate response time (use completeStatTime as the time of completion).
             long completeStatTime = TimeUtil.currentTimeMillis();
-            context.getCurEntry().setCompleteTimestamp(completeStatTime);
-            long rt = completeStatTime - context.getCurEntry().getCreateTimestamp();
-
-            Throwable error = context.getCurEntry().getError();
+            curEntry.setCompleteTimestamp(completeStatTime);
+            long rt = completeStatTime - curEntry.getCreateTimestamp();
+
+            Throwable error = curEntry.getError();
+            int errorCount = error != null && !(error instanceof BlockException) ? count : 0;
+            int successCount = count;
+            int weight = sampleWeightOf(node);
+            if (curEntry instanceof BatchEntry) {
+                // Use the outcome recorded for the items of the batch.
+                BatchEntry batchEntry = (BatchEntry) curEntry;
+                if (count > 0) {
+                    // Record the average RT of the items once for each granted item,
+                    // so that min RT and percentiles are of items rather than the sum.
+                    // If the RT of items is not recorded, the elapsed time of the batch is shared by the items.
+                    long totalRt = batchEntry.getTotalRt() >= 0 ? batchEntry.getTotalRt() : rt;
+                    rt = totalRt / count;
+                    successCount = 1;
+                    weight *= count;
+                }
+                if (batchEntry.getErrorCount() > 0) {
+                    errorCount = batchEntry.getErrorCount();
+                }
+            }
 
             // Record response time and success count.
-            recordCompleteFor(node, count, rt, error);
-            recordCompleteFor(context.getCurEntry().getOriginNode(), count, rt, error);
+            recordCompleteFor(node, successCount, rt, errorCount, weight);
+            recordCompleteFor(curEntry.getOriginNode(), successCount, rt, errorCount, weight);
             if (resourceWrapper.getEntryType() == EntryType.IN) {
-                recordCompleteFor(Constants.ENTRY_NODE, count, rt, error);
+                recordCompleteFor(Constants.ENTRY_NODE, successCount, rt, errorCount, weight);
             }
+            markDirty(resourceWrapper, node);
         }
 
         // Handle exit event with registered exit callback handlers.
-        Collection<ProcessorSlotExitCallback> exitCallbacks = StatisticSlotCallbackRegistry.getExitCallbacks();
-        for (ProcessorSlotExitCallback handler : exitCallbacks) {
-            handler.onExit(context, resourceWrapper, count, args);
+        List<ProcessorSlotExitCallback> exitCallbacks = StatisticSlotCallbackRegistry.exitCallbackList();
+        for (int i = 0; i < exitCallbacks.size(); i++) {
+            exitCallbacks.get(i).onExit(context, resourceWrapper, count, args);
         }
 
         // fix bug https://github.com/alibaba/Sentinel/issues/2374
         fireExit(context, resourceWrapper, count, args);
     }
 
-    private void recordCompleteFor(Node node, int batchCount, long rt, Throwable error) {
+    /**
+     * Mark the cluster node (and the global inbound node) dirty after statistics are recorded,
+     * so that the metric timer could skip idle resources.
+     */
+    private static void markDirty(ResourceWrapper resourceWrapper, Node node) {
+        if (node instanceof DefaultNode) {
+            ClusterNode clusterNode = ((DefaultNode) node).getClusterNode();
+            if (clusterNode != null) {
+                clusterNode.markDirty();
+            }
+        }
+        if (resourceWrapper.getEntryType() == EntryType.IN) {
+            Constants.ENTRY_NODE.markDirty();
+        }
+    }
+
+    /**
+     * Get the weight of completion statistics (success and RT) of current exit. For the resource with sampled
+     * statistics (see {@link StatisticSampleRegistry}), the weight of a sampled exit is the sample interval,
+     * and the weight of other exits is 0 (nothing but the thread and exception statistics is recorded).
+     */
+    private static int sampleWeightOf(Node node) {
+        if (!(node instanceof DefaultNode)) {
+            return 1;
+        }
+        ClusterNode clusterNode = ((DefaultNode) node).getClusterNode();
+        int sampleInterval = clusterNode == null ? 1 : clusterNode.getSampleInterval();
+        if (sampleInterval <= 1) {
+            return 1;
+        }
+        return ThreadLocalRandom.current().nextInt(sampleInterval) == 0 ? sampleInterval : 0;
+    }
+
+    private void recordCompleteFor(Node node, int successCount, long rt, int errorCount, int weight) {
         if (node == null) {
             return;
         }
-        node.addRtAndSuccess(rt, batchCount);
+        if (weight == 1) {
+            node.addRtAndSuccess(rt, successCount);
+        } else if (weight > 0) {
+            node.addRtAndSuccess(rt, successCount, weight);
+        }
         node.decreaseThreadNum();
 
-        if (error != null && !(error instanceof BlockException)) {
-            node.increaseExceptionQps(batchCount);
+        if (errorCount > 0) {
+            node.increaseExceptionQps(errorCount);
         }
     }
 }
@@ -15,7 +15,10 @@
  */
 package com.alibaba.csp.sentinel.slots.statistic;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -43,34 +46,49 @@ public final class StatisticSlotCallbackRegistry {
     private static final Map<String, ProcessorSlotExitCallback> exitCallbackMap
         = new ConcurrentHashMap<String, ProcessorSlotExitCallback>();
 
-    public static void clearEntryCallback() {
+    /**
+     * Snapshots of the callbacks, which could be iterated by index without allocating iterators in the hot path.
+     */
+    private static volatile List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbackList
+        = Collections.emptyList();
+    private static volatile List<ProcessorSlotExitCallback> exitCallbackList = Collections.emptyList();
+
+    public static synchronized void clearEntryCallback() {
         entryCallbackMap.clear();
+        entryCallbackList = Collections.emptyList();
     }
 
-    public static void clearExitCallback() {
+    public static synchronized void clearExitCallback() {
         exitCallbackMap.clear();
+        exitCallbackList = Collections.emptyList();
     }
 
-    public static void addEntryCallback(String key, ProcessorSlotEntryCallback<DefaultNode> callback) {
+    public static synchronized void addEntryCallback(String key, ProcessorSlotEntryCallback<DefaultNode> callback) {
         entryCallbackMap.put(key, callback);
+        entryCallbackList = new ArrayList<ProcessorSlotEntryCallback<DefaultNode>>(entryCallbackMap.values());
     }
 
-    public static void addExitCallback(String key, ProcessorSlotExitCallback callback) {
+    public static synchronized void addExitCallback(String key, ProcessorSlotExitCallback callback) {
         exitCallbackMap.put(key, callback);
+        exitCallbackList = new ArrayList<ProcessorSlotExitCallback>(exitCallbackMap.values());
     }
 
-    public static ProcessorSlotEntryCallback<DefaultNode> removeEntryCallback(String key) {
+    public static synchronized ProcessorSlotEntryCallback<DefaultNode> removeEntryCallback(String key) {
         if (key == null) {
             return null;
         }
-        return entryCallbackMap.remove(key);
+        ProcessorSlotEntryCallback<DefaultNode> callback = entryCallbackMap.remove(key);
+        entryCallbackList = new ArrayList<ProcessorSlotEntryCallback<DefaultNode>>(entryCallbackMap.values());
+        return callback;
     }
 
-    public static ProcessorSlotExitCallback removeExitCallback(String key) {
+    public static synchronized ProcessorSlotExitCallback removeExitCallback(String key) {
         if (key == null) {
             return null;
         }
-        return exitCallbackMap.remove(key);
+        ProcessorSlotExitCallback callback = exitCallbackMap.remove(key);
+        exitCallbackList = new ArrayList<ProcessorSlotExitCallback>(exitCallbackMap.values());
+        return callback;
     }
 
     public static Collection<ProcessorSlotEntryCallback<DefaultNode>> getEntryCallbacks() {
@@ -81,5 +99,23 @@ public final class StatisticSlotCallbackRegistry {
         return exitCallbackMap.values();
     }
 
+    /**
+     * Get the snapshot of entry callbacks, which is a random access list and should not be modified.
+     *
+     * @since 1.8.8
+     */
+    static List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbackList() {
+        return entryCallbackList;
+    }
+
+    /**
+     * Get the snapshot of exit callbacks, which is a random access list and should not be modified.
+     *
+     * @since 1.8.8
+     */
+    static List<ProcessorSlotExitCallback> exitCallbackList() {
+        return exitCallbackList;
+    }
+
     private StatisticSlotCallbackRegistry() {}
 }
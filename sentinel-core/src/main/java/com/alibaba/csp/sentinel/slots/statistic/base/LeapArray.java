@@ -32,6 +32,12 @@ import com.alibaba.csp.sentinel.util.TimeUtil;
  * and the total time span is {@link #intervalInMs}, so the total bucket amount is:
  * {@code sampleCount = intervalInMs / windowLengthInMs}.
  * </p>
+ * <p>
+ * In the pre-allocated mode, each slot has a pre-zeroed spare bucket besides the live one, both created by
+ * {@link #fillBuckets()}. A deprecated bucket is rotated by moving the spare to the new window and publishing it
+ * with a single CAS on the slot, so the bucket is never visible while it's being reset, and threads that lose
+ * the CAS just re-read the slot. The retired bucket is zeroed after it's unlinked and kept as the next spare.
+ * </p>
  *
  * @param <T> type of statistic data
  * @author jialiang.linjl
@@ -52,6 +58,17 @@ public abstract class LeapArray<T> {
      */
     private final ReentrantLock updateLock = new ReentrantLock();
 
+    /**
+     * Whether the buckets are pre-allocated and rotated via CAS on the bucket start timestamp.
+     */
+    private final boolean preallocated;
+
+    /**
+     * Zeroed buckets that are not visible to readers, one for each slot in the pre-allocated mode.
+     * A slot of spare is empty while its spare is taken by a thread rotating the bucket.
+     */
+    private final AtomicReferenceArray<WindowWrap<T>> spares;
+
     /**
      * The total bucket count is: {@code sampleCount = intervalInMs / windowLengthInMs}.
      *
@@ -59,6 +76,19 @@ public abstract class LeapArray<T> {
      * @param intervalInMs the total time interval of this {@link LeapArray} in milliseconds
      */
     public LeapArray(int sampleCount, int intervalInMs) {
+        this(sampleCount, intervalInMs, false);
+    }
+
+    /**
+     * The total bucket count is: {@code sampleCount = intervalInMs / windowLengthInMs}.
+     *
+     * @param sampleCount  bucket count of the sliding window
+     * @param intervalInMs the total time interval of this {@link LeapArray} in milliseconds
+     * @param preallocated whether to use the pre-allocated (lock-free rotation) mode; sub-classes
+     *                     should call {@link #fillBuckets()} once they are fully constructed
+     * @since 1.8.8
+     */
+    public LeapArray(int sampleCount, int intervalInMs, boolean preallocated) {
         AssertUtil.isTrue(sampleCount > 0, "bucket count is invalid: " + sampleCount);
         AssertUtil.isTrue(intervalInMs > 0, "total time interval of the sliding window should be positive");
         AssertUtil.isTrue(intervalInMs % sampleCount == 0, "time span needs to be evenly divided");
@@ -69,6 +99,41 @@ public abstract class LeapArray<T> {
         this.sampleCount = sampleCount;
 
         this.array = new AtomicReferenceArray<>(sampleCount);
+        this.preallocated = preallocated;
+        this.spares = preallocated ? new AtomicReferenceArray<WindowWrap<T>>(sampleCount) : null;
+    }
+
+    /**
+     * Allocate all buckets of the pre-allocated mode. The buckets are initialized as deprecated,
+     * so they won't be visible until they are rotated to a valid time.
+     * This should be invoked once at the end of the constructor of sub-classes,
+     * as {@link #newEmptyBucket(long)} may depend on the state of sub-classes.
+     *
+     * @since 1.8.8
+     */
+    protected void fillBuckets() {
+        if (!preallocated) {
+            return;
+        }
+        for (int i = 0; i < array.length(); i++) {
+            array.compareAndSet(i, null, new WindowWrap<T>(windowLengthInMs, deprecatedStart(), newEmptyBucket(0)));
+            spares.compareAndSet(i, null, new WindowWrap<T>(windowLengthInMs, deprecatedStart(), newEmptyBucket(0)));
+        }
+    }
+
+    /**
+     * @return a start timestamp that is deprecated for any valid timestamp
+     */
+    private long deprecatedStart() {
+        return -2L * intervalInMs;
+    }
+
+    /**
+     * @return whether the buckets are pre-allocated and rotated without lock
+     * @since 1.8.8
+     */
+    public boolean isPreallocated() {
+        return preallocated;
     }
 
     /**
@@ -122,6 +187,10 @@ public abstract class LeapArray<T> {
         // Calculate current bucket start time.
         long windowStart = calculateWindowStart(timeMillis);
 
+        if (preallocated) {
+            return rotateWindow(idx, windowStart, timeMillis);
+        }
+
         /*
          * Get bucket item at given time from the array.
          *
@@ -201,6 +270,58 @@ public abstract class LeapArray<T> {
         }
     }
 
+    private WindowWrap<T> rotateWindow(int idx, long windowStart, long timeMillis) {
+        /*
+         * Each iteration either returns, or observes a bucket that has been published by another thread
+         * and re-reads the slot. No thread waits for another one in this mode.
+         */
+        while (true) {
+            WindowWrap<T> old = array.get(idx);
+            if (old == null) {
+                // Only happens when sub-classes didn't fill the buckets. Another thread may win, then just re-read.
+                WindowWrap<T> window = new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
+                if (array.compareAndSet(idx, null, window)) {
+                    return window;
+                }
+                continue;
+            }
+            long oldStart = old.windowStart();
+            if (windowStart == oldStart) {
+                return old;
+            } else if (windowStart > oldStart) {
+                // The spare is owned by current thread until it's published, so it's safe to move it
+                // to the new window (sub-classes may also carry state into it, e.g. borrowed tokens).
+                WindowWrap<T> spare = spares.getAndSet(idx, null);
+                if (spare == null) {
+                    // Another thread is rotating the same slot with the spare.
+                    spare = new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
+                }
+                resetWindowTo(spare, windowStart);
+                // Check the start again, in case the old bucket has been retired and published again
+                // as a spare since it was read.
+                if (old.windowStart() == oldStart && array.compareAndSet(idx, old, spare)) {
+                    retire(idx, old);
+                    return spare;
+                }
+                // Another thread has published the bucket, then give back the spare and re-read the slot.
+                spares.compareAndSet(idx, null, spare);
+            } else {
+                // Should not go through here, as the provided time is already behind.
+                return new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
+            }
+        }
+    }
+
+    /**
+     * Zero the bucket that has just been unlinked from the slot, and keep it as the spare of the slot.
+     * Threads that read the bucket before it's unlinked may still add to it, just like adding to the
+     * bucket right before it's deprecated.
+     */
+    private void retire(int idx, WindowWrap<T> old) {
+        resetWindowTo(old, deprecatedStart());
+        spares.set(idx, old);
+    }
+
     /**
      * Get the previous bucket item before provided timestamp.
      *
@@ -26,6 +26,17 @@ public class UnaryLeapArray extends LeapArray<LongAdder> {
         super(sampleCount, intervalInMs);
     }
 
+    /**
+     * @param sampleCount  bucket count of the sliding window
+     * @param intervalInMs the total time interval in milliseconds
+     * @param preallocated whether to pre-allocate all buckets and rotate them without lock
+     * @since 1.8.8
+     */
+    public UnaryLeapArray(int sampleCount, int intervalInMs, boolean preallocated) {
+        super(sampleCount, intervalInMs, preallocated);
+        fillBuckets();
+    }
+
     @Override
     public LongAdder newEmptyBucket(long time) {
         return new LongAdder();
@@ -31,6 +31,11 @@ public class MetricBucket {
 
     private volatile long minRt;
 
+    /**
+     * Histogram of response time, which is allocated on the first {@link #addRtSample(long)}.
+     */
+    private volatile RtHistogram rtHistogram;
+
     public MetricBucket() {
         MetricEvent[] events = MetricEvent.values();
         this.counters = new LongAdder[events.length];
@@ -46,6 +51,7 @@ public class MetricBucket {
             counters[event.ordinal()].add(bucket.get(event));
         }
         initMinRt();
+        resetRtHistogram();
         return this;
     }
 
@@ -63,9 +69,17 @@ public class MetricBucket {
             counters[event.ordinal()].reset();
         }
         initMinRt();
+        resetRtHistogram();
         return this;
     }
 
+    private void resetRtHistogram() {
+        RtHistogram histogram = this.rtHistogram;
+        if (histogram != null) {
+            histogram.reset();
+        }
+    }
+
     public long get(MetricEvent event) {
         return counters[event.ordinal()].sum();
     }
@@ -124,7 +138,18 @@ public class MetricBucket {
     }
 
     public void addRT(long rt) {
-        add(MetricEvent.RT, rt);
+        addRT(rt, 1);
+    }
+
+    /**
+     * Add the RT which stands for {@code weight} requests.
+     *
+     * @param rt     response time in milliseconds
+     * @param weight amount of requests that the RT stands for
+     * @since 1.8.8
+     */
+    public void addRT(long rt, int weight) {
+        add(MetricEvent.RT, rt * weight);
 
         // Not thread-safe, but it's okay.
         if (rt < minRt) {
@@ -132,6 +157,47 @@ public class MetricBucket {
         }
     }
 
+    /**
+     * Record the response time into the RT histogram of this bucket.
+     *
+     * @param rt response time in milliseconds
+     * @since 1.8.8
+     */
+    public void addRtSample(long rt) {
+        addRtSample(rt, 1);
+    }
+
+    /**
+     * Record the response time into the RT histogram of this bucket for several times.
+     *
+     * @param rt     response time in milliseconds
+     * @param weight amount of requests that the RT stands for
+     * @since 1.8.8
+     */
+    public void addRtSample(long rt, int weight) {
+        RtHistogram histogram = this.rtHistogram;
+        if (histogram == null) {
+            synchronized (this) {
+                histogram = this.rtHistogram;
+                if (histogram == null) {
+                    histogram = new RtHistogram();
+                    this.rtHistogram = histogram;
+                }
+            }
+        }
+        histogram.record(rt, weight);
+    }
+
+    /**
+     * Get the RT histogram of this bucket.
+     *
+     * @return the RT histogram, or null if no RT samples have been recorded
+     * @since 1.8.8
+     */
+    public RtHistogram rtHistogram() {
+        return rtHistogram;
+    }
+
     @Override
     public String toString() {
         return "p: " + pass() + ", b: " + block() + ", w: " + occupiedPass();
@@ -0,0 +1,190 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A fixed-memory, log-bucketed histogram of response time (in milliseconds).</p>
+ *
+ * <p>Values below 16 are recorded exactly, and each power-of-two range above is divided into 8 sub-buckets,
+ * so the relative error of a percentile is at most 12.5%. Values beyond 65535 ms are recorded into the last
+ * bucket. The histogram holds {@link #BUCKET_COUNT} counters and can be merged with others
+ * via {@link #addTo(long[])}, so percentiles of a sliding window can be calculated from the buckets.</p>
+ *
+ * @since 1.8.8
+ */
+public class RtHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * Values below this limit are recorded exactly.
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final int LINEAR_EXPONENT = SUB_BUCKET_BITS + 1;
+    private static final int MAX_EXPONENT = 16;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    public static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - LINEAR_EXPONENT) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    /**
+     * Running total of the records, so that the count could be read without merging the buckets.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Record a response time.
+     *
+     * @param rt response time in milliseconds
+     */
+    public void record(long rt) {
+        counts.incrementAndGet(indexOf(rt));
+        total.increment();
+    }
+
+    /**
+     * Record a response time for several times.
+     *
+     * @param rt    response time in milliseconds
+     * @param count count of the records
+     */
+    public void record(long rt, long count) {
+        counts.addAndGet(indexOf(rt), count);
+        total.add(count);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+    }
+
+    /**
+     * Add counts of this histogram to the given array.
+     *
+     * @param target array with length of {@link #BUCKET_COUNT}
+     */
+    public void addTo(long[] target) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            target[i] += counts.get(i);
+        }
+    }
+
+    /**
+     * Get the total count of the records.
+     *
+     * @return total count
+     */
+    public long count() {
+        return total.sum();
+    }
+
+    /**
+     * Get the response time at given percentile of this histogram.
+     *
+     * @param percentile percentile in (0, 100], e.g. 99.9
+     * @return the response time at given percentile, or 0 if there are no records
+     */
+    public long percentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        addTo(snapshot);
+        return percentile(snapshot, percentile);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subIndex = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_EXPONENT) * SUB_BUCKET_COUNT + subIndex;
+    }
+
+    /**
+     * Get the lowest value that is recorded into the bucket of given index.
+     *
+     * @param index valid bucket index
+     * @return the lowest value of the bucket
+     */
+    public static long lowestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_EXPONENT;
+        int subIndex = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subIndex) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Get the highest value that is recorded into the bucket of given index.
+     *
+     * @param index valid bucket index
+     * @return the highest value of the bucket
+     */
+    public static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_EXPONENT;
+        int subIndex = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKET_COUNT + subIndex + 1) << shift) - 1;
+    }
+
+    /**
+     * Get the response time at given percentile of the merged counts. Records are assumed to be evenly
+     * distributed within a bucket, so the value is interpolated between the bounds of the bucket rather than
+     * taking its highest value, which would overstate the percentile by up to 12.5%.
+     *
+     * @param counts     merged counts with length of {@link #BUCKET_COUNT}
+     * @param percentile percentile in (0, 100], e.g. 99.9
+     * @return the response time at given percentile, or 0 if there are no records
+     */
+    public static long percentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total <= 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100) / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (seen + counts[i] >= rank) {
+                return interpolate(i, rank - seen, counts[i]);
+            }
+            seen += counts[i];
+        }
+        return highestValueOf(counts.length - 1);
+    }
+
+    /**
+     * Get the value of the record with given rank in the bucket, taking the middle of its even share.
+     */
+    private static long interpolate(int index, long rankInBucket, long count) {
+        long lowest = lowestValueOf(index);
+        long width = highestValueOf(index) - lowest + 1;
+        return lowest + width * (2 * rankInBucket - 1) / (2 * count);
+    }
+}
@@ -23,6 +23,7 @@ import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.data.RtHistogram;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.metric.occupy.OccupiableBucketLeapArray;
 import com.alibaba.csp.sentinel.util.function.Predicate;
@@ -37,15 +38,33 @@ public class ArrayMetric implements Metric {
 
     private final LeapArray<MetricBucket> data;
 
+    /**
+     * Whether to record RT samples into the histogram of each bucket.
+     */
+    private final boolean enableRtHistogram;
+
     public ArrayMetric(int sampleCount, int intervalInMs) {
-        this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
+        this(sampleCount, intervalInMs, true);
     }
 
     public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy) {
+        this(sampleCount, intervalInMs, enableOccupy, false);
+    }
+
+    /**
+     * @param sampleCount       bucket count of the sliding window
+     * @param intervalInMs      the total time interval in milliseconds
+     * @param enableOccupy      whether to support occupying tokens of future buckets
+     * @param enableRtHistogram whether to record RT samples into histograms for percentiles
+     * @since 1.8.8
+     */
+    public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy, boolean enableRtHistogram) {
+        this.enableRtHistogram = enableRtHistogram;
+        boolean preallocated = SentinelConfig.statisticBucketPreallocated();
         if (enableOccupy) {
-            this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
+            this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs, preallocated);
         } else {
-            this.data = new BucketLeapArray(sampleCount, intervalInMs);
+            this.data = new BucketLeapArray(sampleCount, intervalInMs, preallocated);
         }
     }
 
@@ -54,6 +73,7 @@ public class ArrayMetric implements Metric {
      */
     public ArrayMetric(LeapArray<MetricBucket> array) {
         this.data = array;
+        this.enableRtHistogram = false;
     }
 
     @Override
@@ -152,6 +172,27 @@ public class ArrayMetric implements Metric {
         return Math.max(1, rt);
     }
 
+    @Override
+    public long rtPercentile(double percentile) {
+        if (!enableRtHistogram) {
+            return -1;
+        }
+        data.currentWindow();
+        long[] counts = null;
+        List<MetricBucket> list = data.values();
+        for (MetricBucket window : list) {
+            RtHistogram histogram = window.rtHistogram();
+            if (histogram == null) {
+                continue;
+            }
+            if (counts == null) {
+                counts = new long[RtHistogram.BUCKET_COUNT];
+            }
+            histogram.addTo(counts);
+        }
+        return counts == null ? 0 : RtHistogram.percentile(counts, percentile);
+    }
+
     @Override
     public List<MetricNode> details() {
         List<MetricNode> details = new ArrayList<>();
@@ -194,13 +235,23 @@ public class ArrayMetric implements Metric {
         node.setPassQps(wrap.value().pass());
         long successQps = wrap.value().success();
         node.setSuccessQps(successQps);
+        long rtSum = wrap.value().rt();
         if (successQps != 0) {
-            node.setRt(wrap.value().rt() / successQps);
+            node.setRt(rtSum / successQps);
         } else {
-            node.setRt(wrap.value().rt());
+            node.setRt(rtSum);
         }
+        node.setRtSum(rtSum);
         node.setTimestamp(wrap.windowStart());
         node.setOccupiedPassQps(wrap.value().occupiedPass());
+        RtHistogram histogram = wrap.value().rtHistogram();
+        if (histogram != null) {
+            long[] counts = new long[RtHistogram.BUCKET_COUNT];
+            histogram.addTo(counts);
+            node.setRtPercentiles(RtHistogram.percentile(counts, 50), RtHistogram.percentile(counts, 90),
+                RtHistogram.percentile(counts, 99), RtHistogram.percentile(counts, 99.9));
+            node.setRtHistogramCounts(counts);
+        }
         return node;
     }
 
@@ -249,6 +300,18 @@ public class ArrayMetric implements Metric {
     public void addRT(long rt) {
         WindowWrap<MetricBucket> wrap = data.currentWindow();
         wrap.value().addRT(rt);
+        if (enableRtHistogram) {
+            wrap.value().addRtSample(rt);
+        }
+    }
+
+    @Override
+    public void addRT(long rt, int weight) {
+        WindowWrap<MetricBucket> wrap = data.currentWindow();
+        wrap.value().addRT(rt, weight);
+        if (enableRtHistogram) {
+            wrap.value().addRtSample(rt, weight);
+        }
     }
 
     @Override
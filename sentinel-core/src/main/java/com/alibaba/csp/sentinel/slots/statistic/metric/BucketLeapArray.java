@@ -32,6 +32,17 @@ public class BucketLeapArray extends LeapArray<MetricBucket> {
         super(sampleCount, intervalInMs);
     }
 
+    /**
+     * @param sampleCount  bucket count of the sliding window
+     * @param intervalInMs the total time interval in milliseconds
+     * @param preallocated whether to pre-allocate all buckets and rotate them without lock
+     * @since 1.8.8
+     */
+    public BucketLeapArray(int sampleCount, int intervalInMs, boolean preallocated) {
+        super(sampleCount, intervalInMs, preallocated);
+        fillBuckets();
+    }
+
     @Override
     public MetricBucket newEmptyBucket(long time) {
         return new MetricBucket();
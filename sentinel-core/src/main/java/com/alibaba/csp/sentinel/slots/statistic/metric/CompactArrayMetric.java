@@ -0,0 +1,555 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.metric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+/**
+ * <p>A compact {@link Metric} implementation which keeps all buckets and events of a sliding window
+ * in one flat {@link AtomicLongArray}, instead of {@code WindowWrap} and {@link MetricBucket} objects
+ * holding arrays of {@code LongAdder}.</p>
+ *
+ * <p>Each bucket has two regions of counters, and each region occupies a cache line (8 longs): the counters
+ * of all {@link MetricEvent}s and the minimal RT. The counters could be striped to reduce write contention,
+ * and the stripes of the same region are adjacent, so that aggregation reads are sequential.
+ * The start timestamp and the live region of each bucket are packed in a single head word. A deprecated
+ * bucket is rotated by publishing the other (zeroed) region with a single CAS on the head, and the retired
+ * region is zeroed after that as the next spare, just like the pre-allocated mode of
+ * {@link com.alibaba.csp.sentinel.slots.statistic.base.LeapArray}. No thread waits for another one.</p>
+ *
+ * @since 1.8.8
+ */
+public class CompactArrayMetric implements Metric {
+
+    private static final int EVENT_OFFSET = 0;
+    private static final int MIN_RT_OFFSET = EVENT_OFFSET + MetricEvent.values().length;
+    /**
+     * Longs of a single region stripe, padded to 64 bytes (a common cache line).
+     */
+    private static final int SLOT_SIZE = 8;
+    /**
+     * Longs of a single future bucket for occupied pass: the head and the pass of both regions.
+     */
+    private static final int BORROW_SLOT_SIZE = 3;
+
+    private static final int PASS_IDX = EVENT_OFFSET + MetricEvent.PASS.ordinal();
+    private static final int BLOCK_IDX = EVENT_OFFSET + MetricEvent.BLOCK.ordinal();
+    private static final int EXCEPTION_IDX = EVENT_OFFSET + MetricEvent.EXCEPTION.ordinal();
+    private static final int SUCCESS_IDX = EVENT_OFFSET + MetricEvent.SUCCESS.ordinal();
+    private static final int RT_IDX = EVENT_OFFSET + MetricEvent.RT.ordinal();
+    private static final int OCCUPIED_PASS_IDX = EVENT_OFFSET + MetricEvent.OCCUPIED_PASS.ordinal();
+
+    private final int windowLengthInMs;
+    private final int sampleCount;
+    private final int intervalInMs;
+    private final double intervalInSecond;
+    private final int stripeMask;
+
+    /**
+     * Head of each bucket, see {@link #headOf(long, int)}.
+     */
+    private final AtomicLongArray heads;
+
+    /**
+     * Layout: {@code [bucket][region][stripe][slot]}. Only the first stripe of each region holds
+     * the minimal RT.
+     */
+    private final AtomicLongArray data;
+
+    /**
+     * Future buckets for occupied (borrowed) pass, layout: {@code [bucket][head, pass0, pass1]}.
+     * Null if occupy is disabled.
+     */
+    private final AtomicLongArray borrowData;
+
+    public CompactArrayMetric(int sampleCount, int intervalInMs) {
+        this(sampleCount, intervalInMs, true, 1);
+    }
+
+    /**
+     * @param sampleCount  bucket count of the sliding window
+     * @param intervalInMs the total time interval in milliseconds
+     * @param enableOccupy whether to support occupying tokens of future buckets
+     * @param stripes      counter stripes of each bucket, should be a power of two
+     */
+    public CompactArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy, int stripes) {
+        AssertUtil.isTrue(sampleCount > 0, "bucket count is invalid: " + sampleCount);
+        AssertUtil.isTrue(intervalInMs > 0, "total time interval of the sliding window should be positive");
+        AssertUtil.isTrue(intervalInMs % sampleCount == 0, "time span needs to be evenly divided");
+        AssertUtil.isTrue(stripes > 0 && (stripes & (stripes - 1)) == 0, "stripes should be a power of two");
+
+        this.windowLengthInMs = intervalInMs / sampleCount;
+        this.sampleCount = sampleCount;
+        this.intervalInMs = intervalInMs;
+        this.intervalInSecond = intervalInMs / 1000.0;
+        this.stripeMask = stripes - 1;
+
+        // Make sure the initial buckets are deprecated for any valid timestamp.
+        long initialHead = headOf(-2L * intervalInMs, 0);
+        this.heads = new AtomicLongArray(sampleCount);
+        this.data = new AtomicLongArray(sampleCount * 2 * stripes * SLOT_SIZE);
+        for (int i = 0; i < sampleCount; i++) {
+            heads.set(i, initialHead);
+            data.set(regionBase(i, 0) + MIN_RT_OFFSET, SentinelConfig.statisticMaxRt());
+            data.set(regionBase(i, 1) + MIN_RT_OFFSET, SentinelConfig.statisticMaxRt());
+        }
+        if (enableOccupy) {
+            this.borrowData = new AtomicLongArray(sampleCount * BORROW_SLOT_SIZE);
+            for (int i = 0; i < sampleCount; i++) {
+                borrowData.set(i * BORROW_SLOT_SIZE, initialHead);
+            }
+        } else {
+            this.borrowData = null;
+        }
+    }
+
+    /**
+     * Pack the start timestamp and the live region of a bucket, so that they are published together.
+     */
+    private static long headOf(long windowStart, int region) {
+        return (windowStart << 1) | region;
+    }
+
+    private static long startOf(long head) {
+        return head >> 1;
+    }
+
+    private static int regionOf(long head) {
+        return (int) (head & 1);
+    }
+
+    private int regionBase(int idx, int region) {
+        return (idx * 2 + region) * (stripeMask + 1) * SLOT_SIZE;
+    }
+
+    private int liveBase(int idx, long head) {
+        return regionBase(idx, regionOf(head));
+    }
+
+    private int stripeOffset() {
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        return stripe * SLOT_SIZE;
+    }
+
+    private int calculateTimeIdx(long timeMillis) {
+        return (int) ((timeMillis / windowLengthInMs) % sampleCount);
+    }
+
+    private long calculateWindowStart(long timeMillis) {
+        return timeMillis - timeMillis % windowLengthInMs;
+    }
+
+    private boolean isDeprecated(long timeMillis, long windowStart) {
+        return timeMillis - windowStart > intervalInMs;
+    }
+
+    /**
+     * Get the base of the live region of the bucket at provided timestamp, rotating it if it's deprecated.
+     *
+     * @param timeMillis a valid timestamp in milliseconds
+     * @return the base of the live region, or -1 if the time is behind the bucket
+     */
+    private int currentBucket(long timeMillis) {
+        int idx = calculateTimeIdx(timeMillis);
+        long windowStart = calculateWindowStart(timeMillis);
+        while (true) {
+            long head = heads.get(idx);
+            long oldStart = startOf(head);
+            if (windowStart == oldStart) {
+                return liveBase(idx, head);
+            } else if (windowStart > oldStart) {
+                // The spare region is already zeroed, so it's published without being written before.
+                int spare = regionOf(head) ^ 1;
+                if (heads.compareAndSet(idx, head, headOf(windowStart, spare))) {
+                    int base = regionBase(idx, spare);
+                    if (borrowData != null) {
+                        // Tokens borrowed for this bucket should be counted as pass.
+                        long borrowed = borrowedPass(windowStart);
+                        if (borrowed > 0) {
+                            data.addAndGet(base + PASS_IDX, borrowed);
+                        }
+                    }
+                    resetRegion(idx, regionOf(head));
+                    return base;
+                }
+                // Another thread has published the bucket, then just re-read it.
+            } else {
+                // The provided time is already behind.
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Zero the region that has just been retired, so it could be published as the spare of next rotation.
+     * Threads that read the head before the rotation may still add to it, just like adding to the bucket
+     * right before it's deprecated.
+     */
+    private void resetRegion(int idx, int region) {
+        int base = regionBase(idx, region);
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            int stripeBase = base + stripe * SLOT_SIZE;
+            for (int i = EVENT_OFFSET; i < MIN_RT_OFFSET; i++) {
+                data.set(stripeBase + i, 0);
+            }
+        }
+        data.set(base + MIN_RT_OFFSET, SentinelConfig.statisticMaxRt());
+    }
+
+    private long borrowedPass(long timeMillis) {
+        int idx = calculateTimeIdx(timeMillis);
+        long head = borrowData.get(idx * BORROW_SLOT_SIZE);
+        long start = startOf(head);
+        if (start <= timeMillis && timeMillis < start + windowLengthInMs) {
+            return borrowData.get(idx * BORROW_SLOT_SIZE + 1 + regionOf(head));
+        }
+        return 0;
+    }
+
+    private void add(int slot, long count) {
+        long time = TimeUtil.currentTimeMillis();
+        int base = currentBucket(time);
+        if (base < 0) {
+            return;
+        }
+        data.addAndGet(base + stripeOffset() + slot, count);
+    }
+
+    private long get(int base, int slot) {
+        long sum = 0;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            sum += data.get(base + stripe * SLOT_SIZE + slot);
+        }
+        return sum;
+    }
+
+    /**
+     * @return the base of the live region of given bucket, or -1 if the bucket is deprecated
+     */
+    private int validBase(int idx, long timeMillis) {
+        long head = heads.get(idx);
+        return isDeprecated(timeMillis, startOf(head)) ? -1 : liveBase(idx, head);
+    }
+
+    private long sum(int slot) {
+        long time = TimeUtil.currentTimeMillis();
+        currentBucket(time);
+        long sum = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            int base = validBase(i, time);
+            if (base >= 0) {
+                sum += get(base, slot);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long success() {
+        return sum(SUCCESS_IDX);
+    }
+
+    @Override
+    public long maxSuccess() {
+        long time = TimeUtil.currentTimeMillis();
+        currentBucket(time);
+        long success = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            int base = validBase(i, time);
+            if (base >= 0) {
+                success = Math.max(success, get(base, SUCCESS_IDX));
+            }
+        }
+        return Math.max(success, 1);
+    }
+
+    @Override
+    public long exception() {
+        return sum(EXCEPTION_IDX);
+    }
+
+    @Override
+    public long block() {
+        return sum(BLOCK_IDX);
+    }
+
+    @Override
+    public long pass() {
+        return sum(PASS_IDX);
+    }
+
+    @Override
+    public long occupiedPass() {
+        return sum(OCCUPIED_PASS_IDX);
+    }
+
+    @Override
+    public long rt() {
+        return sum(RT_IDX);
+    }
+
+    @Override
+    public long minRt() {
+        long time = TimeUtil.currentTimeMillis();
+        currentBucket(time);
+        long rt = SentinelConfig.statisticMaxRt();
+        for (int i = 0; i < sampleCount; i++) {
+            int base = validBase(i, time);
+            if (base >= 0) {
+                rt = Math.min(rt, data.get(base + MIN_RT_OFFSET));
+            }
+        }
+        return Math.max(1, rt);
+    }
+
+    @Override
+    public long rtPercentile(double percentile) {
+        // RT histogram is not supported in compact storage.
+        return -1;
+    }
+
+    @Override
+    public List<MetricNode> details() {
+        return detailsOnCondition(null);
+    }
+
+    @Override
+    public List<MetricNode> detailsOnCondition(Predicate<Long> timePredicate) {
+        long time = TimeUtil.currentTimeMillis();
+        currentBucket(time);
+        List<MetricNode> details = new ArrayList<>();
+        for (int i = 0; i < sampleCount; i++) {
+            long head = heads.get(i);
+            long windowStart = startOf(head);
+            if (isDeprecated(time, windowStart)) {
+                continue;
+            }
+            if (timePredicate != null && !timePredicate.test(windowStart)) {
+                continue;
+            }
+            details.add(toMetricNode(liveBase(i, head), windowStart));
+        }
+        return details;
+    }
+
+    private MetricNode toMetricNode(int base, long windowStart) {
+        MetricNode node = new MetricNode();
+        node.setBlockQps(get(base, BLOCK_IDX));
+        node.setExceptionQps(get(base, EXCEPTION_IDX));
+        node.setPassQps(get(base, PASS_IDX));
+        long successQps = get(base, SUCCESS_IDX);
+        node.setSuccessQps(successQps);
+        long rtSum = get(base, RT_IDX);
+        if (successQps != 0) {
+            node.setRt(rtSum / successQps);
+        } else {
+            node.setRt(rtSum);
+        }
+        node.setRtSum(rtSum);
+        node.setTimestamp(windowStart);
+        node.setOccupiedPassQps(get(base, OCCUPIED_PASS_IDX));
+        return node;
+    }
+
+    @Override
+    public MetricBucket[] windows() {
+        long time = TimeUtil.currentTimeMillis();
+        currentBucket(time);
+        List<MetricBucket> buckets = new ArrayList<>(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            int base = validBase(i, time);
+            if (base < 0) {
+                continue;
+            }
+            // Snapshot of the bucket, which is detached from this metric.
+            MetricBucket bucket = new MetricBucket();
+            for (MetricEvent event : MetricEvent.values()) {
+                bucket.add(event, get(base, EVENT_OFFSET + event.ordinal()));
+            }
+            buckets.add(bucket);
+        }
+        return buckets.toArray(new MetricBucket[0]);
+    }
+
+    @Override
+    public void addException(int n) {
+        add(EXCEPTION_IDX, n);
+    }
+
+    @Override
+    public void addBlock(int n) {
+        add(BLOCK_IDX, n);
+    }
+
+    @Override
+    public void addSuccess(int n) {
+        add(SUCCESS_IDX, n);
+    }
+
+    @Override
+    public void addPass(int n) {
+        add(PASS_IDX, n);
+    }
+
+    @Override
+    public void addRT(long rt) {
+        addRT(rt, 1);
+    }
+
+    @Override
+    public void addRT(long rt, int weight) {
+        long time = TimeUtil.currentTimeMillis();
+        int base = currentBucket(time);
+        if (base < 0) {
+            return;
+        }
+        data.addAndGet(base + stripeOffset() + RT_IDX, rt * weight);
+
+        // Not thread-safe, but it's okay.
+        int minRtIdx = base + MIN_RT_OFFSET;
+        if (rt < data.get(minRtIdx)) {
+            data.set(minRtIdx, rt);
+        }
+    }
+
+    @Override
+    public double getWindowIntervalInSec() {
+        return intervalInSecond;
+    }
+
+    @Override
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public long getWindowPass(long timeMillis) {
+        if (timeMillis < 0) {
+            return 0L;
+        }
+        int idx = calculateTimeIdx(timeMillis);
+        long head = heads.get(idx);
+        long windowStart = startOf(head);
+        if (windowStart <= timeMillis && timeMillis < windowStart + windowLengthInMs) {
+            return get(liveBase(idx, head), PASS_IDX);
+        }
+        return 0L;
+    }
+
+    @Override
+    public void addOccupiedPass(int acquireCount) {
+        add(OCCUPIED_PASS_IDX, acquireCount);
+    }
+
+    @Override
+    public void addWaiting(long futureTime, int acquireCount) {
+        if (borrowData == null) {
+            throw new UnsupportedOperationException();
+        }
+        int idx = calculateTimeIdx(futureTime);
+        long windowStart = calculateWindowStart(futureTime);
+        int headIdx = idx * BORROW_SLOT_SIZE;
+        while (true) {
+            long head = borrowData.get(headIdx);
+            long oldStart = startOf(head);
+            if (windowStart == oldStart) {
+                borrowData.addAndGet(headIdx + 1 + regionOf(head), acquireCount);
+                return;
+            } else if (windowStart > oldStart) {
+                // Publish the zeroed spare pass, then zero the retired one as the next spare.
+                int spare = regionOf(head) ^ 1;
+                if (borrowData.compareAndSet(headIdx, head, headOf(windowStart, spare))) {
+                    borrowData.set(headIdx + 1 + regionOf(head), 0);
+                    borrowData.addAndGet(headIdx + 1 + spare, acquireCount);
+                    return;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long waiting() {
+        if (borrowData == null) {
+            return 0;
+        }
+        long time = TimeUtil.currentTimeMillis();
+        long waiting = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            long head = borrowData.get(i * BORROW_SLOT_SIZE);
+            // Only the future buckets are valid.
+            if (time < startOf(head)) {
+                waiting += borrowData.get(i * BORROW_SLOT_SIZE + 1 + regionOf(head));
+            }
+        }
+        return waiting;
+    }
+
+    @Override
+    public long previousWindowBlock() {
+        int base = previousBucket();
+        return base < 0 ? 0 : get(base, BLOCK_IDX);
+    }
+
+    @Override
+    public long previousWindowPass() {
+        int base = previousBucket();
+        return base < 0 ? 0 : get(base, PASS_IDX);
+    }
+
+    private int previousBucket() {
+        long time = TimeUtil.currentTimeMillis();
+        currentBucket(time);
+        long previousTime = time - windowLengthInMs;
+        int idx = calculateTimeIdx(previousTime);
+        long head = heads.get(idx);
+        long windowStart = startOf(head);
+        if (isDeprecated(time, windowStart) || windowStart + windowLengthInMs < previousTime) {
+            return -1;
+        }
+        return liveBase(idx, head);
+    }
+
+    @Override
+    public void debug() {
+        long time = TimeUtil.currentTimeMillis();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Thread_").append(Thread.currentThread().getId()).append("_");
+        for (int i = 0; i < sampleCount; i++) {
+            long head = heads.get(i);
+            long windowStart = startOf(head);
+            if (isDeprecated(time, windowStart)) {
+                continue;
+            }
+            int base = liveBase(i, head);
+            sb.append(windowStart).append(":").append("p: ").append(get(base, PASS_IDX))
+                .append(", b: ").append(get(base, BLOCK_IDX))
+                .append(", w: ").append(get(base, OCCUPIED_PASS_IDX));
+        }
+        System.out.println(sb.toString());
+    }
+}
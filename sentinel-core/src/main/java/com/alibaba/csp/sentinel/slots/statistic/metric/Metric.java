@@ -78,6 +78,17 @@ public interface Metric extends DebugSupport {
      */
     long minRt();
 
+    /**
+     * Get the response time at given percentile, which requires RT histogram enabled.
+     * The compact metric storage doesn't support RT histogram.
+     *
+     * @param percentile percentile in (0, 100], e.g. 99.9
+     * @return the response time at given percentile, 0 if there are no records,
+     * or -1 if RT histogram is not available (disabled or not supported by the storage)
+     * @since 1.8.8
+     */
+    long rtPercentile(double percentile);
+
     /**
      * Get aggregated metric nodes of all resources.
      *
@@ -136,6 +147,16 @@ public interface Metric extends DebugSupport {
      */
     void addRT(long rt);
 
+    /**
+     * Add given RT which stands for {@code weight} requests (e.g. one of the sampled requests),
+     * so the total RT is increased by {@code rt * weight}.
+     *
+     * @param rt     RT
+     * @param weight amount of requests that the RT stands for
+     * @since 1.8.8
+     */
+    void addRT(long rt, int weight);
+
     /**
      * Get the sliding window length in seconds.
      *
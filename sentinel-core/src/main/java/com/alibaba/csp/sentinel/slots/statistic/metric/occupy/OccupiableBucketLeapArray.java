@@ -36,6 +36,19 @@ public class OccupiableBucketLeapArray extends LeapArray<MetricBucket> {
         this.borrowArray = new FutureBucketLeapArray(sampleCount, intervalInMs);
     }
 
+    /**
+     * @param sampleCount  bucket count of the sliding window
+     * @param intervalInMs the total time interval in milliseconds
+     * @param preallocated whether to pre-allocate all buckets and rotate them without lock
+     * @since 1.8.8
+     */
+    public OccupiableBucketLeapArray(int sampleCount, int intervalInMs, boolean preallocated) {
+        super(sampleCount, intervalInMs, preallocated);
+        this.borrowArray = new FutureBucketLeapArray(sampleCount, intervalInMs, preallocated);
+        // The borrow array must be ready before creating buckets, as new buckets may inherit borrowed tokens.
+        fillBuckets();
+    }
+
     @Override
     public MetricBucket newEmptyBucket(long time) {
         MetricBucket newBucket = new MetricBucket();
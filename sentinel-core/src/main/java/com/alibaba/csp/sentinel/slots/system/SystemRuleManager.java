@@ -30,6 +30,7 @@ import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
 import com.alibaba.csp.sentinel.property.SimplePropertyListener;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleVersion;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 
 /**
@@ -193,6 +194,7 @@ public final class SystemRuleManager {
             } else {
                 checkSystemStatus.set(false);
             }
+            RuleVersion.increment();
 
             RecordLog.info(String.format("[SystemRuleManager] Current system check status: %s, "
                     + "highestSystemLoad: %e, "
@@ -278,7 +280,7 @@ public final class SystemRuleManager {
         }
 
         checkSystemStatus.set(checkStatus);
-
+        RuleVersion.increment();
     }
 
     /**
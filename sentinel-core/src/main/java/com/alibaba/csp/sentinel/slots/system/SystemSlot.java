@@ -16,11 +16,13 @@
 package com.alibaba.csp.sentinel.slots.system;
 
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.spi.Spi;
 
 /**
@@ -30,7 +32,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author leyou
  */
 @Spi(order = Constants.ORDER_SYSTEM_SLOT)
-public class SystemSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class SystemSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -44,4 +46,10 @@ public class SystemSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        // Only inbound traffic will be checked.
+        return resourceWrapper.getEntryType() == EntryType.IN && SystemRuleManager.getCheckSystemStatus();
+    }
+
 }
@@ -19,9 +19,14 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.util.clock.Clock;
+import com.alibaba.csp.sentinel.util.clock.NanoTimeClock;
+import com.alibaba.csp.sentinel.util.clock.SystemClock;
+import com.alibaba.csp.sentinel.util.clock.TickingClock;
 import com.alibaba.csp.sentinel.util.function.Tuple2;
 
 /**
@@ -35,6 +40,11 @@ import com.alibaba.csp.sentinel.util.function.Tuple2;
  * </pre>
  * For detail design and proposals please goto
  * <a href="https://github.com/alibaba/Sentinel/issues/1702#issuecomment-692151160">https://github.com/alibaba/Sentinel/issues/1702</a>
+ * <p>
+ * Since 1.8.8, the clock source is pluggable via {@code csp.sentinel.time.clock} (see {@link SentinelConfig#timeClock()}).
+ * The adaptive mechanism above is the default clock source, and the daemon thread won't be started
+ * if another clock source is configured.
+ * </p>
  *
  * @author qinan.qn
  * @author jason
@@ -63,7 +73,8 @@ public final class TimeUtil implements Runnable {
         }
     }
 
-    private static TimeUtil INSTANCE;
+    private static volatile TimeUtil INSTANCE;
+    private static final Clock CLOCK;
 
     private volatile long currentTimeMillis;
     private volatile STATE state = STATE.IDLE;
@@ -76,7 +87,35 @@ public final class TimeUtil implements Runnable {
     private long lastCheck = 0;
 
     static {
-        INSTANCE = new TimeUtil();
+        CLOCK = resolveClock(SentinelConfig.timeClock());
+    }
+
+    private static Clock resolveClock(String type) {
+        if (SentinelConfig.TIME_CLOCK_SYSTEM.equals(type)) {
+            return new SystemClock();
+        }
+        if (SentinelConfig.TIME_CLOCK_NANO.equals(type)) {
+            return new NanoTimeClock();
+        }
+        if (SentinelConfig.TIME_CLOCK_TICK.equals(type)) {
+            return new TickingClock(SentinelConfig.timeTickIntervalMs());
+        }
+        if (!SentinelConfig.TIME_CLOCK_ADAPTIVE.equals(type)) {
+            try {
+                Clock clock = (Clock) Class.forName(type).getDeclaredConstructor().newInstance();
+                RecordLog.info("[TimeUtil] Using customized clock source: {}", type);
+                return clock;
+            } catch (Throwable ex) {
+                RecordLog.warn("[TimeUtil] Failed to create clock source: {}, using the adaptive clock instead", type, ex);
+            }
+        }
+        final TimeUtil adaptive = instance();
+        return new Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return adaptive.getTime();
+            }
+        };
     }
 
     public TimeUtil() {
@@ -215,11 +254,27 @@ public final class TimeUtil implements Runnable {
         return this.currentTime(false);
     }
 
+    /**
+     * Get the adaptive clock. The daemon thread is started on first call,
+     * no matter which clock source is used by {@link #currentTimeMillis()}.
+     *
+     * @return the adaptive clock
+     */
     public static TimeUtil instance() {
-        return INSTANCE;
+        TimeUtil instance = INSTANCE;
+        if (instance == null) {
+            synchronized (TimeUtil.class) {
+                instance = INSTANCE;
+                if (instance == null) {
+                    instance = new TimeUtil();
+                    INSTANCE = instance;
+                }
+            }
+        }
+        return instance;
     }
 
     public static long currentTimeMillis() {
-        return INSTANCE.getTime();
+        return CLOCK.currentTimeMillis();
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>Util class for traffic shaping controllers that make requests wait (queue) before passing.</p>
+ * <p>
+ * By default, the waiting is done by sleeping the current thread. When the current thread is
+ * deferring (e.g. in a non-blocking entry), the wait time is recorded instead, and the caller is
+ * responsible for delaying the continuation of the request. If several waits are recorded within
+ * the same deferring scope (e.g. by different rules), the longest one is kept, as all waits start
+ * from the same moment.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public final class WaitUtil {
+
+    private static final ThreadLocal<Deferral> DEFERRAL_HOLDER = new ThreadLocal<Deferral>() {
+        @Override
+        protected Deferral initialValue() {
+            return new Deferral();
+        }
+    };
+
+    /**
+     * Wait for given milliseconds, or record the wait time if current thread is deferring.
+     *
+     * @param ms time to wait in milliseconds
+     */
+    public static void waitMs(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        Deferral deferral = DEFERRAL_HOLDER.get();
+        if (deferral.deferring) {
+            deferral.record(TimeUnit.MILLISECONDS.toNanos(ms));
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            // Ignore.
+        }
+    }
+
+    /**
+     * Wait for given nanoseconds, or record the wait time if current thread is deferring.
+     *
+     * @param ns time to wait in nanoseconds
+     */
+    public static void waitNanos(long ns) {
+        if (ns <= 0) {
+            return;
+        }
+        Deferral deferral = DEFERRAL_HOLDER.get();
+        if (deferral.deferring) {
+            deferral.record(ns);
+            return;
+        }
+        LockSupport.parkNanos(ns);
+    }
+
+    /**
+     * Start deferring waits of current thread and reset the recorded wait time.
+     */
+    public static void beginDeferring() {
+        Deferral deferral = DEFERRAL_HOLDER.get();
+        deferral.deferring = true;
+        deferral.waitNanos = 0;
+    }
+
+    /**
+     * Stop deferring waits of current thread.
+     *
+     * @return the longest wait time recorded since {@link #beginDeferring()} in nanoseconds
+     */
+    public static long endDeferring() {
+        Deferral deferral = DEFERRAL_HOLDER.get();
+        long waitNanos = deferral.waitNanos;
+        deferral.deferring = false;
+        deferral.waitNanos = 0;
+        return waitNanos;
+    }
+
+    /**
+     * Check whether waits of current thread are deferred.
+     *
+     * @return true if current thread is deferring
+     */
+    public static boolean isDeferring() {
+        return DEFERRAL_HOLDER.get().deferring;
+    }
+
+    private static class Deferral {
+        private boolean deferring = false;
+        private long waitNanos = 0;
+
+        void record(long ns) {
+            if (ns > waitNanos) {
+                waitNanos = ns;
+            }
+        }
+    }
+
+    private WaitUtil() {}
+}
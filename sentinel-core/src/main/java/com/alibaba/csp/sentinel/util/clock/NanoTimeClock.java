@@ -0,0 +1,100 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * <p>Clock that derives the wall time from {@link System#nanoTime()} and an offset, without any background thread.</p>
+ * <p>
+ * The offset is calibrated against {@link System#currentTimeMillis()} periodically by the calling thread which
+ * first observes the calibration deadline, so that the clock follows wall-clock adjustments (e.g. NTP)
+ * while other reads only cost a {@code nanoTime} call.
+ * </p>
+ * <p>
+ * The clock never goes backwards: if the wall time is adjusted backwards, the time stays at the last value
+ * before the calibration until the wall time catches up.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class NanoTimeClock implements Clock {
+
+    public static final long DEFAULT_CALIBRATION_INTERVAL_MS = 1000;
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final AtomicLongFieldUpdater<NanoTimeClock> NEXT_CALIBRATION_UPDATER
+        = AtomicLongFieldUpdater.newUpdater(NanoTimeClock.class, "nextCalibrationNanos");
+
+    private final long calibrationIntervalNanos;
+
+    /**
+     * Wall time in nanoseconds minus {@code System.nanoTime()}.
+     */
+    private volatile long offsetNanos;
+    /**
+     * The time before the latest calibration, which the time never goes below.
+     */
+    private volatile long floorMillis;
+    private volatile long nextCalibrationNanos;
+
+    public NanoTimeClock() {
+        this(DEFAULT_CALIBRATION_INTERVAL_MS);
+    }
+
+    /**
+     * @param calibrationIntervalMs interval of calibrating the offset against wall time,
+     *                              non-positive value means never calibrating after creation
+     */
+    public NanoTimeClock(long calibrationIntervalMs) {
+        this.calibrationIntervalNanos = calibrationIntervalMs > 0
+            ? TimeUnit.MILLISECONDS.toNanos(calibrationIntervalMs) : Long.MAX_VALUE;
+        long nanos = System.nanoTime();
+        this.offsetNanos = wallTimeMillis() * NANOS_PER_MILLI - nanos;
+        this.nextCalibrationNanos = nextDeadline(nanos);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        long nanos = System.nanoTime();
+        long deadline = nextCalibrationNanos;
+        if (nanos - deadline >= 0 && NEXT_CALIBRATION_UPDATER.compareAndSet(this, deadline, nextDeadline(nanos))) {
+            long floor = Math.max(floorMillis, (nanos + offsetNanos) / NANOS_PER_MILLI);
+            long now = wallTimeMillis();
+            // Publish the floor before the offset, so that readers of the new offset see the new floor.
+            this.floorMillis = floor;
+            this.offsetNanos = now * NANOS_PER_MILLI - nanos;
+            return Math.max(floor, now);
+        }
+        // Read the offset before the floor (see above).
+        long offset = offsetNanos;
+        return Math.max(floorMillis, (nanos + offset) / NANOS_PER_MILLI);
+    }
+
+    long wallTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private long nextDeadline(long nanos) {
+        if (calibrationIntervalNanos == Long.MAX_VALUE) {
+            // Make sure the deadline is never reached (nanoTime may wrap around).
+            return nanos + Long.MAX_VALUE / 2 + 1;
+        }
+        return nanos + calibrationIntervalNanos;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link BatchEntry}.
+ */
+public class BatchEntryTest extends AbstractTimeBasedTest {
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+    }
+
+    @Test
+    public void testPartialGrant() throws Exception {
+        String resourceName = "testBatchEntryPartialGrant";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(10)));
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+
+            BatchEntry entry = SphU.batchEntry(resourceName, 4);
+            assertEquals(4, entry.getRequestedCount());
+            assertEquals(4, entry.getGrantedCount());
+            entry.exit();
+
+            entry = SphU.batchEntry(resourceName, 10);
+            assertEquals(10, entry.getRequestedCount());
+            assertEquals(6, entry.getGrantedCount());
+            entry.exit();
+
+            try {
+                SphU.batchEntry(resourceName, 3);
+                fail("Should be blocked when none of the items is granted");
+            } catch (FlowException ex) {
+                // Expected.
+            }
+
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(resourceName);
+            assertEquals(10, node.totalPass());
+            assertEquals(7, (long) node.blockQps());
+            assertEquals(0, node.curThreadNum());
+        }
+    }
+
+    @Test
+    public void testPartialGrantOfAcquiringRule() throws Exception {
+        String resourceName = "testBatchEntryPartialGrantOfAcquiringRule";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET)));
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+
+            // Passed checks take tokens, so the grant is found by halving the count.
+            BatchEntry entry = SphU.batchEntry(resourceName, 16);
+            assertEquals(8, entry.getGrantedCount());
+            entry.exit();
+
+            entry = SphU.batchEntry(resourceName, 5);
+            assertEquals(2, entry.getGrantedCount());
+            entry.exit();
+        }
+    }
+
+    @Test
+    public void testRecordItemsOnExit() throws Exception {
+        String resourceName = "testBatchEntryRecordItemsOnExit";
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+
+            BatchEntry entry = SphU.batchEntry(resourceName, 5);
+            assertEquals(5, entry.getGrantedCount());
+            entry.recordErrors(2);
+            for (int i = 0; i < 5; i++) {
+                entry.recordRt(10 + i);
+            }
+            sleep(mocked, 200);
+            entry.exit();
+
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(resourceName);
+            assertEquals(5, (long) node.successQps());
+            assertEquals(2, (long) node.exceptionQps());
+            // The recorded RT of items rather than the elapsed time of the batch.
+            assertEquals(12, node.avgRt(), 0.01);
+            assertEquals(0, node.curThreadNum());
+        }
+    }
+
+    @Test
+    public void testRecordItemRtOnExit() throws Exception {
+        String resourceName = "testBatchEntryRecordItemRtOnExit";
+        SentinelConfig.setConfig(SentinelConfig.STATISTIC_RT_HISTOGRAM, "true");
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+
+            BatchEntry entry = SphU.batchEntry(resourceName, 8);
+            entry.recordRt(8 * 20);
+            sleep(mocked, 500);
+            entry.exit();
+
+            // Each of the granted items is recorded with the average RT, rather than the sum of the batch.
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(resourceName);
+            assertEquals(8, (long) node.successQps());
+            assertEquals(20, node.avgRt(), 0.01);
+            assertEquals(20, node.minRt(), 0.01);
+            assertEquals(20, node.rtPercentile(50), 20 / 16.0);
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.STATISTIC_RT_HISTOGRAM);
+        }
+    }
+
+    @Test
+    public void testElapsedRtSharedByItemsOnExit() throws Exception {
+        String resourceName = "testBatchEntryElapsedRtSharedByItemsOnExit";
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+
+            BatchEntry entry = SphU.batchEntry(resourceName, 4);
+            sleep(mocked, 200);
+            entry.exit();
+
+            // Without recorded item RT, the elapsed time of the batch is shared by the granted items.
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(resourceName);
+            assertEquals(4, (long) node.successQps());
+            assertEquals(50, node.avgRt(), 0.01);
+            assertEquals(50, node.minRt(), 0.01);
+        }
+    }
+}
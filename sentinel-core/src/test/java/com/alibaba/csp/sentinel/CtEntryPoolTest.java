@@ -0,0 +1,118 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextTestUtil;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CtEntryPool}.
+ */
+public class CtEntryPoolTest {
+
+    @Before
+    public void setUp() {
+        ContextTestUtil.cleanUpContext();
+        CtSph.setEntryPoolEnabled(true);
+        ContextTestUtil.setDefaultContextReuse(true);
+    }
+
+    @After
+    public void tearDown() {
+        CtSph.setEntryPoolEnabled(false);
+        ContextTestUtil.setDefaultContextReuse(false);
+        ContextTestUtil.cleanUpContext();
+        FlowRuleManager.loadRules(null);
+    }
+
+    @Test
+    public void testReuseEntryAndDefaultContext() throws BlockException {
+        String resourceName = "testReuseEntryAndDefaultContext";
+        Entry e1 = SphU.entry(resourceName);
+        Context c1 = ContextUtil.getContext();
+        assertTrue(ContextUtil.isDefaultContext(c1));
+        e1.exit();
+        assertNull(ContextUtil.getContext());
+
+        Entry e2 = SphU.entry(resourceName);
+        assertSame(e1, e2);
+        assertSame(c1, ContextUtil.getContext());
+        assertSame(e1.getResourceWrapper(), e2.getResourceWrapper());
+        assertNull(((CtEntry) e2).parent);
+        assertNotNull(e2.getCurNode());
+        e2.exit();
+    }
+
+    @Test
+    public void testNestedPooledEntries() throws BlockException {
+        Entry outer = SphU.entry("testNestedPooledEntries1");
+        Entry inner = SphU.entry("testNestedPooledEntries2");
+        assertNotSame(outer, inner);
+        assertSame(outer, ((CtEntry) inner).parent);
+        assertSame(inner, ContextUtil.getContext().getCurEntry());
+        inner.exit();
+        assertSame(outer, ContextUtil.getContext().getCurEntry());
+        int freeSize = CtEntryPool.freeSize();
+
+        // The exited inner entry should be reused.
+        Entry inner2 = SphU.entry("testNestedPooledEntries3");
+        assertSame(inner, inner2);
+        assertEquals(freeSize - 1, CtEntryPool.freeSize());
+        assertEquals("testNestedPooledEntries3", inner2.getResourceWrapper().getName());
+        assertSame(outer, ((CtEntry) inner2).parent);
+        inner2.exit();
+        outer.exit();
+        assertNull(ContextUtil.getContext());
+
+        // Duplicate exit of a released entry should take no effect.
+        int size = CtEntryPool.freeSize();
+        outer.exit();
+        assertEquals(size, CtEntryPool.freeSize());
+    }
+
+    @Test
+    public void testReleaseBlockedEntry() {
+        String resourceName = "testReleaseBlockedEntry";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(0)));
+        int freeSize = CtEntryPool.freeSize();
+        try {
+            SphU.entry(resourceName);
+            fail("Should be blocked");
+        } catch (BlockException ex) {
+            assertEquals(Math.max(freeSize, 1), CtEntryPool.freeSize());
+        }
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testAsyncEntryNotPooled() throws BlockException {
+        AsyncEntry entry = SphU.asyncEntry("testAsyncEntryNotPooled");
+        assertFalse(entry.pooled);
+        entry.exit();
+    }
+}
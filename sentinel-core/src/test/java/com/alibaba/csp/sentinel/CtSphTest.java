@@ -1,5 +1,6 @@
 package com.alibaba.csp.sentinel;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextTestUtil;
 import com.alibaba.csp.sentinel.context.ContextUtil;
@@ -9,9 +10,18 @@ import com.alibaba.csp.sentinel.slotchain.DefaultProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.SlotChainProvider;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.util.WaitUtil;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Before;
@@ -257,18 +267,90 @@ public class CtSphTest {
     @Test
     public void testLookUpSlotChain() {
         ResourceWrapper r1 = new StringResourceWrapper("firstRes", EntryType.IN);
-        assertFalse(CtSph.getChainMap().containsKey(r1));
+        assertNull(CtSph.getChain(r1));
         ProcessorSlot<Object> chainR1 = ctSph.lookProcessChain(r1);
         assertNotNull("The slot chain for r1 should be created", chainR1);
         assertSame("Should return the cached slot chain once it has been created", chainR1, ctSph.lookProcessChain(r1));
 
         fillFullResources();
         ResourceWrapper r2 = new StringResourceWrapper("secondRes", EntryType.IN);
-        assertFalse(CtSph.getChainMap().containsKey(r2));
+        assertNull(CtSph.getChain(r2));
         assertNull("The slot chain for r2 should not be created because amount exceeded", ctSph.lookProcessChain(r2));
         assertNull(ctSph.lookProcessChain(r2));
     }
 
+    @Test
+    public void testRuleAwareSlotChain() throws Exception {
+        String resourceName = "testRuleAwareSlotChain";
+        SentinelConfig.setConfig(SentinelConfig.SLOT_CHAIN_SPECIALIZE, "true");
+        try {
+            ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+            SphU.entry(resourceName).exit();
+            assertTrue(CtSph.getChain(resourceWrapper) instanceof RuleAwareProcessorSlotChain);
+
+            FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(0)));
+            try {
+                SphU.entry(resourceName).exit();
+                fail("Should be blocked by the flow rule");
+            } catch (FlowException ex) {
+                // Expected.
+            }
+
+            FlowRuleManager.loadRules(null);
+            SphU.entry(resourceName).exit();
+        } finally {
+            FlowRuleManager.loadRules(null);
+            SentinelConfig.removeConfig(SentinelConfig.SLOT_CHAIN_SPECIALIZE);
+        }
+    }
+
+    @Test
+    public void testAsyncEntryNonBlocking() throws Exception {
+        String resourceName = "testAsyncEntryNonBlocking";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(2)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER).setMaxQueueingTimeMs(2000)));
+        try {
+            AsyncEntry entry = ctSph.asyncEntryNonBlocking(resourceName, ResourceTypeConstants.COMMON,
+                EntryType.IN, 1, false, null);
+            assertEquals(0, entry.getWaitNanos());
+            entry.exit();
+
+            long start = System.currentTimeMillis();
+            entry = ctSph.asyncEntryNonBlocking(resourceName, ResourceTypeConstants.COMMON,
+                EntryType.IN, 1, false, null);
+            // The request passes without sleeping, and carries the time to wait.
+            assertTrue(System.currentTimeMillis() - start < 300);
+            assertTrue(entry.getWaitNanos() > TimeUnit.MILLISECONDS.toNanos(300));
+            assertFalse(WaitUtil.isDeferring());
+            entry.exit();
+        } finally {
+            FlowRuleManager.loadRules(null);
+        }
+    }
+
+    @Test
+    public void testEntryWithExplicitContext() throws Exception {
+        Context context = ContextUtil.newContext("testEntryWithExplicitContext", "originA");
+        Entry outer = ctSph.entryWithContext(context, "testEntryWithExplicitContext-outer", EntryType.IN, 1);
+        Entry inner = ctSph.entryWithContext(context, "testEntryWithExplicitContext-inner", EntryType.OUT, 1);
+        // Entries are chained on the provided context, and current thread is not bound to any context.
+        assertNull(ContextUtil.getContext());
+        assertSame(inner, context.getCurEntry());
+        assertSame(outer, ((CtEntry) inner).parent);
+        assertNotNull(inner.getCurNode());
+
+        AsyncEntry asyncEntry = ctSph.asyncEntryWithContext(context, "testEntryWithExplicitContext-async",
+            EntryType.OUT, 1);
+        assertSame(inner, context.getCurEntry());
+        assertSame(inner, ((CtEntry) asyncEntry.getAsyncContext().getCurEntry()).parent);
+        asyncEntry.exit();
+
+        inner.exit();
+        outer.exit();
+        assertNull(context.getCurEntry());
+        assertNull(ContextUtil.getContext());
+    }
+
     private void fillFullContext() {
         for (int i = 0; i < Constants.MAX_CONTEXT_NAME_SIZE; i++) {
             ContextUtil.enter("test-context-" + i);
@@ -279,21 +361,21 @@ public class CtSphTest {
     private void fillFullResources() {
         for (int i = 0; i < Constants.MAX_SLOT_CHAIN_SIZE; i++) {
             ResourceWrapper resourceWrapper = new StringResourceWrapper("test-resource-" + i, EntryType.IN);
-            CtSph.getChainMap().put(resourceWrapper, SlotChainProvider.newSlotChain());
+            CtSph.putChain(resourceWrapper, SlotChainProvider.newSlotChain());
         }
     }
 
     private void addShouldNotPassSlotFor(ResourceWrapper resourceWrapper) {
         ProcessorSlotChain slotChain = new DefaultProcessorSlotChain();
         slotChain.addLast(new ShouldNotPassSlot());
-        CtSph.getChainMap().put(resourceWrapper, slotChain);
+        CtSph.putChain(resourceWrapper, slotChain);
     }
 
     private ShouldPassSlot addShouldPassSlotFor(ResourceWrapper resourceWrapper) {
         ProcessorSlotChain slotChain = new DefaultProcessorSlotChain();
         ShouldPassSlot shouldPassSlot = new ShouldPassSlot();
         slotChain.addLast(shouldPassSlot);
-        CtSph.getChainMap().put(resourceWrapper, slotChain);
+        CtSph.putChain(resourceWrapper, slotChain);
         return shouldPassSlot;
     }
 
@@ -301,7 +383,7 @@ public class CtSphTest {
         ProcessorSlotChain slotChain = new DefaultProcessorSlotChain();
         MustBlockSlot mustBlockSlot = new MustBlockSlot();
         slotChain.addLast(mustBlockSlot);
-        CtSph.getChainMap().put(resourceWrapper, slotChain);
+        CtSph.putChain(resourceWrapper, slotChain);
         return mustBlockSlot;
     }
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.context;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ContextCarrier} implementations.
+ */
+public class ContextCarrierTest {
+
+    @Test
+    public void testThreadLocalContextCarrier() throws Exception {
+        final ThreadLocalContextCarrier carrier = new ThreadLocalContextCarrier();
+        final Context contextA = Context.newAsyncContext(null, "contextA");
+        final Context contextB = Context.newAsyncContext(null, "contextB");
+        carrier.set(contextA);
+        assertSame(contextA, carrier.get());
+
+        carrier.runOnContext(contextB, new Runnable() {
+            @Override
+            public void run() {
+                assertSame(contextB, carrier.get());
+            }
+        });
+        assertSame(contextA, carrier.get());
+
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                assertNull(carrier.get());
+            }
+        });
+        t.start();
+        t.join();
+
+        carrier.set(null);
+        assertNull(carrier.get());
+    }
+
+    @Test
+    public void testExplicitContextCarrier() {
+        ExplicitContextCarrier carrier = new ExplicitContextCarrier();
+        carrier.set(Context.newAsyncContext(null, "contextA"));
+        assertNull(carrier.get());
+
+        final AtomicBoolean ran = new AtomicBoolean(false);
+        carrier.runOnContext(Context.newAsyncContext(null, "contextB"), new Runnable() {
+            @Override
+            public void run() {
+                ran.set(true);
+            }
+        });
+        assertTrue(ran.get());
+    }
+
+    @Test
+    public void testReadOnlyContextCarrier() {
+        ContextCarrier carrier = new ContextCarrier() {
+            @Override
+            public Context get() {
+                return null;
+            }
+
+            @Override
+            public void set(Context context) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void runOnContext(Context context, Runnable f) {
+                f.run();
+            }
+        };
+        // The context is not kept, but the invocation should go on.
+        assertFalse(ContextUtil.setToCarrier(carrier, Context.newAsyncContext(null, "contextA")));
+        assertFalse(ContextUtil.setToCarrier(carrier, null));
+
+        ThreadLocalContextCarrier threadLocalCarrier = new ThreadLocalContextCarrier();
+        Context context = Context.newAsyncContext(null, "contextB");
+        assertTrue(ContextUtil.setToCarrier(threadLocalCarrier, context));
+        assertSame(context, threadLocalCarrier.get());
+        threadLocalCarrier.set(null);
+    }
+}
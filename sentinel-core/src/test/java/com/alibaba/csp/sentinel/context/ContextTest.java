@@ -139,4 +139,32 @@ public class ContextTest {
         });
         assertEquals(contextName, ContextUtil.getContext().getName());
     }
+
+    @Test
+    public void testNewContextNotBoundToCurrentThread() {
+        Context context = ContextUtil.newContext("contextA", "originA");
+        assertEquals("contextA", context.getName());
+        assertEquals("originA", context.getOrigin());
+        assertNotNull(context.getEntranceNode());
+        assertNull(ContextUtil.getContext());
+
+        // Same context name shares the same entrance node.
+        assertSame(context.getEntranceNode(), ContextUtil.newContext("contextA", "originB").getEntranceNode());
+    }
+
+    @Test(expected = ContextNameDefineException.class)
+    public void testNewDefaultContext() {
+        ContextUtil.newContext(Constants.CONTEXT_DEFAULT_NAME, "");
+    }
+
+    @Test
+    public void testNewContextWhenExceedsThreshold() {
+        fillContext();
+        try {
+            assertTrue(ContextUtil.newContext("abc", "bcd") instanceof NullContext);
+            assertNull(ContextUtil.getContext());
+        } finally {
+            resetContextMap();
+        }
+    }
 }
@@ -39,5 +39,9 @@ public final class ContextTestUtil {
         Constants.ROOT.removeChildList();
     }
 
+    public static void setDefaultContextReuse(boolean enabled) {
+        ContextUtil.setDefaultContextReuse(enabled);
+    }
+
     private ContextTestUtil() {}
 }
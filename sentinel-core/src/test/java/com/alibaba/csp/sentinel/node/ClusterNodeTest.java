@@ -15,12 +15,23 @@
  */
 package com.alibaba.csp.sentinel.node;
 
+import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.node.metric.MetricSnapshotBuffer;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.function.BiConsumer;
+
 import org.junit.Test;
+import org.mockito.MockedStatic;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,7 +46,7 @@ import static org.junit.Assert.*;
  *
  * @author cdfive
  */
-public class ClusterNodeTest {
+public class ClusterNodeTest extends AbstractTimeBasedTest {
 
     @Test
     public void testGetOrCreateOriginNodeSingleThread() {
@@ -125,4 +136,147 @@ public class ClusterNodeTest {
             }
         }
     }
+
+    @Test
+    public void testEvictIdleOriginNodes() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            ClusterNode clusterNode = new ClusterNode("test", ResourceTypeConstants.COMMON, 8);
+            for (int i = 0; i < 8; i++) {
+                clusterNode.getOrCreateOriginNode("origin" + i);
+                sleep(mocked, 10);
+            }
+            sleep(mocked, 1000);
+            // origin0 is recently used, and origin1 has a request in flight.
+            Node originNode0 = clusterNode.getOrCreateOriginNode("origin0");
+            clusterNode.getOrCreateOriginNode("origin1").increaseThreadNum();
+            sleep(mocked, 10);
+            assertEquals(8, clusterNode.getOriginCountMap().size());
+
+            // Reaching the limit evicts the least recently used idle origins down to 7/8 of the limit.
+            Node newNode = clusterNode.getOrCreateOriginNode("origin8");
+            Map<String, StatisticNode> originMap = clusterNode.getOriginCountMap();
+            assertEquals(7, originMap.size());
+            assertTrue(originMap.containsKey("origin0"));
+            assertTrue(originMap.containsKey("origin1"));
+            assertTrue(originMap.containsKey("origin8"));
+            assertFalse(originMap.containsKey("origin2"));
+            assertFalse(originMap.containsKey("origin3"));
+            assertSame(originNode0, clusterNode.getOrCreateOriginNode("origin0"));
+            assertSame(newNode, clusterNode.getOrCreateOriginNode("origin8"));
+        }
+    }
+
+    @Test
+    public void testKeepOriginNodesReferencedByRules() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            String resourceName = "testKeepOriginNodesReferencedByRules";
+            FlowRule rule = new FlowRule(resourceName).setCount(10);
+            rule.setLimitApp("origin0");
+            FlowRuleManager.loadRules(Collections.singletonList(rule));
+            ClusterNode clusterNode = new ClusterNode(resourceName, ResourceTypeConstants.COMMON, 4);
+            for (int i = 0; i < 4; i++) {
+                clusterNode.getOrCreateOriginNode("origin" + i);
+                sleep(mocked, 10);
+            }
+            Node originNode0 = clusterNode.getOriginCountMap().get("origin0");
+            sleep(mocked, 2000);
+
+            // The least recently used origin is referenced by the rule, so it's kept with its statistics.
+            clusterNode.getOrCreateOriginNode("origin4");
+            Map<String, StatisticNode> originMap = clusterNode.getOriginCountMap();
+            assertEquals(4, originMap.size());
+            assertSame(originNode0, originMap.get("origin0"));
+            assertFalse(originMap.containsKey("origin1"));
+            assertTrue(originMap.containsKey("origin4"));
+        } finally {
+            FlowRuleManager.loadRules(null);
+        }
+    }
+
+    @Test
+    public void testShareOverflowNodeWhenNoOriginIsIdle() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            ClusterNode clusterNode = new ClusterNode("test", ResourceTypeConstants.COMMON, 4);
+            for (int i = 0; i < 4; i++) {
+                clusterNode.getOrCreateOriginNode("origin" + i);
+            }
+
+            // All origins are accessed recently, so new origins share a node rather than evicting them.
+            Node overflowNode = clusterNode.getOrCreateOriginNode("origin4");
+            assertSame(overflowNode, clusterNode.getOrCreateOriginNode("origin5"));
+            Map<String, StatisticNode> originMap = clusterNode.getOriginCountMap();
+            assertEquals(4, originMap.size());
+            assertFalse(originMap.containsKey("origin4"));
+
+            // Eviction is tried again after backing off, when the origins become idle.
+            sleep(mocked, 1000);
+            Node newNode = clusterNode.getOrCreateOriginNode("origin4");
+            assertNotSame(overflowNode, newNode);
+            assertSame(newNode, clusterNode.getOriginCountMap().get("origin4"));
+            assertEquals(4, clusterNode.getOriginCountMap().size());
+        }
+    }
+
+    @Test
+    public void testUnboundedOriginNodes() {
+        ClusterNode clusterNode = new ClusterNode("test", ResourceTypeConstants.COMMON, 0);
+        for (int i = 0; i < 100; i++) {
+            clusterNode.getOrCreateOriginNode("origin" + i);
+        }
+        assertEquals(100, clusterNode.getOriginCountMap().size());
+    }
+
+    @Test
+    public void testCollectMetricsOfDirtyNodes() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 118500);
+            ClusterNode node = new ClusterNode("res", ResourceTypeConstants.COMMON_WEB);
+            MetricSnapshotBuffer buffer = new MetricSnapshotBuffer();
+            node.addPassRequest(2);
+
+            // Statistics of the current second are not collected, and the node stays dirty.
+            buffer.reset(TimeUtil.currentTimeMillis());
+            node.collectMetrics(buffer);
+            assertTrue(buffer.isEmpty());
+            assertTrue(node.isDirty());
+
+            sleep(mocked, 3000);
+            node.addPassRequest(3);
+            node.markDirty();
+            sleep(mocked, 1000);
+            buffer.reset(TimeUtil.currentTimeMillis());
+            node.collectMetrics(buffer);
+            assertEquals(2, buffer.size());
+            assertFalse(node.isDirty());
+
+            // Seconds across the minute boundary are visited in order of time.
+            final List<Long> times = new ArrayList<>();
+            buffer.forEach(new BiConsumer<Long, List<MetricNode>>() {
+                @Override
+                public void accept(Long time, List<MetricNode> nodes) {
+                    times.add(time);
+                    assertEquals(1, nodes.size());
+                    assertEquals("res", nodes.get(0).getResource());
+                    assertEquals(ResourceTypeConstants.COMMON_WEB, nodes.get(0).getClassification());
+                    assertEquals(time == 118000 ? 2 : 3, nodes.get(0).getPassQps());
+                }
+            });
+            assertEquals(Arrays.asList(118000L, 121000L), times);
+
+            // Idle node is skipped, even if there are statistics not collected.
+            node.addPassRequest(1);
+            sleep(mocked, 1000);
+            buffer.reset(TimeUtil.currentTimeMillis());
+            node.collectMetrics(buffer);
+            assertTrue(buffer.isEmpty());
+
+            node.markDirty();
+            buffer.reset(TimeUtil.currentTimeMillis());
+            node.collectMetrics(buffer);
+            assertEquals(1, buffer.size());
+        }
+    }
 }
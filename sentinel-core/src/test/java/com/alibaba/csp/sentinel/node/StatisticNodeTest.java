@@ -16,9 +16,11 @@
 package com.alibaba.csp.sentinel.node;
 
 import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.MockedStatic;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -43,7 +45,7 @@ import static org.junit.Assert.assertTrue;
  *
  * @author cdfive
  */
-public class StatisticNodeTest {
+public class StatisticNodeTest extends AbstractTimeBasedTest {
 
     private static final String LOG_PREFIX = "[StatisticNodeTest] ";
 
@@ -53,6 +55,44 @@ public class StatisticNodeTest {
 
     private static final int THREAD_COUNT = 20;
 
+    @Test
+    public void testLazyMinuteCounter() {
+        StatisticNode node = new StatisticNode(true);
+        Assert.assertFalse(node.isMinuteCounterPresent());
+
+        // Writes before materialized should only go to the second-level counter.
+        node.addPassRequest(2);
+        node.increaseBlockQps(1);
+        assertEquals(2, (int) node.passQps());
+        Assert.assertFalse(node.isMinuteCounterPresent());
+
+        assertEquals(0, node.totalRequest());
+        assertTrue(node.isMinuteCounterPresent());
+        node.addPassRequest(3);
+        assertEquals(3, node.totalPass());
+
+        assertTrue(new StatisticNode().isMinuteCounterPresent());
+    }
+
+    @Test
+    public void testPreviousPassQpsOfLazyMinuteCounter() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            StatisticNode node = new StatisticNode(true);
+            node.addPassRequest(5);
+
+            // The first read materializes the counter, and writes before that are not counted.
+            assertEquals(0, (int) node.previousPassQps());
+            node.addPassRequest(4);
+            assertEquals(0, (int) node.previousPassQps());
+
+            // The previous-window QPS is accurate since the next second.
+            sleep(mocked, 1000);
+            node.addPassRequest(1);
+            assertEquals(4, (int) node.previousPassQps());
+        }
+    }
+
     /**
      * A simple test for statistic threadNum and qps by using StatisticNode
      *
@@ -0,0 +1,90 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.util.PidUtil;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link AsyncMetricWriter}.
+ */
+public class AsyncMetricWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndDropWhenQueueIsFull() throws Exception {
+        String baseDir = folder.getRoot().getAbsolutePath() + File.separator;
+        MetricWriter writer = new MetricWriter(baseDir, 1024 * 1024, 6, false);
+        AsyncMetricWriter asyncWriter = new AsyncMetricWriter(writer, 2, true);
+        long begin = (System.currentTimeMillis() / 1000 + 1) * 1000;
+
+        // Stall the writer thread, so that the metrics are piled up in the queue.
+        synchronized (writer) {
+            assertTrue(asyncWriter.submit(begin, newMetricNodes(1)));
+            waitUntilDrained(asyncWriter);
+            assertTrue(asyncWriter.submit(begin + 1000, newMetricNodes(1)));
+            assertTrue(asyncWriter.submit(begin + 2000, newMetricNodes(1)));
+            assertFalse(asyncWriter.submit(begin + 3000, newMetricNodes(2)));
+            assertFalse(asyncWriter.submit(begin + 4000, newMetricNodes(1)));
+            assertEquals(3, asyncWriter.getDroppedCount());
+        }
+        waitUntilDrained(asyncWriter);
+        assertTrue(asyncWriter.submit(begin + 5000, newMetricNodes(1)));
+        waitUntilDrained(asyncWriter);
+        // Wait for the last batch to be written (the queue is empty once the batch is taken).
+        Thread.sleep(200);
+
+        String baseFileName = MetricWriter.formMetricFileName(SentinelConfig.getAppName(), PidUtil.getPid());
+        MetricSearcher searcher = new MetricSearcher(baseDir, baseFileName);
+        assertEquals(4, searcher.findByTimeAndResource(begin, begin + 5000, "resourceA").size());
+        List<MetricNode> dropped = searcher.findByTimeAndResource(begin, begin + 5000,
+            Constants.METRIC_DROPPED_RESOURCE_NAME);
+        assertEquals(1, dropped.size());
+        assertEquals(3, dropped.get(0).getBlockQps());
+        writer.close();
+    }
+
+    private void waitUntilDrained(AsyncMetricWriter asyncWriter) throws InterruptedException {
+        for (int i = 0; i < 100 && asyncWriter.getPendingCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, asyncWriter.getPendingCount());
+    }
+
+    private List<MetricNode> newMetricNodes(int count) {
+        List<MetricNode> nodes = new ArrayList<MetricNode>();
+        for (int i = 0; i < count; i++) {
+            MetricNode node = new MetricNode();
+            node.setResource(i == 0 ? "resourceA" : "resourceB");
+            node.setPassQps(i + 1);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+}
@@ -34,4 +34,41 @@ public class MetricNodeTest {
         assertEquals(2, node.getConcurrency());
         assertEquals(1, node.getSuccessQps());
     }
+
+    @Test
+    public void testRtPercentilesString() {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(1564382218000L);
+        node.setResource("foo");
+        node.setPassQps(10);
+        assertFalse(node.hasRtPercentiles());
+        // Percentiles should not be appended if absent, for compatibility.
+        assertEquals(10, node.toThinString().split("\\|").length);
+
+        node.setRtPercentiles(2, 5, 100, 800);
+        MetricNode thin = MetricNode.fromThinString(node.toThinString());
+        assertEquals(2, thin.getP50Rt());
+        assertEquals(5, thin.getP90Rt());
+        assertEquals(100, thin.getP99Rt());
+        assertEquals(800, thin.getP999Rt());
+
+        String fat = node.toFatString();
+        MetricNode fromFat = MetricNode.fromFatString(fat.substring(0, fat.length() - 1));
+        assertEquals(100, fromFat.getP99Rt());
+        assertEquals(800, fromFat.getP999Rt());
+        assertEquals(10, fromFat.getPassQps());
+    }
+
+    @Test
+    public void testSubMillisecondRtPercentiles() {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(1564382218000L);
+        node.setResource("foo");
+        // Percentiles of sub-millisecond RT are all 0, which should still be present.
+        node.setRtPercentiles(0, 0, 0, 0);
+        assertTrue(node.hasRtPercentiles());
+        MetricNode thin = MetricNode.fromThinString(node.toThinString());
+        assertTrue(thin.hasRtPercentiles());
+        assertEquals(0, thin.getP999Rt());
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.util.PidUtil;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for searching metrics written by {@link MetricWriter} in both text and binary format.
+ */
+public class MetricSearcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSearchTextMetrics() throws Exception {
+        testWriteAndSearch(false);
+    }
+
+    @Test
+    public void testSearchBinaryMetrics() throws Exception {
+        testWriteAndSearch(true);
+        String baseFileName = MetricWriter.formMetricFileName(SentinelConfig.getAppName(), PidUtil.getPid());
+        String baseDir = folder.getRoot().getAbsolutePath() + File.separator;
+        List<String> files = MetricWriter.listMetricFiles(baseDir, baseFileName);
+        assertFalse(files.isEmpty());
+        assertTrue(MetricBinaryFormat.isBinaryFile(files.get(0)));
+        assertTrue(new File(MetricWriter.formDictFileName(files.get(0))).exists());
+    }
+
+    @Test
+    public void testConcurrentSearch() throws Exception {
+        String baseDir = folder.getRoot().getAbsolutePath() + File.separator;
+        // Small files, so that metrics are rotated into several files.
+        MetricWriter writer = new MetricWriter(baseDir, 2048, 100, true);
+        final long begin = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        int seconds = 100;
+        for (int i = 0; i < seconds; i++) {
+            List<MetricNode> nodes = new ArrayList<MetricNode>();
+            nodes.add(newMetricNode("resourceA", i));
+            nodes.add(newMetricNode("resourceB", i));
+            writer.write(begin + i * 1000, nodes);
+        }
+
+        String baseFileName = MetricWriter.formMetricFileName(SentinelConfig.getAppName(), PidUtil.getPid());
+        final MetricSearcher searcher = new MetricSearcher(baseDir, baseFileName);
+        assertTrue(MetricWriter.listMetricFiles(baseDir, baseFileName).size() > 1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int t = 0; t < 8; t++) {
+            final int offset = t * 10;
+            futures.add(pool.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    for (int j = 0; j < 50; j++) {
+                        long from = begin + (offset + j % 10) * 1000L;
+                        List<MetricNode> nodes = searcher.findByTimeAndResource(from, from + 9000, "resourceB");
+                        if (nodes.size() != 10 || nodes.get(0).getTimestamp() != from
+                            || !"resourceB".equals(nodes.get(9).getResource())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }));
+        }
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        pool.shutdown();
+
+        // Metrics written later (into new files) should be found.
+        for (int i = seconds; i < seconds + 20; i++) {
+            List<MetricNode> nodes = new ArrayList<MetricNode>();
+            nodes.add(newMetricNode("resourceC", i));
+            writer.write(begin + i * 1000, nodes);
+        }
+        writer.close();
+        List<MetricNode> nodes = searcher.findByTimeAndResource(begin + seconds * 1000, begin + 200 * 1000,
+            "resourceC");
+        assertEquals(20, nodes.size());
+    }
+
+    private void testWriteAndSearch(boolean binary) throws Exception {
+        String baseDir = folder.getRoot().getAbsolutePath() + File.separator;
+        MetricWriter writer = new MetricWriter(baseDir, 1024 * 1024, 6, binary);
+        long begin = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        int seconds = 10;
+        for (int i = 0; i < seconds; i++) {
+            List<MetricNode> nodes = new ArrayList<MetricNode>();
+            nodes.add(newMetricNode("resourceA", i));
+            nodes.add(newMetricNode("resource|B", i));
+            writer.write(begin + i * 1000, nodes);
+        }
+        writer.close();
+
+        String baseFileName = MetricWriter.formMetricFileName(SentinelConfig.getAppName(), PidUtil.getPid());
+        MetricSearcher searcher = new MetricSearcher(baseDir, baseFileName);
+
+        List<MetricNode> nodes = searcher.findByTimeAndResource(begin + 3000, begin + 5000, null);
+        assertEquals(6, nodes.size());
+        assertEquals(begin + 3000, nodes.get(0).getTimestamp());
+        assertEquals(begin + 5000, nodes.get(5).getTimestamp());
+
+        nodes = searcher.findByTimeAndResource(begin + 2000, begin + 8000, "resourceA");
+        assertEquals(7, nodes.size());
+        MetricNode node = nodes.get(1);
+        assertEquals("resourceA", node.getResource());
+        assertEquals(begin + 3000, node.getTimestamp());
+        assertEquals(3, node.getPassQps());
+        assertEquals(1, node.getBlockQps());
+        assertEquals(2, node.getSuccessQps());
+        assertEquals(4, node.getExceptionQps());
+        assertEquals(5, node.getRt());
+        assertEquals(6, node.getOccupiedPassQps());
+        assertEquals(7, node.getConcurrency());
+        assertEquals(8, node.getClassification());
+        assertEquals(13, node.getP999Rt());
+
+        // Records of the same second are never split.
+        nodes = searcher.find(begin + 7000, 3);
+        assertEquals(4, nodes.size());
+        assertEquals(begin + 8000, nodes.get(3).getTimestamp());
+
+        assertNull(searcher.find(begin + seconds * 1000, 10));
+    }
+
+    private MetricNode newMetricNode(String resource, int i) {
+        MetricNode node = new MetricNode();
+        node.setResource(resource);
+        node.setPassQps(i);
+        node.setBlockQps(1);
+        node.setSuccessQps(2);
+        node.setExceptionQps(4);
+        node.setRt(5);
+        node.setOccupiedPassQps(6);
+        node.setConcurrency(7);
+        node.setClassification(8);
+        node.setRtPercentiles(10, 11, 12, 13);
+        return node;
+    }
+}
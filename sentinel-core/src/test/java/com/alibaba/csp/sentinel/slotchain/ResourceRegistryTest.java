@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.lang.reflect.Method;
+
+import com.alibaba.csp.sentinel.EntryType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ResourceRegistry} and {@link ResourceTable}.
+ */
+public class ResourceRegistryTest {
+
+    @Test
+    public void testRegister() throws Exception {
+        String name = "testResourceRegistry";
+        assertEquals(ResourceRegistry.UNREGISTERED, ResourceRegistry.idOf(name));
+
+        int id = ResourceRegistry.register(name);
+        assertTrue(id >= 0);
+        assertEquals(id, ResourceRegistry.register(name));
+        assertEquals(id, ResourceRegistry.idOf(name));
+        assertEquals(name, ResourceRegistry.nameOf(id));
+        assertTrue(ResourceRegistry.size() > id);
+
+        // Only the resource name is considered.
+        assertEquals(id, new StringResourceWrapper(name, EntryType.IN).getResourceId());
+        assertEquals(id, new StringResourceWrapper(name, EntryType.OUT).getResourceId());
+        Method method = ResourceRegistryTest.class.getMethod("testRegister");
+        MethodResourceWrapper methodResource = new MethodResourceWrapper(method, EntryType.IN);
+        assertNotEquals(id, methodResource.getResourceId());
+        assertEquals(methodResource.getName(), ResourceRegistry.nameOf(methodResource.getResourceId()));
+    }
+
+    @Test
+    public void testResourceTable() {
+        ResourceTable<String> table = new ResourceTable<>();
+        assertNull(table.get(ResourceRegistry.UNREGISTERED));
+        assertNull(table.get(5000));
+
+        table.set(1, "a");
+        table.set(5000, "b");
+        assertEquals("a", table.get(1));
+        assertEquals("b", table.get(5000));
+        assertNull(table.get(2));
+        assertNull(table.get(1 << 20));
+
+        assertEquals("a", table.putIfAbsent(1, "c"));
+        assertNull(table.putIfAbsent(2, "c"));
+        assertEquals("c", table.get(2));
+
+        table.clear();
+        assertNull(table.get(1));
+        assertNull(table.get(5000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetInvalidId() {
+        new ResourceTable<String>().set(ResourceRegistry.UNREGISTERED, "a");
+    }
+}
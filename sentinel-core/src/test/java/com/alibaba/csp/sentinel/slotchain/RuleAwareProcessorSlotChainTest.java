@@ -0,0 +1,176 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.util.function.BiConsumer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link RuleAwareProcessorSlotChain}.
+ */
+public class RuleAwareProcessorSlotChainTest {
+
+    private static final List<String> TRACE = Collections.synchronizedList(new ArrayList<String>());
+    private static volatile boolean hasRules = false;
+
+    @After
+    public void tearDown() {
+        TRACE.clear();
+        hasRules = false;
+    }
+
+    @Test
+    public void testLeaveOutSlotsWithoutRules() throws Throwable {
+        List<AbstractLinkedProcessorSlot<?>> shared = Arrays.<AbstractLinkedProcessorSlot<?>>asList(
+            new TraceTestSlot("statistic"), new CheckingTestSlot());
+        RuleAwareProcessorSlotChain.Template template = new RuleAwareProcessorSlotChain.Template(shared);
+        RuleAwareProcessorSlotChain chain = template.newChain(
+            Collections.<AbstractLinkedProcessorSlot<?>>singletonList(new TraceTestSlot("head")));
+        ResourceWrapper resource = new StringResourceWrapper("testLeaveOutSlotsWithoutRules", EntryType.IN);
+        Context context = new Context(null, "testLeaveOutSlotsWithoutRules");
+        // Links of the shared slots never change.
+        AbstractLinkedProcessorSlot<?> link = shared.get(0).getNext();
+
+        exit(chain, context, resource, entry(chain, context, resource));
+        assertEquals(Arrays.asList("head", "statistic", "head", "statistic"), TRACE);
+
+        // The chain should be recompiled once rules are updated.
+        TRACE.clear();
+        hasRules = true;
+        exit(chain, context, resource, entry(chain, context, resource));
+        assertFalse(TRACE.contains("checking"));
+        RuleVersion.increment();
+        Entry entry = entry(chain, context, resource);
+        assertEquals(Arrays.asList("head", "statistic", "head", "statistic", "head", "statistic", "checking"), TRACE);
+
+        // The exit goes through the same slots as the entry, even if rules are updated meanwhile.
+        TRACE.clear();
+        hasRules = false;
+        RuleVersion.increment();
+        exit(chain, context, resource, entry);
+        assertEquals(Arrays.asList("head", "statistic", "checking"), TRACE);
+        TRACE.clear();
+        exit(chain, context, resource, entry(chain, context, resource));
+        assertFalse(TRACE.contains("checking"));
+
+        // Chains share the same slot instances.
+        RuleAwareProcessorSlotChain chain2 = template.newChain(
+            Collections.<AbstractLinkedProcessorSlot<?>>singletonList(new TraceTestSlot("head2")));
+        TRACE.clear();
+        exit(chain2, context, resource, entry(chain2, context, resource));
+        assertEquals(Arrays.asList("head2", "statistic", "head2", "statistic"), TRACE);
+        assertSame(link, shared.get(0).getNext());
+    }
+
+    @Test
+    public void testAddSlot() throws Throwable {
+        RuleAwareProcessorSlotChain chain = new RuleAwareProcessorSlotChain.Template(
+            Collections.<AbstractLinkedProcessorSlot<?>>singletonList(new TraceTestSlot("statistic")))
+            .newChain(Collections.<AbstractLinkedProcessorSlot<?>>singletonList(new TraceTestSlot("head")));
+        chain.addLast(new TraceTestSlot("last"));
+        chain.addFirst(new TraceTestSlot("first"));
+        ResourceWrapper resource = new StringResourceWrapper("testAddSlot", EntryType.IN);
+        Context context = new Context(null, "testAddSlot");
+
+        entry(chain, context, resource);
+        assertEquals(Arrays.asList("first", "head", "statistic", "last"), TRACE);
+    }
+
+    private static Entry entry(ProcessorSlotChain chain, Context context, ResourceWrapper resource)
+        throws Throwable {
+        Entry entry = new TestEntry(resource);
+        context.setCurEntry(entry);
+        chain.entry(context, resource, null, 1, false);
+        return entry;
+    }
+
+    private static void exit(ProcessorSlotChain chain, Context context, ResourceWrapper resource, Entry entry) {
+        context.setCurEntry(entry);
+        chain.exit(context, resource, 1);
+    }
+
+    private static class TestEntry extends Entry {
+
+        TestEntry(ResourceWrapper resourceWrapper) {
+            super(resourceWrapper);
+        }
+
+        @Override
+        public void exit(int count, Object... args) {
+        }
+
+        @Override
+        protected Entry trueExit(int count, Object... args) {
+            return null;
+        }
+
+        @Override
+        public Node getLastNode() {
+            return null;
+        }
+
+        @Override
+        public void whenTerminate(BiConsumer<Context, Entry> handler) {
+        }
+    }
+
+    private static class TraceTestSlot extends AbstractLinkedProcessorSlot<Object> {
+
+        private final String name;
+
+        TraceTestSlot(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object param, int count,
+                          boolean prioritized, Object... args) throws Throwable {
+            TRACE.add(name);
+            fireEntry(context, resourceWrapper, param, count, prioritized, args);
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            TRACE.add(name);
+            fireExit(context, resourceWrapper, count, args);
+        }
+    }
+
+    private static class CheckingTestSlot extends TraceTestSlot implements RuleCheckingSlot {
+
+        CheckingTestSlot() {
+            super("checking");
+        }
+
+        @Override
+        public boolean hasRules(ResourceWrapper resourceWrapper) {
+            return hasRules;
+        }
+    }
+}
@@ -74,8 +74,10 @@ public class DefaultSlotChainBuilderTest {
         next = next.getNext();
         assertTrue(next instanceof DegradeSlot);
 
+        // The singleton slots are linked to the dispatchers of rule-aware slot chains if those are built
+        // in the same JVM, which lead to no more slots here.
         next = next.getNext();
-        assertNull(next);
+        assertTrue(next == null || next.getNext() == null);
 
         // Build again to verify different instances
         ProcessorSlotChain slotChain2 = builder.build();
@@ -1,5 +1,8 @@
 package com.alibaba.csp.sentinel.slots.block;
 
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 import org.junit.Assert;
 import org.junit.Before;
@@ -75,6 +78,21 @@ public class RuleManagerTest {
         // Verify the results
         assertEquals(((Map)regexCacheRules.get(ruleManager)).size(), 0);
     }
+    @Test
+    public void testGetRulesByResourceId() {
+        ruleManager.updateRules(generateFlowRules(false));
+        ResourceWrapper resource = new StringResourceWrapper("rule2", EntryType.IN);
+        List<FlowRule> rules = ruleManager.getRules(resource);
+        assertEquals(1, rules.size());
+        // The matching result should be cached.
+        assertSame(rules, ruleManager.getRules(resource));
+        assertTrue(ruleManager.getRules(new StringResourceWrapper("rule3", EntryType.IN)).isEmpty());
+
+        // The cache should be invalidated when rules are updated.
+        ruleManager.updateRules(new HashMap<String, List<FlowRule>>());
+        assertTrue(ruleManager.getRules(resource).isEmpty());
+    }
+
     @Test
     public void testValidRegexRule() {
         // Setup
@@ -91,6 +91,11 @@ public class DegradeRuleManagerTest {
             .setTimeWindow(10)
             .setStatIntervalMs(0)
             .setMinRequestAmount(20);
+        DegradeRule rule8 = new DegradeRule("Sentinel")
+            .setCount(100)
+            .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+            .setRtPercentile(101)
+            .setTimeWindow(10);
         assertFalse(DegradeRuleManager.isValidRule(rule1));
         assertFalse(DegradeRuleManager.isValidRule(rule2));
         assertFalse(DegradeRuleManager.isValidRule(rule3));
@@ -100,5 +105,7 @@ public class DegradeRuleManagerTest {
         assertFalse(DegradeRuleManager.isValidRule(rule5));
         assertFalse(DegradeRuleManager.isValidRule(rule6));
         assertFalse(DegradeRuleManager.isValidRule(rule7));
+        assertFalse(DegradeRuleManager.isValidRule(rule8));
+        assertTrue(DegradeRuleManager.isValidRule(rule8.setRtPercentile(99.9d)));
     }
 }
\ No newline at end of file
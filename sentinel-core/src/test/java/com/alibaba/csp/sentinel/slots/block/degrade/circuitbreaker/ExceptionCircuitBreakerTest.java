@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -86,4 +87,22 @@ public class ExceptionCircuitBreakerTest extends AbstractTimeBasedTest {
             assertTrue(entryAndSleepFor(mocked, resource, 100));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testErrorCounterRunningTotals() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            ExceptionCircuitBreaker.SimpleErrorCounterLeapArray stat =
+                new ExceptionCircuitBreaker.SimpleErrorCounterLeapArray(1, 1000);
+            stat.addRequest(stat.currentWindow().value(), true);
+            stat.addRequest(stat.currentWindow().value(), false);
+            assertEquals(1, stat.errorCount());
+            assertEquals(2, stat.totalCount());
+
+            sleep(mocked, 1000);
+            stat.addRequest(stat.currentWindow().value(), false);
+            assertEquals(0, stat.errorCount());
+            assertEquals(1, stat.totalCount());
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.MockedStatic;
 import java.util.ArrayList;
 import java.util.Collections;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -59,4 +60,35 @@ public class ResponseTimeCircuitBreakerTest extends AbstractTimeBasedTest {
         }
     }
 
+    @Test
+    public void testSlowRequestRunningTotals() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            ResponseTimeCircuitBreaker.SlowRequestLeapArray stat =
+                new ResponseTimeCircuitBreaker.SlowRequestLeapArray(2, 1000);
+            stat.addRequest(stat.currentWindow().value(), true);
+            stat.addRequest(stat.currentWindow().value(), false);
+            sleep(mocked, 500);
+            stat.addRequest(stat.currentWindow().value(), true);
+            assertEquals(2, stat.slowCount());
+            assertEquals(3, stat.totalCount());
+
+            // The first bucket is rotated, so its counts should be removed from the totals.
+            sleep(mocked, 500);
+            stat.addRequest(stat.currentWindow().value(), false);
+            assertEquals(1, stat.slowCount());
+            assertEquals(2, stat.totalCount());
+
+            // All buckets are deprecated after a long idle period.
+            sleep(mocked, 3000);
+            stat.currentWindow();
+            assertEquals(0, stat.slowCount());
+            assertEquals(0, stat.totalCount());
+
+            stat.addRequest(stat.currentWindow().value(), true);
+            stat.resetCurrentWindow();
+            assertEquals(0, stat.slowCount());
+            assertEquals(0, stat.totalCount());
+        }
+    }
 }
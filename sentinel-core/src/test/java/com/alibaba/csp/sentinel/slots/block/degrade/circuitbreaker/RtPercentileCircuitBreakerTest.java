@@ -0,0 +1,145 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for {@link RtPercentileCircuitBreaker}.
+ */
+public class RtPercentileCircuitBreakerTest extends AbstractTimeBasedTest {
+
+    @Before
+    public void setUp() {
+        DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+    }
+
+    @Test
+    public void testPercentileExceedsThreshold() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            String resource = "testPercentileExceedsThreshold";
+            DegradeRule rule = new DegradeRule(resource)
+                .setCount(50)
+                .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+                .setRtPercentile(90)
+                .setMinRequestAmount(10)
+                .setStatIntervalMs(20000)
+                .setTimeWindow(5);
+            DegradeRuleManager.loadRules(Collections.singletonList(rule));
+
+            for (int i = 0; i < 18; i++) {
+                assertTrue(entryAndSleepFor(mocked, resource, 2));
+            }
+            // p90 of 20 requests is still within the threshold with 2 slow requests.
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertTrue(entryAndSleepFor(mocked, resource, 2));
+
+            // p90 exceeds the threshold with the 3rd slow request.
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertFalse(entryAndSleepFor(mocked, resource, 2));
+
+            // Half-open after the recovery timeout, and a fast probe request closes the circuit breaker.
+            sleepSecond(mocked, 5);
+            assertTrue(entryAndSleepFor(mocked, resource, 2));
+            assertTrue(entryAndSleepFor(mocked, resource, 2));
+        }
+    }
+
+    @Test
+    public void testPercentileJustUnderThreshold() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            String resource = "testPercentileJustUnderThreshold";
+            DegradeRule rule = new DegradeRule(resource)
+                .setCount(100)
+                .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+                .setRtPercentile(99)
+                .setMinRequestAmount(10)
+                .setStatIntervalMs(20000)
+                .setTimeWindow(5);
+            DegradeRuleManager.loadRules(Collections.singletonList(rule));
+
+            for (int i = 0; i < 98; i++) {
+                assertTrue(entryAndSleepFor(mocked, resource, 2));
+            }
+            // The true p99 is 98 ms, which shares the histogram bucket [96, 103] with the threshold.
+            assertTrue(entryAndSleepFor(mocked, resource, 98));
+            assertTrue(entryAndSleepFor(mocked, resource, 98));
+            assertTrue(entryAndSleepFor(mocked, resource, 2));
+        }
+    }
+
+    @Test
+    public void testMinRequestAmount() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            String resource = "testPercentileMinRequestAmount";
+            DegradeRule rule = new DegradeRule(resource)
+                .setCount(50)
+                .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+                .setRtPercentile(99)
+                .setMinRequestAmount(3)
+                .setStatIntervalMs(20000)
+                .setTimeWindow(5);
+            DegradeRuleManager.loadRules(Collections.singletonList(rule));
+
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertFalse(entryAndSleepFor(mocked, resource, 200));
+        }
+    }
+
+    @Test
+    public void testFastRequestReachingMinRequestAmount() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            String resource = "testFastRequestReachingMinRequestAmount";
+            DegradeRule rule = new DegradeRule(resource)
+                .setCount(50)
+                .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+                .setRtPercentile(50)
+                .setMinRequestAmount(3)
+                .setStatIntervalMs(20000)
+                .setTimeWindow(5);
+            DegradeRuleManager.loadRules(Collections.singletonList(rule));
+
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            // The fast request makes the amount reach the minimum, while p50 is already above the threshold.
+            assertTrue(entryAndSleepFor(mocked, resource, 2));
+            assertFalse(entryAndSleepFor(mocked, resource, 2));
+        }
+    }
+}
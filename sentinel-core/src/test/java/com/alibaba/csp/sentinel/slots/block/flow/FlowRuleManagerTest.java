@@ -18,11 +18,21 @@ package com.alibaba.csp.sentinel.slots.block.flow;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceRegistry;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AdaptiveConcurrencyController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.TokenBucketController;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Weihua
@@ -76,4 +86,71 @@ public class FlowRuleManagerTest {
         }
         latchEnd.await(10, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void testGetRulesWithoutRegistering() {
+        String resource = "testGetRulesWithoutRegistering";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resource).setCount(10)));
+        try {
+            assertEquals(1, FlowRuleManager.getFlowRules(resource).size());
+            assertTrue(FlowRuleManager.getFlowRules("unknownResource").isEmpty());
+            // Querying rules by name should never register the resource.
+            assertEquals(ResourceRegistry.UNREGISTERED, ResourceRegistry.idOf(resource));
+            assertEquals(ResourceRegistry.UNREGISTERED, ResourceRegistry.idOf("unknownResource"));
+
+            StringResourceWrapper wrapper = new StringResourceWrapper(resource, EntryType.IN);
+            assertEquals(1, FlowRuleManager.getFlowRules(wrapper).size());
+            assertEquals(wrapper.getResourceId(), ResourceRegistry.idOf(resource));
+            assertEquals(1, FlowRuleManager.getFlowRules(resource).size());
+        } finally {
+            FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+        }
+    }
+
+    @Test
+    public void testLoadTokenBucketRule() {
+        FlowRule rule = new FlowRule("testLoadTokenBucketRule")
+            .setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET)
+            .setBurstCount(20)
+            .setRefillIntervalMs(500);
+        assertTrue(FlowRuleUtil.isValidRule(rule));
+        assertFalse(FlowRuleUtil.isValidRule(new FlowRule("a").setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET).setRefillIntervalMs(0)));
+        assertFalse(FlowRuleUtil.isValidRule(new FlowRule("a").setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET).setBurstCount(-1)));
+
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        try {
+            List<FlowRule> rules = FlowRuleManager.getFlowRules("testLoadTokenBucketRule");
+            assertEquals(1, rules.size());
+            assertTrue(rules.get(0).getRater() instanceof TokenBucketController);
+        } finally {
+            FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+        }
+    }
+
+    @Test
+    public void testLoadAdaptiveConcurrencyRule() {
+        FlowRule rule = new FlowRule("testLoadAdaptiveConcurrencyRule")
+            .setGrade(RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY)
+            .setCount(20)
+            .setMinConcurrency(2)
+            .setMaxConcurrency(200);
+        assertTrue(FlowRuleUtil.isValidRule(rule));
+        assertFalse(FlowRuleUtil.isValidRule(new FlowRule("a").setGrade(RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY)
+            .setCount(20).setMinConcurrency(10).setMaxConcurrency(5)));
+        assertFalse(FlowRuleUtil.isValidRule(new FlowRule("a").setGrade(RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY)
+            .setCount(20).setRtTolerance(0.5)));
+
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        try {
+            List<FlowRule> rules = FlowRuleManager.getFlowRules("testLoadAdaptiveConcurrencyRule");
+            assertEquals(1, rules.size());
+            assertTrue(rules.get(0).getRater() instanceof AdaptiveConcurrencyController);
+            assertEquals(20, ((AdaptiveConcurrencyController)rules.get(0).getRater()).getLimit());
+        } finally {
+            FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+        }
+    }
 }
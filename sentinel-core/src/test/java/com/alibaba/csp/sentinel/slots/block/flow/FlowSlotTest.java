@@ -21,9 +21,7 @@ import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextTestUtil;
 import com.alibaba.csp.sentinel.node.DefaultNode;
-import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
-import com.alibaba.csp.sentinel.util.function.Function;
 
 import org.junit.After;
 import org.junit.Before;
@@ -55,8 +53,8 @@ public class FlowSlotTest {
         FlowSlot flowSlot = new FlowSlot(checker);
         Context context = mock(Context.class);
         DefaultNode node = mock(DefaultNode.class);
-        doCallRealMethod().when(checker).checkFlow(any(Function.class), any(ResourceWrapper.class), any(Context.class),
-            any(DefaultNode.class), anyInt(), anyBoolean());
+        doCallRealMethod().when(checker).checkFlow(anyCollection(), any(Context.class), any(DefaultNode.class),
+            anyInt(), anyBoolean());
 
         String resA = "resAK";
         String resB = "resBK";
@@ -81,8 +79,8 @@ public class FlowSlotTest {
         FlowSlot flowSlot = new FlowSlot(checker);
         Context context = mock(Context.class);
         DefaultNode node = mock(DefaultNode.class);
-        doCallRealMethod().when(checker).checkFlow(any(Function.class), any(ResourceWrapper.class), any(Context.class),
-            any(DefaultNode.class), anyInt(), anyBoolean());
+        doCallRealMethod().when(checker).checkFlow(anyCollection(), any(Context.class), any(DefaultNode.class),
+            anyInt(), anyBoolean());
 
         String resA = "resAK";
         FlowRule rule = new FlowRule(resA).setCount(10);
@@ -0,0 +1,138 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+/**
+ * Test cases for {@link AdaptiveConcurrencyController}.
+ */
+public class AdaptiveConcurrencyControllerTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testPassByCurrentConcurrency() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10, 1, 100, 1.5);
+            Node node = mock(Node.class);
+
+            when(node.curThreadNum()).thenReturn(9);
+            assertTrue(controller.canPass(node, 1));
+            assertFalse(controller.canPass(node, 2));
+            when(node.curThreadNum()).thenReturn(10);
+            assertFalse(controller.canPass(node, 1));
+            assertEquals(10, controller.getLimit());
+        }
+    }
+
+    @Test
+    public void testLimitGrowsWhenRtIsStable() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10, 1, 100, 1.5);
+            Node node = mock(Node.class);
+            when(node.minRt()).thenReturn(10d);
+            when(node.avgRt()).thenReturn(12d);
+
+            int lastLimit = controller.getLimit();
+            for (int i = 0; i < 50; i++) {
+                when(node.curThreadNum()).thenReturn(controller.getLimit());
+                controller.canPass(node, 1);
+                sleep(mocked, AdaptiveConcurrencyController.UPDATE_INTERVAL_MS);
+            }
+            assertTrue(controller.getLimit() > lastLimit);
+            assertTrue(controller.getLimit() <= 100);
+            assertEquals(10, controller.getBaselineRt(), 0.01);
+        }
+    }
+
+    @Test
+    public void testLimitNotGrowWhenUnderUtilized() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(20, 1, 100, 1.5);
+            Node node = mock(Node.class);
+            when(node.minRt()).thenReturn(10d);
+            when(node.avgRt()).thenReturn(10d);
+            when(node.curThreadNum()).thenReturn(2);
+
+            for (int i = 0; i < 50; i++) {
+                controller.canPass(node, 1);
+                sleep(mocked, AdaptiveConcurrencyController.UPDATE_INTERVAL_MS);
+            }
+            assertEquals(20, controller.getLimit());
+        }
+    }
+
+    @Test
+    public void testLimitShrinksWhenRtGrows() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(80, 5, 100, 1.5);
+            Node node = mock(Node.class);
+            when(node.minRt()).thenReturn(10d);
+            when(node.avgRt()).thenReturn(10d);
+            when(node.curThreadNum()).thenReturn(80);
+            controller.canPass(node, 1);
+            sleep(mocked, AdaptiveConcurrencyController.UPDATE_INTERVAL_MS);
+
+            // Latency grows a lot (e.g. downstream becomes slow), and the limit should shrink a lot.
+            when(node.minRt()).thenReturn(40d);
+            when(node.avgRt()).thenReturn(100d);
+            int lastLimit = controller.getLimit();
+            for (int i = 0; i < 100; i++) {
+                controller.canPass(node, 1);
+                sleep(mocked, AdaptiveConcurrencyController.UPDATE_INTERVAL_MS);
+            }
+            assertTrue(controller.getLimit() < lastLimit);
+            assertTrue(controller.getLimit() < 10);
+            assertTrue(controller.getLimit() >= 5);
+            // The baseline should slowly follow the new no-load response time.
+            assertTrue(controller.getBaselineRt() > 30);
+        }
+    }
+
+    @Test
+    public void testLimitNotUpdatedWithinInterval() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(50, 1, 100, 1.5);
+            Node node = mock(Node.class);
+            when(node.minRt()).thenReturn(10d);
+            when(node.avgRt()).thenReturn(100d);
+            when(node.curThreadNum()).thenReturn(0);
+
+            controller.canPass(node, 1);
+            int limit = controller.getLimit();
+            assertTrue(limit < 50);
+            for (int i = 0; i < 10; i++) {
+                controller.canPass(node, 1);
+            }
+            assertEquals(limit, controller.getLimit());
+        }
+    }
+}
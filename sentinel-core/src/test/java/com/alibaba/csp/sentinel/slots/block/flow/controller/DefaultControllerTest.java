@@ -2,8 +2,12 @@ package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.PriorityWaitException;
 import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -41,4 +45,84 @@ public class DefaultControllerTest {
     @Test
     public void testCanPassForQpsMultiThread() {
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPrioritizedWaitInQueue() {
+        double threshold = 10;
+        TrafficShapingController controller = new DefaultController(threshold, RuleConstant.FLOW_GRADE_QPS, 1);
+        Node node = mock(Node.class);
+        when(node.passQps()).thenReturn(threshold);
+        when(node.tryOccupyNext(anyLong(), anyInt(), anyDouble())).thenReturn(50L);
+
+        long start = System.nanoTime();
+        try {
+            controller.canPass(node, 1, true);
+            fail("should wait for the occupied window");
+        } catch (PriorityWaitException ex) {
+            assertEquals(50, ex.getWaitInMs());
+        }
+        assertTrue(System.nanoTime() - start >= 45 * 1000 * 1000);
+        verify(node).addOccupiedPass(1);
+        // Non-prioritized requests are still rejected immediately.
+        assertFalse(controller.canPass(node, 1, false));
+    }
+
+    @Test
+    public void testRejectPrioritizedWhenQueueFull() throws Exception {
+        double threshold = 10;
+        final TrafficShapingController controller = new DefaultController(threshold, RuleConstant.FLOW_GRADE_QPS, 1);
+        final Node node = mock(Node.class);
+        when(node.passQps()).thenReturn(threshold);
+        when(node.tryOccupyNext(anyLong(), anyInt(), anyDouble())).thenReturn(300L);
+
+        final AtomicBoolean waited = new AtomicBoolean(false);
+        final CountDownLatch latch = new CountDownLatch(1);
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    controller.canPass(node, 1, true);
+                } catch (PriorityWaitException ex) {
+                    waited.set(true);
+                }
+                latch.countDown();
+            }
+        }).start();
+        Thread.sleep(100);
+
+        // The only place of the queue is taken, so the request is rejected without occupying tokens.
+        assertFalse(controller.canPass(node, 1, true));
+        latch.await();
+        assertTrue(waited.get());
+        verify(node, times(1)).addOccupiedPass(1);
+
+        // The place is given back after the waiting request is released.
+        try {
+            controller.canPass(node, 1, true);
+            fail("should wait for the occupied window");
+        } catch (PriorityWaitException ex) {
+            assertEquals(300, ex.getWaitInMs());
+        }
+    }
+
+    @Test
+    public void testKeepInterruptedStatusAfterWaitInQueue() {
+        double threshold = 10;
+        TrafficShapingController controller = new DefaultController(threshold, RuleConstant.FLOW_GRADE_QPS, 1);
+        Node node = mock(Node.class);
+        when(node.passQps()).thenReturn(threshold);
+        when(node.tryOccupyNext(anyLong(), anyInt(), anyDouble())).thenReturn(50L);
+
+        long start = System.nanoTime();
+        Thread.currentThread().interrupt();
+        try {
+            controller.canPass(node, 1, true);
+            fail("should wait for the occupied window");
+        } catch (PriorityWaitException ex) {
+            assertEquals(50, ex.getWaitInMs());
+        }
+        // Interruption doesn't end the wait, and the interrupted status is kept for the caller.
+        assertTrue(System.nanoTime() - start >= 45 * 1000 * 1000);
+        assertTrue(Thread.interrupted());
+    }
+}
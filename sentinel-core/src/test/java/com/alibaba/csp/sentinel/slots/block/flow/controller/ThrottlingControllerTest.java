@@ -16,10 +16,12 @@
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.WaitUtil;
 
 import org.junit.Test;
 
@@ -45,6 +47,31 @@ public class ThrottlingControllerTest {
         assertTrue((end - start) > 400);
     }
 
+    @Test
+    public void testThrottlingControllerDeferWait() {
+        ThrottlingController paceController = new ThrottlingController(500, 10d);
+        Node node = mock(Node.class);
+        assertTrue(paceController.canPass(node, 1));
+
+        long start = TimeUtil.currentTimeMillis();
+        WaitUtil.beginDeferring();
+        long waitNanos;
+        try {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(paceController.canPass(node, 1));
+            }
+            // Exceeds the max queueing time.
+            assertFalse(paceController.canPass(node, 6));
+        } finally {
+            waitNanos = WaitUtil.endDeferring();
+        }
+        long end = TimeUtil.currentTimeMillis();
+        // Requests should not be blocked, and the longest wait time should be recorded.
+        assertTrue((end - start) < 200);
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        assertTrue("Unexpected wait time: " + waitMs, waitMs > 300 && waitMs <= 400);
+    }
+
     @Test
     public void testThrottlingControllerQueueTimeout() throws InterruptedException {
         final ThrottlingController paceController = new ThrottlingController(500, 10d);
@@ -0,0 +1,116 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+/**
+ * Test cases for {@link TokenBucketController}.
+ */
+public class TokenBucketControllerTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testBurstAndRefill() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            Node node = mock(Node.class);
+            // 5 tokens per second with a burst allowance of 3.
+            TokenBucketController controller = new TokenBucketController(5, 3, 1000);
+
+            assertTrue(controller.canPass(node, 8));
+            assertFalse(controller.canPass(node, 1));
+
+            sleep(mocked, 1000);
+            assertTrue(controller.canPass(node, 5));
+            assertFalse(controller.canPass(node, 1));
+
+            // Idle for a while, the bucket should be full but never over the capacity.
+            sleep(mocked, 5000);
+            assertFalse(controller.canPass(node, 9));
+            assertTrue(controller.canPass(node, 8));
+            assertFalse(controller.canPass(node, 1));
+        }
+    }
+
+    @Test
+    public void testFractionalCount() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            Node node = mock(Node.class);
+            // One token every 2 seconds.
+            TokenBucketController controller = new TokenBucketController(0.5, 0, 1000);
+
+            assertTrue(controller.canPass(node, 1));
+            assertFalse(controller.canPass(node, 1));
+            sleep(mocked, 1000);
+            assertFalse(controller.canPass(node, 1));
+            sleep(mocked, 1000);
+            assertTrue(controller.canPass(node, 1));
+        }
+    }
+
+    @Test
+    public void testFractionalCountWithoutDrift() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            Node node = mock(Node.class);
+            // One token every 1428.57 ms, so the 7th token is produced at exactly 10 seconds.
+            TokenBucketController controller = new TokenBucketController(0.7, 0, 1000);
+
+            assertTrue(controller.canPass(node, 1));
+            sleep(mocked, 9999);
+            assertTrue(controller.canPass(node, 1));
+            assertFalse(controller.canPass(node, 1));
+            sleep(mocked, 1);
+            assertTrue(controller.canPass(node, 1));
+        }
+    }
+
+    @Test
+    public void testLargeFractionalCount() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 20000);
+            Node node = mock(Node.class);
+            TokenBucketController controller = new TokenBucketController(1500.5, 0, 1000);
+
+            assertTrue(controller.canPass(node, 1501));
+            assertFalse(controller.canPass(node, 1));
+            sleep(mocked, 2000);
+            // 3001 tokens are produced in 2 seconds, capped by the capacity.
+            assertTrue(controller.canPass(node, 1501));
+            assertFalse(controller.canPass(node, 1));
+            sleep(mocked, 1000);
+            assertTrue(controller.canPass(node, 1500));
+        }
+    }
+
+    @Test
+    public void testZeroCount() {
+        Node node = mock(Node.class);
+        TokenBucketController controller = new TokenBucketController(0, 10, 1000);
+        assertFalse(controller.canPass(node, 1));
+        assertTrue(controller.canPass(node, 0));
+    }
+}
@@ -15,17 +15,24 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import org.junit.Test;
 
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
 import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 
 /**
  * @author jialiang.linjl
@@ -64,4 +71,134 @@ public class WarmUpControllerTest extends AbstractTimeBasedTest {
             assertFalse(warmupController.canPass(node, 1));
         }
     }
+
+    @Test
+    public void testWarmUpCurveMatchesGuavaModel() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            double count = 100000;
+            int warmUpPeriodSec = 10;
+            // Guava's SmoothWarmingUp uses a cold factor of 3.
+            int coldFactor = 3;
+            WarmUpController warmupController = new WarmUpController(count, warmUpPeriodSec, coldFactor);
+
+            // Model of Guava's SmoothWarmingUp in seconds.
+            double stableInterval = 1.0 / count;
+            double coldInterval = stableInterval * coldFactor;
+            double thresholdPermits = 0.5 * warmUpPeriodSec / stableInterval;
+            double maxPermits = thresholdPermits + 2.0 * warmUpPeriodSec / (stableInterval + coldInterval);
+            double slope = (coldInterval - stableInterval) / (maxPermits - thresholdPermits);
+
+            Node node = mock(Node.class);
+            setCurrentMillis(mocked, 1000000);
+            // The bucket is full after a long idle period.
+            double storedPermits = maxPermits;
+            long previousPass = 0;
+            double previousRate = 0;
+            for (int second = 0; second < 30; second++) {
+                if (second > 0) {
+                    // Permits of one second are stored unless the system is busy above the threshold,
+                    // and the permits taken in the previous second are consumed.
+                    if (storedPermits < thresholdPermits || previousPass < count / coldFactor) {
+                        storedPermits = Math.min(storedPermits + count, maxPermits);
+                    }
+                    storedPermits = Math.max(0, storedPermits - previousPass);
+                }
+                double expectedRate = storedPermits >= thresholdPermits
+                    ? 1.0 / (stableInterval + (storedPermits - thresholdPermits) * slope) : count;
+
+                // Requests keep coming at the expected rate.
+                when(node.previousPassQps()).thenReturn((double) previousPass);
+                when(node.passQps()).thenReturn(0d);
+                assertTrue(warmupController.canPass(node, 1));
+
+                assertEquals(Math.round(storedPermits), warmupController.getStoredTokens());
+                long allowed = maxAllowedCount(warmupController, node, (long) count);
+                assertEquals(expectedRate, allowed, 1);
+                if (second == 0) {
+                    assertEquals(count / coldFactor, allowed, 1);
+                }
+                // The rate should rise monotonically from the cold rate to the stable rate.
+                assertTrue(allowed >= previousRate);
+                previousRate = allowed;
+                previousPass = (long) expectedRate;
+                sleep(mocked, 1000);
+            }
+            assertEquals((long) count, previousPass);
+        }
+    }
+
+    private long maxAllowedCount(WarmUpController controller, Node node, long max) {
+        long low = 0;
+        long high = max;
+        while (low < high) {
+            long mid = (low + high + 1) >>> 1;
+            when(node.passQps()).thenReturn((double) (mid - 1));
+            if (controller.canPass(node, 1)) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Test
+    public void testSyncTokenOnceUnderContention() throws Exception {
+        final WarmUpController warmupController = new WarmUpController(10, 10, 3);
+        final Node node = mock(Node.class);
+        when(node.passQps()).thenReturn(0d);
+        when(node.previousPassQps()).thenReturn(1d);
+
+        final long now = 1000000;
+        int threadCount = 16;
+        final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    // Static mocks are thread-local, so each thread mocks the same time.
+                    try (MockedStatic<TimeUtil> mocked = Mockito.mockStatic(TimeUtil.class)) {
+                        mocked.when(TimeUtil::currentTimeMillis).thenReturn(now);
+                        barrier.await();
+                        for (int j = 0; j < 1000; j++) {
+                            warmupController.canPass(node, 1);
+                        }
+                    } catch (Throwable e) {
+                        failure.set(e);
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            }).start();
+        }
+        latch.await();
+        assertNull(failure.get());
+
+        // The bucket is filled to the max (100 tokens) and the previous QPS is taken exactly once
+        // in the second. A second filling in the same second would take it again (98 tokens).
+        assertEquals(99, warmupController.getStoredTokens());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeCount() {
+        // The max token would overflow the 32 bits of stored tokens in the token state.
+        new WarmUpController(1e9, 10, 3);
+    }
+
+    @Test
+    public void testLargeCountWithinTokenRange() {
+        WarmUpController warmupController = new WarmUpController(1e8, 10, 3);
+        Node node = mock(Node.class);
+        when(node.passQps()).thenReturn(0d);
+        when(node.previousPassQps()).thenReturn(0d);
+
+        try (MockedStatic<TimeUtil> mocked = Mockito.mockStatic(TimeUtil.class)) {
+            mocked.when(TimeUtil::currentTimeMillis).thenReturn(1000000L);
+            assertTrue(warmupController.canPass(node, 1));
+            // The bucket is filled to the max token: 5e8 + 2 * 10 * 1e8 / 4.
+            assertEquals(1000000000L, warmupController.getStoredTokens());
+        }
+    }
 }
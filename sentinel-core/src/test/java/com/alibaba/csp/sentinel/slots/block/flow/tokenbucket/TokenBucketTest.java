@@ -128,4 +128,35 @@ public class TokenBucketTest extends AbstractTimeBasedTest {
         }
     }
 
+    @Test
+    public void testStrictTokenBucketRefill() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            long testStart = System.currentTimeMillis();
+            setCurrentMillis(mocked, testStart);
+            StrictTokenBucket bucket = new StrictTokenBucket(3, 7, false, 1000);
+
+            assertEquals(3, bucket.refreshTokenAndGetCurrentTokenNum());
+            assertFalse(bucket.tryConsume(4));
+            assertTrue(bucket.tryConsume(3));
+            assertEquals(0, bucket.getCurrentTokenNum());
+
+            // Several units passed, produced tokens should be capped by the capacity.
+            sleep(mocked, 5500);
+            assertTrue(bucket.tryConsume(7));
+            assertFalse(bucket.tryConsume(1));
+
+            // Refreshing repeatedly within the same unit should not produce more tokens.
+            sleep(mocked, 600);
+            assertEquals(3, bucket.refreshTokenAndGetCurrentTokenNum());
+            assertEquals(3, bucket.refreshTokenAndGetCurrentTokenNum());
+
+            // Going backwards in time should not produce tokens.
+            setCurrentMillis(mocked, testStart);
+            assertEquals(3, bucket.refreshTokenAndGetCurrentTokenNum());
+            // Then tokens should be produced following the clock, rather than waiting for it to catch up.
+            sleep(mocked, 1000);
+            assertEquals(6, bucket.refreshTokenAndGetCurrentTokenNum());
+        }
+    }
+
 }
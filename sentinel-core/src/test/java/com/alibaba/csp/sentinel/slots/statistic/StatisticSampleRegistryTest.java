@@ -0,0 +1,112 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link StatisticSampleRegistry}.
+ */
+public class StatisticSampleRegistryTest extends AbstractTimeBasedTest {
+
+    @After
+    public void tearDown() {
+        StatisticSampleRegistry.clear();
+    }
+
+    @Test
+    public void testAddSampledRtAndSuccess() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 30000);
+            StatisticNode node = new StatisticNode();
+            node.addRtAndSuccess(30, 1, 2);
+            node.addRtAndSuccess(10, 1, 0);
+
+            // The sampled request stands for 2 requests, while the request that is not sampled adds nothing.
+            assertEquals(2, (long) node.successQps());
+            assertEquals(30, node.avgRt(), 0.01);
+            assertEquals(30, node.minRt(), 0.01);
+        }
+    }
+
+    @Test
+    public void testSampledStatistics() throws Exception {
+        String resourceName = "testSampledStatistics";
+        StatisticSampleRegistry.setSampleInterval(resourceName, 4);
+        assertEquals(4, StatisticSampleRegistry.getSampleInterval(resourceName));
+
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            // The metric timer reads the minute-level statistics in real time, so mock the time close to it.
+            setCurrentMillis(mocked, System.currentTimeMillis());
+            int count = 4000;
+            for (int i = 0; i < count; i++) {
+                Entry entry = SphU.entry(resourceName);
+                entry.exit();
+            }
+
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(resourceName);
+            assertEquals(4, node.getSampleInterval());
+            // Pass and thread statistics are exact.
+            assertEquals(count, node.totalPass());
+            assertEquals(0, node.curThreadNum());
+            // Success is estimated from the sampled exits.
+            long success = (long) node.successQps();
+            assertEquals(0, success % 4);
+            assertTrue(Math.abs(success - count) < count * 0.2);
+
+            // Disable sampling of existing nodes.
+            StatisticSampleRegistry.setSampleInterval(resourceName, 1);
+            assertEquals(1, node.getSampleInterval());
+            sleep(mocked, 2000);
+            for (int i = 0; i < 10; i++) {
+                SphU.entry(resourceName).exit();
+            }
+            assertEquals(10, (long) node.successQps());
+        }
+    }
+
+    @Test
+    public void testMinRtOfSampledStatistics() throws Exception {
+        String resourceName = "testMinRtOfSampledStatistics";
+        StatisticSampleRegistry.setSampleInterval(resourceName, 4);
+
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 30000);
+            for (int i = 0; i < 100; i++) {
+                Entry entry = SphU.entry(resourceName);
+                sleep(mocked, 5 + i % 2);
+                entry.exit();
+            }
+
+            // The min RT is only of the sampled exits, which are very likely to include a fast one.
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(resourceName);
+            assertEquals(0, (long) node.successQps() % 4);
+            assertEquals(5, node.minRt(), 0.01);
+        }
+    }
+}
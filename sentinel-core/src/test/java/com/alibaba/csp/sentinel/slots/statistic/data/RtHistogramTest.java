@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link RtHistogram}.
+ */
+public class RtHistogramTest {
+
+    @Test
+    public void testBucketIndex() {
+        for (long v = 0; v < 16; v++) {
+            assertEquals(v, RtHistogram.highestValueOf(RtHistogram.indexOf(v)));
+        }
+        assertEquals(RtHistogram.BUCKET_COUNT - 1, RtHistogram.indexOf(Long.MAX_VALUE));
+        assertEquals(0, RtHistogram.indexOf(-1));
+
+        // The highest value of each bucket should be within 12.5% of the recorded value.
+        for (long v = 16; v < 65536; v += 7) {
+            long highest = RtHistogram.highestValueOf(RtHistogram.indexOf(v));
+            assertTrue(highest >= v);
+            assertTrue(highest - v <= v / 8);
+            long lowest = RtHistogram.lowestValueOf(RtHistogram.indexOf(v));
+            assertTrue(lowest <= v);
+            assertEquals(RtHistogram.indexOf(lowest), RtHistogram.indexOf(v));
+            assertTrue(RtHistogram.indexOf(lowest - 1) < RtHistogram.indexOf(v));
+        }
+    }
+
+    @Test
+    public void testPercentile() {
+        RtHistogram histogram = new RtHistogram();
+        assertEquals(0, histogram.percentile(99));
+
+        for (int i = 0; i < 980; i++) {
+            histogram.record(2);
+        }
+        histogram.record(800, 20);
+        assertEquals(1000, histogram.count());
+        assertEquals(2, histogram.percentile(50));
+        assertEquals(2, histogram.percentile(98));
+        // Interpolated within the bucket [768, 831].
+        long p99 = histogram.percentile(99);
+        assertTrue(p99 >= 768 && p99 <= 831);
+        assertTrue(Math.abs(p99 - 800) <= 800 / 16);
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+    }
+
+    @Test
+    public void testMerge() {
+        RtHistogram h1 = new RtHistogram();
+        RtHistogram h2 = new RtHistogram();
+        h1.record(1, 50);
+        h2.record(10, 50);
+
+        long[] counts = new long[RtHistogram.BUCKET_COUNT];
+        h1.addTo(counts);
+        h2.addTo(counts);
+        assertEquals(1, RtHistogram.percentile(counts, 50));
+        assertEquals(10, RtHistogram.percentile(counts, 51));
+        assertEquals(10, RtHistogram.percentile(counts, 100));
+    }
+}
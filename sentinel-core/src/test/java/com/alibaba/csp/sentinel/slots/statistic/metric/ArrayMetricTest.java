@@ -117,4 +117,24 @@ public class ArrayMetricTest {
         });
         assertEquals(0, metricNodes.size());
     }
+
+    @Test
+    public void testRtPercentile() {
+        ArrayMetric metric = new ArrayMetric(2, 1000, false, true);
+        assertEquals(0, metric.rtPercentile(99));
+        for (int i = 0; i < 99; i++) {
+            metric.addRT(2);
+        }
+        metric.addRT(500);
+        assertEquals(2, metric.rtPercentile(50));
+        assertEquals(2, metric.rtPercentile(99));
+        long p999 = metric.rtPercentile(99.9);
+        assertTrue(Math.abs(p999 - 500) <= 500 / 16);
+
+        // RT histogram is disabled by default, and percentiles are not available.
+        ArrayMetric noHistogram = new ArrayMetric(2, 1000, false);
+        noHistogram.addRT(500);
+        assertEquals(-1, noHistogram.rtPercentile(99));
+        assertEquals(-1, new CompactArrayMetric(2, 1000).rtPercentile(99));
+    }
 }
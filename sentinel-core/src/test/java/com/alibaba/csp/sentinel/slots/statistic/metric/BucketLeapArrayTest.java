@@ -16,10 +16,14 @@
 package com.alibaba.csp.sentinel.slots.statistic.metric;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
@@ -215,4 +219,121 @@ public class BucketLeapArrayTest {
 
         assertEquals(1, leapArray.list().size());
     }
+
+    @Test
+    public void testPreallocatedWindowRotation() {
+        BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs, true);
+        assertTrue(leapArray.isPreallocated());
+        // Pre-allocated buckets are deprecated until they are rotated to a valid time.
+        assertEquals(0, leapArray.list().size());
+
+        long time = TimeUtil.currentTimeMillis();
+        long windowStart = time - time % windowLengthInMs;
+        WindowWrap<MetricBucket> window = leapArray.currentWindow(time);
+        assertEquals(windowStart, window.windowStart());
+        window.value().addPass(2);
+
+        // The zeroed spare bucket should be published after a full interval.
+        long nextTime = time + intervalInMs;
+        WindowWrap<MetricBucket> rotated = leapArray.currentWindow(nextTime);
+        assertNotSame(window, rotated);
+        assertEquals(windowStart + intervalInMs, rotated.windowStart());
+        assertEquals(0L, rotated.value().pass());
+
+        // The retired bucket should be reused as the next spare.
+        WindowWrap<MetricBucket> reused = leapArray.currentWindow(nextTime + intervalInMs);
+        assertSame(window, reused);
+        assertEquals(windowStart + 2 * intervalInMs, reused.windowStart());
+        assertEquals(0L, reused.value().pass());
+
+        // Outdated time should not pollute the current bucket.
+        WindowWrap<MetricBucket> outdated = leapArray.currentWindow(time);
+        assertNotSame(rotated, outdated);
+    }
+
+    @Test
+    public void testPreallocatedMultiThreadRotation() throws Exception {
+        final long time = TimeUtil.currentTimeMillis();
+        final int nThreads = 16;
+        final BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs, true);
+        leapArray.currentWindow(time).value().addPass(100);
+
+        final long nextTime = time + intervalInMs;
+        final CountDownLatch latch = new CountDownLatch(nThreads);
+        final Set<WindowWrap<MetricBucket>> windows = Collections.newSetFromMap(
+            new ConcurrentHashMap<WindowWrap<MetricBucket>, Boolean>());
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                WindowWrap<MetricBucket> w = leapArray.currentWindow(nextTime);
+                windows.add(w);
+                latch.countDown();
+            }
+        };
+        for (int i = 0; i < nThreads; i++) {
+            new Thread(task).start();
+        }
+        latch.await();
+
+        assertEquals(1, windows.size());
+        WindowWrap<MetricBucket> window = leapArray.currentWindow(nextTime);
+        assertTrue(windows.contains(window));
+        assertEquals(nextTime - nextTime % windowLengthInMs, window.windowStart());
+        assertEquals(0L, window.value().pass());
+    }
+
+    @Test
+    public void testPreallocatedAddDuringRotation() throws Exception {
+        final long time = TimeUtil.currentTimeMillis();
+        final int nThreads = 8;
+        final int rounds = 100;
+        final int addsPerRound = 50;
+        // Slow down the reset, so that other threads are likely to access the bucket while it's being reset.
+        final BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs, true) {
+            @Override
+            protected WindowWrap<MetricBucket> resetWindowTo(WindowWrap<MetricBucket> w, long startTime) {
+                w.resetTo(startTime);
+                long deadline = System.nanoTime() + 200_000;
+                while (System.nanoTime() < deadline) {
+                    Thread.yield();
+                }
+                w.value().reset();
+                return w;
+            }
+        };
+        final CyclicBarrier barrier = new CyclicBarrier(nThreads);
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        final CountDownLatch latch = new CountDownLatch(nThreads);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (int r = 0; r < rounds; r++) {
+                        // All threads race on rotating the same deprecated bucket in each round.
+                        long roundTime = time + (long) r * windowLengthInMs;
+                        barrier.await();
+                        for (int i = 0; i < addsPerRound; i++) {
+                            leapArray.currentWindow(roundTime).value().addPass(1);
+                        }
+                        barrier.await();
+                        if (leapArray.getWindowValue(roundTime).pass() != nThreads * addsPerRound) {
+                            failed.set(true);
+                        }
+                        barrier.await();
+                    }
+                } catch (Exception e) {
+                    failed.set(true);
+                } finally {
+                    latch.countDown();
+                }
+            }
+        };
+        for (int i = 0; i < nThreads; i++) {
+            new Thread(task).start();
+        }
+        latch.await();
+
+        // No increment to the new window should be wiped by the reset.
+        assertFalse(failed.get());
+    }
 }
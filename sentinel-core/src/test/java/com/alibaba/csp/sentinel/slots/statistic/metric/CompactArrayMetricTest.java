@@ -0,0 +1,161 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.metric;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CompactArrayMetric}.
+ */
+public class CompactArrayMetricTest extends AbstractTimeBasedTest {
+
+    private final int sampleCount = 2;
+    private final int intervalInMs = 1000;
+    private final int windowLengthInMs = intervalInMs / sampleCount;
+
+    @Test
+    public void testOperateCompactMetric() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            CompactArrayMetric metric = new CompactArrayMetric(sampleCount, intervalInMs, false, 4);
+
+            metric.addRT(21);
+            metric.addRT(7);
+            for (int i = 0; i < 9; i++) {
+                metric.addPass(1);
+                metric.addSuccess(1);
+            }
+            metric.addBlock(2);
+            metric.addException(6);
+
+            assertEquals(9, metric.pass());
+            assertEquals(2, metric.block());
+            assertEquals(9, metric.success());
+            assertEquals(6, metric.exception());
+            assertEquals(28, metric.rt());
+            assertEquals(7, metric.minRt());
+
+            sleep(mocked, windowLengthInMs);
+            metric.addPass(3);
+            assertEquals(12, metric.pass());
+            assertEquals(9, metric.previousWindowPass());
+            assertEquals(2, metric.previousWindowBlock());
+            assertEquals(9, metric.maxSuccess());
+            assertEquals(2, metric.windows().length);
+
+            // The first bucket should be rotated and reset.
+            sleep(mocked, windowLengthInMs);
+            metric.addPass(1);
+            assertEquals(4, metric.pass());
+            assertEquals(0, metric.block());
+            assertEquals(3, metric.getWindowPass(10500));
+        }
+    }
+
+    @Test
+    public void testGetMetricDetailsOnCondition() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            CompactArrayMetric metric = new CompactArrayMetric(sampleCount, intervalInMs, false, 1);
+            metric.addPass(1);
+            sleep(mocked, windowLengthInMs);
+            metric.addPass(2);
+
+            assertEquals(2, metric.details().size());
+            List<MetricNode> metricNodes = metric.detailsOnCondition(new Predicate<Long>() {
+                @Override
+                public boolean test(Long t) {
+                    return t >= 10500;
+                }
+            });
+            assertEquals(1, metricNodes.size());
+            assertEquals(2, metricNodes.get(0).getPassQps());
+            assertEquals(10500, metricNodes.get(0).getTimestamp());
+        }
+    }
+
+    @Test
+    public void testOccupyWaiting() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            CompactArrayMetric metric = new CompactArrayMetric(sampleCount, intervalInMs, true, 1);
+            metric.addPass(1);
+            metric.addWaiting(10000 + windowLengthInMs, 2);
+            assertEquals(2, metric.waiting());
+
+            // Borrowed tokens should be counted as pass in the target bucket.
+            sleep(mocked, windowLengthInMs);
+            assertEquals(0, metric.waiting());
+            assertEquals(3, metric.pass());
+        }
+    }
+
+    @Test
+    public void testRotateBucketsAcrossIntervals() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 10000);
+            CompactArrayMetric metric = new CompactArrayMetric(sampleCount, intervalInMs, true, 2);
+            // Both regions of each bucket are published in turn, none of them should carry stale counts.
+            for (int round = 1; round <= 4; round++) {
+                metric.addPass(round);
+                metric.addRT(10 * round);
+                metric.addWaiting(TimeUtil.currentTimeMillis() + windowLengthInMs, 1);
+                assertEquals(round, metric.pass());
+                assertEquals(10 * round, metric.minRt());
+                assertEquals(1, metric.waiting());
+
+                // The borrowed pass should be counted in the next bucket.
+                sleep(mocked, windowLengthInMs);
+                assertEquals(round + 1, metric.pass());
+                assertEquals(0, metric.waiting());
+                sleep(mocked, 2 * intervalInMs);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiThreadAdd() throws Exception {
+        final CompactArrayMetric metric = new CompactArrayMetric(sampleCount, 60 * 1000, false, 4);
+        final int nThreads = 16;
+        final int count = 1000;
+        final CountDownLatch latch = new CountDownLatch(nThreads);
+        for (int i = 0; i < nThreads; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < count; j++) {
+                        metric.addPass(1);
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+
+        assertEquals(nThreads * count, metric.pass());
+    }
+}
@@ -70,6 +70,28 @@ public class OccupiableBucketLeapArrayTest extends AbstractTimeBasedTest {
         }
     }
 
+    @Test
+    public void testPreallocatedWindowInOneInterval() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            OccupiableBucketLeapArray leapArray = new OccupiableBucketLeapArray(sampleCount, intervalInMs, true);
+            long currentTime = System.currentTimeMillis();
+            setCurrentMillis(mocked, currentTime);
+
+            WindowWrap<MetricBucket> currentWindow = leapArray.currentWindow(currentTime);
+            currentWindow.value().addPass(1);
+            assertEquals(currentWindow.value().pass(), 1L);
+
+            leapArray.addWaiting(currentTime + windowLengthInMs, 2);
+            assertEquals(leapArray.currentWaiting(), 2);
+
+            // The borrowed tokens should be carried into the rotated bucket.
+            WindowWrap<MetricBucket> nextWindow = leapArray.currentWindow(currentTime + windowLengthInMs);
+            assertEquals(nextWindow.value().pass(), 2L);
+            List<MetricBucket> values = leapArray.values(currentTime + windowLengthInMs);
+            assertEquals(values.size(), 2);
+        }
+    }
+
     @Test
     public void testMultiThreadUpdateEmptyWindow() throws Exception {
         try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util.clock;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for {@link NanoTimeClock}.
+ */
+public class NanoTimeClockTest {
+
+    @Test
+    public void testCloseToSystemTime() throws Exception {
+        NanoTimeClock clock = new NanoTimeClock(10);
+        for (int i = 0; i < 5; i++) {
+            long before = System.currentTimeMillis();
+            long now = clock.currentTimeMillis();
+            long after = System.currentTimeMillis();
+            // The offset is calibrated by a millisecond-level time, so allow 1 ms deviation.
+            assertTrue(now >= before - 1 && now <= after + 1);
+            Thread.sleep(15);
+        }
+    }
+
+    @Test
+    public void testWithoutCalibration() throws Exception {
+        NanoTimeClock clock = new NanoTimeClock(0);
+        long start = clock.currentTimeMillis();
+        Thread.sleep(50);
+        long elapsed = clock.currentTimeMillis() - start;
+        assertTrue(elapsed >= 50 && elapsed < 1000);
+    }
+
+    @Test
+    public void testMonotonicWhenWallTimeGoesBackwards() throws Exception {
+        AdjustableNanoTimeClock clock = new AdjustableNanoTimeClock(10);
+        long before = clock.currentTimeMillis();
+        clock.adjustMillis = -10000;
+        Thread.sleep(15);
+        long last = before;
+        for (int i = 0; i < 5; i++) {
+            long now = clock.currentTimeMillis();
+            assertTrue(now >= last);
+            last = now;
+            Thread.sleep(15);
+        }
+        // The time stays at the floor until the wall time catches up.
+        assertTrue(last - before < 1000);
+    }
+
+    private static class AdjustableNanoTimeClock extends NanoTimeClock {
+
+        private volatile long adjustMillis;
+
+        AdjustableNanoTimeClock(long calibrationIntervalMs) {
+            super(calibrationIntervalMs);
+        }
+
+        @Override
+        long wallTimeMillis() {
+            return System.currentTimeMillis() + adjustMillis;
+        }
+    }
+}
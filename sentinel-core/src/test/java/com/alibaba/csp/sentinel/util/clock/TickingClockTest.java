@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util.clock;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for {@link TickingClock}.
+ */
+public class TickingClockTest {
+
+    @Test
+    public void testTick() throws Exception {
+        TickingClock clock = new TickingClock(20);
+        assertEquals(20, clock.getTickIntervalMs());
+        long start = clock.currentTimeMillis();
+        assertTrue(Math.abs(System.currentTimeMillis() - start) <= 20);
+        Thread.sleep(100);
+        long now = clock.currentTimeMillis();
+        assertTrue(now > start);
+        assertTrue(System.currentTimeMillis() - now < 1000);
+    }
+
+    @Test
+    public void testInvalidTickInterval() {
+        assertEquals(TickingClock.DEFAULT_TICK_INTERVAL_MS, new TickingClock(0).getTickIntervalMs());
+    }
+}
@@ -204,7 +204,7 @@ public class DegradeController {
             return Result.ofFail(-1, "circuit breaker strategy cannot be null");
         }
         if (strategy < CircuitBreakerStrategy.SLOW_REQUEST_RATIO.getType()
-            || strategy > RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT) {
+            || strategy > RuleConstant.DEGRADE_GRADE_RT_PERCENTILE) {
             return Result.ofFail(-1, "Invalid circuit breaker strategy: " + strategy);
         }
         if (entity.getMinRequestAmount()  == null || entity.getMinRequestAmount() <= 0) {
@@ -224,6 +224,11 @@ public class DegradeController {
             if (threshold > 1) {
                 return Result.ofFail(-1, "Ratio threshold should be in range: [0.0, 1.0]");
             }
+        } else if (strategy == RuleConstant.DEGRADE_GRADE_RT_PERCENTILE) {
+            Double percentile = entity.getRtPercentile();
+            if (percentile != null && (percentile <= 0 || percentile > 100)) {
+                return Result.ofFail(-1, "RtPercentile should be in range: (0.0, 100.0]");
+            }
         }
         return null;
     }
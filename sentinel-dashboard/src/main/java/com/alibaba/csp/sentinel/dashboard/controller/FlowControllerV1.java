@@ -135,6 +135,12 @@ public class FlowControllerV1 {
         if (controlBehavior == 2 && entity.getMaxQueueingTimeMs() == null) {
             return Result.ofFail(-1, "maxQueueingTimeMs can't be null when controlBehavior==2");
         }
+        if (controlBehavior == 4 && entity.getBurstCount() != null && entity.getBurstCount() < 0) {
+            return Result.ofFail(-1, "burstCount should be at least zero");
+        }
+        if (controlBehavior == 4 && entity.getRefillIntervalMs() != null && entity.getRefillIntervalMs() <= 0) {
+            return Result.ofFail(-1, "refillIntervalMs should be positive");
+        }
         if (entity.isClusterMode() && entity.getClusterConfig() == null) {
             return Result.ofFail(-1, "cluster config should be valid");
         }
@@ -172,7 +178,8 @@ public class FlowControllerV1 {
                                                   String limitApp, String resource, Integer grade,
                                                   Double count, Integer strategy, String refResource,
                                                   Integer controlBehavior, Integer warmUpPeriodSec,
-                                                  Integer maxQueueingTimeMs) {
+                                                  Integer maxQueueingTimeMs, Integer burstCount,
+                                                  Integer refillIntervalMs) {
         if (id == null) {
             return Result.ofFail(-1, "id can't be null");
         }
@@ -211,8 +218,8 @@ public class FlowControllerV1 {
             }
         }
         if (controlBehavior != null) {
-            if (controlBehavior != 0 && controlBehavior != 1 && controlBehavior != 2) {
-                return Result.ofFail(-1, "controlBehavior must be in [0, 1, 2], but " + controlBehavior + " got");
+            if (controlBehavior < 0 || controlBehavior > 4) {
+                return Result.ofFail(-1, "controlBehavior must be in [0, 1, 2, 3, 4], but " + controlBehavior + " got");
             }
             if (controlBehavior == 1 && warmUpPeriodSec == null) {
                 return Result.ofFail(-1, "warmUpPeriodSec can't be null when controlBehavior==1");
@@ -220,6 +227,12 @@ public class FlowControllerV1 {
             if (controlBehavior == 2 && maxQueueingTimeMs == null) {
                 return Result.ofFail(-1, "maxQueueingTimeMs can't be null when controlBehavior==2");
             }
+            if (burstCount != null && burstCount < 0) {
+                return Result.ofFail(-1, "burstCount should be at least zero");
+            }
+            if (refillIntervalMs != null && refillIntervalMs <= 0) {
+                return Result.ofFail(-1, "refillIntervalMs should be positive");
+            }
             entity.setControlBehavior(controlBehavior);
             if (warmUpPeriodSec != null) {
                 entity.setWarmUpPeriodSec(warmUpPeriodSec);
@@ -227,6 +240,12 @@ public class FlowControllerV1 {
             if (maxQueueingTimeMs != null) {
                 entity.setMaxQueueingTimeMs(maxQueueingTimeMs);
             }
+            if (burstCount != null) {
+                entity.setBurstCount(burstCount);
+            }
+            if (refillIntervalMs != null) {
+                entity.setRefillIntervalMs(refillIntervalMs);
+            }
         }
         Date date = new Date();
         entity.setGmtModified(date);
@@ -128,6 +128,12 @@ public class FlowControllerV2 {
         if (controlBehavior == 2 && entity.getMaxQueueingTimeMs() == null) {
             return Result.ofFail(-1, "maxQueueingTimeMs can't be null when controlBehavior==2");
         }
+        if (controlBehavior == 4 && entity.getBurstCount() != null && entity.getBurstCount() < 0) {
+            return Result.ofFail(-1, "burstCount should be at least zero");
+        }
+        if (controlBehavior == 4 && entity.getRefillIntervalMs() != null && entity.getRefillIntervalMs() <= 0) {
+            return Result.ofFail(-1, "refillIntervalMs should be positive");
+        }
         if (entity.isClusterMode() && entity.getClusterConfig() == null) {
             return Result.ofFail(-1, "cluster config should be valid");
         }
@@ -38,6 +38,7 @@ public class DegradeRuleEntity implements RuleEntity {
     private Integer minRequestAmount;
     private Double slowRatioThreshold;
     private Integer statIntervalMs;
+    private Double rtPercentile;
 
     private Date gmtCreate;
     private Date gmtModified;
@@ -55,6 +56,7 @@ public class DegradeRuleEntity implements RuleEntity {
         entity.setMinRequestAmount(rule.getMinRequestAmount());
         entity.setSlowRatioThreshold(rule.getSlowRatioThreshold());
         entity.setStatIntervalMs(rule.getStatIntervalMs());
+        entity.setRtPercentile(rule.getRtPercentile());
         return entity;
     }
 
@@ -162,6 +164,15 @@ public class DegradeRuleEntity implements RuleEntity {
         return this;
     }
 
+    public Double getRtPercentile() {
+        return rtPercentile;
+    }
+
+    public DegradeRuleEntity setRtPercentile(Double rtPercentile) {
+        this.rtPercentile = rtPercentile;
+        return this;
+    }
+
     @Override
     public Date getGmtCreate() {
         return gmtCreate;
@@ -196,6 +207,9 @@ public class DegradeRuleEntity implements RuleEntity {
         if (statIntervalMs != null) {
             rule.setStatIntervalMs(statIntervalMs);
         }
+        if (rtPercentile != null) {
+            rule.setRtPercentile(rtPercentile);
+        }
 
         return rule;
     }
@@ -42,7 +42,7 @@ public class FlowRuleEntity implements RuleEntity {
     private Integer strategy;
     private String refResource;
     /**
-     * 0. default, 1. warm up, 2. rate limiter
+     * 0. default, 1. warm up, 2. rate limiter, 3. warm up + rate limiter, 4. token bucket
      */
     private Integer controlBehavior;
     private Integer warmUpPeriodSec;
@@ -50,6 +50,11 @@ public class FlowRuleEntity implements RuleEntity {
      * max queueing time in rate limiter behavior
      */
     private Integer maxQueueingTimeMs;
+    /**
+     * burst capacity and refill interval in token bucket behavior
+     */
+    private Integer burstCount;
+    private Integer refillIntervalMs;
 
     private boolean clusterMode;
     /**
@@ -74,6 +79,8 @@ public class FlowRuleEntity implements RuleEntity {
         entity.setControlBehavior(rule.getControlBehavior());
         entity.setWarmUpPeriodSec(rule.getWarmUpPeriodSec());
         entity.setMaxQueueingTimeMs(rule.getMaxQueueingTimeMs());
+        entity.setBurstCount(rule.getBurstCount());
+        entity.setRefillIntervalMs(rule.getRefillIntervalMs());
         entity.setClusterMode(rule.isClusterMode());
         entity.setClusterConfig(rule.getClusterConfig());
         return entity;
@@ -188,6 +195,22 @@ public class FlowRuleEntity implements RuleEntity {
         this.maxQueueingTimeMs = maxQueueingTimeMs;
     }
 
+    public Integer getBurstCount() {
+        return burstCount;
+    }
+
+    public void setBurstCount(Integer burstCount) {
+        this.burstCount = burstCount;
+    }
+
+    public Integer getRefillIntervalMs() {
+        return refillIntervalMs;
+    }
+
+    public void setRefillIntervalMs(Integer refillIntervalMs) {
+        this.refillIntervalMs = refillIntervalMs;
+    }
+
     public boolean isClusterMode() {
         return clusterMode;
     }
@@ -241,6 +264,12 @@ public class FlowRuleEntity implements RuleEntity {
         if (this.maxQueueingTimeMs != null) {
             flowRule.setMaxQueueingTimeMs(maxQueueingTimeMs);
         }
+        if (this.burstCount != null) {
+            flowRule.setBurstCount(burstCount);
+        }
+        if (this.refillIntervalMs != null) {
+            flowRule.setRefillIntervalMs(refillIntervalMs);
+        }
         flowRule.setClusterMode(clusterMode);
         flowRule.setClusterConfig(clusterConfig);
         return flowRule;
@@ -82,6 +82,8 @@ app.controller('FlowControllerV1', ['$scope', '$stateParams', 'FlowServiceV1', '
         grade: 1,
         strategy: 0,
         controlBehavior: 0,
+        burstCount: 0,
+        refillIntervalMs: 1000,
         app: $scope.app,
         ip: mac[0],
         port: mac[1],
@@ -25,6 +25,8 @@ app.service('FlowServiceV1', ['$http', function ($http) {
             controlBehavior: rule.controlBehavior,
             warmUpPeriodSec: rule.warmUpPeriodSec,
             maxQueueingTimeMs: rule.maxQueueingTimeMs,
+            burstCount: rule.burstCount,
+            refillIntervalMs: rule.refillIntervalMs,
             app: rule.app,
             ip: rule.ip,
             port: rule.port
@@ -49,6 +51,8 @@ app.service('FlowServiceV1', ['$http', function ($http) {
             controlBehavior: rule.controlBehavior,
             warmUpPeriodSec: rule.warmUpPeriodSec,
             maxQueueingTimeMs: rule.maxQueueingTimeMs,
+            burstCount: rule.burstCount,
+            refillIntervalMs: rule.refillIntervalMs,
         };
 
         return $http({
@@ -110,6 +114,14 @@ app.service('FlowServiceV1', ['$http', function ($http) {
             alert('排队超时时间必须大于 0');
             return false;
         }
+        if (rule.controlBehavior == 4 && notNumberAtLeastZero(rule.burstCount)) {
+            alert('突发容量必须大于等于 0');
+            return false;
+        }
+        if (rule.controlBehavior == 4 && notNumberGreaterThanZero(rule.refillIntervalMs)) {
+            alert('填充周期必须大于 0');
+            return false;
+        }
         if (rule.clusterMode && (rule.clusterConfig === undefined || rule.clusterConfig.thresholdType === undefined)) {
             alert('集群限流配置不正确');
             return false;
@@ -76,6 +76,14 @@ app.service('FlowServiceV2', ['$http', function ($http) {
             alert('排队超时时间必须大于 0');
             return false;
         }
+        if (rule.controlBehavior == 4 && notNumberAtLeastZero(rule.burstCount)) {
+            alert('突发容量必须大于等于 0');
+            return false;
+        }
+        if (rule.controlBehavior == 4 && notNumberGreaterThanZero(rule.refillIntervalMs)) {
+            alert('填充周期必须大于 0');
+            return false;
+        }
         if (rule.clusterMode && (rule.clusterConfig === undefined || rule.clusterConfig.thresholdType === undefined)) {
             alert('集群限流配置不正确');
             return false;
@@ -21,7 +21,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -36,6 +35,7 @@ import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.statistic.cache.CacheMap;
 import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.WaitUtil;
 
 /**
  * Rule checker for parameter flow control.
@@ -237,11 +237,7 @@ public final class ParamFlowChecker {
                     long waitTime = expectedTime - currentTime;
                     if (waitTime > 0) {
                         lastPastTimeRef.set(expectedTime);
-                        try {
-                            TimeUnit.MILLISECONDS.sleep(waitTime);
-                        } catch (InterruptedException e) {
-                            RecordLog.warn("passThrottleLocalCheck: wait interrupted", e);
-                        }
+                        WaitUtil.waitMs(waitTime);
                     }
                     return true;
                 } else {
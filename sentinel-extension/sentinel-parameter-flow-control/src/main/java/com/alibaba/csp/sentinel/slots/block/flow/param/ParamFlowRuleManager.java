@@ -24,6 +24,7 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.RuleManager;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 
@@ -78,6 +79,18 @@ public final class ParamFlowRuleManager {
         return new ArrayList<>(PARAM_FLOW_RULES.getRules(resourceName));
     }
 
+    /**
+     * Get the rules of given resource, which are looked up by the resource id.
+     * The returned list is shared and unmodifiable.
+     *
+     * @param resourceWrapper the resource
+     * @return the rules of the resource
+     * @since 1.8.8
+     */
+    static List<ParamFlowRule> getRulesOfResource(ResourceWrapper resourceWrapper) {
+        return PARAM_FLOW_RULES.getRules(resourceWrapper);
+    }
+
     public static boolean hasRules(String resourceName) {
         return PARAM_FLOW_RULES.hasConfig(resourceName);
     }
@@ -19,6 +19,7 @@ import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.spi.Spi;
 
@@ -32,7 +33,7 @@ import java.util.List;
  * @since 0.2.0
  */
 @Spi(order = -3000)
-public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -63,14 +64,19 @@ public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         }
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return !ParamFlowRuleManager.getRulesOfResource(resourceWrapper).isEmpty();
+    }
+
     void checkFlow(ResourceWrapper resourceWrapper, int count, Object... args) throws BlockException {
         if (args == null) {
             return;
         }
-        if (!ParamFlowRuleManager.hasRules(resourceWrapper.getName())) {
+        List<ParamFlowRule> rules = ParamFlowRuleManager.getRulesOfResource(resourceWrapper);
+        if (rules.isEmpty()) {
             return;
         }
-        List<ParamFlowRule> rules = ParamFlowRuleManager.getRulesOfResource(resourceWrapper.getName());
 
         for (ParamFlowRule rule : rules) {
             applyRealParamIdx(rule, args.length);
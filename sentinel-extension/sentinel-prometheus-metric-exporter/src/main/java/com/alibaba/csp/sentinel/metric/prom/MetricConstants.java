@@ -46,6 +46,32 @@ public final class MetricConstants {
 
     public static final String CONCURRENCY = "concurrency";
 
+    /**
+     * Label of the upper bound of histogram buckets.
+     *
+     * @since 1.8.8
+     */
+    public static final String LE = "le";
+
+    /**
+     * Suffixes of the metric families in live mode, which are appended to the app name.
+     *
+     * @since 1.8.8
+     */
+    public static final String PASS_TOTAL_SUFFIX = "_pass_requests_total";
+
+    public static final String BLOCK_TOTAL_SUFFIX = "_block_requests_total";
+
+    public static final String SUCCESS_TOTAL_SUFFIX = "_success_requests_total";
+
+    public static final String EXCEPTION_TOTAL_SUFFIX = "_exception_requests_total";
+
+    public static final String OCC_PASS_TOTAL_SUFFIX = "_occupied_pass_requests_total";
+
+    public static final String CONCURRENCY_SUFFIX = "_concurrency";
+
+    public static final String RT_SUFFIX = "_rt_milliseconds";
+
     private MetricConstants() {
     }
 }
@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.metric.prom;
 import com.alibaba.csp.sentinel.init.InitFunc;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.metric.prom.collector.SentinelCollector;
+import com.alibaba.csp.sentinel.metric.prom.collector.SentinelLiveCollector;
 import com.alibaba.csp.sentinel.metric.prom.config.PrometheusGlobalConfig;
 import io.prometheus.client.exporter.HTTPServer;
 
@@ -34,7 +35,11 @@ public class PromExporterInit implements InitFunc {
     public void init() throws Exception {
         HTTPServer server = null;
         try {
-            new SentinelCollector().register();
+            if (PrometheusGlobalConfig.PROM_FETCH_MODE_LIVE.equals(PrometheusGlobalConfig.getPromFetchMode())) {
+                new SentinelLiveCollector().register();
+            } else {
+                new SentinelCollector().register();
+            }
             // 开启http服务供prometheus调用
             // 默认只提供一个接口 http://ip:port/metrics，返回所有指标
             int promPort = PrometheusGlobalConfig.getPromFetchPort();
@@ -0,0 +1,261 @@
+/*
+ * Copyright 1999-2021 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.prom.collector;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.metric.prom.MetricConstants;
+import com.alibaba.csp.sentinel.metric.prom.config.PrometheusGlobalConfig;
+import com.alibaba.csp.sentinel.metric.prom.types.CounterMetricFamily;
+import com.alibaba.csp.sentinel.metric.prom.types.GaugeMetricFamily;
+import com.alibaba.csp.sentinel.metric.prom.types.HistogramMetricFamily;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.slots.statistic.data.RtHistogram;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+import io.prometheus.client.Collector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>The Collector for prometheus exporter in live mode, which reads statistics of the nodes in memory
+ * instead of the metric log files, so a scrape neither touches the disk nor waits for the metric log.</p>
+ * <p>
+ * Requests of the complete seconds since the last scrape are read from the minute-level statistics of each
+ * {@link ClusterNode} (and the global inbound node), and accumulated into counters. RT is exposed as a histogram,
+ * which is built from the RT histograms of the nodes if {@code csp.sentinel.statistic.rt.histogram.enabled} is on,
+ * otherwise the average RT of each second is observed for all the requests of the second. The concurrency is
+ * exposed as a gauge. Requests will be missed if the scrape interval is longer than one minute.
+ * </p>
+ * <p>
+ * The global inbound node is always exported, and at most {@code fetchSize} other resources are exported
+ * in each scrape. When there are more resources, each scrape starts from where the previous one stopped
+ * (in the order of the resource name), and each resource keeps its own fetch time, so the seconds of a resource
+ * skipped by a scrape will be collected by later scrapes, as long as every resource is visited within one minute.
+ * Statistics of removed resources are dropped.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class SentinelLiveCollector extends Collector {
+
+    private static final int ONE_SECOND = 1000;
+    private static final List<String> LABEL_NAMES = Arrays.asList(MetricConstants.RESOURCE,
+        MetricConstants.CLASSIFICATION);
+    private static final Comparator<ClusterNode> NAME_ORDER = new Comparator<ClusterNode>() {
+        @Override
+        public int compare(ClusterNode o1, ClusterNode o2) {
+            return o1.getName().compareTo(o2.getName());
+        }
+    };
+
+    private final String appName = PrometheusGlobalConfig.getPromFetchApp();
+    private final List<String> types = Arrays.asList(PrometheusGlobalConfig.getPromFetchTypes());
+    private final String identify = PrometheusGlobalConfig.getPromFetchIdentify();
+    private final int fetchSize = PrometheusGlobalConfig.getPromFetchSize();
+    private final long[] rtBuckets;
+
+    /**
+     * Accumulated statistics of each resource, guarded by the collector.
+     */
+    private final Map<String, ResourceStat> stats = new HashMap<>();
+    /**
+     * Index of the resource to start with in next scrape, if not all resources could be exported at once.
+     */
+    private int fetchCursor = 0;
+
+    public SentinelLiveCollector() {
+        this(PrometheusGlobalConfig.getPromRtBuckets());
+    }
+
+    SentinelLiveCollector(long[] rtBuckets) {
+        this.rtBuckets = rtBuckets;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        return collect(TimeUtil.currentTimeMillis());
+    }
+
+    synchronized List<MetricFamilySamples> collect(long currentTimeMillis) {
+        long currentTime = currentTimeMillis - currentTimeMillis % ONE_SECOND;
+
+        CounterMetricFamily passFamily = newCounterFamily(MetricConstants.PASS_QPS,
+            MetricConstants.PASS_TOTAL_SUFFIX, "Total passed requests");
+        CounterMetricFamily blockFamily = newCounterFamily(MetricConstants.BLOCK_QPS,
+            MetricConstants.BLOCK_TOTAL_SUFFIX, "Total blocked requests");
+        CounterMetricFamily successFamily = newCounterFamily(MetricConstants.SUCCESS_QPS,
+            MetricConstants.SUCCESS_TOTAL_SUFFIX, "Total completed requests");
+        CounterMetricFamily exceptionFamily = newCounterFamily(MetricConstants.EXCEPTION_QPS,
+            MetricConstants.EXCEPTION_TOTAL_SUFFIX, "Total requests with business exceptions");
+        CounterMetricFamily occupiedPassFamily = newCounterFamily(MetricConstants.OCC_PASS_QPS,
+            MetricConstants.OCC_PASS_TOTAL_SUFFIX, "Total passed requests which occupied future tokens");
+        GaugeMetricFamily concurrencyFamily = types.contains(MetricConstants.CONCURRENCY)
+            ? new GaugeMetricFamily(appName + MetricConstants.CONCURRENCY_SUFFIX, "Current concurrency",
+            LABEL_NAMES) : null;
+        HistogramMetricFamily rtFamily = types.contains(MetricConstants.RT)
+            ? new HistogramMetricFamily(appName + MetricConstants.RT_SUFFIX, "Response time in milliseconds",
+            LABEL_NAMES) : null;
+
+        List<ClusterNode> nodes = new ArrayList<>();
+        // The global inbound node is always exported.
+        nodes.add(Constants.ENTRY_NODE);
+        Set<String> presentNames = new HashSet<>();
+        presentNames.add(Constants.ENTRY_NODE.getName());
+        List<ClusterNode> candidates = new ArrayList<>();
+        for (ClusterNode node : ClusterBuilderSlot.getClusterNodeMap().values()) {
+            presentNames.add(node.getName());
+            if (StringUtil.isNotBlank(identify) && !identify.equals(node.getName())) {
+                continue;
+            }
+            candidates.add(node);
+        }
+        if (candidates.size() <= fetchSize) {
+            nodes.addAll(candidates);
+        } else if (fetchSize > 0) {
+            // Rotate over the resources across scrapes, so that every resource will be exported.
+            Collections.sort(candidates, NAME_ORDER);
+            int start = fetchCursor % candidates.size();
+            for (int i = 0; i < fetchSize; i++) {
+                nodes.add(candidates.get((start + i) % candidates.size()));
+            }
+            fetchCursor = (start + fetchSize) % candidates.size();
+        }
+        // Drop statistics of the removed resources.
+        stats.keySet().retainAll(presentNames);
+
+        for (ClusterNode node : nodes) {
+            ResourceStat stat = stats.get(node.getName());
+            if (stat == null) {
+                stat = new ResourceStat(rtBuckets.length + 1);
+                stats.put(node.getName(), stat);
+            }
+            stat.fetch(node, currentTime, rtBuckets);
+
+            List<String> labelValues = Arrays.asList(node.getName(), String.valueOf(node.getResourceType()));
+            addCounter(passFamily, labelValues, stat.pass);
+            addCounter(blockFamily, labelValues, stat.block);
+            addCounter(successFamily, labelValues, stat.success);
+            addCounter(exceptionFamily, labelValues, stat.exception);
+            addCounter(occupiedPassFamily, labelValues, stat.occupiedPass);
+            if (concurrencyFamily != null) {
+                concurrencyFamily.addMetric(labelValues, node.curThreadNum(), currentTimeMillis);
+            }
+            if (rtFamily != null) {
+                rtFamily.addMetric(labelValues, rtBuckets, stat.rtBucketCounts, stat.rtSum);
+            }
+        }
+
+        List<MetricFamilySamples> list = new ArrayList<>();
+        for (MetricFamilySamples family : Arrays.asList(passFamily, blockFamily, successFamily, exceptionFamily,
+            occupiedPassFamily, concurrencyFamily, rtFamily)) {
+            if (family != null) {
+                list.add(family);
+            }
+        }
+        return list;
+    }
+
+    private CounterMetricFamily newCounterFamily(String type, String suffix, String help) {
+        if (!types.contains(type)) {
+            return null;
+        }
+        return new CounterMetricFamily(appName + suffix, help, LABEL_NAMES);
+    }
+
+    private static void addCounter(CounterMetricFamily family, List<String> labelValues, long value) {
+        if (family != null) {
+            family.addMetric(labelValues, value);
+        }
+    }
+
+    /**
+     * Get the index of the first bucket whose upper bound is not less than the value.
+     */
+    static int bucketIndexOf(long[] upperBounds, long value) {
+        int index = Arrays.binarySearch(upperBounds, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static final class ResourceStat {
+
+        /**
+         * Statistics of the seconds up to the time have been accumulated.
+         */
+        private long lastFetchTime = -1;
+        private long pass;
+        private long block;
+        private long success;
+        private long exception;
+        private long occupiedPass;
+        private long rtSum;
+        /**
+         * Non-cumulative counts of the RT buckets, the last one is the +Inf bucket.
+         */
+        private final long[] rtBucketCounts;
+
+        ResourceStat(int bucketCount) {
+            this.rtBucketCounts = new long[bucketCount];
+        }
+
+        /**
+         * Accumulate statistics of the complete seconds of the node since the last fetch.
+         */
+        void fetch(ClusterNode node, final long currentTime, long[] rtBuckets) {
+            final long fetchedTime = lastFetchTime;
+            List<MetricNode> metricNodes = node.rawMetricsInMin(new Predicate<Long>() {
+                @Override
+                public boolean test(Long windowStart) {
+                    return windowStart > fetchedTime && windowStart < currentTime;
+                }
+            });
+            for (MetricNode metricNode : metricNodes) {
+                add(metricNode, rtBuckets);
+            }
+            lastFetchTime = currentTime - ONE_SECOND;
+        }
+
+        void add(MetricNode node, long[] rtBuckets) {
+            pass += node.getPassQps();
+            block += node.getBlockQps();
+            success += node.getSuccessQps();
+            exception += node.getExceptionQps();
+            occupiedPass += node.getOccupiedPassQps();
+            rtSum += node.getRtSum();
+            long[] counts = node.getRtHistogramCounts();
+            if (counts != null) {
+                // The whole bucket is counted by its highest value, as the histograms are bucketed differently.
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0) {
+                        rtBucketCounts[bucketIndexOf(rtBuckets, RtHistogram.highestValueOf(i))] += counts[i];
+                    }
+                }
+            } else if (node.getSuccessQps() > 0) {
+                rtBucketCounts[bucketIndexOf(rtBuckets, node.getRt())] += node.getSuccessQps();
+            }
+        }
+    }
+}
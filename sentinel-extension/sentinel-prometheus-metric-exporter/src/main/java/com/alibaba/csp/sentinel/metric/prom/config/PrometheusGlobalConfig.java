@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.metric.prom.config;
 
 import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
 /**
@@ -44,6 +45,25 @@ public class PrometheusGlobalConfig {
     public static final String PROM_APP = "csp.sentinel.prometheus.app";
     public static final String DEFAULT_PROM_APP = "SENTINEL_APP";
 
+    /**
+     * The mode of fetching metrics: "log" reads metrics from the metric log files,
+     * "live" reads statistics from the nodes in memory directly.
+     *
+     * @since 1.8.8
+     */
+    public static final String PROM_FETCH_MODE = "csp.sentinel.prometheus.fetch.mode";
+    public static final String PROM_FETCH_MODE_LOG = "log";
+    public static final String PROM_FETCH_MODE_LIVE = "live";
+    public static final String DEFAULT_PROM_FETCH_MODE = PROM_FETCH_MODE_LOG;
+
+    /**
+     * Upper bounds (in milliseconds) of the RT histogram buckets in live mode.
+     *
+     * @since 1.8.8
+     */
+    public static final String PROM_RT_BUCKETS = "csp.sentinel.prometheus.rt.buckets";
+    public static final String DEFAULT_PROM_RT_BUCKETS = "5|10|25|50|100|250|500|1000|2500|5000|10000";
+
     public static int getPromFetchPort() {
         String config = SentinelConfig.getConfig(PROM_FETCH_PORT);
         config = StringUtil.isNotBlank(config) ? config : DEFAULT_PROM_FETCH_PORT;
@@ -76,6 +96,37 @@ public class PrometheusGlobalConfig {
         }
     }
 
+    public static String getPromFetchMode() {
+        String config = SentinelConfig.getConfig(PROM_FETCH_MODE);
+        if (PROM_FETCH_MODE_LIVE.equalsIgnoreCase(config)) {
+            return PROM_FETCH_MODE_LIVE;
+        }
+        return DEFAULT_PROM_FETCH_MODE;
+    }
+
+    public static long[] getPromRtBuckets() {
+        String config = SentinelConfig.getConfig(PROM_RT_BUCKETS);
+        config = StringUtil.isNotBlank(config) ? config : DEFAULT_PROM_RT_BUCKETS;
+        try {
+            return parseRtBuckets(config);
+        } catch (Throwable e) {
+            RecordLog.warn("[PrometheusGlobalConfig] Invalid RT buckets: {}, use default", config);
+            return parseRtBuckets(DEFAULT_PROM_RT_BUCKETS);
+        }
+    }
+
+    private static long[] parseRtBuckets(String config) {
+        String[] strs = config.split("\\|");
+        long[] buckets = new long[strs.length];
+        for (int i = 0; i < strs.length; i++) {
+            buckets[i] = Long.parseLong(strs[i].trim());
+            if (buckets[i] < 0 || (i > 0 && buckets[i] <= buckets[i - 1])) {
+                throw new IllegalArgumentException("RT buckets should be non-negative and in ascending order");
+            }
+        }
+        return buckets;
+    }
+
     public static String getPromFetchApp() {
         String appName = SentinelConfig.getConfig(PROM_APP);
         if (appName == null) {
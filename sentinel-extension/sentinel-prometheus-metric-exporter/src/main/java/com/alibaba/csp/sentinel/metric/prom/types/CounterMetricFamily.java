@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2021 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.prom.types;
+
+import io.prometheus.client.Collector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MetricFamilySamples of counter type for prometheus exporter, the value of which only increases.
+ *
+ * @since 1.8.8
+ */
+public class CounterMetricFamily extends Collector.MetricFamilySamples {
+
+    private final List<String> labelNames;
+
+    public CounterMetricFamily(String name, String help, List<String> labelNames) {
+        super(name, Collector.Type.COUNTER, help, new ArrayList<Sample>());
+        this.labelNames = labelNames;
+    }
+
+    public CounterMetricFamily addMetric(List<String> labelValues, double value) {
+        if (labelValues.size() != labelNames.size()) {
+            throw new IllegalArgumentException("Incorrect number of labels.");
+        }
+        samples.add(new Sample(name, labelNames, labelValues, value));
+        return this;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2021 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.metric.prom.types;
+
+import com.alibaba.csp.sentinel.metric.prom.MetricConstants;
+import io.prometheus.client.Collector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MetricFamilySamples of histogram type for prometheus exporter. Each metric consists of the cumulative
+ * {@code _bucket} samples (labeled by the upper bound {@code le}), the {@code _count} and the {@code _sum}.
+ *
+ * @since 1.8.8
+ */
+public class HistogramMetricFamily extends Collector.MetricFamilySamples {
+
+    private final List<String> labelNames;
+    private final List<String> bucketLabelNames;
+
+    public HistogramMetricFamily(String name, String help, List<String> labelNames) {
+        super(name, Collector.Type.HISTOGRAM, help, new ArrayList<Sample>());
+        this.labelNames = labelNames;
+        this.bucketLabelNames = new ArrayList<>(labelNames);
+        this.bucketLabelNames.add(MetricConstants.LE);
+    }
+
+    /**
+     * Add a histogram metric.
+     *
+     * @param labelValues  values of the labels
+     * @param upperBounds  upper bounds of the buckets in ascending order, excluding +Inf
+     * @param bucketCounts non-cumulative counts of the buckets, the last one is the count of +Inf bucket,
+     *                     so the length should be {@code upperBounds.length + 1}
+     * @param sum          sum of the observed values
+     * @return the metric family
+     */
+    public HistogramMetricFamily addMetric(List<String> labelValues, long[] upperBounds, long[] bucketCounts,
+                                           double sum) {
+        if (labelValues.size() != labelNames.size()) {
+            throw new IllegalArgumentException("Incorrect number of labels.");
+        }
+        if (bucketCounts.length != upperBounds.length + 1) {
+            throw new IllegalArgumentException("Incorrect number of buckets.");
+        }
+        long count = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            count += bucketCounts[i];
+            List<String> bucketLabelValues = new ArrayList<>(labelValues);
+            bucketLabelValues.add(i < upperBounds.length ? Collector.doubleToGoString(upperBounds[i]) : "+Inf");
+            samples.add(new Sample(name + "_bucket", bucketLabelNames, bucketLabelValues, count));
+        }
+        samples.add(new Sample(name + "_count", labelNames, labelValues, count));
+        samples.add(new Sample(name + "_sum", labelNames, labelValues, sum));
+        return this;
+    }
+}
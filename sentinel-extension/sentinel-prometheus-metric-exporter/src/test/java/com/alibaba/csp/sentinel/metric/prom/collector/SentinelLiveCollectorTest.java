@@ -0,0 +1,156 @@
+package com.alibaba.csp.sentinel.metric.prom.collector;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.metric.prom.config.PrometheusGlobalConfig;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import io.prometheus.client.Collector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SentinelLiveCollectorTest {
+
+    @Test
+    public void testCollectLiveStatistics() throws Exception {
+        // Initialize Sentinel before the requests.
+        SphU.entry("liveCollectorWarmUpResource").exit();
+        String resource = "liveCollectorTestResource";
+        long now = TimeUtil.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            Entry entry = SphU.entry(resource);
+            entry.exit();
+        }
+        SentinelLiveCollector collector = new SentinelLiveCollector(new long[] {10, 100});
+
+        // Requests of the current second are not collected yet.
+        Assert.assertEquals(0, sampleValue(collector.collect(now), "_pass_requests_total", resource), 1e-4);
+
+        List<Collector.MetricFamilySamples> families = collector.collect(now + 3000);
+        Assert.assertEquals(3, sampleValue(families, "_pass_requests_total", resource), 1e-4);
+        Assert.assertEquals(0, sampleValue(families, "_block_requests_total", resource), 1e-4);
+        Assert.assertEquals(0, sampleValue(families, "_concurrency", resource), 1e-4);
+        Assert.assertEquals(3, sampleValue(families, "_rt_milliseconds_count", resource), 1e-4);
+        Assert.assertEquals(Collector.Type.COUNTER, familyOf(families, "_pass_requests_total").type);
+        Assert.assertEquals(Collector.Type.HISTOGRAM, familyOf(families, "_rt_milliseconds").type);
+
+        // Counters are not accumulated twice.
+        families = collector.collect(now + 4000);
+        Assert.assertEquals(3, sampleValue(families, "_pass_requests_total", resource), 1e-4);
+    }
+
+    @Test
+    public void testExactRtSumAndRemovedResources() throws Exception {
+        String resource = "liveCollectorRtSumResource";
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resource, EntryType.IN);
+        ClusterNode node = new ClusterNode(resource);
+        ClusterBuilderSlot.getClusterNodeMap().put(resourceWrapper, node);
+        long now = TimeUtil.currentTimeMillis();
+        node.addRtAndSuccess(1, 1);
+        node.addRtAndSuccess(2, 1);
+        SentinelLiveCollector collector = new SentinelLiveCollector(new long[] {10, 100});
+
+        // The sum is exact, rather than the truncated average (1ms) multiplied by the count.
+        List<Collector.MetricFamilySamples> families = collector.collect(now + 3000);
+        Assert.assertEquals(3, sampleValue(families, "_rt_milliseconds_sum", resource), 1e-4);
+        Assert.assertEquals(2, sampleValue(families, "_rt_milliseconds_count", resource), 1e-4);
+
+        // Removed resources are no longer exported.
+        ClusterBuilderSlot.getClusterNodeMap().remove(resourceWrapper);
+        families = collector.collect(now + 4000);
+        Assert.assertFalse(hasSample(families, "_rt_milliseconds_count", resource));
+    }
+
+    @Test
+    public void testAlwaysExportEntryNode() throws Exception {
+        SphU.entry("liveCollectorEntryNodeResource").exit();
+        SentinelConfig.setConfig(PrometheusGlobalConfig.PROM_FETCH_SIZE, "0");
+        try {
+            SentinelLiveCollector collector = new SentinelLiveCollector(new long[] {10, 100});
+            List<Collector.MetricFamilySamples> families = collector.collect(TimeUtil.currentTimeMillis());
+            Assert.assertTrue(hasSample(families, "_pass_requests_total", Constants.ENTRY_NODE.getName()));
+            Assert.assertFalse(hasSample(families, "_pass_requests_total", "liveCollectorEntryNodeResource"));
+        } finally {
+            SentinelConfig.removeConfig(PrometheusGlobalConfig.PROM_FETCH_SIZE);
+        }
+    }
+
+    @Test
+    public void testRotateResourcesAcrossScrapes() throws Exception {
+        ResourceWrapper resourceA = new StringResourceWrapper("liveCollectorRotateResourceA", EntryType.IN);
+        ResourceWrapper resourceB = new StringResourceWrapper("liveCollectorRotateResourceB", EntryType.IN);
+        ClusterBuilderSlot.getClusterNodeMap().put(resourceA, new ClusterNode(resourceA.getName()));
+        ClusterBuilderSlot.getClusterNodeMap().put(resourceB, new ClusterNode(resourceB.getName()));
+        SentinelConfig.setConfig(PrometheusGlobalConfig.PROM_FETCH_SIZE, "1");
+        try {
+            SentinelLiveCollector collector = new SentinelLiveCollector(new long[] {10, 100});
+            Set<String> exported = new HashSet<>();
+            int resourceCount = ClusterBuilderSlot.getClusterNodeMap().size();
+            for (int i = 0; i < resourceCount; i++) {
+                Collector.MetricFamilySamples family = familyOf(collector.collect(TimeUtil.currentTimeMillis()),
+                    "_pass_requests_total");
+                // The global inbound node and one other resource.
+                Assert.assertEquals(2, family.samples.size());
+                for (Collector.MetricFamilySamples.Sample sample : family.samples) {
+                    exported.add(sample.labelValues.get(0));
+                }
+            }
+            Assert.assertTrue(exported.contains(resourceA.getName()));
+            Assert.assertTrue(exported.contains(resourceB.getName()));
+        } finally {
+            SentinelConfig.removeConfig(PrometheusGlobalConfig.PROM_FETCH_SIZE);
+            ClusterBuilderSlot.getClusterNodeMap().remove(resourceA);
+            ClusterBuilderSlot.getClusterNodeMap().remove(resourceB);
+        }
+    }
+
+    @Test
+    public void testBucketIndexOf() {
+        long[] buckets = new long[] {10, 100};
+        Assert.assertEquals(0, SentinelLiveCollector.bucketIndexOf(buckets, 3));
+        Assert.assertEquals(0, SentinelLiveCollector.bucketIndexOf(buckets, 10));
+        Assert.assertEquals(1, SentinelLiveCollector.bucketIndexOf(buckets, 11));
+        Assert.assertEquals(2, SentinelLiveCollector.bucketIndexOf(buckets, 101));
+    }
+
+    private Collector.MetricFamilySamples familyOf(List<Collector.MetricFamilySamples> families, String suffix) {
+        for (Collector.MetricFamilySamples family : families) {
+            if (family.name.endsWith(suffix)) {
+                return family;
+            }
+        }
+        throw new AssertionError("Metric family not found: " + suffix);
+    }
+
+    private boolean hasSample(List<Collector.MetricFamilySamples> families, String suffix, String resource) {
+        for (Collector.MetricFamilySamples family : families) {
+            for (Collector.MetricFamilySamples.Sample sample : family.samples) {
+                if (sample.name.endsWith(suffix) && sample.labelValues.get(0).equals(resource)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private double sampleValue(List<Collector.MetricFamilySamples> families, String suffix, String resource) {
+        for (Collector.MetricFamilySamples family : families) {
+            for (Collector.MetricFamilySamples.Sample sample : family.samples) {
+                if (sample.name.endsWith(suffix) && sample.labelValues.get(0).equals(resource)) {
+                    return sample.value;
+                }
+            }
+        }
+        throw new AssertionError("Sample not found: " + suffix);
+    }
+}
@@ -0,0 +1,28 @@
+package com.alibaba.csp.sentinel.metric.prom.types;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class HistogramMetricFamilyTest {
+
+    @Test
+    public void testHistogramMetricFamily() {
+        HistogramMetricFamily metricFamily = new HistogramMetricFamily("appName_rt",
+                "sentinel_metrics", Collections.singletonList("resource"));
+        metricFamily.addMetric(Collections.singletonList("res"), new long[] {10, 100}, new long[] {3, 2, 1}, 600);
+
+        // Bucket counts are cumulative, followed by the count and the sum.
+        Assert.assertEquals(5, metricFamily.samples.size());
+        Assert.assertEquals("appName_rt_bucket", metricFamily.samples.get(0).name);
+        Assert.assertEquals("10.0", metricFamily.samples.get(0).labelValues.get(1));
+        Assert.assertEquals(3, metricFamily.samples.get(0).value, 1e-4);
+        Assert.assertEquals(5, metricFamily.samples.get(1).value, 1e-4);
+        Assert.assertEquals("+Inf", metricFamily.samples.get(2).labelValues.get(1));
+        Assert.assertEquals(6, metricFamily.samples.get(2).value, 1e-4);
+        Assert.assertEquals("appName_rt_count", metricFamily.samples.get(3).name);
+        Assert.assertEquals(6, metricFamily.samples.get(3).value, 1e-4);
+        Assert.assertEquals(600, metricFamily.samples.get(4).value, 1e-4);
+    }
+}